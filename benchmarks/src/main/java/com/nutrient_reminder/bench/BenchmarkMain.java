@@ -0,0 +1,36 @@
+package com.nutrient_reminder.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// benchmarks.jar 실행 진입점
+// JMH 명령줄 옵션을 그대로 받고, 결과 형식/파일을 지정하지 않았으면 results/jmh-날짜시각.json 에 JSON 으로 저장
+// 예: java -jar benchmarks.jar Scheduler -p alarms=1000,100000
+//     java -jar benchmarks.jar -rf csv -rff scheduler.csv Scheduler
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+
+        if (!cli.getResultFormat().hasValue()) options.resultFormat(ResultFormatType.JSON);
+        if (!cli.getResult().hasValue()) {
+            Path results = Path.of("results");
+            Files.createDirectories(results);
+            String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            String file = results.resolve("jmh-" + stamp + ".json").toString();
+            options.result(file);
+            System.out.println("결과 파일: " + file);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
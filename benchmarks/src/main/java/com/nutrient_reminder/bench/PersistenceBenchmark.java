@@ -0,0 +1,174 @@
+package com.nutrient_reminder.bench;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.nutrient_reminder.json.JsonCodecs;
+import com.nutrient_reminder.model.AlarmStatus;
+import com.nutrient_reminder.model.Nutrient;
+import com.nutrient_reminder.model.RecurrenceRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// alarms_data.json / users.json 저장(write)과 불러오기(read)
+// - codec: 실제 앱이 쓰는 스트리밍 코덱 (JsonCodecs)
+// - gson / jackson: 같은 문서를 범용 Map/List 트리로 읽고 쓰는 경우 (비교용)
+// 디스크 속도가 섞이지 않도록 메모리(StringWriter/StringReader)에서만 측정
+// size: 알람 개수이자 사용자 수 (알람은 사용자 한 명당 5개 정도가 현실적인 비율)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceBenchmark {
+
+    private static final Type ALARM_TREE = new TypeToken<List<Map<String, Object>>>() {}.getType();
+    private static final Type USER_MAP = new TypeToken<Map<String, String>>() {}.getType();
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private final Gson gson = new Gson();
+    private final ObjectMapper jackson = new ObjectMapper();
+
+    private List<Nutrient> alarms;
+    private List<Map<String, Object>> alarmTree;
+    private String alarmJson;
+
+    private Map<String, String> users;
+    private String usersJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        String[] names = { "비타민 C", "마그네슘", "오메가-3", "유산균", "비타민 D", "철분", "아연", "루테인" };
+        AlarmStatus[] statuses = AlarmStatus.values();
+
+        alarms = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            RecurrenceRule rule = RecurrenceRule.weekly(1 + random.nextInt(RecurrenceRule.ALL_DAYS),
+                    random.nextInt(RecurrenceRule.MINUTES_PER_DAY));
+            alarms.add(new Nutrient("alarm_" + i, "user" + (i / 5), names[random.nextInt(names.length)], rule,
+                    statuses[random.nextInt(statuses.length)]));
+        }
+        StringWriter alarmOut = new StringWriter();
+        JsonCodecs.writeList(JsonCodecs.NUTRIENT, alarms, alarmOut);
+        alarmJson = alarmOut.toString();
+        alarmTree = gson.fromJson(alarmJson, ALARM_TREE);
+
+        // 비밀번호 해시는 BCrypt 출력과 같은 길이(60자)의 문자열
+        users = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            users.put("user" + i, "$2a$10$" + randomHash(random, 53));
+        }
+        StringWriter userOut = new StringWriter();
+        JsonCodecs.write(JsonCodecs.STRING_MAP, users, userOut);
+        usersJson = userOut.toString();
+    }
+
+    private static String randomHash(Random random, int length) {
+        String alphabet = "./ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+        StringBuilder out = new StringBuilder(length);
+        for (int i = 0; i < length; i++) out.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        return out.toString();
+    }
+
+    // --- alarms_data.json ---
+
+    @Benchmark
+    public String alarmsWriteCodec() throws IOException {
+        StringWriter out = new StringWriter(alarmJson.length());
+        JsonCodecs.writeList(JsonCodecs.NUTRIENT, alarms, out);
+        return out.toString();
+    }
+
+    @Benchmark
+    public List<Nutrient> alarmsReadCodec() throws IOException {
+        return JsonCodecs.readList(JsonCodecs.NUTRIENT, new StringReader(alarmJson));
+    }
+
+    @Benchmark
+    public String alarmsWriteGson() {
+        StringWriter out = new StringWriter(alarmJson.length());
+        gson.toJson(alarmTree, ALARM_TREE, out);
+        return out.toString();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> alarmsReadGson() {
+        return gson.fromJson(new StringReader(alarmJson), ALARM_TREE);
+    }
+
+    @Benchmark
+    public String alarmsWriteJackson() throws IOException {
+        StringWriter out = new StringWriter(alarmJson.length());
+        jackson.writeValue(out, alarmTree);
+        return out.toString();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> alarmsReadJackson() throws IOException {
+        return jackson.readValue(new StringReader(alarmJson), new TypeReference<List<Map<String, Object>>>() {});
+    }
+
+    // --- users.json ---
+
+    @Benchmark
+    public String usersWriteCodec() throws IOException {
+        StringWriter out = new StringWriter(usersJson.length());
+        JsonCodecs.write(JsonCodecs.STRING_MAP, users, out);
+        return out.toString();
+    }
+
+    @Benchmark
+    public Map<String, String> usersReadCodec() throws IOException {
+        return JsonCodecs.read(JsonCodecs.STRING_MAP, new StringReader(usersJson));
+    }
+
+    @Benchmark
+    public String usersWriteGson() {
+        StringWriter out = new StringWriter(usersJson.length());
+        gson.toJson(users, USER_MAP, out);
+        return out.toString();
+    }
+
+    @Benchmark
+    public Map<String, String> usersReadGson() {
+        return gson.fromJson(new StringReader(usersJson), USER_MAP);
+    }
+
+    @Benchmark
+    public String usersWriteJackson() throws IOException {
+        StringWriter out = new StringWriter(usersJson.length());
+        jackson.writeValue(out, users);
+        return out.toString();
+    }
+
+    @Benchmark
+    public Map<String, String> usersReadJackson() throws IOException {
+        return jackson.readValue(new StringReader(usersJson), new TypeReference<Map<String, String>>() {});
+    }
+}
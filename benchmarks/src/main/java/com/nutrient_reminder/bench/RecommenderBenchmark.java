@@ -0,0 +1,68 @@
+package com.nutrient_reminder.bench;
+
+import com.nutrient_reminder.SupplementRecommenderModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// SupplementRecommenderModel.getRecommendations (추천 + 화면용 문자열)
+// 기본 지식 베이스의 증상 중 symptoms 개를 고른 조합 64개를 돌아가며 요청
+// cached=false 면 매번 캐시를 비우고 요청 -> 캐시 없이 계산하는 비용
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecommenderBenchmark {
+
+    private static final int COMBINATIONS = 64;
+
+    @Param({"1", "3", "6", "12", "24"})
+    public int symptoms;
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private SupplementRecommenderModel model;
+    private List<List<String>> requests;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        model = new SupplementRecommenderModel();
+        List<String> all = SupplementRecommenderModel.getAllSymptoms();
+        int size = Math.min(symptoms, all.size());
+
+        Random random = new Random(42);
+        requests = new ArrayList<>(COMBINATIONS);
+        for (int i = 0; i < COMBINATIONS; i++) {
+            List<String> shuffled = new ArrayList<>(all);
+            Collections.shuffle(shuffled, random);
+            requests.add(List.copyOf(shuffled.subList(0, size)));
+        }
+    }
+
+    @Benchmark
+    public List<String> getRecommendations() {
+        List<String> request = requests.get(cursor);
+        cursor = (cursor + 1) % COMBINATIONS;
+        if (!cached) SupplementRecommenderModel.getCache().clear();
+        return model.getRecommendations(request);
+    }
+}
@@ -0,0 +1,124 @@
+package com.nutrient_reminder.bench;
+
+import com.nutrient_reminder.model.MealPlan;
+import com.nutrient_reminder.model.ScheduleSolver;
+import com.nutrient_reminder.model.SymptomKnowledgeBase;
+import com.nutrient_reminder.service.KnowledgeBaseService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// ScheduleSolver.solve 의 최악 입력 실행 시간
+// - knowledgeBase=bundled : 배포에 포함된 지식 베이스
+// - knowledgeBase=dense   : 합성 지식 베이스, 성분 25개, 복용 시간 권장 무작위,
+//                           성분 쌍마다 separateRatio 확률로 SEPARATE (배치 불가 -> 완화 경로까지 실행)
+// 전체 성분 한 번에(solveAll)와 무작위 부분집합 64개를 돌아가며(solveSubset)
+// 예: java -jar benchmarks.jar ScheduleSolver -p separateRatio=0.1,0.3,0.5
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScheduleSolverBenchmark {
+
+    private static final int SUBSETS = 64;
+    private static final String[] TIMING_WORDS = { "아침", "저녁", "취침 전", "공복", "식후", "식사 전" };
+
+    @Param({"bundled", "dense"})
+    public String knowledgeBase;
+
+    @Param({"0.3"})
+    public double separateRatio;
+
+    private SymptomKnowledgeBase kb;
+    private MealPlan plan;
+    private int[] all;
+    private int[][] subsets;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        kb = knowledgeBase.equals("dense")
+                ? syntheticKnowledgeBase(25, separateRatio, random)
+                : new KnowledgeBaseService(null, false).current();
+        plan = MealPlan.defaults();
+
+        all = new int[kb.nutrientCount()];
+        for (int i = 0; i < all.length; i++) all[i] = i;
+        subsets = new int[SUBSETS][];
+        for (int i = 0; i < SUBSETS; i++) subsets[i] = randomSubset(kb.nutrientCount(), random);
+    }
+
+    @Benchmark
+    public ScheduleSolver.Schedule solveAll() {
+        return ScheduleSolver.solve(kb, all, plan);
+    }
+
+    @Benchmark
+    public ScheduleSolver.Schedule solveSubset() {
+        int[] subset = subsets[cursor];
+        cursor = (cursor + 1) % SUBSETS;
+        return ScheduleSolver.solve(kb, subset, plan);
+    }
+
+    // 1 ~ count 개의 서로 다른 성분 id
+    private static int[] randomSubset(int count, Random random) {
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) ids[i] = i;
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = ids[i];
+            ids[i] = ids[j];
+            ids[j] = t;
+        }
+        return Arrays.copyOf(ids, 1 + random.nextInt(count));
+    }
+
+    // 성분 count 개, 증상 하나에 모두 연결, 성분 쌍마다 separateRatio 확률로 SEPARATE, 그 절반 확률로 TOGETHER
+    private static SymptomKnowledgeBase syntheticKnowledgeBase(int count, double separateRatio, Random random) {
+        List<String> names = new ArrayList<>();
+        Map<String, String[]> explain = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String name = "성분" + i;
+            names.add(name);
+            StringBuilder note = new StringBuilder();
+            for (String word : TIMING_WORDS) if (random.nextInt(4) == 0) note.append(word).append(' ');
+            explain.put(name, new String[] { "제품" + i, note.append("복용").toString() });
+        }
+
+        List<String[]> interactions = new ArrayList<>();
+        for (int a = 0; a < count; a++) {
+            for (int b = a + 1; b < count; b++) {
+                double u = random.nextDouble();
+                if (u < separateRatio) {
+                    interactions.add(new String[] { names.get(a), names.get(b), "SEPARATE", "" });
+                } else if (u < separateRatio * 1.5) {
+                    interactions.add(new String[] { names.get(a), names.get(b), "TOGETHER", "" });
+                }
+            }
+        }
+
+        Map<String, List<String>> mapping = new LinkedHashMap<>();
+        mapping.put("합성 증상", names);
+        return SymptomKnowledgeBase.compile(1, mapping, explain, Map.of(), interactions);
+    }
+}
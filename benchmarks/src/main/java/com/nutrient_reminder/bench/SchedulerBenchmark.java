@@ -0,0 +1,103 @@
+package com.nutrient_reminder.bench;
+
+import com.nutrient_reminder.model.AlarmStatus;
+import com.nutrient_reminder.model.Nutrient;
+import com.nutrient_reminder.model.RecurrenceRule;
+import com.nutrient_reminder.service.AlarmSchedulerService;
+import com.nutrient_reminder.service.UserSession;
+import com.nutrient_reminder.simulation.ManualTicker;
+import com.nutrient_reminder.simulation.VirtualClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// AlarmSchedulerService 의 분 단위 알람 평가(checkAlarmTime)와 상태 변경(updateAlarmStatus)
+// 가상 시계 + 수동 tick 으로 구동하므로 한 번 호출이 정확히 1분치 평가, 파일 저장 없음
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchedulerBenchmark {
+
+    private static final String USER = "bench_user";
+
+    @Param({"10", "1000", "10000", "100000"})
+    public int alarms;
+
+    private VirtualClock clock;
+    private ManualTicker ticker;
+    private AlarmSchedulerService service;
+    private String[] alarmIds;
+    private int cursor;
+    private PrintStream previousOut;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 알람이 울릴 때마다 찍는 로그가 측정에 섞이지 않도록
+        previousOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        UserSession.setUserId(USER);
+        ZoneId zone = ZoneId.systemDefault();
+        clock = new VirtualClock(LocalDate.of(2025, 1, 6).atStartOfDay(zone).toInstant(), zone);
+        ticker = new ManualTicker();
+        service = new AlarmSchedulerService(clock, ticker, Runnable::run, null);
+        service.setAlarmNotifier(alarm -> { });
+        service.whenLoaded().join();
+
+        // 하루 중 무작위 시각, 요일 무작위 (매일 ~ 주 1회)
+        Random random = new Random(42);
+        Map<String, RecurrenceRule> rules = new LinkedHashMap<>();
+        for (int i = 0; i < alarms; i++) {
+            int mask = 1 + random.nextInt(RecurrenceRule.ALL_DAYS);
+            rules.put("영양제 " + i, RecurrenceRule.weekly(mask, random.nextInt(RecurrenceRule.MINUTES_PER_DAY)));
+        }
+        List<Nutrient> created = service.registerAlarms(USER, rules);
+        alarmIds = new String[created.size()];
+        for (int i = 0; i < alarmIds.length; i++) alarmIds[i] = created.get(i).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.shutdown();
+        System.setOut(previousOut);
+    }
+
+    // 가상 시간 1분 진행 후 tick 한 번 (사용자 파티션 전체를 한 번 훑음)
+    @Benchmark
+    public void checkAlarmTime() {
+        clock.advance(Duration.ofMinutes(1));
+        ticker.tick();
+    }
+
+    // 알람 하나를 복용 완료로 변경 (id 로 파티션을 찾는 비용 포함)
+    @Benchmark
+    public void updateAlarmStatus() {
+        String id = alarmIds[cursor];
+        cursor = cursor + 1 == alarmIds.length ? 0 : cursor + 1;
+        service.updateAlarmStatus(id, AlarmStatus.COMPLETED);
+    }
+}
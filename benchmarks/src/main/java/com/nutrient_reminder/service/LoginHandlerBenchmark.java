@@ -0,0 +1,93 @@
+package com.nutrient_reminder.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// LoginServer.LoginHandler 처리량 (요청 파싱 + 비밀번호 검증 + 응답 작성, 소켓 없음)
+// stubBcrypt=true 면 해시를 평문 비교로 바꿔 핸들러 자체 비용만, false 면 실제 BCrypt(cost 10) 포함
+// LoginServer 의 패키지 전용 멤버(passwordHasher, putUser)를 쓰기 위해 같은 패키지에 둠
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginHandlerBenchmark {
+
+    private static final String USER = "bench_user";
+    private static final String PASSWORD = "password123";
+
+    private static final LoginServer.PasswordHasher PLAIN = new LoginServer.PasswordHasher() {
+        @Override
+        public String hash(String password) {
+            return password;
+        }
+
+        @Override
+        public boolean check(String password, String hashed) {
+            return password.equals(hashed);
+        }
+    };
+
+    @Param({"true", "false"})
+    public boolean stubBcrypt;
+
+    private final LoginServer.LoginHandler handler = new LoginServer.LoginHandler();
+    private FakeExchange success;
+    private FakeExchange failure;
+    private PrintStream previousOut;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 요청마다 찍는 로그인 성공/실패 로그 제외
+        previousOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        LoginServer.passwordHasher = stubBcrypt ? PLAIN : LoginServer.BCRYPT;
+        LoginServer.putUser(USER, LoginServer.passwordHasher.hash(PASSWORD));
+
+        success = new FakeExchange("POST", "/api/login", credentials(USER, PASSWORD));
+        failure = new FakeExchange("POST", "/api/login", credentials(USER, "wrong-password"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        LoginServer.passwordHasher = LoginServer.BCRYPT;
+        System.setOut(previousOut);
+    }
+
+    private static byte[] credentials(String username, String password) {
+        return ("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int loginSuccess() throws IOException {
+        success.reset();
+        handler.handle(success);
+        return success.getResponseCode();
+    }
+
+    @Benchmark
+    public int loginFailure() throws IOException {
+        failure.reset();
+        handler.handle(failure);
+        return failure.getResponseCode();
+    }
+}
@@ -0,0 +1,13 @@
+@echo off
+rem 영양제 알리미 실행 (AppCDS 아카이브 사용, mvn -Pcds package 로 만든 target 폴더에서 실행)
+rem 로그온 시 자동 실행: 이 파일의 바로가기를 시작프로그램 폴더(shell:startup)에 넣음
+rem 시작 단계별 시간 보기: nutrient-reminder.cmd --startup-profile (이때는 콘솔 창에서 실행)
+rem 아카이브가 없거나 JDK 가 바뀌었으면 종료할 때 새로 만듦 (-XX:+AutoCreateSharedArchive)
+setlocal
+set CDS=-XX:+AutoCreateSharedArchive -XX:SharedArchiveFile="%~dp0nutrient-reminder.jsa"
+set JAR="%~dp0${project.build.finalName}.jar"
+if "%~1"=="--startup-profile" (
+    java %CDS% -jar %JAR% %*
+) else (
+    start "" javaw %CDS% -jar %JAR% %*
+)
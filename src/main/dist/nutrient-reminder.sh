@@ -0,0 +1,7 @@
+#!/bin/sh
+# 영양제 알리미 실행 (AppCDS 아카이브 사용, mvn -Pcds package 로 만든 target 폴더에서 실행)
+# 시작 단계별 시간 보기: sh nutrient-reminder.sh --startup-profile
+# 아카이브가 없거나 JDK 가 바뀌었으면 종료할 때 새로 만듦 (-XX:+AutoCreateSharedArchive)
+DIR=$(cd "$(dirname "$0")" && pwd)
+exec java -XX:+AutoCreateSharedArchive -XX:SharedArchiveFile="$DIR/nutrient-reminder.jsa" \
+    -jar "$DIR/${project.build.finalName}.jar" "$@"
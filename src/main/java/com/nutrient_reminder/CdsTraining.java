@@ -0,0 +1,115 @@
+package com.nutrient_reminder;
+
+import com.nutrient_reminder.logging.Log;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.TextField;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+// AppCDS 아카이브를 만들기 위한 학습 실행 (--cds-training, mvn -Pcds package 에서 자동 실행)
+// 로그인 화면 → testuser 로그인 → 메인 화면까지 실제로 거친 뒤 나머지 화면 FXML 도 한 번씩 불러 보고 종료
+// JVM 이 끝날 때 -XX:ArchiveClassesAtExit 로 지금까지 불러온 클래스가 아카이브에 저장됨
+// (빈 작업 폴더에서 실행하므로 LoginServer 가 testuser 계정을 새로 만듦)
+final class CdsTraining {
+
+    static final String FLAG = "--cds-training";
+
+    private static final String USER = "testuser";
+    private static final String PASSWORD = "password123";
+    private static final String[] OTHER_VIEWS = {
+            "signup.fxml", "alarmAddPopup.fxml", "alarmTriggerPopup.fxml", "nutrient-check.fxml"
+    };
+    private static final long SERVER_WAIT_MILLIS = 30_000;
+    private static final long TIMEOUT_MILLIS = 120_000;
+
+    private CdsTraining() {}
+
+    // 첫 화면이 그려진 뒤 호출 (FX 스레드)
+    static void start(Stage stage) {
+        Thread trainer = new Thread(() -> {
+            if (!waitForServer()) {
+                Log.error("학습 실행: 로그인 서버에 연결하지 못함", null, "port", 8080);
+                exit(1);
+                return;
+            }
+            Platform.runLater(() -> login(stage));
+        }, "cds-training");
+        trainer.setDaemon(true);
+        trainer.start();
+
+        // 로그인 실패 알림창 등에서 멈추면 제한 시간 뒤 실패로 종료
+        Thread watchdog = new Thread(() -> {
+            try {
+                Thread.sleep(TIMEOUT_MILLIS);
+                Log.error("학습 실행 시간 초과", null, "timeoutMs", TIMEOUT_MILLIS);
+                exit(1);
+            } catch (InterruptedException ignored) {
+            }
+        }, "cds-training-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+    }
+
+    private static boolean waitForServer() {
+        long deadline = System.currentTimeMillis() + SERVER_WAIT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress("localhost", 8080), 500);
+                return true;
+            } catch (IOException e) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException interrupted) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    // 실제 로그인 버튼을 눌러서 LoginController → 서버(BCrypt) → main.fxml 경로를 그대로 거침
+    private static void login(Stage stage) {
+        Scene loginScene = stage.getScene();
+        ((TextField) loginScene.lookup("#idField")).setText(USER);
+        ((TextField) loginScene.lookup("#passwordField")).setText(PASSWORD);
+        ((Button) loginScene.lookup("#loginButton")).fire();
+        if (stage.getScene() == loginScene) {
+            Log.error("학습 실행: 로그인 후 메인 화면으로 넘어가지 않음", null, "user", USER);
+            exit(1);
+            return;
+        }
+
+        for (String view : OTHER_VIEWS) {
+            try {
+                new FXMLLoader(CdsTraining.class.getResource("/com/nutrient_reminder/view/" + view)).load();
+            } catch (IOException | RuntimeException e) {
+                Log.warn("학습 실행: 화면을 불러오지 못함", "view", view, "error", e.getMessage());
+            }
+        }
+
+        // 메인 화면이 몇 프레임 그려질 때까지 기다린 뒤 종료 (렌더링 쪽 클래스도 아카이브에 포함되도록)
+        new AnimationTimer() {
+            private int frames;
+
+            @Override
+            public void handle(long now) {
+                if (++frames < 3) return;
+                stop();
+                Log.info("AppCDS 학습 실행 완료");
+                exit(0);
+            }
+        }.start();
+    }
+
+    private static void exit(int status) {
+        Log.flush(1000);
+        System.exit(status);
+    }
+}
@@ -0,0 +1,123 @@
+package com.nutrient_reminder;
+
+import com.nutrient_reminder.jfr.FlightRecording;
+import com.nutrient_reminder.logging.Log;
+import com.nutrient_reminder.notify.CommandNotifier;
+import com.nutrient_reminder.notify.ConsoleNotifier;
+import com.nutrient_reminder.notify.TrayNotifier;
+import com.nutrient_reminder.service.AlarmSchedulerService;
+import com.nutrient_reminder.service.UserSession;
+
+import java.awt.AWTException;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.MenuItem;
+import java.awt.PopupMenu;
+import java.awt.SystemTray;
+import java.awt.Toolkit;
+import java.awt.TrayIcon;
+import java.awt.image.BufferedImage;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// JavaFX 없이 알람만 울려 주는 헤드리스 실행 진입점 (저사양 PC, 로그인 후 상시 실행용)
+// 알람 파일(alarms_data/아이디.json)은 JavaFX 앱과 같은 파일을 읽고, --user 로 지정한 프로필의 파일만 읽음
+// 사용법: DaemonLauncher --user <아이디> [--user <아이디> ...] [--notify tray|console] [--command <명령> <인자...>]
+//   --user    : 알람을 받을 프로필, 여러 번 지정하면 모든 프로필의 알람이 울림 (가족이 같이 쓰는 PC)
+//   --notify  : tray(기본, 트레이 말풍선) / console(표준 출력). 트레이를 쓸 수 없으면 console
+//   --command : 알람마다 외부 명령 실행 ({name} {time} {id} 치환), 마지막 옵션이어야 함
+//   예) DaemonLauncher --user kim --command notify-send 영양제 "{name} 복용 시간입니다"
+public class DaemonLauncher {
+
+    public static void main(String[] args) {
+        FlightRecording.startIfRequested();
+
+        List<String> userIds = new ArrayList<>();
+        String notify = "tray";
+        List<String> command = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--user":
+                    if (i + 1 < args.length && !args[i + 1].isBlank()) userIds.add(args[++i]);
+                    break;
+                case "--notify": notify = i + 1 < args.length ? args[++i] : notify; break;
+                case "--command": command = Arrays.asList(args).subList(i + 1, args.length); i = args.length; break;
+                default:
+                    usage("알 수 없는 옵션: " + args[i]);
+                    return;
+            }
+        }
+        if (userIds.isEmpty()) {
+            usage("--user 로 알람을 받을 사용자 아이디를 지정하세요.");
+            return;
+        }
+        if (command != null && command.isEmpty()) {
+            usage("--command 뒤에 실행할 명령을 지정하세요.");
+            return;
+        }
+
+        AlarmSchedulerService.AlarmNotifier notifier;
+        if (command != null) {
+            notifier = new CommandNotifier(command);
+        } else if ("tray".equals(notify) && !GraphicsEnvironment.isHeadless() && SystemTray.isSupported()) {
+            notifier = trayNotifier();
+        } else {
+            notifier = new ConsoleNotifier(System.out);
+        }
+        if (notifier == null) notifier = new ConsoleNotifier(System.out);
+
+        // 알림은 별도 스레드 하나에서 차례로 (알람 tick 스레드를 막지 않도록)
+        ExecutorService notifyThread = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "alarm-notify");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (String userId : userIds) UserSession.signIn(userId);
+        AlarmSchedulerService service = AlarmSchedulerService.initialize(notifyThread, notifier);
+        service.whenLoaded().thenRun(() -> {
+            int alarms = 0;
+            for (String userId : userIds) alarms += service.getAlarmsForUser(userId).size();
+            Log.info("헤드리스 알람 시작", "profiles", String.join(",", UserSession.getActiveProfiles()), "alarms", alarms);
+        });
+
+        // 알람 tick 스레드가 살아 있는 동안 프로세스가 유지됨 (종료: Ctrl+C 또는 트레이 메뉴)
+        Runtime.getRuntime().addShutdownHook(new Thread(service::shutdown, "daemon-shutdown"));
+    }
+
+    private static TrayNotifier trayNotifier() {
+        URL iconURL = DaemonLauncher.class.getResource("/com/nutrient_reminder/view/images/icon.png");
+        Image image = iconURL == null
+                ? new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB)
+                : Toolkit.getDefaultToolkit().getImage(iconURL);
+
+        TrayIcon trayIcon = new TrayIcon(image, "영양제 알리미 (알람 전용)");
+        trayIcon.setImageAutoSize(true);
+
+        PopupMenu popup = new PopupMenu();
+        MenuItem exitItem = new MenuItem("종료");
+        exitItem.addActionListener(e -> {
+            SystemTray.getSystemTray().remove(trayIcon);
+            System.exit(0);
+        });
+        popup.add(exitItem);
+        trayIcon.setPopupMenu(popup);
+
+        try {
+            SystemTray.getSystemTray().add(trayIcon);
+            return new TrayNotifier(trayIcon);
+        } catch (AWTException e) {
+            Log.warn("트레이 아이콘을 추가하지 못해 콘솔로 알림", "error", e.getMessage());
+            return null;
+        }
+    }
+
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println("사용법: DaemonLauncher --user <아이디> [--user <아이디> ...] [--notify tray|console] [--command <명령> <인자...>]");
+    }
+}
@@ -1,17 +1,25 @@
 package com.nutrient_reminder;
 
+import com.nutrient_reminder.jfr.FlightRecording;
+import com.nutrient_reminder.logging.Log;
 import com.nutrient_reminder.service.LoginServer;
+import com.nutrient_reminder.service.StartupProfile;
 
 public class Launcher {
     public static void main(String[] args) {
+        // --startup-profile 이 있으면 시작 단계별 시간 출력 (JVM 부팅 시간을 재려고 가장 먼저 호출)
+        String[] appArgs = StartupProfile.enableIfRequested(args);
+
+        // -Dnutrient.jfr=파일경로 로 실행하면 JFR 상시 기록 (서버/클라이언트 모두 포함)
+        FlightRecording.startIfRequested();
 
         // 서버를 별도 스레드에서 실행
         Thread serverThread = new Thread(() -> {
             try {
-                System.out.println("Launcher 서버 시작");
-                LoginServer.main(args); // LoginServer 실행
+                Log.info("Launcher 서버 시작");
+                LoginServer.main(appArgs); // LoginServer 실행
             } catch (Exception e) {
-                e.printStackTrace();
+                Log.error("Launcher 서버 실행 실패", e);
             }
         });
 
@@ -22,7 +30,7 @@ public class Launcher {
         serverThread.start();
 
         // 기존 GUI 프로그램 실행
-        System.out.println("Launcher 클라이언트 시작");
-        Main.main(args);
+        Log.info("Launcher 클라이언트 시작");
+        Main.main(appArgs);
     }
 }
\ No newline at end of file
@@ -1,5 +1,16 @@
 package com.nutrient_reminder;
 
+import com.nutrient_reminder.controller.AlarmPopupNotifier;
+import com.nutrient_reminder.controller.NutrientCheckController;
+import com.nutrient_reminder.jfr.FlightRecording;
+import com.nutrient_reminder.logging.Log;
+import com.nutrient_reminder.model.AlarmStatus;
+import com.nutrient_reminder.model.Nutrient;
+import com.nutrient_reminder.service.AlarmSchedulerService;
+import com.nutrient_reminder.service.AlarmSyncClient;
+import com.nutrient_reminder.service.StartupProfile;
+import com.nutrient_reminder.service.UserSession;
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
@@ -8,6 +19,9 @@ import javafx.stage.Stage;
 import javafx.scene.Parent;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 // AWT 관련 import
 import java.awt.*;
@@ -17,24 +31,39 @@ import java.net.URL;
 public class Main extends Application {
 
     private static Stage primaryStageInstance;
+    private static boolean cdsTraining; // --cds-training: AppCDS 아카이브용 학습 실행
     private TrayIcon trayIcon;
+    private MenuItem completeItem;
+
+    // 창이 트레이에 숨어 있는 동안 말풍선으로 알린 알람 (FX 스레드에서만 사용)
+    private final List<Nutrient> trayAlarms = new ArrayList<>();
+    private final AlarmPopupNotifier popupNotifier = new AlarmPopupNotifier();
 
     @Override
     public void start(Stage stage) throws IOException {
         primaryStageInstance = stage;
 
+        // 알람 스케줄러: 리스너는 FX 스레드에서, 알람은 창이 보이면 팝업 / 트레이에 숨어 있으면 트레이 말풍선
+        AlarmSchedulerService service = AlarmSchedulerService.initialize(Platform::runLater, this::deliverAlarm);
+        // 로그인한 프로필의 알람을 서버와 동기화 (다른 기기에서 바꾼 알람도 반영)
+        AlarmSyncClient.start(service);
+
         // SystemTray 지원 시 AWT 연동 시작 (백그라운드 실행 기반)
         if (SystemTray.isSupported()) {
+            long trayStart = StartupProfile.begin();
             try {
                 setupSystemTray(stage);
+                StartupProfile.end("tray", trayStart);
             } catch (AWTException e) {
-                System.err.println("AWT SystemTray 초기화 실패: " + e.getMessage());
+                Log.warn("AWT SystemTray 초기화 실패", "error", e.getMessage());
             }
         }
 
         // FXML 로드 및 메인 스테이지 설정 (로그인 화면)
+        long fxmlStart = StartupProfile.begin();
         FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/com/nutrient_reminder/view/login-view.fxml"));
         Scene scene = new Scene(fxmlLoader.load());
+        StartupProfile.end("fxml-load", fxmlStart);
 
         stage.setTitle("영양제 알리미");
         stage.setScene(scene);
@@ -43,8 +72,8 @@ public class Main extends Application {
         //  닫기 버튼을 눌렀을 때 윈도우를 숨기고 종료하지 않도록 설정
         stage.setOnCloseRequest(event -> {
             if (SystemTray.isSupported()) {
-                event.consume(); // 기본 종료 이벤트 무시
-                stage.hide();    // 창만 숨김
+                event.consume();     // 기본 종료 이벤트 무시
+                hideToTray(stage);   // 창을 숨기고 화면은 해제
                 // 트레이 알림 (아이콘이 null이 아닐 때만)
                 if (trayIcon != null) {
                     trayIcon.displayMessage("영양제 알리미", "프로그램이 백그라운드에서 실행 중입니다.", TrayIcon.MessageType.INFO);
@@ -54,7 +83,19 @@ public class Main extends Application {
             }
         });
 
+        long shownAt = StartupProfile.begin();
         stage.show();
+        if (StartupProfile.isEnabled() || cdsTraining) {
+            // 첫 펄스(첫 프레임)에서 한 번만 실행
+            new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    stop();
+                    StartupProfile.firstFrame(shownAt);
+                    if (cdsTraining) CdsTraining.start(stage);
+                }
+            }.start();
+        }
     }
 
     // AWT SystemTray 설정 메서드
@@ -83,14 +124,19 @@ public class Main extends Application {
         MenuItem showItem = new MenuItem("보이기/숨기기");
         showItem.addActionListener(e -> Platform.runLater(() -> {
             if (stage.isShowing()) {
-                stage.hide();
+                hideToTray(stage);
             } else {
-                stage.show();
-                stage.toFront();
+                showWindow(stage);
             }
         }));
         popup.add(showItem);
 
+        // '복용 완료' 메뉴: 화면을 띄우지 않고 트레이로 알린 알람을 복용 완료 처리
+        completeItem = new MenuItem("복용 완료");
+        completeItem.setEnabled(false);
+        completeItem.addActionListener(e -> Platform.runLater(this::completeTrayAlarms));
+        popup.add(completeItem);
+
         // '종료' 메뉴
         MenuItem exitItem = new MenuItem("종료");
         exitItem.addActionListener(e -> {
@@ -103,11 +149,86 @@ public class Main extends Application {
         trayIcon.setPopupMenu(popup);
         tray.add(trayIcon);
 
-        // 아이콘 더블클릭 이벤트 (윈도우 표시)
-        trayIcon.addActionListener(e -> Platform.runLater(stage::show));
+        // 아이콘 더블클릭 / 말풍선 클릭: 대기 중인 알람이 있으면 그 알람 팝업, 없으면 메인 창
+        trayIcon.addActionListener(e -> Platform.runLater(() -> openFromTray(stage)));
+    }
+
+    // --- 알람 전달 (FX 스레드) ---
+
+    // 창이 보이면 기존 알람 팝업, 트레이에 숨어 있으면 JavaFX 화면을 만들지 않고 트레이 말풍선만 띄움
+    private void deliverAlarm(Nutrient alarm) {
+        if (trayIcon == null || primaryStageInstance.isShowing()) {
+            popupNotifier.onAlarmFired(alarm);
+            return;
+        }
+        trayAlarms.add(alarm);
+        updateCompleteItem();
+        trayIcon.displayMessage("영양제 알리미",
+                "[" + alarm.getTime() + "] " + UserSession.labelOf(alarm) + " 복용 시간입니다.\n눌러서 확인하거나 트레이 메뉴에서 복용 완료를 선택하세요.",
+                TrayIcon.MessageType.INFO);
+    }
+
+    // 트레이에서 연 경우: 아직 복용하지 않은 대기 알람의 팝업을 이때 처음 만듦
+    private void openFromTray(Stage stage) {
+        if (trayAlarms.isEmpty()) {
+            showWindow(stage);
+            return;
+        }
+        for (Nutrient alarm : takeTrayAlarms()) {
+            if (alarm.getStatus() == AlarmStatus.ACTIVE) popupNotifier.onAlarmFired(alarm);
+        }
+    }
+
+    private void completeTrayAlarms() {
+        AlarmSchedulerService service = AlarmSchedulerService.getInstance();
+        for (Nutrient alarm : takeTrayAlarms()) service.updateAlarmStatus(alarm.getId(), AlarmStatus.COMPLETED);
+    }
+
+    private List<Nutrient> takeTrayAlarms() {
+        List<Nutrient> taken = new ArrayList<>(trayAlarms);
+        trayAlarms.clear();
+        updateCompleteItem();
+        return taken;
+    }
+
+    private void updateCompleteItem() {
+        if (completeItem == null) return;
+        completeItem.setLabel(trayAlarms.isEmpty() ? "복용 완료" : "복용 완료 (" + trayAlarms.size() + ")");
+        completeItem.setEnabled(!trayAlarms.isEmpty());
+    }
+
+    // --- 창 숨기기/보이기 ---
+
+    // 트레이로 숨길 때 Scene 을 떼어 내서 화면 전체가 메모리에서 해제되도록 함
+    // (메인 화면 컨트롤러는 창에서 떨어지면 알람 리스너를 해제하고 알람 카드를 비움)
+    // 추천 화면이 재사용하려고 들고 있는 체크박스 그리드도 함께 버림
+    private void hideToTray(Stage stage) {
+        stage.hide();
+        stage.setScene(null);
+        NutrientCheckController.releaseCachedGrid();
+    }
+
+    // 해제된 화면은 다시 열 때 새로 로드 (로그인 상태면 메인 화면, 아니면 로그인 화면)
+    private void showWindow(Stage stage) {
+        if (stage.getScene() == null) {
+            String view = UserSession.getUserId() != null ? "main.fxml" : "login-view.fxml";
+            try {
+                FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/nutrient_reminder/view/" + view));
+                stage.setScene(new Scene(loader.load()));
+            } catch (IOException e) {
+                Log.error("화면을 다시 불러오지 못함", e, "view", view);
+                return;
+            }
+        }
+        stage.show();
+        stage.setMaximized(true);
+        stage.toFront();
     }
 
     public static void main(String[] args) {
+        args = StartupProfile.enableIfRequested(args);
+        cdsTraining = Arrays.asList(args).contains(CdsTraining.FLAG);
+        FlightRecording.startIfRequested();
         launch();
     }
 
@@ -1,119 +1,151 @@
 package com.nutrient_reminder;
 
+import com.nutrient_reminder.jfr.FlightEvents;
+import com.nutrient_reminder.model.Recommendation;
+import com.nutrient_reminder.model.RecommendationCache;
+import com.nutrient_reminder.model.RecommendationOptimizer;
+import com.nutrient_reminder.model.SymptomKnowledgeBase;
+import com.nutrient_reminder.service.KnowledgeBaseService;
+
 import java.util.*;
 
 public class SupplementRecommenderModel {
 
-    private static final Map<String, List<String>> YOUNG_YANG = new LinkedHashMap<>();
-
+    // --------------------------------------------------------------------------------
+    // 1. 증상 -> 성분 매핑, 2. 영양 성분 상세 정보
+    // --------------------------------------------------------------------------------
+    // 두 데이터는 코드에 두지 않고 지식 베이스 파일(knowledge-base.json)에서 읽음
+    // 파일 위치, 다시 읽기, 교체는 KnowledgeBaseService 참고
 
-    private static final Map<String, String[]> YOUNG_YANG_EXPLAIN = new HashMap<>();
+    // 자주 나오는 증상 조합의 추천 결과 캐시 (모든 인스턴스가 공유, 지식 베이스가 교체되면 비움)
+    private static final int CACHE_SIZE = 1024;
+    private static final RecommendationCache CACHE = new RecommendationCache(CACHE_SIZE);
 
     static {
-        // --- 1. 24가지 증상 -> 성분 매핑 초기화 ---
-        YOUNG_YANG.put("만성 피로", List.of("비타민 B군", "코엔자임 Q10"));
-        YOUNG_YANG.put("아침 기상", List.of("비타민 B군", "마그네슘"));
-        YOUNG_YANG.put("집중력 저하", List.of("오메가-3", "은행잎 추출물"));
-        YOUNG_YANG.put("안구 건조", List.of("오메가-3"));
-        YOUNG_YANG.put("눈 피로", List.of("루테인/지아잔틴", "아스타잔틴"));
-        YOUNG_YANG.put("잦은 감기", List.of("비타민 D", "아연"));
-        YOUNG_YANG.put("구내염/잇몸 염증", List.of("비타민 B군", "비타민 C"));
-        YOUNG_YANG.put("소화 불량", List.of("소화 효소", "프로바이오틱스"));
-        YOUNG_YANG.put("배변 문제", List.of("프로바이오틱스", "식이섬유"));
-        YOUNG_YANG.put("근육 떨림", List.of("마그네슘"));
-        YOUNG_YANG.put("손발 저림", List.of("마그네슘", "비타민 B군"));
-        YOUNG_YANG.put("관절 불편", List.of("MSM", "글루코사민"));
-        YOUNG_YANG.put("근육 뭉침", List.of("마그네슘", "오메가-3"));
-        YOUNG_YANG.put("피부 건조", List.of("콜라겐", "히알루론산"));
-        YOUNG_YANG.put("피부 트러블", List.of("아연", "오메가-3"));
-        YOUNG_YANG.put("모발/손톱 약화", List.of("비오틴", "아연"));
-        YOUNG_YANG.put("수면 장애", List.of("마그네슘", "테아닌"));
-        YOUNG_YANG.put("스트레스/불안", List.of("테아닌", "마그네슘"));
-        YOUNG_YANG.put("수족냉증", List.of("은행잎 추출물", "오메가-3"));
-        YOUNG_YANG.put("잦은 음주", List.of("밀크씨슬", "비타민 B군"));
-        YOUNG_YANG.put("색소침착/기미", List.of("비타민 C", "비타민 E"));
-        YOUNG_YANG.put("골다공증", List.of("칼슘", "마그네슘"));
-        YOUNG_YANG.put("체지방/다이어트", List.of("가르시니아", "녹차 추출물"));
-        YOUNG_YANG.put("잇몸 질환", List.of("비타민 C", "베타시토스테롤"));
-
-        // --- 2. 영양 성분 상세 정보 초기화 ---
-        YOUNG_YANG_EXPLAIN.put("비타민 B군", new String[]{"고함량 B 복합체", "에너지 생성 필수. 아침 식사 후 권장."});
-        YOUNG_YANG_EXPLAIN.put("코엔자임 Q10", new String[]{"고순도 코큐텐", "항산화 및 세포 에너지 공급에 도움."});
-        YOUNG_YANG_EXPLAIN.put("마그네슘", new String[]{"흡수율 좋은 마그네슘", "신경 안정, 근육 이완에 탁월. 저녁 식후 또는 취침 전."});
-        YOUNG_YANG_EXPLAIN.put("오메가-3", new String[]{"고순도 EPA/DHA", "혈행 개선 및 염증 완화. 식후 복용."});
-        YOUNG_YANG_EXPLAIN.put("은행잎 추출물", new String[]{"징코 빌로바", "혈액 순환 및 집중력 개선에 도움."});
-        YOUNG_YANG_EXPLAIN.put("루테인/지아잔틴", new String[]{"프리미엄 루테인", "눈 건강, 황반 색소 밀도 유지에 도움."});
-        YOUNG_YANG_EXPLAIN.put("아스타잔틴", new String[]{"헤마토코쿠스 아스타잔틴", "눈의 피로도 개선에 도움."});
-        YOUNG_YANG_EXPLAIN.put("비타민 D", new String[]{"고함량 비타민 D", "면역 및 뼈 건강 필수. 햇빛이 부족할 때 복용."});
-        YOUNG_YANG_EXPLAIN.put("아연", new String[]{"킬레이트 아연", "면역 기능 및 피부/모발 건강 지원. 식사 중 또는 식후."});
-        YOUNG_YANG_EXPLAIN.put("비타민 C", new String[]{"고함량 비타민 C", "항산화 및 콜라겐 생성 지원. 식후 복용."});
-        YOUNG_YANG_EXPLAIN.put("소화 효소", new String[]{"종합 소화 효소", "식후 더부룩함 해소에 도움. 식사 직후."});
-        YOUNG_YANG_EXPLAIN.put("프로바이오틱스", new String[]{"프리미엄 유산균", "장 건강 개선. 공복에 섭취 권장."});
-        YOUNG_YANG_EXPLAIN.put("식이섬유", new String[]{"차전자피 식이섬유", "배변 활동 원활에 도움. 충분한 물과 함께."});
-        YOUNG_YANG_EXPLAIN.put("MSM", new String[]{"MSM/식이유황", "관절 및 연골 조직 건강에 도움."});
-        YOUNG_YANG_EXPLAIN.put("글루코사민", new String[]{"글루코사민 복합제", "관절 건강 보조."});
-        YOUNG_YANG_EXPLAIN.put("콜라겐", new String[]{"저분자 피쉬 콜라겐", "피부 탄력 및 보습 개선."});
-        YOUNG_YANG_EXPLAIN.put("히알루론산", new String[]{"먹는 히알루론산", "피부 및 눈의 수분 유지."});
-        YOUNG_YANG_EXPLAIN.put("비오틴", new String[]{"고함량 비오틴", "모발 및 손톱 강화."});
-        YOUNG_YANG_EXPLAIN.put("테아닌", new String[]{"L-테아닌", "스트레스 완화 및 수면 질 개선. 저녁 복용."});
-        YOUNG_YANG_EXPLAIN.put("밀크씨슬", new String[]{"실리마린 밀크씨슬", "간 건강 보호 및 피로 해소. 아침 또는 점심 식후."});
-        YOUNG_YANG_EXPLAIN.put("비타민 E", new String[]{"천연 토코페롤", "항산화 및 피부 건강."});
-        YOUNG_YANG_EXPLAIN.put("칼슘", new String[]{"해조 칼슘", "뼈 건강. 비타민 D와 함께 복용 권장."});
-        YOUNG_YANG_EXPLAIN.put("가르시니아", new String[]{"HCA 가르시니아", "체지방 감소. 식사 전 복용."});
-        YOUNG_YANG_EXPLAIN.put("녹차 추출물", new String[]{"카테킨", "체지방 감소 및 항산화 작용."});
-        YOUNG_YANG_EXPLAIN.put("베타시토스테롤", new String[]{"잇몸 전용 영양제", "잇몸 염증 개선에 도움."});
+        KnowledgeBaseService.getInstance().addListener(kb -> CACHE.clear());
     }
 
-    // 3. 핵심 추천 로직 (Recommendation Logic)
-    public List<String> getRecommendations(List<String> selectedSymptoms) {
+    // 가중치를 따로 지정한 경우의 덮어쓸 가중치 (null 이면 파일의 가중치 그대로)
+    private final Map<String, Map<String, Double>> weights;
 
-        // 1. 중복 제거를 위한 LinkedHashSet 선언
-        // LinkedHashSet: 중복 자동 제거 및 요소 추가 순서 유지
-        Set<String> uniqueNutrients = new LinkedHashSet<>();
+    // 가중치를 적용한 지식 베이스 캐시 (원본 지식 베이스가 교체되면 다시 만듦)
+    private volatile WeightedKnowledgeBase weighted;
 
-        // 2. 증상 목록을 순회하며 모든 추천 성분을 Set에 수집 (중복 제거하기 위해)
-        for (String keyword : selectedSymptoms) {
-            // 해당 증상에 매핑된 영양 성분 리스트를 Map에서 가져옴.
-            List<String> nutrients =  YOUNG_YANG.get(keyword);
-
-            // 가져온 영양 성분 리스트를 순회하며 Set에 하나씩 추가합니다. (이중 for 루프)
-            // Set의 add() 기능이 동일한 성분명(예: 비타민 B군)의 중복 추가를 자동으로 막습니다.
-            for (String nutrient : nutrients) {
-                uniqueNutrients.add(nutrient);
-            }
+    public SupplementRecommenderModel() {
+        this.weights = null;
+    }
+
+    // 증상-성분 매핑별 가중치 지정 (증상 -> (성분 -> 가중치), 빠진 매핑은 파일의 가중치)
+    // 예: "수면 장애" 에서는 "마그네슘" 보다 "테아닌" 을 더 높게
+    public SupplementRecommenderModel(Map<String, Map<String, Double>> weights) {
+        this.weights = Map.copyOf(weights);
+    }
+
+    private static final class WeightedKnowledgeBase {
+        final SymptomKnowledgeBase source;
+        final SymptomKnowledgeBase compiled;
+
+        WeightedKnowledgeBase(SymptomKnowledgeBase source, SymptomKnowledgeBase compiled) {
+            this.source = source;
+            this.compiled = compiled;
+        }
+    }
+
+    // 이번 호출에서 사용할 지식 베이스 (호출 중간에 지식 베이스가 교체되더라도 끝까지 이 인스턴스를 사용)
+    private SymptomKnowledgeBase knowledgeBase() {
+        SymptomKnowledgeBase source = KnowledgeBaseService.getInstance().current();
+        if (weights == null) return source;
+
+        WeightedKnowledgeBase cached = weighted;
+        if (cached == null || cached.source != source) {
+            cached = new WeightedKnowledgeBase(source, source.withWeights(weights));
+            weighted = cached;
         }
+        return cached.compiled;
+    }
 
-        // 3. 최종 추천 목록을 포맷합니다.
-        List<String> finalRecommendations = new ArrayList<>();
+    // 3. 핵심 추천 로직 (Recommendation Logic)
+    public List<String> getRecommendations(List<String> selectedSymptoms) {
+        // 결과 문자열 형식은 Recommendation.toLines() 에서 만듦 (제목 + 성분별 설명)
+        return recommend(selectedSymptoms).toLines();
+    }
 
-        // 전체 추천 성분 개수를 포함한 제목 추가
-        finalRecommendations.add("===== 종합 추천 영양 성분 (" + uniqueNutrients.size() + "가지) =====");
+    // 선택한 증상들의 추천 성분을 중복 없이, 처음 등장한 순서대로 반환
+    // 문자열 포맷은 하지 않으므로 화면에 보여줄 때만 Recommendation.toLines() 를 호출
+    // 같은 조합은 캐시에서 바로 반환 (toLines() 결과도 Recommendation 안에 남아 있음)
+    public Recommendation recommend(List<String> selectedSymptoms) {
+        FlightEvents.Recommendation event = new FlightEvents.Recommendation();
+        event.begin();
+        SymptomKnowledgeBase kb = knowledgeBase();
+        int[] symptomIds = toSymptomIds(kb, selectedSymptoms);
+        Recommendation result = CACHE.get(kb, symptomIds, symptomIds.length);
+        event.end();
+        if (event.shouldCommit()) {
+            event.symptoms = symptomIds.length;
+            event.nutrients = result.size();
+            event.knowledgeBaseVersion = kb.getVersion();
+            event.commit();
+        }
+        return result;
+    }
 
-        // 중복 제거된 성분 목록(Set)을 순회하며 상세 정보를 조회하고 포맷팅합니다.
-        for (String nutrient : uniqueNutrients) {
-            // 성분 이름으로 상세 정보 Map에서 추천 제품 예시 및 참고 사항을 조회
-            String[] details = YOUNG_YANG_EXPLAIN.get(nutrient);
+    // 여러 요청을 한 번에 처리 (작업용 배열은 요청끼리 재사용)
+    public List<Recommendation> recommendBatch(List<List<String>> requests) {
+        SymptomKnowledgeBase kb = knowledgeBase();
+        int[] out = new int[kb.nutrientCount()];
+        long[] seen = kb.newNutrientMask();
+
+        List<Recommendation> results = new ArrayList<>(requests.size());
+        for (List<String> selectedSymptoms : requests) {
+            int[] symptomIds = toSymptomIds(kb, selectedSymptoms);
+            int count = kb.collectInto(symptomIds, symptomIds.length, out, seen);
+            results.add(new Recommendation(kb, Arrays.copyOf(out, count)));
+        }
+        return results;
+    }
 
+    // 순위 모드: 선택한 증상에 대한 가중치 합이 큰 성분부터 (같으면 더 많은 증상을 커버하는 성분부터)
+    public Recommendation rank(List<String> selectedSymptoms) {
+        SymptomKnowledgeBase kb = knowledgeBase();
+        int[] symptomIds = toSymptomIds(kb, selectedSymptoms);
+        return RecommendationOptimizer.rank(kb, symptomIds, symptomIds.length);
+    }
 
-                // String.format을 사용하여 최종 출력 형식(성분명, 예시, 참고 사항)으로 문자열을 생성합니다.
-                String result = String.format(
-                        "%s%n   - 추천 제품 예시: %s%n   - 참고 사항: %s%n",
-                        nutrient, details[0], details[1]
-                );
-                finalRecommendations.add(result);
+    // 최소 조합 모드: 선택한 증상을 모두 커버하는 가장 적은 영양제 조합
+    public RecommendationOptimizer.CoverResult minimalCover(List<String> selectedSymptoms) {
+        SymptomKnowledgeBase kb = knowledgeBase();
+        int[] symptomIds = toSymptomIds(kb, selectedSymptoms);
+        return RecommendationOptimizer.cover(kb, symptomIds, symptomIds.length);
+    }
 
+    // 증상 이름 -> id 변환 (등록되지 않은 증상은 건너뜀)
+    private static int[] toSymptomIds(SymptomKnowledgeBase kb, List<String> selectedSymptoms) {
+        int[] ids = new int[selectedSymptoms.size()];
+        int count = 0;
+        for (String keyword : selectedSymptoms) {
+            int id = kb.symptomId(keyword);
+            if (id >= 0) ids[count++] = id;
         }
+        return count == ids.length ? ids : Arrays.copyOf(ids, count);
+    }
+
+    // 캐시 적중/실패 횟수 확인용
+    public static RecommendationCache getCache() {
+        return CACHE;
+    }
 
-        return finalRecommendations;
+    // 컴파일된 지식 베이스 (증상/성분 id, 비트셋) - 증상 id 로 직접 조회하려는 쪽에서 사용
+    public static SymptomKnowledgeBase getKnowledgeBase() {
+        return KnowledgeBaseService.getInstance().current();
     }
 
     // --------------------------------------------------------------------------------
     // 4. UI 연동 메서드 (UI Integration)
     // --------------------------------------------------------------------------------
     public static List<String> getAllSymptoms() {
-        // Map의 KeySet(증상 목록)을 가져와 ArrayList로 변환하여 UI에 전달합니다.
+        // 현재 지식 베이스의 증상 목록을 ArrayList로 변환하여 UI에 전달합니다.
         // 이 리스트를 통해 JavaFX 컨트롤러가 체크박스 목록을 동적으로 생성합니다.
-        return new ArrayList<>(YOUNG_YANG.keySet());
+        return new ArrayList<>(KnowledgeBaseService.getInstance().current().getSymptoms());
     }
 }
 
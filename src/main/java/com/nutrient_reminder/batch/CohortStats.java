@@ -0,0 +1,142 @@
+package com.nutrient_reminder.batch;
+
+import com.nutrient_reminder.model.SymptomKnowledgeBase;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 배치 추천 결과의 집단 통계 (작업 단위마다 하나씩 만들고 끝나면 merge 로 합침)
+// - 증상별 선택 횟수, 성분별 추천 횟수
+// - 성분 쌍이 한 프로필에 함께 추천된 횟수 (상삼각 행렬)
+// - 프로필당 추천 성분 개수 분포
+// - 지식 베이스에 없는 증상 이름별 횟수 (오타나 새로 추가할 증상을 찾는 용도)
+// 동기화 없이 한 스레드에서만 add 하고, 합칠 때만 다른 인스턴스를 읽음
+public final class CohortStats {
+
+    private static final int MAX_SIZE_BUCKET = 32;
+
+    // 이름별로 세는 알 수 없는 증상 종류의 상한 (넘으면 그 뒤의 새 이름은 전체 개수에만 반영)
+    private static final int MAX_UNKNOWN_NAMES = 1000;
+
+    private final SymptomKnowledgeBase kb;
+    private final int nutrientCount;
+
+    private long profiles;
+    private long unknownSymptoms;
+    private final long[] symptomCounts;
+    private final long[] nutrientCounts;
+    private final long[] pairCounts;        // i < j 인 (i, j) -> i * n + j
+    private final long[] sizeHistogram;     // 추천 개수 -> 프로필 수 (마지막 칸은 그 이상)
+    private final Map<String, Long> unknownNames = new HashMap<>();
+
+    public CohortStats(SymptomKnowledgeBase kb) {
+        this.kb = kb;
+        this.nutrientCount = kb.nutrientCount();
+        this.symptomCounts = new long[kb.symptomCount()];
+        this.nutrientCounts = new long[nutrientCount];
+        this.pairCounts = new long[nutrientCount * nutrientCount];
+        this.sizeHistogram = new long[MAX_SIZE_BUCKET + 1];
+    }
+
+    // 지식 베이스에 없는 증상 하나 반영 (프로필의 add 전에 증상마다 호출)
+    public void addUnknown(String name) {
+        unknownSymptoms++;
+        countUnknown(name, 1);
+    }
+
+    private void countUnknown(String name, long count) {
+        if (unknownNames.size() < MAX_UNKNOWN_NAMES || unknownNames.containsKey(name)) {
+            unknownNames.merge(name, count, Long::sum);
+        }
+    }
+
+    // 프로필 하나의 결과 반영 (symptomIds: 알려진 증상, nutrientIds: 추천 성분)
+    public void add(int[] symptomIds, int symptomCount, int[] nutrientIds, int nutrientIdCount) {
+        profiles++;
+        for (int i = 0; i < symptomCount; i++) symptomCounts[symptomIds[i]]++;
+        for (int i = 0; i < nutrientIdCount; i++) {
+            int a = nutrientIds[i];
+            nutrientCounts[a]++;
+            for (int j = i + 1; j < nutrientIdCount; j++) {
+                int b = nutrientIds[j];
+                if (a < b) pairCounts[a * nutrientCount + b]++;
+                else pairCounts[b * nutrientCount + a]++;
+            }
+        }
+        sizeHistogram[Math.min(nutrientIdCount, MAX_SIZE_BUCKET)]++;
+    }
+
+    // 다른 작업 단위의 통계를 이 인스턴스에 더함 (같은 지식 베이스로 만든 통계끼리만)
+    public void merge(CohortStats other) {
+        if (other.kb != kb) throw new IllegalArgumentException("다른 지식 베이스로 만든 통계는 합칠 수 없습니다.");
+        profiles += other.profiles;
+        unknownSymptoms += other.unknownSymptoms;
+        for (int i = 0; i < symptomCounts.length; i++) symptomCounts[i] += other.symptomCounts[i];
+        for (int i = 0; i < nutrientCounts.length; i++) nutrientCounts[i] += other.nutrientCounts[i];
+        for (int i = 0; i < pairCounts.length; i++) pairCounts[i] += other.pairCounts[i];
+        for (int i = 0; i < sizeHistogram.length; i++) sizeHistogram[i] += other.sizeHistogram[i];
+        for (Map.Entry<String, Long> entry : other.unknownNames.entrySet()) countUnknown(entry.getKey(), entry.getValue());
+    }
+
+    public long getProfiles() { return profiles; }
+    public long getUnknownSymptoms() { return unknownSymptoms; }
+    public long getNutrientCount(int nutrientId) { return nutrientCounts[nutrientId]; }
+    public long getSymptomCount(int symptomId) { return symptomCounts[symptomId]; }
+    public long getUnknownCount(String name) { return unknownNames.getOrDefault(name, 0L); }
+
+    public long getPairCount(int a, int b) {
+        if (a == b) return nutrientCounts[a];
+        return a < b ? pairCounts[a * nutrientCount + b] : pairCounts[b * nutrientCount + a];
+    }
+
+    public void print(PrintStream out, int top) {
+        out.println("===== 집단 통계 =====");
+        out.printf("프로필 수: %d, 알 수 없는 증상: %d%n", profiles, unknownSymptoms);
+
+        out.println("-- 많이 선택된 증상 --");
+        for (int s : topIndices(symptomCounts, top)) {
+            out.printf("  %s: %d (%.1f%%)%n", kb.symptomName(s), symptomCounts[s], percent(symptomCounts[s]));
+        }
+
+        out.println("-- 많이 추천된 성분 --");
+        for (int n : topIndices(nutrientCounts, top)) {
+            out.printf("  %s: %d (%.1f%%)%n", kb.nutrientName(n), nutrientCounts[n], percent(nutrientCounts[n]));
+        }
+
+        out.println("-- 함께 추천된 성분 쌍 --");
+        for (int p : topIndices(pairCounts, top)) {
+            out.printf("  %s + %s: %d%n", kb.nutrientName(p / nutrientCount), kb.nutrientName(p % nutrientCount), pairCounts[p]);
+        }
+
+        out.println("-- 프로필당 추천 성분 개수 --");
+        for (int size = 0; size < sizeHistogram.length; size++) {
+            if (sizeHistogram[size] == 0) continue;
+            out.printf("  %s%d개: %d%n", size == MAX_SIZE_BUCKET ? ">=" : "", size, sizeHistogram[size]);
+        }
+
+        if (!unknownNames.isEmpty()) {
+            out.println("-- 알 수 없는 증상 --");
+            List<Map.Entry<String, Long>> names = new ArrayList<>(unknownNames.entrySet());
+            names.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+            for (Map.Entry<String, Long> entry : names.subList(0, Math.min(top, names.size()))) {
+                out.printf("  %s: %d%n", entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private double percent(long count) {
+        return profiles == 0 ? 0.0 : count * 100.0 / profiles;
+    }
+
+    // 값이 0보다 큰 칸 중 큰 순서대로 최대 top 개의 위치
+    private static List<Integer> topIndices(long[] values, int top) {
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) if (values[i] > 0) indices.add(i);
+        indices.sort(Comparator.comparingLong((Integer i) -> values[i]).reversed());
+        return indices.size() > top ? indices.subList(0, top) : indices;
+    }
+}
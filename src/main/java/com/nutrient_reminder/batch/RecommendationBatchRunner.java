@@ -0,0 +1,204 @@
+package com.nutrient_reminder.batch;
+
+import com.google.gson.stream.JsonWriter;
+import com.nutrient_reminder.model.SymptomKnowledgeBase;
+import com.nutrient_reminder.service.KnowledgeBaseService;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+// 대량의 증상 프로필 파일(설문 내보내기 등)을 읽어서 추천 결과를 병렬로 계산하는 배치 실행기
+// 입력: 한 줄에 프로필 하나 "프로필id,증상1|증상2|..." (빈 줄, # 으로 시작하는 줄은 건너뜀)
+// 출력: 한 줄에 결과 하나 {"id":"...","nutrients":["...",...]} (JSON Lines, 입력 순서 유지)
+// 파일 전체를 메모리에 올리지 않고 CHUNK_SIZE 줄씩 읽어서 ForkJoinPool 에 넘기고,
+// 끝난 묶음부터 순서대로 출력 파일에 씀 (동시에 처리 중인 묶음은 스레드 수의 2배까지)
+// 집단 통계는 묶음마다 따로 모은 CohortStats 를 쓰기 스레드에서 합침
+//
+// 사용법:
+//   RecommendationBatchRunner <입력 파일> <출력 파일> [스레드 수=코어 수]
+//   RecommendationBatchRunner --generate <출력 파일> <프로필 수> [seed=42]   (성능 측정용 입력 생성)
+public class RecommendationBatchRunner {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final int TOP_N = 10;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 3 && args[0].equals("--generate")) {
+            long seed = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+            SymptomKnowledgeBase kb = loadKnowledgeBase();
+            try (Writer out = Files.newBufferedWriter(Path.of(args[1]), StandardCharsets.UTF_8)) {
+                generate(kb, Long.parseLong(args[2]), seed, out);
+            }
+            return;
+        }
+        if (args.length < 2) {
+            System.out.println("사용법: RecommendationBatchRunner <입력 파일> <출력 파일> [스레드 수]");
+            System.out.println("        RecommendationBatchRunner --generate <출력 파일> <프로필 수> [seed]");
+            return;
+        }
+
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        SymptomKnowledgeBase kb = loadKnowledgeBase();
+
+        long start = System.nanoTime();
+        CohortStats stats;
+        try (Reader in = Files.newBufferedReader(Path.of(args[0]), StandardCharsets.UTF_8);
+             Writer out = new BufferedWriter(Files.newBufferedWriter(Path.of(args[1]), StandardCharsets.UTF_8), 1 << 16)) {
+            stats = run(kb, in, out, parallelism);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("처리 완료: %d건, %.2f초, 초당 %.0f건 (스레드 %d개, 지식 베이스 v%d)%n",
+                stats.getProfiles(), seconds, stats.getProfiles() / seconds, parallelism, kb.getVersion());
+        stats.print(System.out, TOP_N);
+    }
+
+    // 실행 폴더의 knowledge-base.json (없으면 기본 리소스) 을 한 번만 읽어서 배치 전체에 같은 지식 베이스를 사용
+    private static SymptomKnowledgeBase loadKnowledgeBase() {
+        return new KnowledgeBaseService(Path.of(KnowledgeBaseService.FILE_NAME), false).current();
+    }
+
+    // 입력을 끝까지 처리하고 합친 집단 통계를 반환 (in/out 은 닫지 않음)
+    public static CohortStats run(SymptomKnowledgeBase kb, Reader in, Writer out, int parallelism) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        ArrayDeque<Future<Chunk>> inFlight = new ArrayDeque<>();
+        CohortStats total = new CohortStats(kb);
+        int maxInFlight = parallelism * 2;
+
+        try {
+            BufferedReader reader = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in, 1 << 16);
+            List<String> lines = new ArrayList<>(CHUNK_SIZE);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+                if (lines.size() < CHUNK_SIZE) continue;
+
+                List<String> chunk = lines;
+                inFlight.add(pool.submit(() -> process(kb, chunk)));
+                lines = new ArrayList<>(CHUNK_SIZE);
+                while (inFlight.size() >= maxInFlight) writeChunk(inFlight.poll(), out, total);
+            }
+            if (!lines.isEmpty()) {
+                List<String> chunk = lines;
+                inFlight.add(pool.submit(() -> process(kb, chunk)));
+            }
+            while (!inFlight.isEmpty()) writeChunk(inFlight.poll(), out, total);
+            out.flush();
+        } finally {
+            pool.shutdownNow();
+        }
+        return total;
+    }
+
+    // 묶음 처리가 끝날 때까지 기다렸다가 결과를 쓰고 통계를 합침 (입력 순서대로 호출됨)
+    private static void writeChunk(Future<Chunk> future, Writer out, CohortStats total) throws IOException {
+        Chunk chunk;
+        try {
+            chunk = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("배치 처리가 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("배치 처리 중 오류 발생", e.getCause());
+        }
+        out.write(chunk.output.toString());
+        total.merge(chunk.stats);
+    }
+
+    // 한 묶음의 결과 (출력할 JSON Lines 문자열 + 이 묶음의 통계)
+    private static final class Chunk {
+        final StringWriter output;
+        final CohortStats stats;
+
+        Chunk(StringWriter output, CohortStats stats) {
+            this.output = output;
+            this.stats = stats;
+        }
+    }
+
+    // 작업 스레드에서 실행: 줄마다 증상 -> id 변환, 추천 계산, JSON 한 줄 생성 (작업용 배열은 묶음 안에서 재사용)
+    private static Chunk process(SymptomKnowledgeBase kb, List<String> lines) throws IOException {
+        StringWriter output = new StringWriter(lines.size() * 96);
+        CohortStats stats = new CohortStats(kb);
+        int[] symptomIds = new int[kb.symptomCount()];
+        int[] nutrientIds = new int[kb.nutrientCount()];
+        long[] seen = kb.newNutrientMask();
+        boolean[] selected = new boolean[kb.symptomCount()];
+
+        for (String line : lines) {
+            if (line.isBlank() || line.charAt(0) == '#') continue;
+
+            int comma = line.indexOf(',');
+            String id = comma >= 0 ? line.substring(0, comma).trim() : "";
+
+            // 증상 목록 파싱 (알 수 없는 증상은 이름별로 세기만 하고, 같은 증상이 두 번 적혀도 한 번만)
+            int symptomCount = 0;
+            int pos = comma + 1;
+            while (pos <= line.length()) {
+                int bar = line.indexOf('|', pos);
+                if (bar < 0) bar = line.length();
+                String name = line.substring(pos, bar).trim();
+                pos = bar + 1;
+                if (name.isEmpty()) continue;
+
+                int symptomId = kb.symptomId(name);
+                if (symptomId < 0) {
+                    stats.addUnknown(name);
+                } else if (!selected[symptomId]) {
+                    selected[symptomId] = true;
+                    symptomIds[symptomCount++] = symptomId;
+                }
+            }
+            for (int i = 0; i < symptomCount; i++) selected[symptomIds[i]] = false;
+
+            int count = kb.collectInto(symptomIds, symptomCount, nutrientIds, seen);
+            stats.add(symptomIds, symptomCount, nutrientIds, count);
+
+            // JSON Lines 는 한 줄에 하나여야 하므로 들여쓰기 설정(JsonCodecs.newWriter)을 쓰지 않음
+            JsonWriter json = new JsonWriter(output);
+            json.beginObject();
+            json.name("id").value(id);
+            json.name("nutrients").beginArray();
+            for (int i = 0; i < count; i++) json.value(kb.nutrientName(nutrientIds[i]));
+            json.endArray();
+            json.endObject();
+            json.flush();
+            output.write('\n');
+        }
+        return new Chunk(output, stats);
+    }
+
+    // 성능 측정용 입력 생성: 프로필마다 증상 1~6개, 앞쪽 증상일수록 자주 선택되도록 치우침
+    public static void generate(SymptomKnowledgeBase kb, long rows, long seed, Writer out) throws IOException {
+        Random random = new Random(seed);
+        int n = kb.symptomCount();
+        StringBuilder line = new StringBuilder(128);
+        for (long row = 0; row < rows; row++) {
+            line.setLength(0);
+            line.append('p').append(row).append(',');
+            int picks = 1 + random.nextInt(6);
+            for (int i = 0; i < picks; i++) {
+                double u = random.nextDouble();
+                int symptom = (int) (n * u * u);
+                if (i > 0) line.append('|');
+                line.append(kb.symptomName(symptom));
+            }
+            line.append('\n');
+            out.write(line.toString());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.nutrient_reminder.controller;
 
+import com.nutrient_reminder.logging.Log;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert; // Alert 추가
 import javafx.scene.control.Button;
@@ -147,7 +148,7 @@ public class AlarmAddPopupController {
         if (listener != null) {
             listener.onAlarmSaved(name, days, time);
         } else {
-            System.err.println("오류: AlarmSaveListener가 설정되지 않았습니다.");
+            Log.warn("AlarmSaveListener가 설정되지 않음");
         }
 
         // 팝업 닫기
@@ -0,0 +1,38 @@
+package com.nutrient_reminder.controller;
+
+import com.nutrient_reminder.logging.Log;
+import com.nutrient_reminder.model.Nutrient;
+import com.nutrient_reminder.service.AlarmSchedulerService;
+import com.nutrient_reminder.service.UserSession;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+
+import java.io.IOException;
+
+// JavaFX 앱의 알람 알림: 알람 팝업 창 (FX 스레드에서 호출됨)
+public class AlarmPopupNotifier implements AlarmSchedulerService.AlarmNotifier {
+
+    @Override
+    public void onAlarmFired(Nutrient alarm) {
+        try {
+            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/nutrient_reminder/view/alarmTriggerPopup.fxml"));
+            Parent root = loader.load();
+            AlarmTriggerController controller = loader.getController();
+            controller.setAlarmInfo(alarm.getTime(), UserSession.labelOf(alarm), alarm.getId());
+
+            Stage stage = new Stage();
+            stage.initStyle(StageStyle.UTILITY);
+            stage.initModality(Modality.APPLICATION_MODAL);
+            stage.setTitle("알람");
+            stage.setScene(new Scene(root));
+            stage.setAlwaysOnTop(true);
+            stage.show();
+        } catch (IOException e) {
+            Log.error("알람 팝업을 열지 못함", e, "alarmId", alarm.getId());
+        }
+    }
+}
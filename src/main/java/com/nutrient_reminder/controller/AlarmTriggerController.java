@@ -1,11 +1,11 @@
 package com.nutrient_reminder.controller;
 
+import com.nutrient_reminder.logging.Log;
+import com.nutrient_reminder.model.AlarmStatus;
 import com.nutrient_reminder.service.AlarmSchedulerService;
 import javafx.fxml.FXML;
-import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.input.MouseEvent;
 import javafx.stage.Stage;
 
 public class AlarmTriggerController {
@@ -18,18 +18,9 @@ public class AlarmTriggerController {
     private final AlarmSchedulerService service = AlarmSchedulerService.getInstance();
     private String alarmId;
 
+    // 버튼 hover/pressed 효과는 style-sheets/alarmTrigger.css 의 :hover, :pressed 로 처리
     @FXML
     public void initialize() {
-
-        offButton.setOnMouseEntered(this::onButtonHoverEnter);
-        offButton.setOnMouseExited(this::onButtonHoverExit);
-        offButton.setOnMousePressed(this::onButtonPress);
-        offButton.setOnMouseReleased(this::onButtonRelease);
-
-        snoozeButton.setOnMouseEntered(this::onButtonHoverEnter);
-        snoozeButton.setOnMouseExited(this::onButtonHoverExit);
-        snoozeButton.setOnMousePressed(this::onButtonPress);
-        snoozeButton.setOnMouseReleased(this::onButtonRelease);
     }
 
     public void setAlarmInfo(String time, String pillName, String id) {
@@ -40,15 +31,15 @@ public class AlarmTriggerController {
 
     @FXML
     private void handleOff() {
-        service.updateAlarmStatus(alarmId, "COMPLETED");
-        System.out.println("알람 끄기 요청 완료. ID: " + alarmId);
+        service.updateAlarmStatus(alarmId, AlarmStatus.COMPLETED);
+        Log.info("알람 끄기", "alarmId", alarmId);
         closePopup();
     }
 
     @FXML
     private void handleSnooze() {
-        service.updateAlarmStatus(alarmId, "SNOOZED");
-        System.out.println("30분 뒤 스누즈 요청 완료. ID: " + alarmId);
+        service.updateAlarmStatus(alarmId, AlarmStatus.SNOOZED);
+        Log.info("알람 스누즈", "alarmId", alarmId, "minutes", 30);
         closePopup();
     }
 
@@ -57,39 +48,4 @@ public class AlarmTriggerController {
         stage.close();
     }
 
-
-    // 마우스 들어오면 ( 작아지기 )
-    @FXML
-    private void onButtonHoverEnter(MouseEvent event) {
-        Button button = (Button) event.getSource();
-        button.setStyle("-fx-background-color: #567889; -fx-background-radius: 5; -fx-text-fill: white; -fx-font-weight: bold; -fx-cursor: hand; -fx-font-size: 18.0px;");
-        button.setScaleX(1.02);
-        button.setScaleY(1.02);
-    }
-
-    // 마우스가 버튼에서 나가면 ( 원래 크기 )
-    @FXML
-    private void onButtonHoverExit(MouseEvent event) {
-        Button button = (Button) event.getSource();
-        button.setStyle("-fx-background-color: #D0E8F2; -fx-background-radius: 5; -fx-text-fill: #567889; -fx-font-weight: bold; -fx-cursor: hand; -fx-font-size: 18.0px;");
-        button.setScaleX(1.0);
-        button.setScaleY(1.0);
-    }
-
-    // 버튼이 눌리면( 작아지기 )
-    @FXML
-    private void onButtonPress(MouseEvent event) {
-        Node node = (Node) event.getSource();
-        node.setScaleX(0.98);
-        node.setScaleY(0.98);
-    }
-
-    // 버튼에서 마우스를 떼면( 원래 크기 )
-    @FXML
-    private void onButtonRelease(MouseEvent event) {
-        Button button = (Button) event.getSource();
-        button.setStyle("-fx-background-color: #D0E8F2; -fx-background-radius: 5; -fx-text-fill: #567889; -fx-font-weight: bold; -fx-cursor: hand; -fx-font-size: 18.0px;");
-        button.setScaleX(1.0);
-        button.setScaleY(1.0);
-    }
 }
\ No newline at end of file
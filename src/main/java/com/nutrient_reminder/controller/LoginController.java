@@ -1,5 +1,7 @@
 package com.nutrient_reminder.controller;
 
+import com.nutrient_reminder.logging.Log;
+import com.nutrient_reminder.service.AlarmSyncClient;
 import com.nutrient_reminder.service.UserSession;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -59,10 +61,12 @@ public class LoginController {
 
             // 서버의 응답 코드 확인
             if(response.statusCode() == 200){
-                System.out.println("로그인 성공");
+                Log.info("로그인 성공", "username", username);
 
                 //UserSession에 아이디 저장!
                 UserSession.setUserId(username);
+                // 응답의 토큰으로 서버와 알람 동기화 시작
+                AlarmSyncClient.onLogin(username, response.body());
 
                 // 이동할 화면을 'main.fxml'로 변경
                 FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/nutrient_reminder/view/main.fxml"));
@@ -80,23 +84,19 @@ public class LoginController {
 
             }
             else{
-                System.out.println("로그인 실패" + response.body());
+                Log.info("로그인 실패", "username", username, "status", response.statusCode());
                 showAlert(Alert.AlertType.ERROR, "로그인 실패", "아이디 또는 비밀번호가 올바르지 않습니다.");
             }
         }
         catch(IOException e) {
-            e.printStackTrace();
+            Log.error("로그인 요청 실패", e, "username", username);
             showAlert(Alert.AlertType.ERROR, "서버 연결 오류", "서버에 연결할 수 없습니다.\n서버가 실행 중인지 확인해주세요.");
         }
         catch(InterruptedException e) {
-            e.printStackTrace();
+            Thread.currentThread().interrupt();
+            Log.error("로그인 요청 중단", e, "username", username);
             showAlert(Alert.AlertType.ERROR, "요청 오류", "요청이 중단되었습니다.");
         }
-
-
-        System.out.println("로그인 진행");
-        System.out.println("아이디: " + username);
-        System.out.println("비밀번호: " + password);
     }
 
     // 알림창 표시 메서드 추가
@@ -0,0 +1,36 @@
+package com.nutrient_reminder.controller;
+
+import com.nutrient_reminder.service.UserSession;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonBar;
+import javafx.scene.control.ButtonType;
+
+import java.util.Optional;
+
+// 로그아웃 확인 창 (메인 화면, 추천 화면 공통)
+// - 로그아웃: 화면에서만 나감 (UserSession.clear), 프로필은 활성으로 남아 알람이 계속 울림
+// - 로그아웃하고 알람 끄기: 이 프로필을 기기에서 뺌 (UserSession.signOut), 알람도 더 이상 울리지 않음
+final class LogoutPrompt {
+
+    private static final ButtonType LEAVE = new ButtonType("로그아웃", ButtonBar.ButtonData.OK_DONE);
+    private static final ButtonType SIGN_OUT = new ButtonType("로그아웃하고 알람 끄기", ButtonBar.ButtonData.OTHER);
+
+    private LogoutPrompt() {}
+
+    // 사용자가 고른 방식으로 로그아웃 (취소하면 false, 아무것도 바꾸지 않음)
+    static boolean confirm() {
+        String userId = UserSession.getUserId();
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION, null, LEAVE, SIGN_OUT, ButtonType.CANCEL);
+        alert.setTitle("로그아웃");
+        alert.setHeaderText(null);
+        alert.setContentText("로그아웃 하시겠습니까?\n"
+                + "'로그아웃'은 화면에서만 나가고 이 프로필의 알람은 계속 울립니다.\n"
+                + "'로그아웃하고 알람 끄기'는 이 기기에서 프로필을 빼서 알람도 울리지 않습니다.");
+
+        Optional<ButtonType> result = alert.showAndWait();
+        if (result.isEmpty() || result.get() == ButtonType.CANCEL) return false;
+        if (result.get() == SIGN_OUT && userId != null) UserSession.signOut(userId);
+        else UserSession.clear();
+        return true;
+    }
+}
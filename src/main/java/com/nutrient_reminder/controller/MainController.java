@@ -1,30 +1,43 @@
 package com.nutrient_reminder.controller;
 
+import com.nutrient_reminder.logging.Log;
+import com.nutrient_reminder.model.AlarmStatus;
 import com.nutrient_reminder.model.Nutrient; // [중요] Nutrient 모델 사용
 import com.nutrient_reminder.service.AlarmSchedulerService;
 import com.nutrient_reminder.service.AlarmSchedulerService.AlarmStatusListener;
+import com.nutrient_reminder.service.InteractionChecker;
 import com.nutrient_reminder.service.UserSession;
 import javafx.application.Platform; // [복구] import 추가
+import javafx.beans.value.ChangeListener;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.geometry.Side;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.ContextMenu;
 import javafx.scene.control.Label;
-import javafx.scene.input.MouseEvent;
+import javafx.scene.control.MenuItem;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.stage.Window;
 
 import java.io.IOException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 public class MainController implements AlarmAddPopupController.AlarmSaveListener, AlarmStatusListener {
 
@@ -38,6 +51,18 @@ public class MainController implements AlarmAddPopupController.AlarmSaveListener
     @FXML private Button addButton;
     @FXML private VBox alarmListContainer;
 
+    // 화면에 이미 표시된 알람 ID
+    private final Set<String> shownAlarmIds = new HashSet<>();
+
+    // 서비스 리스너로 등록되어 있고 알람 카드를 그려 둔 상태인지 (창에서 떨어지면 false)
+    private boolean attached;
+
+    // 이 화면이 붙은 Scene 의 창이 바뀔 때: 창이 없어지면(트레이로 숨김, 다른 Scene 으로 교체) 떼어 내고 다시 생기면 붙임
+    private final ChangeListener<Window> windowListener = (obs, oldWindow, window) -> {
+        if (window == null) detach();
+        else attach();
+    };
+
     @FXML
     public void initialize() {
         String currentId = UserSession.getUserId();
@@ -45,36 +70,77 @@ public class MainController implements AlarmAddPopupController.AlarmSaveListener
             userNameLabel.setText("'" + currentId + "' 님");
         }
 
-        System.out.println("메인 화면이 초기화되었습니다.");
+        Log.debug("메인 화면 초기화", "userId", currentId);
 
-        // 💡 1. MainController를 알람 상태 변화 리스너로 등록
-        service.addListener(this);
+        // 💡 1. MainController를 알람 상태 변화 리스너로 등록하고
+        // 💡 2. 저장된 알람을 불러와 UI에 표시
+        attach();
+
+        // 화면 전환이나 트레이로 숨기면서 이 화면이 창에서 떨어지면 리스너를 해제하고 알람 카드도 비움
+        // (서비스가 컨트롤러를, 컨트롤러가 카드 노드를 붙잡지 않아 화면 전체가 메모리에서 해제됨)
+        alarmListContainer.sceneProperty().addListener((obs, oldScene, scene) -> {
+            if (oldScene != null) oldScene.windowProperty().removeListener(windowListener);
+            if (scene == null) {
+                detach();
+                return;
+            }
+            scene.windowProperty().addListener(windowListener);
+        });
+    }
 
-        // 💡 2. 저장된 알람을 불러와 UI에 표시하는 로직
+    private void attach() {
+        if (attached) return;
+        attached = true;
+        service.addListener(this);
         loadAlarms();
     }
 
+    private void detach() {
+        if (!attached) return;
+        attached = false;
+        service.removeListener(this);
+        alarmListContainer.getChildren().clear();
+        shownAlarmIds.clear();
+    }
+
     private void loadAlarms() {
         alarmListContainer.getChildren().clear();
+        shownAlarmIds.clear();
         String currentUserId = UserSession.getUserId();
-        String todayKorean = service.getTodayKorean();
+        long today = service.getToday().toEpochDay();
+
+        List<Nutrient> alarms = currentUserId != null
+                ? service.getAlarmsForUser(currentUserId)
+                : service.getScheduledAlarms();
+        for (Nutrient alarm : alarms) {
+            showAlarm(alarm, today);
+        }
+    }
+
+    private void showAlarm(Nutrient alarm, long today) {
+        // 백그라운드 로딩 배치와 초기 목록이 겹칠 수 있으므로 이미 표시한 알람은 건너뜀
+        if (!shownAlarmIds.add(alarm.getId())) return;
 
-        for (Nutrient alarm : service.getScheduledAlarms()) {
-            if (currentUserId != null && !currentUserId.equals(alarm.getUserId())) continue;
+        // 반복 규칙 설명 ("반복 없음"이던 기존 알람은 매일 울리므로 "매일"로 표시)
+        String dateText = alarm.getRecurrence().describe();
 
-            // 요일 정보 포맷
-            String dateText = alarm.getDays().isEmpty()
-                    ? "반복 없음"
-                    : String.join(", ", alarm.getDays()) + "요일 (매주 반복)";
+        String timeTextRaw = alarm.getTime().replaceAll("오전|오후", "").trim();
+        String timeText = timeTextRaw.replaceAll(" : ", ":");
 
-            String timeTextRaw = alarm.getTime().replaceAll("오전|오후", "").trim();
-            String timeText = timeTextRaw.replaceAll(" : ", ":");
+        // 오늘 알람인지 확인 (필터링하지 않고 변수에 담음)
+        boolean isToday = alarm.getRecurrence().occursOn(today);
 
-            // 오늘 알람인지 확인 (필터링하지 않고 변수에 담음)
-            boolean isToday = alarm.getDays().isEmpty() || alarm.getDays().contains(todayKorean);
+        // addAlarmToUI 호출 (isToday 플래그 추가)
+        addAlarmToUI(dateText, timeText, alarm.getName(), alarm.getTime(), alarm.getId(), alarm.getStatus(), isToday);
+    }
 
-            // addAlarmToUI 호출 (isToday 플래그 추가)
-            addAlarmToUI(dateText, timeText, alarm.getName(), alarm.getTime(), alarm.getId(), alarm.getStatus(), isToday);
+    // 시작 시 백그라운드에서 읽힌 알람을 배치 단위로 화면에 추가
+    @Override
+    public void onAlarmsLoaded(String userId, List<Nutrient> alarms) {
+        if (!Objects.equals(userId, UserSession.getUserId())) return;
+        long today = service.getToday().toEpochDay();
+        for (Nutrient alarm : alarms) {
+            showAlarm(alarm, today);
         }
     }
 
@@ -91,24 +157,23 @@ public class MainController implements AlarmAddPopupController.AlarmSaveListener
     }
 
     // 알림박스 메소드 (깔끔한 디자인 및 두 개의 버튼, ID 추가)
-    public void addAlarmToUI(String dateText, String timeText, String pillName, String subTime, String alarmId, String status, boolean isToday) {
+    public void addAlarmToUI(String dateText, String timeText, String pillName, String subTime, String alarmId, AlarmStatus status, boolean isToday) {
 
         // 💡 디자인 개선: 흰색 배경, 부드러운 회색 테두리 그림자 추가
         VBox alarmBox = new VBox();
         alarmBox.setId(alarmId); // 💡 VBox에 알람 ID 설정 (상태 변경 시 검색용)
-        alarmBox.setStyle("-fx-background-color: white; -fx-background-radius: 15; -fx-border-color: #DDDDDD; -fx-border-width: 1; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0.0, 0, 3);");
+        alarmBox.getStyleClass().add("alarm-card"); // 스타일은 style-sheets/main.css
         alarmBox.setPadding(new Insets(15, 20, 15, 20)); // 안쪽 여백
         alarmBox.setSpacing(10); // 내부 요소 간격
 
-        // [추가] 오늘 알람이 아니거나, 이미 먹었으면 흐리게 처리
-        if (!isToday || "COMPLETED".equals(status)) {
-            alarmBox.setOpacity(0.5);
+        // [추가] 오늘 알람이 아니거나, 이미 먹었으면 흐리게 처리 (.alarm-card:disabled)
+        if (!isToday || status == AlarmStatus.COMPLETED) {
             alarmBox.setDisable(true);
         }
 
         // 날짜 라벨
         Label dateLabel = new Label(dateText);
-        dateLabel.setStyle("-fx-font-weight: bold; -fx-text-fill: #999999; -fx-font-size: 14px;");
+        dateLabel.getStyleClass().add("alarm-date");
 
         // 시간 & 약 이름 ( 가로 배치 )
         HBox contentBox = new HBox();
@@ -117,15 +182,16 @@ public class MainController implements AlarmAddPopupController.AlarmSaveListener
 
         // 시간 ( ex 8시 30분 )
         Label mainTimeLabel = new Label(timeText);
-        mainTimeLabel.setStyle("-fx-font-size: 26px; -fx-font-weight: bold; -fx-text-fill: #333333;");
+        mainTimeLabel.getStyleClass().add("alarm-time");
 
         // 약 이름 ( ex 비타민 c )
         Label pillLabel = new Label(pillName);
-        pillLabel.setStyle("-fx-font-size: 20px; -fx-font-weight: bold; -fx-text-fill: #333333;");
+        pillLabel.getStyleClass().add("alarm-name");
 
         // 💡 옵션 버튼 ( ... ) 추가
         Button optionButton = new Button("···");
-        optionButton.setStyle("-fx-background-color: transparent; -fx-text-fill: #888888; -fx-font-size: 24px; -fx-cursor: hand;");
+        optionButton.getStyleClass().add("alarm-option-btn");
+        optionButton.setOnAction(e -> showAlarmOptions(optionButton, alarmId, pillName));
 
         // 약 이름과 옵션 버튼 사이에 공간을 채우기 위해 Pane 추가
         Pane spacer = new Pane();
@@ -139,20 +205,18 @@ public class MainController implements AlarmAddPopupController.AlarmSaveListener
         buttonBar.setSpacing(10); // 버튼 간격
         buttonBar.setAlignment(Pos.CENTER);
 
-        String btnStyle = "-fx-background-color: #E8F5FF; -fx-background-radius: 10; -fx-text-fill: #567889; -fx-font-weight: bold; -fx-cursor: hand; -fx-font-size: 14px;";
-
         Button eatenButton = new Button("먹었습니다");
         eatenButton.setMaxWidth(Double.MAX_VALUE);
         HBox.setHgrow(eatenButton, Priority.ALWAYS);
         eatenButton.setUserData(alarmId);
-        eatenButton.setStyle(btnStyle);
+        eatenButton.getStyleClass().add("alarm-action-btn");
         eatenButton.setOnAction(this::handleAlarmAction);
 
         Button snoozeButton = new Button("30분 뒤 다시 울림");
         snoozeButton.setMaxWidth(Double.MAX_VALUE);
         HBox.setHgrow(snoozeButton, Priority.ALWAYS);
         snoozeButton.setUserData(alarmId);
-        snoozeButton.setStyle(btnStyle);
+        snoozeButton.getStyleClass().add("alarm-action-btn");
         snoozeButton.setOnAction(this::handleAlarmAction);
 
         buttonBar.getChildren().addAll(eatenButton, snoozeButton);
@@ -163,54 +227,99 @@ public class MainController implements AlarmAddPopupController.AlarmSaveListener
         }
     }
 
+    // 옵션 버튼 메뉴: 알람 삭제 (확인 후 삭제하면 onAlarmsRemoved 로 카드가 빠지고 다른 기기에도 삭제가 전달됨)
+    private void showAlarmOptions(Button optionButton, String alarmId, String pillName) {
+        MenuItem deleteItem = new MenuItem("삭제");
+        deleteItem.setOnAction(e -> {
+            Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+            confirm.setTitle("알람 삭제");
+            confirm.setHeaderText(null);
+            confirm.setContentText("'" + pillName + "' 알람을 삭제하시겠습니까?");
+            Optional<ButtonType> answer = confirm.showAndWait();
+            if (answer.isPresent() && answer.get() == ButtonType.OK) service.removeAlarm(alarmId);
+        });
+        new ContextMenu(deleteItem).show(optionButton, Side.BOTTOM, 0, 0);
+    }
+
     private void handleAlarmAction(ActionEvent event) {
         Button source = (Button) event.getSource();
         String action = source.getText();
         String alarmId = (String) source.getUserData();
 
         if ("먹었습니다".equals(action)) {
-            service.updateAlarmStatus(alarmId, "COMPLETED");
+            service.updateAlarmStatus(alarmId, AlarmStatus.COMPLETED);
         } else if ("30분 뒤 다시 울림".equals(action)) {
-            service.updateAlarmStatus(alarmId, "SNOOZED");
+            service.updateAlarmStatus(alarmId, AlarmStatus.SNOOZED);
         }
     }
 
     // [추가] 자정이 지났을 때 호출 (화면 새로고침)
     @Override
     public void onDateChanged() {
-        System.out.println("메인 화면: 자정이 지나 화면을 갱신합니다.");
+        Log.info("자정이 지나 메인 화면 갱신");
         Platform.runLater(this::loadAlarms);
     }
 
     @Override
-    public void onAlarmStatusChanged(String alarmId, String newStatus) {
+    public void onAlarmStatusChanged(String alarmId, AlarmStatus newStatus) {
         for (Node node : alarmListContainer.getChildren()) {
             if (node instanceof VBox) {
                 VBox alarmBox = (VBox) node;
                 if (alarmId.equals(alarmBox.getId())) {
-                    if ("COMPLETED".equals(newStatus)) {
-                        // [변경] 삭제하지 않고 흐리게 처리
-                        alarmBox.setOpacity(0.5);
+                    if (newStatus == AlarmStatus.COMPLETED) {
+                        // [변경] 삭제하지 않고 흐리게 처리 (.alarm-card:disabled)
                         alarmBox.setDisable(true);
                         return;
                     }
+                    if (newStatus == AlarmStatus.ACTIVE) {
+                        // 하루 여러 번 울리는 알람의 다음 복용 시각이 되면 다시 활성화
+                        alarmBox.setDisable(false);
+                        return;
+                    }
                 }
             }
         }
     }
 
+    // 다른 기기에서 삭제됐거나 내용이 바뀐 알람을 화면에서 뺌 (바뀐 알람은 onAlarmsLoaded 로 다시 추가됨)
+    @Override
+    public void onAlarmsRemoved(String userId, List<String> alarmIds) {
+        if (!Objects.equals(userId, UserSession.getUserId())) return;
+        alarmListContainer.getChildren().removeIf(node -> alarmIds.contains(node.getId()));
+        shownAlarmIds.removeAll(alarmIds);
+    }
+
+    // 새로 등록한 알람이 기존 알람과 같은 시간에 먹으면 안 되는 성분이거나 권장 시간과 다를 때 안내
+    @Override
+    public void onInteractionWarnings(String userId, List<InteractionChecker.Warning> warnings) {
+        if (!Objects.equals(userId, UserSession.getUserId())) return;
+
+        StringBuilder content = new StringBuilder();
+        for (InteractionChecker.Warning warning : warnings) {
+            content.append("• ").append(warning.getMessage()).append("\n");
+        }
+        Alert alert = new Alert(Alert.AlertType.WARNING);
+        alert.setTitle("복용 주의");
+        alert.setHeaderText("등록한 알람의 복용 시간을 확인해 주세요.");
+        alert.setContentText(content.toString());
+        alert.show();
+    }
+
     // --- 기존 메서드 유지 ---
     @FXML
     private void handleLogout() {
+        // 화면에서만 나갈지(다른 가족이 로그인해도 알람이 울림), 프로필의 알람까지 끌지 확인
+        if (!LogoutPrompt.confirm()) return;
         try {
-            UserSession.clear();
             Parent root = FXMLLoader.load(getClass().getResource("/com/nutrient_reminder/view/login-view.fxml"));
             Stage stage = (Stage) userNameLabel.getScene().getWindow();
             stage.setScene(new Scene(root));
             stage.setMaximized(true);
             stage.setTitle("로그인");
             stage.show();
-        } catch (IOException e) { e.printStackTrace(); }
+        } catch (IOException e) {
+            Log.error("로그인 화면으로 이동 실패", e);
+        }
     }
 
     @FXML
@@ -222,7 +331,9 @@ public class MainController implements AlarmAddPopupController.AlarmSaveListener
             stage.setMaximized(true);
             stage.setTitle("영양제 추천");
             stage.show();
-        } catch (IOException e) { e.printStackTrace(); }
+        } catch (IOException e) {
+            Log.error("영양제 추천 화면으로 이동 실패", e);
+        }
     }
 
     @FXML
@@ -240,18 +351,8 @@ public class MainController implements AlarmAddPopupController.AlarmSaveListener
             popupStage.setScene(new Scene(root));
             popupStage.setResizable(false);
             popupStage.show();
-        } catch (IOException e) { e.printStackTrace(); }
-    }
-
-    @FXML
-    private void onHoverEnter(MouseEvent event) {
-        Node node = (Node) event.getSource();
-        node.setScaleX(0.98); node.setScaleY(0.98);
-    }
-
-    @FXML
-    private void onHoverExit(MouseEvent event) {
-        Node node = (Node) event.getSource();
-        node.setScaleX(1.0); node.setScaleY(1.0);
+        } catch (IOException e) {
+            Log.error("알람 추가 창을 열지 못함", e);
+        }
     }
 }
\ No newline at end of file
@@ -1,6 +1,11 @@
 package com.nutrient_reminder.controller;
 
 import com.nutrient_reminder.SupplementRecommenderModel;
+import com.nutrient_reminder.logging.Log;
+import com.nutrient_reminder.model.HangulSearchIndex;
+import com.nutrient_reminder.model.Recommendation;
+import com.nutrient_reminder.model.SymptomKnowledgeBase;
+import com.nutrient_reminder.model.SymptomSelection;
 import com.nutrient_reminder.service.UserSession;
 
 import javafx.fxml.FXML;
@@ -9,11 +14,10 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
 import javafx.scene.layout.GridPane;
 import javafx.stage.Stage;
 import javafx.scene.control.Alert;
-import javafx.scene.control.ButtonType;
-import java.util.Optional;
 import javafx.event.ActionEvent;
 import javafx.scene.control.Button;
 
@@ -29,6 +33,88 @@ public class NutrientCheckController {
     @FXML private GridPane checkboxGrid;
     @FXML private Label userLabel;
     @FXML private Button mainTabButton;
+    @FXML private TextField searchField;
+
+    @FXML private Label previewLabel;
+
+    private static final int COLUMNS = 4;
+
+    // 체크박스 그리드는 지식 베이스가 바뀌지 않는 한 한 번만 만들고 화면에 다시 들어올 때 재사용
+    // (선택 상태도 함께 유지됨)
+    private static SymptomGrid cachedGrid;
+
+    private SymptomGrid grid;
+
+    // cachedGrid.view 에 넣는 이 화면의 리스너 (떠날 때 아직 내 것인지 비교해서 비움)
+    private final SymptomSelection.SelectionListener previewListener = this::updatePreview;
+
+    // 검색창 입력마다 증분 검색, 보이는 증상 비트셋
+    private HangulSearchIndex.Session searchSession;
+    private long[] visibleSymptoms;
+
+    // 초성 그룹별 헤더와 체크박스, 선택 모델 (체크박스 <-> 모델 양방향 연결)
+    private static final class SymptomGrid {
+        final SymptomKnowledgeBase kb;
+        final HangulSearchIndex searchIndex;
+        final SymptomSelection selection;
+        final List<Label> headers = new ArrayList<>();
+        final List<List<CheckBox>> groups = new ArrayList<>();
+        final List<Node> nodes = new ArrayList<>();
+        final CheckBox[] boxes;   // 증상 id -> 체크박스 (그룹에 안 들어간 증상은 null)
+
+        // 지금 화면의 컨트롤러 (화면을 다시 열면 새 컨트롤러로 교체)
+        SymptomSelection.SelectionListener view;
+
+        SymptomGrid(SymptomKnowledgeBase kb, Map<Character, List<String>> groupedSymptoms, int columns) {
+            this.kb = kb;
+            this.searchIndex = HangulSearchIndex.build(kb);
+            this.boxes = new CheckBox[kb.symptomCount()];
+
+            char[] consonants = {'ㄱ', 'ㄴ', 'ㄷ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅅ', 'ㅇ', 'ㅈ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'};
+            int[] order = new int[kb.symptomCount()];
+            int ordered = 0;
+            for (char consonant : consonants) {
+                if (!groupedSymptoms.containsKey(consonant)) continue;
+
+                Label header = new Label(String.valueOf(consonant));
+                header.getStyleClass().add("symptom-header"); // 스타일은 style-sheets/checklist.css
+                GridPane.setColumnSpan(header, columns);
+
+                List<CheckBox> group = new ArrayList<>();
+                for (String symptom : groupedSymptoms.get(consonant)) {
+                    CheckBox checkBox = new CheckBox(symptom);
+                    checkBox.getStyleClass().add("symptom-check");
+                    int symptomId = kb.symptomId(symptom);
+                    boxes[symptomId] = checkBox;
+                    order[ordered++] = symptomId;
+                    group.add(checkBox);
+                }
+                headers.add(header);
+                groups.add(group);
+                nodes.add(header);
+                nodes.addAll(group);
+            }
+
+            this.selection = new SymptomSelection(kb, Arrays.copyOf(order, ordered));
+            for (int id = 0; id < boxes.length; id++) {
+                CheckBox checkBox = boxes[id];
+                if (checkBox == null) continue;
+                int symptomId = id;
+                checkBox.selectedProperty().addListener((obs, oldValue, newValue) -> selection.setSelected(symptomId, newValue));
+            }
+            selection.addListener(changed -> {
+                for (int id = 0; id < boxes.length; id++) {
+                    if (boxes[id] != null && boxes[id].isSelected() != changed.isSelected(id)) boxes[id].setSelected(changed.isSelected(id));
+                }
+                if (view != null) view.onSelectionChanged(changed);
+            });
+        }
+    }
+
+    // 창을 트레이로 숨길 때 호출: 재사용하려고 들고 있던 체크박스 그리드를 버림 (다음에 화면을 열 때 새로 만듦)
+    public static void releaseCachedGrid() {
+        cachedGrid = null;
+    }
 
     // FXML에서 사용되지 않지만, 충돌 해결을 위해 필요한 메서드 (재정의)
     private void showAlert(String title, String content) {
@@ -45,44 +131,107 @@ public class NutrientCheckController {
             userLabel.setText("'" + currentId + "' 님");
         }
 
-        // 증상 목록 로드 및 체크박스 생성
+        // 증상 목록 로드 및 체크박스 생성 (이전에 만든 그리드가 있으면 재사용)
         try {
-            List<String> symptoms = SupplementRecommenderModel.getAllSymptoms();
-            Map<Character, List<String>> groupedSymptoms = groupByInitialConsonant(symptoms);
+            SymptomKnowledgeBase kb = SupplementRecommenderModel.getKnowledgeBase();
+            if (cachedGrid == null || cachedGrid.kb != kb) {
+                cachedGrid = new SymptomGrid(kb, groupByInitialConsonant(kb.getSymptoms()), COLUMNS);
+            }
+            grid = cachedGrid;
 
-            // columns=4로 설정
-            createCheckboxes(groupedSymptoms, 4);
+            // 이전 화면에서 검색으로 숨긴 체크박스를 다시 보이게 하고 이 화면의 그리드로 옮김
+            for (CheckBox checkBox : grid.boxes) {
+                if (checkBox == null) continue;
+                checkBox.setVisible(true);
+                checkBox.setManaged(true);
+            }
+            checkboxGrid.getChildren().setAll(grid.nodes);
+            layoutGrid(COLUMNS);
+
+            // 검색창: "ㅅㅁ", "수면", "마그네슘" 처럼 증상/성분 이름이나 초성으로 체크박스를 걸러냄
+            searchSession = grid.searchIndex.newSession();
+            visibleSymptoms = searchSession.update("");
+            if (searchField != null) {
+                searchField.textProperty().addListener((obs, oldText, newText) -> applySearch(newText));
+            }
+
+            // 체크할 때마다 추천 성분 미리보기 갱신
+            grid.view = previewListener;
+            updatePreview(grid.selection);
+
+            // 다른 화면으로 바뀌면(setRoot) 공유 그리드에서 이 화면을 떼어 냄
+            // → static 그리드가 예전 컨트롤러와 화면을 붙잡고 있지 않게 함
+            checkboxGrid.sceneProperty().addListener((obs, oldScene, scene) -> {
+                if (oldScene != null && scene == null) detach();
+            });
 
         } catch (Exception e) {
-            System.err.println("증상 목록을 불러오는 중 오류 발생: " + e.getMessage());
+            Log.error("증상 목록을 불러오는 중 오류 발생", e);
             showAlert("데이터 로드 오류", "증상 목록을 불러오는 중 오류가 발생했습니다.");
         }
     }
 
-    // 컬럼 수를 인자로 받는 체크박스 생성 메서드로 통합
-    private void createCheckboxes(Map<Character, List<String>> groupedSymptoms, int columns) {
-        int row = 0;
-        char[] consonants = {'ㄱ', 'ㄴ', 'ㄷ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅅ', 'ㅇ', 'ㅈ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'};
-
-        for (char consonant : consonants) {
-            if (!groupedSymptoms.containsKey(consonant)) continue;
+    // 화면을 떠날 때 호출: 리스너가 아직 이 화면 것이면 비우고, 체크박스를 이 화면의 그리드에서 뺌
+    // (다음 화면이 먼저 체크박스를 가져갔으면 빈 그리드라 아무 일도 없음)
+    private void detach() {
+        if (grid == null) return;
+        if (grid.view == previewListener) grid.view = null;
+        checkboxGrid.getChildren().clear();
+    }
 
-            Label header = new Label(String.valueOf(consonant));
-            header.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: #4a90e2;");
-            checkboxGrid.add(header, 0, row++);
-            GridPane.setColumnSpan(header, columns);
+    // 선택 모델이 바뀔 때 호출 (추천 결과는 증상 조합별 캐시에서 가져오므로 체크할 때마다 계산해도 가벼움)
+    private void updatePreview(SymptomSelection selection) {
+        if (previewLabel == null) return;
+        if (selection.isEmpty()) {
+            previewLabel.setText("증상을 선택하면 추천 성분이 여기에 표시됩니다.");
+            return;
+        }
+        Recommendation recommendation = new SupplementRecommenderModel().recommend(selection.selectedNames());
+        previewLabel.setText("추천 성분 (" + recommendation.size() + "): " + String.join(", ", recommendation.getNutrientNames()));
+    }
 
-            List<String> symptomList = groupedSymptoms.get(consonant);
-            for (int i = 0; i < symptomList.size(); i++) {
-                CheckBox checkBox = new CheckBox(symptomList.get(i));
-                checkBox.setStyle("-fx-font-size: 13px;");
+    // 보이는 헤더/체크박스만 빈칸 없이 행/열에 다시 배치 (숨긴 노드는 managed=false 라 자리를 차지하지 않음)
+    private void layoutGrid(int columns) {
+        int row = 0;
+        for (int g = 0; g < grid.headers.size(); g++) {
+            Label header = grid.headers.get(g);
+            int col = 0;
+            boolean any = false;
+            for (CheckBox checkBox : grid.groups.get(g)) {
+                if (!checkBox.isVisible()) continue;
+                if (!any) {
+                    GridPane.setConstraints(header, 0, row++);
+                    any = true;
+                } else if (col == 0) {
+                    row++;
+                }
+                GridPane.setConstraints(checkBox, col, row);
+                col = (col + 1) % columns;
+            }
+            header.setVisible(any);
+            header.setManaged(any);
+            if (any) row++;
+        }
+    }
 
-                int col = i % columns;
-                if (col == 0 && i > 0) row++;
-                checkboxGrid.add(checkBox, col, row);
+    // 검색어가 바뀔 때마다 호출: 보이는 상태가 바뀐 체크박스만 토글하고, 바뀐 게 있을 때만 다시 배치
+    // 검색으로 가려진 체크박스도 선택 상태는 그대로 유지됨
+    private void applySearch(String query) {
+        long[] matched = searchSession.update(query);
+        if (Arrays.equals(matched, visibleSymptoms)) return;
+
+        for (int w = 0; w < matched.length; w++) {
+            for (long changed = matched[w] ^ visibleSymptoms[w]; changed != 0; changed &= changed - 1) {
+                int symptomId = (w << 6) + Long.numberOfTrailingZeros(changed);
+                CheckBox checkBox = grid.boxes[symptomId];
+                if (checkBox == null) continue;
+                boolean show = (matched[w] & (1L << symptomId)) != 0;
+                checkBox.setVisible(show);
+                checkBox.setManaged(show);
             }
-            row++;
         }
+        visibleSymptoms = matched;
+        layoutGrid(COLUMNS);
     }
 
     private Map<Character, List<String>> groupByInitialConsonant(List<String> symptoms) {
@@ -95,44 +244,25 @@ public class NutrientCheckController {
     }
 
     private char getInitialConsonant(char ch) {
-        if (ch >= '가' && ch <= '힣') {
-            int unicode = ch - '가';
-            int initialIndex = unicode / (21 * 28);
-            char[] initials = {'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ', 'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'};
-            return initials[initialIndex];
-        }
-        return ch;
+        return HangulSearchIndex.initialOf(ch);
     }
 
     @FXML
     private void onRecommendClick() {
-        List<String> selectedSymptoms = new ArrayList<>();
-        for (Node node : checkboxGrid.getChildren()) {
-            if (node instanceof CheckBox) {
-                CheckBox checkBox = (CheckBox) node;
-                if (checkBox.isSelected()) {
-                    selectedSymptoms.add(checkBox.getText());
-                }
-            }
-        }
-        // RecommendationPopup 클래스는 별도 파일에 있다고 가정합니다.
-        // RecommendationPopup.show(selectedSymptoms);
-        System.out.println("추천 버튼 클릭됨. 선택된 증상: " + selectedSymptoms);
+        if (grid == null) return;
+        List<String> selectedSymptoms = grid.selection.selectedNames();
+        Log.debug("추천 버튼 클릭", "symptoms", selectedSymptoms);
+        RecommendationPopup.show(selectedSymptoms);
     }
 
 
     @FXML
     private void onLogoutClick() {
-        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
-        alert.setTitle("로그아웃");
-        alert.setHeaderText(null);
-        alert.setContentText("로그아웃 하시겠습니까?");
-
-        Optional<ButtonType> result = alert.showAndWait();
-
-        if (result.isPresent() && result.get() == ButtonType.OK) {
+        // 화면에서만 나갈지, 프로필의 알람까지 끌지 확인 (취소하면 그대로)
+        if (LogoutPrompt.confirm()) {
             try {
-                UserSession.clear();
+                // 그리드는 다음 사용자도 재사용하지만 선택한 증상은 남기지 않음
+                if (grid != null) grid.selection.clear();
                 // 로그인 화면으로 이동
                 FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/nutrient_reminder/view/login-view.fxml"));
                 Parent root = loader.load();
@@ -147,7 +277,7 @@ public class NutrientCheckController {
                 stage.setMaximized(true);
 
             } catch (IOException e) {
-                e.printStackTrace();
+                Log.error("로그인 화면으로 이동 실패", e);
             }
         }
     }
@@ -192,8 +322,7 @@ public class NutrientCheckController {
             stage.setMaximized(true);
 
         } catch (IOException e) {
-            e.printStackTrace();
-            System.out.println("메인 화면으로 이동 실패: 경로를 확인해주세요.");
+            Log.error("메인 화면으로 이동 실패", e);
         }
     }
 
@@ -1,16 +1,33 @@
 package com.nutrient_reminder.controller;
 
 import com.nutrient_reminder.SupplementRecommenderModel; // 모델 위치 확인 필요
+import com.nutrient_reminder.logging.Log;
+import com.nutrient_reminder.model.MealPlan;
+import com.nutrient_reminder.model.Recommendation;
+import com.nutrient_reminder.model.ScheduleSolver;
+import com.nutrient_reminder.service.AlarmSchedulerService;
+import com.nutrient_reminder.service.InteractionChecker;
+import com.nutrient_reminder.service.MealPlanStore;
+import com.nutrient_reminder.service.UserSession;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Dialog;
+import javafx.scene.control.Label;
 import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.GridPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class RecommendationPopup {
 
@@ -20,40 +37,154 @@ public class RecommendationPopup {
         popupStage.initModality(Modality.APPLICATION_MODAL); // 이 창을 닫기 전까지 뒤에 창 클릭 불가
         popupStage.setTitle("추천 영양 성분 결과");
 
-        // 2. 모델을 통해 추천 결과 가져오기
-        SupplementRecommenderModel model = new SupplementRecommenderModel();
-        List<String> results = model.getRecommendations(selectedSymptoms);
-
-        // 3. 결과를 보여줄 TextArea 생성 (글자가 많을 수 있으니 Label 대신 TextArea 사용)
+        // 2. 결과를 보여줄 TextArea 생성 (글자가 많을 수 있으니 Label 대신 TextArea 사용)
         TextArea resultArea = new TextArea();
         resultArea.setEditable(false); // 수정 불가능하게 설정
         resultArea.setWrapText(true);  // 줄 바꿈 허용
         resultArea.setFont(Font.font("Malgun Gothic", 14)); // 한글 폰트 설정
+        resultArea.setText("추천 성분을 계산하는 중입니다...");
 
-        // 결과 리스트를 하나의 문자열로 합치기
-        StringBuilder content = new StringBuilder();
-        if (results.isEmpty()) {
-            content.append("선택된 증상이 없거나, 추천할 영양제가 없습니다.\n증상을 선택해주세요.");
-        } else {
-            for (String line : results) {
-                content.append(line).append("\n");
-            }
-        }
-        resultArea.setText(content.toString());
-
-        // 4. 닫기 버튼 생성
+        // 3. 닫기 버튼 생성
         Button closeButton = new Button("닫기");
         closeButton.setOnAction(e -> popupStage.close());
         closeButton.setMaxWidth(Double.MAX_VALUE); // 버튼 꽉 채우기
 
+        // 추천 성분의 복용 시간을 자동으로 정해서 알람으로 한 번에 등록 (계산이 끝나면 켬)
+        Button scheduleButton = new Button("알람 자동 생성");
+        scheduleButton.setMaxWidth(Double.MAX_VALUE);
+        scheduleButton.setDisable(true);
+
+        // 4. 추천과 알람 충돌 검사는 백그라운드에서 계산하고 끝나면 FX 스레드에서 화면에 채움
+        //    (지식 베이스가 크거나 알람을 아직 불러오는 중이면 오래 걸릴 수 있어 창부터 띄움)
+        String userId = UserSession.getUserId();
+        CompletableFuture.supplyAsync(() -> compute(userId, selectedSymptoms))
+                .whenComplete((result, throwable) -> Platform.runLater(() -> {
+                    if (throwable != null) {
+                        Log.error("추천 결과 계산 실패", throwable, "symptoms", selectedSymptoms);
+                        resultArea.setText("추천 결과를 계산하지 못했습니다.");
+                        return;
+                    }
+                    resultArea.setText(result.text);
+                    scheduleButton.setDisable(result.recommendation.isEmpty());
+                    scheduleButton.setOnAction(e -> {
+                        if (registerSchedule(result.recommendation)) popupStage.close();
+                    });
+                }));
+
         // 5. 레이아웃 구성 (VBox: 세로로 배치)
         VBox layout = new VBox(10); // 간격 10
         layout.setPadding(new Insets(15));
-        layout.getChildren().addAll(resultArea, closeButton);
+        layout.getChildren().addAll(resultArea, scheduleButton, closeButton);
 
         // 6. 씬(Scene) 설정 및 보여주기
         Scene scene = new Scene(layout, 400, 500); // 창 크기 (가로 400, 세로 500)
         popupStage.setScene(scene);
         popupStage.showAndWait(); // 창이 닫힐 때까지 대기
     }
+
+    // 백그라운드에서 계산한 추천 결과와 화면에 보일 내용
+    private static final class Result {
+        final Recommendation recommendation;
+        final String text;
+
+        Result(Recommendation recommendation, String text) {
+            this.recommendation = recommendation;
+            this.text = text;
+        }
+    }
+
+    // 모델을 통해 추천 결과를 가져오고, 이미 등록된 알람과 같은 시간에 먹으면 안 되거나
+    // 함께 먹으면 좋은 성분 안내를 붙임 (FX 스레드가 아닌 곳에서 호출)
+    private static Result compute(String userId, List<String> selectedSymptoms) {
+        SupplementRecommenderModel model = new SupplementRecommenderModel();
+        Recommendation recommendation = model.recommend(selectedSymptoms);
+        List<String> results = recommendation.toLines();
+
+        List<InteractionChecker.Warning> warnings = AlarmSchedulerService.getInstance()
+                .getInteractionChecker().checkCandidates(userId, recommendation);
+
+        // 결과 리스트를 하나의 문자열로 합치기 (toLines 는 추천이 없어도 제목 줄로 시작하므로 추천 자체를 확인)
+        StringBuilder content = new StringBuilder();
+        if (recommendation.isEmpty()) {
+            content.append("선택된 증상이 없거나, 추천할 영양제가 없습니다.\n증상을 선택해주세요.");
+        } else {
+            for (String line : results) {
+                content.append(line).append("\n");
+            }
+            if (!warnings.isEmpty()) {
+                content.append("===== 복용 중인 알람과의 주의 사항 =====\n");
+                for (InteractionChecker.Warning warning : warnings) {
+                    content.append("• ").append(warning.getMessage()).append("\n");
+                }
+            }
+        }
+        return new Result(recommendation, content.toString());
+    }
+
+    // 생활 시간을 확인받고 스케줄을 만들어 보여준 뒤, 사용자가 확인하면 알람으로 일괄 등록 (등록했으면 true)
+    private static boolean registerSchedule(Recommendation recommendation) {
+        String userId = UserSession.getUserId();
+        Optional<MealPlan> plan = askMealPlan(MealPlanStore.getInstance().get(userId));
+        if (plan.isEmpty()) return false;
+        MealPlanStore.getInstance().save(userId, plan.get());
+
+        ScheduleSolver.Schedule schedule = ScheduleSolver.solve(
+                SupplementRecommenderModel.getKnowledgeBase(), recommendation, plan.get());
+
+        StringBuilder content = new StringBuilder();
+        content.append("하루 ").append(schedule.getDistinctTimes()).append("번, 아래 시간에 알람을 등록합니다.\n\n");
+        for (ScheduleSolver.Entry entry : schedule.getEntries()) content.append(entry).append("\n");
+        if (schedule.isRelaxed()) {
+            content.append("\n일부 성분은 권장 복용 시간이나 함께 먹지 말아야 할 조합을 모두 지키지 못했습니다.");
+        }
+
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("알람 자동 생성");
+        confirm.setHeaderText("추천 성분 복용 스케줄");
+        confirm.setContentText(content.toString());
+        Optional<ButtonType> answer = confirm.showAndWait();
+        if (answer.isEmpty() || answer.get() != ButtonType.OK) return false;
+
+        AlarmSchedulerService.getInstance().registerSchedule(userId, schedule);
+        return true;
+    }
+
+    // 기상/식사/취침 시각 입력 (지난번에 입력한 값으로 채워 둠, 형식이 틀리면 다시 입력받음, 취소하면 empty)
+    private static Optional<MealPlan> askMealPlan(MealPlan current) {
+        String[] labels = {"기상", "아침 식사", "점심 식사", "저녁 식사", "취침"};
+        int[] minutes = {current.getWake(), current.getBreakfast(), current.getLunch(), current.getDinner(), current.getBedtime()};
+
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.setTitle("알람 자동 생성");
+        dialog.setHeaderText("생활 시간을 입력하세요 (HH:mm). 식전/식후, 취침 전 알람이 이 시각에 맞춰집니다.");
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+
+        GridPane grid = new GridPane();
+        grid.setHgap(10);
+        grid.setVgap(8);
+        TextField[] fields = new TextField[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            fields[i] = new TextField(MealPlan.formatClock(minutes[i]));
+            grid.addRow(i, new Label(labels[i]), fields[i]);
+        }
+        Label error = new Label();
+        error.getStyleClass().add("meal-plan-error"); // 스타일은 style-sheets/checklist.css
+        grid.add(error, 0, labels.length, 2, 1);
+        dialog.getDialogPane().setContent(grid);
+        dialog.getDialogPane().getStylesheets().add(
+                RecommendationPopup.class.getResource("/com/nutrient_reminder/view/style-sheets/checklist.css").toExternalForm());
+
+        while (true) {
+            Optional<ButtonType> answer = dialog.showAndWait();
+            if (answer.isEmpty() || answer.get() != ButtonType.OK) return Optional.empty();
+
+            StringBuilder text = new StringBuilder();
+            for (TextField field : fields) text.append(text.length() == 0 ? "" : ",").append(field.getText());
+            try {
+                return Optional.of(MealPlan.parse(text.toString()));
+            } catch (IllegalArgumentException e) {
+                error.setText(e.getMessage());
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.nutrient_reminder.controller;
 
+import com.nutrient_reminder.logging.Log;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -137,7 +138,7 @@ public class SignupController {
             // 화면 표시
             stage.show();
         } catch (Exception ex) {
-            ex.printStackTrace();
+            Log.error("로그인 화면으로 이동 실패", ex);
             showAlert(Alert.AlertType.ERROR, "화면 전환 오류", "로그인 화면으로 이동할 수 없습니다.");
         }
     }
@@ -214,7 +215,7 @@ public class SignupController {
             stage.show();
 
         } catch (Exception ex) {
-            ex.printStackTrace();
+            Log.error("로그인 화면으로 이동 실패", ex);
         }
     }
 
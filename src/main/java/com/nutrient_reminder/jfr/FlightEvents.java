@@ -0,0 +1,133 @@
+package com.nutrient_reminder.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// JDK Flight Recorder 이벤트 모음
+// 기록 중이 아니면 begin()/commit() 은 거의 비용이 없으므로 항상 호출해 둠
+// 이벤트 설정(임계값, 스택 추적)은 /com/nutrient_reminder/jfr/nutrient-reminder.jfc 참고
+// 비밀번호 등 민감한 값은 필드에 넣지 않음
+public final class FlightEvents {
+
+    private static final String CATEGORY = "Nutrient Reminder";
+
+    private FlightEvents() {}
+
+    @Name("com.nutrient_reminder.AlarmFired")
+    @Label("Alarm Fired")
+    @Description("Scheduler decided an alarm is due and queued its notification")
+    @Category({ CATEGORY, "Alarm" })
+    @StackTrace(false)
+    public static class AlarmFired extends Event {
+        @Label("Alarm Id")
+        public String alarmId;
+
+        @Label("User Id")
+        public String userId;
+
+        @Label("Name")
+        public String name;
+
+        @Label("Tick Delay")
+        @Description("How far past the scheduled minute the evaluating tick ran")
+        @Timespan(Timespan.MILLISECONDS)
+        public long tickDelay;
+    }
+
+    @Name("com.nutrient_reminder.AlarmPopupShown")
+    @Label("Alarm Popup Shown")
+    @Description("Alarm notification handled on the UI thread (duration covers building and showing the popup)")
+    @Category({ CATEGORY, "Alarm" })
+    @StackTrace(false)
+    public static class AlarmPopupShown extends Event {
+        @Label("Alarm Id")
+        public String alarmId;
+
+        @Label("Fire Delay")
+        @Description("Scheduled minute to the start of the notification")
+        @Timespan(Timespan.MILLISECONDS)
+        public long fireDelay;
+    }
+
+    @Name("com.nutrient_reminder.AlarmFileSave")
+    @Label("Alarm File Save")
+    @Category({ CATEGORY, "Persistence" })
+    @StackTrace(false)
+    public static class AlarmFileSave extends Event {
+        @Label("Path")
+        public String path;
+
+        @Label("Alarms")
+        public int alarms;
+
+        @Label("Bytes")
+        @DataAmount
+        public long bytes;
+    }
+
+    @Name("com.nutrient_reminder.AlarmFileLoad")
+    @Label("Alarm File Load")
+    @Category({ CATEGORY, "Persistence" })
+    @StackTrace(false)
+    public static class AlarmFileLoad extends Event {
+        @Label("Path")
+        public String path;
+
+        @Label("Alarms")
+        public int alarms;
+
+        @Label("Bytes")
+        @DataAmount
+        public long bytes;
+    }
+
+    @Name("com.nutrient_reminder.PasswordCheck")
+    @Label("Password Check")
+    @Description("Password hash verification during login")
+    @Category({ CATEGORY, "Auth" })
+    @StackTrace(false)
+    public static class PasswordCheck extends Event {
+        @Label("Username")
+        public String username;
+
+        @Label("Matched")
+        public boolean matched;
+    }
+
+    @Name("com.nutrient_reminder.HttpRequest")
+    @Label("HTTP Request")
+    @Category({ CATEGORY, "HTTP" })
+    @StackTrace(false)
+    public static class HttpRequest extends Event {
+        @Label("Method")
+        public String method;
+
+        @Label("Path")
+        public String path;
+
+        @Label("Status")
+        public int status;
+    }
+
+    @Name("com.nutrient_reminder.Recommendation")
+    @Label("Recommendation")
+    @Description("Recommendation computed or served from cache for a symptom selection")
+    @Category({ CATEGORY, "Recommendation" })
+    @StackTrace(false)
+    public static class Recommendation extends Event {
+        @Label("Symptoms")
+        public int symptoms;
+
+        @Label("Nutrients")
+        public int nutrients;
+
+        @Label("Knowledge Base Version")
+        public int knowledgeBaseVersion;
+    }
+}
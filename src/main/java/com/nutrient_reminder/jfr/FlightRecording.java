@@ -0,0 +1,73 @@
+package com.nutrient_reminder.jfr;
+
+import com.nutrient_reminder.logging.Log;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// 상시 JFR 기록 (-Dnutrient.jfr=파일경로 또는 -Dnutrient.jfr=true 로 켬)
+// - JDK 기본 프로파일(default.jfc, 오버헤드 1% 미만) + 이 앱의 이벤트 설정(nutrient-reminder.jfc)
+// - 최근 24시간 / 최대 100MB 만 디스크에 유지, 종료 시 지정한 파일로 저장
+// - 실행 중 문제가 생기면: jcmd <pid> JFR.dump name=nutrient-reminder filename=지금까지.jfr
+// 이벤트 설정만 쓰고 싶으면 -XX:StartFlightRecording:settings=default,settings=nutrient-reminder.jfc 도 가능
+// (.jfc 파일은 resources/com/nutrient_reminder/jfr 에 있음)
+public final class FlightRecording {
+
+    private static final String PROPERTY = "nutrient.jfr";
+    private static final String DEFAULT_FILE = "nutrient-reminder.jfr";
+    private static final String SETTINGS = "/com/nutrient_reminder/jfr/nutrient-reminder.jfc";
+    private static final String RECORDING_NAME = "nutrient-reminder";
+
+    private static Recording recording;
+
+    private FlightRecording() {}
+
+    // 플래그가 있으면 기록 시작 (여러 진입점에서 불러도 한 번만 시작)
+    public static synchronized void startIfRequested() {
+        String value = System.getProperty(PROPERTY);
+        if (value == null || value.isBlank() || "false".equalsIgnoreCase(value) || recording != null) return;
+        if (!FlightRecorder.isAvailable()) {
+            Log.warn("이 JVM 에서는 JFR 을 사용할 수 없음");
+            return;
+        }
+
+        Path destination = Path.of("true".equalsIgnoreCase(value) ? DEFAULT_FILE : value);
+        try {
+            Recording started = new Recording(settings());
+            started.setName(RECORDING_NAME);
+            started.setToDisk(true);
+            started.setMaxAge(Duration.ofHours(24));
+            started.setMaxSize(100L * 1024 * 1024);
+            started.setDestination(destination);
+            started.setDumpOnExit(true);
+            started.start();
+            recording = started;
+            Log.info("JFR 기록 시작", "file", destination.toAbsolutePath());
+        } catch (IOException | ParseException | RuntimeException e) {
+            Log.error("JFR 기록을 시작하지 못함", e);
+        }
+    }
+
+    // 기본 프로파일 위에 앱 이벤트 설정을 덮어씀
+    private static Map<String, String> settings() throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        try (InputStream in = FlightRecording.class.getResourceAsStream(SETTINGS)) {
+            if (in == null) throw new IOException("JFR 설정 파일이 없습니다: " + SETTINGS);
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                settings.putAll(Configuration.create(reader).getSettings());
+            }
+        }
+        return settings;
+    }
+}
@@ -0,0 +1,14 @@
+package com.nutrient_reminder.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+// 리플렉션 없이 한 타입을 스트리밍으로 읽고 쓰는 JSON 코덱
+public interface JsonCodec<T> {
+
+    void write(JsonWriter out, T value) throws IOException;
+
+    T read(JsonReader in) throws IOException;
+}
@@ -0,0 +1,168 @@
+package com.nutrient_reminder.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.nutrient_reminder.logging.Log;
+import com.nutrient_reminder.model.Nutrient;
+import com.nutrient_reminder.model.SymptomKnowledgeBase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// 알람 파일, 사용자 DB, 지식 베이스, HTTP 요청/응답이 함께 쓰는 직렬화 계층
+// 기본은 공백 없는 압축 출력, -Dnutrient.json.pretty=true 로 실행하면 디버깅용 들여쓰기 출력
+public final class JsonCodecs {
+
+    private static final boolean PRETTY = Boolean.getBoolean("nutrient.json.pretty");
+
+    // 알람 (alarms_data.json)
+    public static final JsonCodec<Nutrient> NUTRIENT = new NutrientCodec();
+
+    // 증상/영양 성분 지식 베이스 (knowledge-base.json)
+    public static final JsonCodec<SymptomKnowledgeBase> KNOWLEDGE_BASE = new KnowledgeBaseCodec();
+
+    // Map<String, String> (users.json: 아이디 -> 비밀번호 해시)
+    public static final JsonCodec<Map<String, String>> STRING_MAP = new JsonCodec<>() {
+        @Override
+        public void write(JsonWriter out, Map<String, String> map) throws IOException {
+            out.beginObject();
+            for (Map.Entry<String, String> entry : map.entrySet()) {
+                out.name(entry.getKey()).value(entry.getValue());
+            }
+            out.endObject();
+        }
+
+        @Override
+        public Map<String, String> read(JsonReader in) throws IOException {
+            Map<String, String> map = new HashMap<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                String key = in.nextName();
+                map.put(key, nextStringOrNull(in));
+            }
+            in.endObject();
+            return map;
+        }
+    };
+
+    private JsonCodecs() {}
+
+    public static JsonWriter newWriter(Writer writer) {
+        JsonWriter out = new JsonWriter(writer);
+        if (PRETTY) out.setIndent("  ");
+        return out;
+    }
+
+    // --- 단일 값 ---
+
+    public static <T> byte[] toBytes(JsonCodec<T> codec, T value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonWriter out = newWriter(new OutputStreamWriter(bytes, StandardCharsets.UTF_8))) {
+            codec.write(out, value);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static <T> T fromString(JsonCodec<T> codec, String json) throws IOException {
+        return read(codec, new StringReader(json));
+    }
+
+    public static <T> void write(JsonCodec<T> codec, T value, Writer writer) throws IOException {
+        JsonWriter out = newWriter(writer);
+        codec.write(out, value);
+        out.flush();
+    }
+
+    public static <T> T read(JsonCodec<T> codec, Reader reader) throws IOException {
+        JsonReader in = new JsonReader(reader);
+        if (in.peek() == JsonToken.NULL) return null;
+        return codec.read(in);
+    }
+
+    // --- 목록 ---
+
+    public static <T> void writeList(JsonCodec<T> codec, Iterable<T> values, Writer writer) throws IOException {
+        JsonWriter out = newWriter(writer);
+        out.beginArray();
+        for (T value : values) codec.write(out, value);
+        out.endArray();
+        out.flush();
+    }
+
+    public static <T> List<T> readList(JsonCodec<T> codec, Reader reader) throws IOException {
+        List<T> values = new ArrayList<>();
+        readEach(codec, reader, values::add);
+        return values;
+    }
+
+    // 배열을 전부 메모리에 올리지 않고 원소를 하나씩 읽어서 넘겨줌
+    // 최상위가 null 인 파일(예: Gson 이 빈 목록 대신 쓴 경우)이나 빈 파일은 원소 없음으로 처리
+    // 형식이 맞지 않는 원소(필드 타입, 알 수 없는 상태값 등)는 로그만 남기고 건너뛰며, 건너뛴 개수를 돌려줌
+    // JSON 문법 자체가 깨진 경우는 이어서 읽을 수 없으므로 IOException 을 그대로 던짐
+    public static <T> int readEach(JsonCodec<T> codec, Reader reader, Consumer<T> consumer) throws IOException {
+        JsonReader in = new JsonReader(reader);
+        JsonToken first;
+        try {
+            first = in.peek();
+        } catch (EOFException e) {
+            return 0; // 빈 파일
+        }
+        if (first == JsonToken.NULL) return 0;
+
+        int skipped = 0;
+        in.beginArray();
+        while (in.hasNext()) {
+            String element = in.getPath();
+            T value;
+            try {
+                value = codec.read(in);
+            } catch (RuntimeException e) {
+                Log.warn("형식이 맞지 않는 항목을 건너뜀", "path", element, "error", e.getMessage());
+                skipRest(in, element);
+                skipped++;
+                continue;
+            }
+            if (value != null) consumer.accept(value);
+        }
+        in.endArray();
+        return skipped;
+    }
+
+    // 읽다 만 원소의 나머지 토큰을 건너뛰어 다음 원소 앞으로 감 (경로가 element 아래에 있는 동안)
+    private static void skipRest(JsonReader in, String element) throws IOException {
+        if (in.getPath().equals(element)) {
+            in.skipValue(); // 원소를 시작도 못 함
+            return;
+        }
+        while (in.getPath().startsWith(element) && in.getPath().length() > element.length()) {
+            switch (in.peek()) {
+                case END_OBJECT: in.endObject(); break;
+                case END_ARRAY: in.endArray(); break;
+                case NAME: in.nextName(); break;
+                default: in.skipValue();
+            }
+        }
+    }
+
+    // --- 코덱 작성용 도우미 ---
+
+    public static String nextStringOrNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+}
@@ -0,0 +1,184 @@
+package com.nutrient_reminder.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.nutrient_reminder.model.SymptomKnowledgeBase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 증상/영양 성분 지식 베이스 파일 (knowledge-base.json) 코덱
+// {
+//   "version": 1,
+//   "symptoms":  [ { "name": "수면 장애", "nutrients": ["마그네슘", "테아닌"], "weights": { "테아닌": 1.5 } }, ... ],
+//   "nutrients": [ { "name": "마그네슘", "product": "흡수율 좋은 마그네슘", "note": "..." }, ... ],
+//   "interactions": [ { "a": "칼슘", "b": "아연", "type": "SEPARATE", "note": "..." }, ... ]
+// }
+// symptoms 순서가 곧 체크박스/추천 순서, weights 와 interactions 는 생략 가능 (weights 기본 1.0)
+// 읽으면서 바로 SymptomKnowledgeBase 로 컴파일하므로 잘못된 파일은 IllegalArgumentException
+public class KnowledgeBaseCodec implements JsonCodec<SymptomKnowledgeBase> {
+
+    @Override
+    public void write(JsonWriter out, SymptomKnowledgeBase kb) throws IOException {
+        out.beginObject();
+        out.name("version").value(kb.getVersion());
+
+        out.name("symptoms").beginArray();
+        for (int s = 0; s < kb.symptomCount(); s++) {
+            int[] nutrients = kb.nutrientsOf(s);
+            out.beginObject();
+            out.name("name").value(kb.symptomName(s));
+            out.name("nutrients").beginArray();
+            for (int n : nutrients) out.value(kb.nutrientName(n));
+            out.endArray();
+
+            // 기본값(1.0)이 아닌 가중치만 기록
+            boolean weighted = false;
+            for (int n : nutrients) {
+                double weight = kb.weight(s, n);
+                if (weight == 1.0) continue;
+                if (!weighted) {
+                    out.name("weights").beginObject();
+                    weighted = true;
+                }
+                out.name(kb.nutrientName(n)).value(weight);
+            }
+            if (weighted) out.endObject();
+            out.endObject();
+        }
+        out.endArray();
+
+        out.name("nutrients").beginArray();
+        for (int n = 0; n < kb.nutrientCount(); n++) {
+            out.beginObject();
+            out.name("name").value(kb.nutrientName(n));
+            out.name("product").value(kb.productExample(n));
+            out.name("note").value(kb.note(n));
+            out.endObject();
+        }
+        out.endArray();
+
+        out.name("interactions").beginArray();
+        for (String[] entry : kb.getInteractions().getDeclared()) {
+            out.beginObject();
+            out.name("a").value(entry[0]);
+            out.name("b").value(entry[1]);
+            out.name("type").value(entry[2]);
+            out.name("note").value(entry[3]);
+            out.endObject();
+        }
+        out.endArray();
+        out.endObject();
+    }
+
+    @Override
+    public SymptomKnowledgeBase read(JsonReader in) throws IOException {
+        int version = -1;
+        Map<String, List<String>> mapping = new LinkedHashMap<>();
+        Map<String, String[]> explain = new HashMap<>();
+        Map<String, Map<String, Double>> weights = new HashMap<>();
+        List<String[]> interactions = new ArrayList<>();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "version": version = in.nextInt(); break;
+                case "symptoms":
+                    in.beginArray();
+                    while (in.hasNext()) readSymptom(in, mapping, weights);
+                    in.endArray();
+                    break;
+                case "nutrients":
+                    in.beginArray();
+                    while (in.hasNext()) readNutrient(in, explain);
+                    in.endArray();
+                    break;
+                case "interactions":
+                    in.beginArray();
+                    while (in.hasNext()) interactions.add(readInteraction(in));
+                    in.endArray();
+                    break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (version < 0) throw new IllegalArgumentException("지식 베이스 파일에 version 이 없습니다.");
+        return SymptomKnowledgeBase.compile(version, mapping, explain, weights, interactions);
+    }
+
+    private void readSymptom(JsonReader in, Map<String, List<String>> mapping,
+                             Map<String, Map<String, Double>> weights) throws IOException {
+        String name = null;
+        List<String> nutrients = new ArrayList<>();
+        Map<String, Double> symptomWeights = new HashMap<>();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "name": name = JsonCodecs.nextStringOrNull(in); break;
+                case "nutrients":
+                    in.beginArray();
+                    while (in.hasNext()) nutrients.add(JsonCodecs.nextStringOrNull(in));
+                    in.endArray();
+                    break;
+                case "weights":
+                    in.beginObject();
+                    while (in.hasNext()) symptomWeights.put(in.nextName(), in.nextDouble());
+                    in.endObject();
+                    break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (name == null) throw new IllegalArgumentException("이름이 없는 증상이 있습니다.");
+        if (mapping.putIfAbsent(name, nutrients) != null) {
+            throw new IllegalArgumentException("중복된 증상입니다: " + name);
+        }
+        if (!symptomWeights.isEmpty()) weights.put(name, symptomWeights);
+    }
+
+    private void readNutrient(JsonReader in, Map<String, String[]> explain) throws IOException {
+        String name = null, product = null, note = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "name": name = JsonCodecs.nextStringOrNull(in); break;
+                case "product": product = JsonCodecs.nextStringOrNull(in); break;
+                case "note": note = JsonCodecs.nextStringOrNull(in); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (name == null) throw new IllegalArgumentException("이름이 없는 성분이 있습니다.");
+        if (explain.putIfAbsent(name, new String[]{product, note}) != null) {
+            throw new IllegalArgumentException("중복된 성분입니다: " + name);
+        }
+    }
+
+    private String[] readInteraction(JsonReader in) throws IOException {
+        String[] entry = new String[4];
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "a": entry[0] = JsonCodecs.nextStringOrNull(in); break;
+                case "b": entry[1] = JsonCodecs.nextStringOrNull(in); break;
+                case "type": entry[2] = JsonCodecs.nextStringOrNull(in); break;
+                case "note": entry[3] = JsonCodecs.nextStringOrNull(in); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (entry[0] == null || entry[1] == null) throw new IllegalArgumentException("상호작용 항목에 성분 이름이 없습니다.");
+        return entry;
+    }
+}
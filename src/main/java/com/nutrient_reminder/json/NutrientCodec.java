@@ -0,0 +1,127 @@
+package com.nutrient_reminder.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.nutrient_reminder.model.AlarmStatus;
+import com.nutrient_reminder.model.Nutrient;
+import com.nutrient_reminder.model.RecurrenceRule;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// alarms_data.json 의 기존 형식을 유지하면서 압축된 Nutrient 로 읽고 쓰는 코덱
+// 쓰기: id, userId, name, time, days, status, lastTakenDate (기존 필드) + recurrence
+// 읽기: recurrence 가 없는 예전 파일은 days/time 에서 규칙을 만들어 줌
+public class NutrientCodec implements JsonCodec<Nutrient> {
+
+    @Override
+    public void write(JsonWriter out, Nutrient alarm) throws IOException {
+        if (alarm == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(alarm.getId());
+        out.name("userId").value(alarm.getUserId());
+        out.name("name").value(alarm.getName());
+        out.name("time").value(alarm.getTime());
+        out.name("days").beginArray();
+        for (String day : alarm.getDays()) out.value(day);
+        out.endArray();
+        out.name("status").value(alarm.getStatus().name());
+        out.name("lastTakenDate").value(alarm.getLastTakenDate());
+        out.name("recurrence");
+        writeRule(out, alarm.getRecurrence());
+        out.endObject();
+    }
+
+    @Override
+    public Nutrient read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String id = null, userId = null, name = "", time = null, status = null, lastTakenDate = null;
+        List<String> days = null;
+        RecurrenceRule rule = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String field = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (field) {
+                case "id": id = in.nextString(); break;
+                case "userId": userId = in.nextString(); break;
+                case "name": name = in.nextString(); break;
+                case "time": time = in.nextString(); break;
+                case "status": status = in.nextString(); break;
+                case "lastTakenDate": lastTakenDate = in.nextString(); break;
+                case "days":
+                    days = new ArrayList<>();
+                    in.beginArray();
+                    while (in.hasNext()) days.add(in.nextString());
+                    in.endArray();
+                    break;
+                case "recurrence": rule = readRule(in); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+
+        // 예전 형식(days + time)만 있는 알람은 반복 규칙으로 변환
+        if (rule == null) rule = RecurrenceRule.fromLegacy(days, time);
+
+        Nutrient alarm = new Nutrient(id, userId, name, rule, AlarmStatus.parse(status));
+        if (lastTakenDate != null && !lastTakenDate.isEmpty()) {
+            alarm.setLastTakenDay((int) LocalDate.parse(lastTakenDate).toEpochDay());
+        }
+        return alarm;
+    }
+
+    private void writeRule(JsonWriter out, RecurrenceRule rule) throws IOException {
+        out.beginObject();
+        out.name("type").value(rule.getType().name());
+        out.name("dayMask").value(rule.getDayMask());
+        out.name("interval").value(rule.getInterval());
+        out.name("times").beginArray();
+        for (int t : rule.getTimes()) out.value(t);
+        out.endArray();
+        out.name("startDay").value(rule.getStartDay());
+        out.name("endDay").value(rule.getEndDay());
+        out.endObject();
+    }
+
+    private RecurrenceRule readRule(JsonReader in) throws IOException {
+        RecurrenceRule.Type type = RecurrenceRule.Type.WEEKLY;
+        int dayMask = 0, interval = 0, startDay = Integer.MIN_VALUE, endDay = Integer.MAX_VALUE;
+        int[] times = new int[0];
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "type": type = RecurrenceRule.Type.valueOf(in.nextString()); break;
+                case "dayMask": dayMask = in.nextInt(); break;
+                case "interval": interval = in.nextInt(); break;
+                case "startDay": startDay = in.nextInt(); break;
+                case "endDay": endDay = in.nextInt(); break;
+                case "times":
+                    List<Integer> list = new ArrayList<>();
+                    in.beginArray();
+                    while (in.hasNext()) list.add(in.nextInt());
+                    in.endArray();
+                    times = list.stream().mapToInt(Integer::intValue).toArray();
+                    break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return RecurrenceRule.of(type, dayMask, interval, times, startDay, endDay);
+    }
+}
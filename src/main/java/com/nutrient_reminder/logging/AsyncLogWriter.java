@@ -0,0 +1,300 @@
+package com.nutrient_reminder.logging;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+// Log 의 링 버퍼 + 기록 스레드
+// 링 버퍼: 여러 스레드가 넣고 log-writer 스레드 하나만 꺼내는 고정 크기 배열 (잠금 없음)
+//   칸마다 순번을 두고, 넣는 쪽은 tail 을 CAS 로 한 칸 차지한 뒤 순번을 올려서 공개
+//   꺼내는 쪽은 순번이 맞는 칸만 읽고 다음 바퀴 순번으로 돌려놓음
+// 문자열 만들기(시간 포맷, 필드 이어 붙이기, 마스킹)는 모두 기록 스레드에서 함
+//   (필드 값은 Log 가 넣기 전에 문자열로 바꿔 둠 → 여기서 다른 스레드의 객체를 읽지 않음)
+// 파일이 maxBytes 를 넘으면 .1 .2 ... 로 밀어내고 새 파일 (keepFiles 개까지 보관)
+final class AsyncLogWriter {
+
+    private static final DateTimeFormatter TIME =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+    private static final String[] SECRET_KEYS = { "password", "passwd", "secret", "token", "hash" };
+
+    static final class Record {
+        final long millis;
+        final Log.Level level;
+        final String thread;
+        final String message;
+        final Object[] fields;
+        final Throwable error;
+
+        Record(long millis, Log.Level level, String thread, String message, Object[] fields, Throwable error) {
+            this.millis = millis;
+            this.level = level;
+            this.thread = thread;
+            this.message = message;
+            this.fields = fields;
+            this.error = error;
+        }
+    }
+
+    private final Record[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;                                   // 기록 스레드만 사용
+    private final AtomicLong written = new AtomicLong(); // 기록 스레드가 처리한 건수 (flush 대기용)
+    private final AtomicLong dropped = new AtomicLong(); // 아직 경고로 남기지 않은 버린 건수
+
+    private final Path file;
+    private final long maxBytes;
+    private final int keepFiles;
+    private final boolean console;
+    private Writer out;
+    private long fileBytes;
+    private boolean fileFailed;   // 파일을 열거나 쓸 수 없으면 한 번만 알리고 이후로는 파일 기록을 건너뜀
+
+    // 초 단위 시각 문자열 캐시 (같은 초의 기록은 밀리초만 붙임)
+    private long cachedSecond = Long.MIN_VALUE;
+    private String cachedTime;
+
+    private volatile boolean running = true;
+    private Thread thread;
+
+    private AsyncLogWriter(int capacity, Path file, long maxBytes, int keepFiles, boolean console) {
+        this.slots = new Record[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) sequences.set(i, i);
+        this.mask = capacity - 1;
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.keepFiles = keepFiles;
+        this.console = console;
+    }
+
+    static AsyncLogWriter start(int capacity, Path file, long maxBytes, int keepFiles, boolean console) {
+        AsyncLogWriter writer = new AsyncLogWriter(capacity, file, maxBytes, keepFiles, console);
+        writer.thread = new Thread(writer::run, "log-writer");
+        writer.thread.setDaemon(true);
+        writer.thread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(writer::stop, "log-writer-shutdown"));
+        return writer;
+    }
+
+    // --- 넣기 (아무 스레드) ---
+
+    void offer(Record record) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots[index] = record;
+                    sequences.lazySet(index, pos + 1);
+                    return;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                dropped.incrementAndGet(); // 가득 참: 호출한 스레드를 막지 않고 버림
+                return;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    void flush(long timeoutMillis) {
+        long target = tail.get();
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        while (written.get() < target && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(1_000_000);
+        }
+    }
+
+    // --- 꺼내기 (기록 스레드) ---
+
+    private Record poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) return null;
+        Record record = slots[index];
+        slots[index] = null;
+        sequences.lazySet(index, head + slots.length);
+        head++;
+        return record;
+    }
+
+    private void run() {
+        while (running) {
+            if (drain() == 0) LockSupport.parkNanos(10_000_000);
+        }
+        drain();
+        closeFile();
+    }
+
+    private void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int drain() {
+        int count = 0;
+        StringBuilder line = new StringBuilder(256);
+        try {
+            long lost = dropped.getAndSet(0);
+            if (lost > 0) {
+                write(Log.Level.WARN, format(line, new Record(System.currentTimeMillis(), Log.Level.WARN, "log-writer",
+                        "로그 버퍼가 가득 차서 기록을 버림", new Object[] { "count", lost }, null)));
+            }
+            for (Record record; (record = poll()) != null; count++) {
+                written.incrementAndGet();
+                write(record.level, format(line, record));
+            }
+            if (count > 0 && out != null) out.flush();
+        } catch (IOException e) {
+            e.printStackTrace(); // 로그 파일 자체를 못 쓰는 경우라 Log 로는 남길 수 없음
+            fileFailed = true;
+            closeFile();
+        }
+        return count;
+    }
+
+    private void write(Log.Level level, String text) throws IOException {
+        if (console) {
+            if (level.compareTo(Log.Level.WARN) >= 0) System.err.print(text);
+            else System.out.print(text);
+        }
+        if (file == null || fileFailed) return;
+
+        if (out == null) openFile();
+        if (fileBytes >= maxBytes) {
+            closeFile();
+            rotate();
+            openFile();
+        }
+        out.write(text);
+        fileBytes += utf8Length(text);
+    }
+
+    // --- 형식 ---
+
+    // 2025-01-06 09:00:00.123 INFO  [alarm-ticker] 알람 울림 alarmId=alarm_1 name="비타민 C"
+    private String format(StringBuilder line, Record record) {
+        line.setLength(0);
+        long second = Math.floorDiv(record.millis, 1000);
+        if (second != cachedSecond) {
+            cachedSecond = second;
+            cachedTime = TIME.format(Instant.ofEpochSecond(second));
+        }
+        int millis = (int) Math.floorMod(record.millis, 1000);
+        line.append(cachedTime).append('.');
+        if (millis < 100) line.append('0');
+        if (millis < 10) line.append('0');
+        line.append(millis).append(' ');
+        String level = record.level.name();
+        line.append(level);
+        for (int i = level.length(); i < 5; i++) line.append(' ');
+        line.append(" [").append(record.thread).append("] ").append(record.message);
+
+        Object[] fields = record.fields;
+        for (int i = 0; fields != null && i + 1 < fields.length; i += 2) {
+            String key = String.valueOf(fields[i]);
+            line.append(' ').append(key).append('=');
+            appendValue(line, isSecret(key) ? "***" : fields[i + 1]);
+        }
+        line.append(System.lineSeparator());
+
+        if (record.error != null) {
+            StringWriter trace = new StringWriter();
+            record.error.printStackTrace(new PrintWriter(trace));
+            line.append(trace);
+        }
+        return line.toString();
+    }
+
+    private static long utf8Length(String text) {
+        long bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            bytes += ch < 0x80 ? 1 : ch < 0x800 ? 2 : Character.isSurrogate(ch) ? 2 : 3;
+        }
+        return bytes;
+    }
+
+    private static boolean isSecret(String key) {
+        String lower = key.toLowerCase(Locale.ROOT);
+        for (String secret : SECRET_KEYS) if (lower.contains(secret)) return true;
+        return false;
+    }
+
+    // 공백, 따옴표, = 가 있으면 따옴표로 감쌈
+    private static void appendValue(StringBuilder line, Object value) {
+        String text = String.valueOf(value);
+        boolean quote = text.isEmpty();
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char ch = text.charAt(i);
+            quote = ch == ' ' || ch == '"' || ch == '=' || ch < 0x20;
+        }
+        if (!quote) {
+            line.append(text);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch == '"' || ch == '\\') line.append('\\').append(ch);
+            else if (ch == '\n') line.append("\\n");
+            else if (ch == '\r') line.append("\\r");
+            else line.append(ch);
+        }
+        line.append('"');
+    }
+
+    // --- 파일 ---
+
+    private void openFile() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        fileBytes = Files.exists(file) ? Files.size(file) : 0;
+        out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void closeFile() {
+        if (out == null) return;
+        try {
+            out.close();
+        } catch (IOException e) {
+            e.printStackTrace(); // 위와 같은 이유로 표준 오류로만 알림
+        }
+        out = null;
+    }
+
+    // log -> log.1 -> log.2 ... (가장 오래된 것은 삭제)
+    private void rotate() throws IOException {
+        Files.deleteIfExists(rotated(keepFiles));
+        for (int i = keepFiles - 1; i >= 1; i--) {
+            Path from = rotated(i);
+            if (Files.exists(from)) Files.move(from, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (Files.exists(file)) Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path rotated(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
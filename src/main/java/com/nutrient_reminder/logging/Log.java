@@ -0,0 +1,91 @@
+package com.nutrient_reminder.logging;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+// 비동기 구조화 로그
+// 호출한 스레드(요청 처리, FX, 알람 tick)는 링 버퍼에 기록만 넣고 바로 돌아감 -> 파일 쓰기는 log-writer 스레드가 처리
+// 버퍼가 가득 차면 기다리지 않고 버림 (버린 건수는 다음 기록 때 경고로 남김)
+// 사용: Log.info("알람 울림", "alarmId", id, "name", name)  -> 메시지 뒤에 key=value 필드
+// 이름에 password/secret/token/hash 가 들어간 필드는 값 대신 *** 로 기록
+// 설정 (시스템 속성)
+// - nutrient.log.level   : DEBUG / INFO(기본) / WARN / ERROR
+// - nutrient.log.file    : 로그 파일 (기본 logs/nutrient-reminder.log, none 이면 파일에 쓰지 않음)
+// - nutrient.log.console : true 면 콘솔에도 출력 (기본은 콘솔에 아무것도 찍지 않음)
+public final class Log {
+
+    public enum Level { DEBUG, INFO, WARN, ERROR }
+
+    private static final int BUFFER_SIZE = 8192;              // 2의 거듭제곱
+    private static final long MAX_FILE_BYTES = 5L * 1024 * 1024;
+    private static final int KEEP_FILES = 5;
+
+    private static final Level LEVEL = parseLevel(System.getProperty("nutrient.log.level", "INFO"));
+    private static final AsyncLogWriter WRITER = createWriter();
+
+    private Log() {}
+
+    public static boolean isEnabled(Level level) {
+        return level.ordinal() >= LEVEL.ordinal();
+    }
+
+    public static void debug(String message, Object... fields) {
+        log(Level.DEBUG, message, null, fields);
+    }
+
+    public static void info(String message, Object... fields) {
+        log(Level.INFO, message, null, fields);
+    }
+
+    public static void warn(String message, Object... fields) {
+        log(Level.WARN, message, null, fields);
+    }
+
+    public static void error(String message, Throwable error, Object... fields) {
+        log(Level.ERROR, message, error, fields);
+    }
+
+    // 버퍼에 남은 기록을 모두 쓸 때까지 기다림 (최대 timeoutMillis)
+    public static void flush(long timeoutMillis) {
+        WRITER.flush(timeoutMillis);
+    }
+
+    private static void log(Level level, String message, Throwable error, Object[] fields) {
+        if (!isEnabled(level)) return;
+        WRITER.offer(new AsyncLogWriter.Record(System.currentTimeMillis(), level, Thread.currentThread().getName(),
+                message, snapshot(fields), error));
+    }
+
+    // 필드 값을 호출한 스레드에서 문자열로 바꿔 둠
+    // (목록이나 알람 객체를 그대로 넘기면 log-writer 가 나중에 읽을 때 이미 바뀌었거나 다른 스레드가 고치는 중일 수 있음)
+    // 문자열/숫자/불리언/enum 은 바뀌지 않으므로 그대로 두고, 그런 값만 있으면 배열도 복사하지 않음
+    private static Object[] snapshot(Object[] fields) {
+        if (fields == null) return null;
+        Object[] copy = fields;
+        for (int i = 1; i < fields.length; i += 2) {
+            Object value = fields[i];
+            if (value == null || value instanceof String || value instanceof Number
+                    || value instanceof Boolean || value instanceof Enum) continue;
+            if (copy == fields) copy = fields.clone();
+            copy[i] = String.valueOf(value);
+        }
+        return copy;
+    }
+
+    // --- 설정 ---
+
+    private static Level parseLevel(String value) {
+        try {
+            return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return Level.INFO;
+        }
+    }
+
+    private static AsyncLogWriter createWriter() {
+        String file = System.getProperty("nutrient.log.file", "logs/nutrient-reminder.log");
+        Path path = "none".equalsIgnoreCase(file) ? null : Path.of(file);
+        boolean console = Boolean.getBoolean("nutrient.log.console");
+        return AsyncLogWriter.start(BUFFER_SIZE, path, MAX_FILE_BYTES, KEEP_FILES, console);
+    }
+}
@@ -0,0 +1,18 @@
+package com.nutrient_reminder.model;
+
+// 알람 상태 (파일에는 기존과 같이 이름 문자열로 저장됨)
+public enum AlarmStatus {
+    ACTIVE,     // 울릴 예정
+    COMPLETED,  // 오늘 복용 완료
+    SNOOZED;    // 30분 뒤 다시 울림
+
+    // 파일의 문자열을 상태로 변환 (알 수 없는 값은 ACTIVE)
+    public static AlarmStatus parse(String value) {
+        if (value == null) return ACTIVE;
+        try {
+            return valueOf(value);
+        } catch (IllegalArgumentException e) {
+            return ACTIVE;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.nutrient_reminder.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// 증상/영양 성분 이름 검색 색인 (지식 베이스와 함께 한 번 만들어 두는 불변 객체)
+// - 검색어 글자마다: 초성("ㅅ")이면 그 초성으로 시작하는 글자, 완성된 글자("수")면 같은 글자와 일치
+//   마지막 글자는 입력 중일 수 있으므로 "수" -> 수/숨/순..., "숨" -> 숨 또는 "수" + ㅁ 초성 글자(수면) 도 일치
+//   예: "ㅅㅁ", "수면", "숨" -> "수면 장애" / "ㅂㅌㅁ" -> "비타민 B군"
+// - 공백은 무시하고 영문은 대소문자를 구분하지 않음
+// - 성분 이름이 맞으면 그 성분을 추천하는 증상이 모두 결과에 들어감
+// 항목마다 초성열을 만들어 두고, 초성 2-gram -> 항목 비트셋 색인으로 후보를 줄인 뒤 후보만 글자 단위로 확인
+// 항목이 수백 개로 늘어도 검색 한 번은 검색어 길이만큼의 비트셋 AND + 후보 몇 개 확인
+public final class HangulSearchIndex {
+
+    private static final char[] INITIALS = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ', 'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+    // 받침 index -> 다음 글자 초성 (겹받침은 앞으로 넘어갈 글자를 알 수 없으므로 0)
+    private static final char[] FINAL_TO_INITIAL = {
+            0, 'ㄱ', 'ㄲ', 0, 'ㄴ', 0, 0, 'ㄷ', 'ㄹ', 0, 0, 0, 0, 0, 0, 0,
+            'ㅁ', 'ㅂ', 0, 'ㅅ', 'ㅆ', 'ㅇ', 'ㅈ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    private final int symptomCount;
+    private final int words;                   // 항목 비트셋 long 개수
+    private final int symptomWords;            // 증상 비트셋 long 개수
+    private final String[] keys;               // 항목 -> 검색 키 (공백 제거, 소문자)
+    private final long[][] symptomsOf;         // 항목 -> 결과에 넣을 증상 비트셋
+    private final Map<Character, long[]> unigrams = new HashMap<>();
+    private final Map<Integer, long[]> bigrams = new HashMap<>();
+
+    // 항목 id: 증상 0 .. symptomCount-1, 그 뒤로 성분
+    private HangulSearchIndex(SymptomKnowledgeBase kb) {
+        this.symptomCount = kb.symptomCount();
+        int entryCount = symptomCount + kb.nutrientCount();
+        this.words = Math.max(1, (entryCount + 63) >>> 6);
+        this.symptomWords = Math.max(1, (symptomCount + 63) >>> 6);
+
+        this.keys = new String[entryCount];
+        this.symptomsOf = new long[entryCount][symptomWords];
+        for (int s = 0; s < symptomCount; s++) {
+            keys[s] = normalize(kb.symptomName(s));
+            symptomsOf[s][s >>> 6] |= 1L << s;
+            for (int n : kb.nutrientIdsRef(s)) {
+                symptomsOf[symptomCount + n][s >>> 6] |= 1L << s;
+            }
+        }
+        for (int n = 0; n < kb.nutrientCount(); n++) keys[symptomCount + n] = normalize(kb.nutrientName(n));
+
+        for (int e = 0; e < entryCount; e++) {
+            String seq = initialsOf(keys[e]);
+            for (int i = 0; i < seq.length(); i++) {
+                set(unigrams.computeIfAbsent(seq.charAt(i), k -> new long[words]), e);
+                if (i + 1 < seq.length()) set(bigrams.computeIfAbsent(pair(seq.charAt(i), seq.charAt(i + 1)), k -> new long[words]), e);
+            }
+        }
+    }
+
+    public static HangulSearchIndex build(SymptomKnowledgeBase kb) {
+        return new HangulSearchIndex(kb);
+    }
+
+    public int symptomCount() { return symptomCount; }
+
+    // 한 글자의 초성 (한글 완성형이 아니면 소문자로 바꾼 글자 그대로)
+    public static char initialOf(char ch) {
+        if (ch >= '가' && ch <= '힣') return INITIALS[(ch - '가') / (21 * 28)];
+        return Character.toLowerCase(ch);
+    }
+
+    // 검색어에 맞는 증상 비트셋 (빈 검색어면 모든 증상)
+    public long[] search(String query) {
+        return newSession().update(query);
+    }
+
+    public Session newSession() {
+        return new Session();
+    }
+
+    // 입력창 하나의 증분 검색 상태
+    // 이전 검색어를 이어서 입력한 경우(글자 추가, 입력 중인 글자 완성)에는 이전에 맞았던 항목 안에서만 다시 확인
+    public final class Session {
+        private String previous = "";
+        private long[] previousEntries;
+
+        private Session() {
+        }
+
+        public long[] update(String query) {
+            String q = normalize(query == null ? "" : query);
+            long[] result = new long[symptomWords];
+            if (q.isEmpty()) {
+                for (int s = 0; s < symptomCount; s++) result[s >>> 6] |= 1L << s;
+                previous = q;
+                previousEntries = null;
+                return result;
+            }
+
+            long[] candidates = candidates(initialsOf(q));
+            if (previousEntries != null && refines(previous, q)) {
+                for (int w = 0; w < words; w++) candidates[w] &= previousEntries[w];
+            }
+
+            for (int w = 0; w < words; w++) {
+                for (long bits = candidates[w]; bits != 0; bits &= bits - 1) {
+                    int e = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    if (matches(keys[e], q)) {
+                        long[] symptoms = symptomsOf[e];
+                        for (int i = 0; i < result.length; i++) result[i] |= symptoms[i];
+                    } else {
+                        candidates[w] &= ~(1L << e);
+                    }
+                }
+            }
+            previous = q;
+            previousEntries = candidates;
+            return result;
+        }
+    }
+
+    // 검색어 초성열의 2-gram (한 글자면 1-gram) 을 모두 가진 항목
+    private long[] candidates(String seq) {
+        long[] result = new long[words];
+        long[] first = seq.length() == 1 ? unigrams.get(seq.charAt(0)) : bigrams.get(pair(seq.charAt(0), seq.charAt(1)));
+        if (first == null) return result;
+        System.arraycopy(first, 0, result, 0, words);
+        for (int i = 1; i + 1 < seq.length(); i++) {
+            long[] posting = bigrams.get(pair(seq.charAt(i), seq.charAt(i + 1)));
+            if (posting == null) return new long[words];
+            for (int w = 0; w < words; w++) result[w] &= posting[w];
+        }
+        return result;
+    }
+
+    // next 로 찾은 항목이 previous 로 찾은 항목에 항상 포함되는지
+    // (뒤에 글자를 더 쳤거나, 마지막 글자가 ㅅ -> 수 -> 숨 처럼 입력 중에 완성된 경우)
+    private static boolean refines(String previous, String next) {
+        if (previous.isEmpty() || next.startsWith(previous)) return true;
+        int last = previous.length() - 1;
+        if (next.length() != previous.length() || !next.startsWith(previous.substring(0, last))) return false;
+
+        char p = previous.charAt(last);
+        char n = next.charAt(last);
+        if (isJamoConsonant(p)) return initialOf(n) == p;
+        return isSyllable(p) && isSyllable(n) && finalIndex(p) == 0 && withoutFinal(n) == p;
+    }
+
+    // key 안에 query 가 (글자 규칙대로) 들어 있는지
+    private static boolean matches(String key, String query) {
+        int m = query.length();
+        for (int start = 0; start + m <= key.length(); start++) {
+            boolean ok = true;
+            for (int i = 0; i < m && ok; i++) {
+                ok = charMatches(key, start + i, query.charAt(i), i == m - 1);
+            }
+            if (ok) return true;
+        }
+        return false;
+    }
+
+    private static boolean charMatches(String key, int pos, char q, boolean last) {
+        char k = key.charAt(pos);
+        if (k == q) return true;
+        if (isJamoConsonant(q)) return initialOf(k) == q;
+        if (!last || !isSyllable(q) || !isSyllable(k)) return false;
+
+        // 입력 중인 마지막 글자: 받침이 없으면 초성+중성만 비교
+        int qFinal = finalIndex(q);
+        if (qFinal == 0) return withoutFinal(k) == q;
+
+        // "숨" 처럼 받침이 다음 글자의 초성일 수 있는 경우 ("수" + "면")
+        char next = FINAL_TO_INITIAL[qFinal];
+        return next != 0 && k == withoutFinal(q) && pos + 1 < key.length() && initialOf(key.charAt(pos + 1)) == next;
+    }
+
+    private static String initialsOf(String key) {
+        char[] out = new char[key.length()];
+        for (int i = 0; i < out.length; i++) out[i] = initialOf(key.charAt(i));
+        return new String(out);
+    }
+
+    private static String normalize(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (!Character.isWhitespace(ch)) out.append(Character.toLowerCase(ch));
+        }
+        return out.toString();
+    }
+
+    private static boolean isSyllable(char ch) { return ch >= '가' && ch <= '힣'; }
+    private static boolean isJamoConsonant(char ch) { return ch >= 'ㄱ' && ch <= 'ㅎ'; }
+    private static int finalIndex(char syllable) { return (syllable - '가') % 28; }
+    private static char withoutFinal(char syllable) { return (char) (syllable - finalIndex(syllable)); }
+
+    private static int pair(char a, char b) { return (a << 16) | b; }
+
+    private static void set(long[] bits, int index) { bits[index >>> 6] |= 1L << index; }
+}
@@ -0,0 +1,69 @@
+package com.nutrient_reminder.model;
+
+// 사용자의 하루 생활 시간 (기상, 세 끼, 취침), 모두 하루 중 분
+// 자동 스케줄 생성 시 "식후", "공복", "취침 전" 같은 권장을 실제 시각으로 바꾸는 데 사용
+public final class MealPlan {
+
+    private final int wake;
+    private final int breakfast;
+    private final int lunch;
+    private final int dinner;
+    private final int bedtime;
+
+    public MealPlan(int wake, int breakfast, int lunch, int dinner, int bedtime) {
+        if (!(wake <= breakfast && breakfast < lunch && lunch < dinner && dinner < bedtime)) {
+            throw new IllegalArgumentException("기상 ≤ 아침 < 점심 < 저녁 < 취침 순서여야 합니다.");
+        }
+        if (wake < 0 || bedtime >= RecurrenceRule.MINUTES_PER_DAY) {
+            throw new IllegalArgumentException("시각은 하루 안이어야 합니다.");
+        }
+        this.wake = wake;
+        this.breakfast = breakfast;
+        this.lunch = lunch;
+        this.dinner = dinner;
+        this.bedtime = bedtime;
+    }
+
+    // 기상 07:00, 아침 07:30, 점심 12:30, 저녁 18:30, 취침 23:00
+    public static MealPlan defaults() {
+        return new MealPlan(7 * 60, 7 * 60 + 30, 12 * 60 + 30, 18 * 60 + 30, 23 * 60);
+    }
+
+    // "기상,아침,점심,저녁,취침" (각 HH:mm) 형식에서 읽음, 형식이 틀리거나 순서가 맞지 않으면 IllegalArgumentException
+    public static MealPlan parse(String text) {
+        String[] parts = text.split(",");
+        if (parts.length != 5) throw new IllegalArgumentException("기상, 아침, 점심, 저녁, 취침 시각 5개가 필요합니다.");
+        return new MealPlan(parseClock(parts[0]), parseClock(parts[1]), parseClock(parts[2]),
+                parseClock(parts[3]), parseClock(parts[4]));
+    }
+
+    // "07:30" -> 450
+    public static int parseClock(String text) {
+        String[] hm = text.trim().split(":");
+        try {
+            int hour = Integer.parseInt(hm[0].trim());
+            int minute = hm.length == 2 ? Integer.parseInt(hm[1].trim()) : -1;
+            if (hour >= 0 && hour < 24 && minute >= 0 && minute < 60) return hour * 60 + minute;
+        } catch (NumberFormatException ignored) {
+            // 아래에서 같은 메시지로 처리
+        }
+        throw new IllegalArgumentException("시각은 HH:mm 형식이어야 합니다: " + text.trim());
+    }
+
+    // 450 -> "07:30"
+    public static String formatClock(int minuteOfDay) {
+        return String.format("%02d:%02d", minuteOfDay / 60, minuteOfDay % 60);
+    }
+
+    // parse 로 다시 읽을 수 있는 형식
+    public String toText() {
+        return String.join(",", formatClock(wake), formatClock(breakfast), formatClock(lunch),
+                formatClock(dinner), formatClock(bedtime));
+    }
+
+    public int getWake() { return wake; }
+    public int getBreakfast() { return breakfast; }
+    public int getLunch() { return lunch; }
+    public int getDinner() { return dinner; }
+    public int getBedtime() { return bedtime; }
+}
@@ -1,49 +1,108 @@
 package com.nutrient_reminder.model;
 
+import java.time.LocalDate;
 import java.util.List;
 
+// 알람 한 개 (수만 개를 메모리에 올려도 부담이 적도록 필드를 압축해서 보관)
+// - 요일/시각: 공유되는 RecurrenceRule (요일은 비트마스크, 시각은 하루 중 분)
+// - 상태: enum, 날짜: epoch day int
+// - 사용자 아이디/약 이름: intern 된 문자열 공유
+// 파일 형식(time, days, status, lastTakenDate 문자열)은 json/NutrientCodec 이 그대로 유지함
+// 스케줄러 스레드(매 분 평가), FX 스레드(복용 완료), 동기화 스레드(서버 변경 반영)가 같은 객체를 고침
+// - 바뀌는 필드는 모두 volatile (한 필드만 읽고 쓰는 곳은 잠금 없이)
+// - 두 필드를 같이 보고 바꾸는 일(복용 완료, 자정 초기화, 다음 울림 시각)은 synchronized 메서드 하나로 처리
 public class Nutrient {
-    private String id;
-    private String userId;        // [추가] 사용자 구분용
-    private String name;
-    private String time;
-    private List<String> days;
-    private String status;
-    private String lastTakenDate; // [추가] 자정 초기화 로직용 (YYYY-MM-DD)
-
-    // Gson은 기본 생성자가 없어도 되지만, 명시적으로 두는 것이 안전합니다.
-    public Nutrient() {}
-
-    // 생성자 (userId 추가됨)
-    public Nutrient(String id, String userId, String name, String time, List<String> days, String status) {
+
+    // 복용 기록이 없을 때의 lastTakenDay 값
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    // 스케줄러가 계산해 둔 다음 울림 시각이 아직 없을 때의 값
+    public static final long UNSCHEDULED = Long.MIN_VALUE;
+
+    private final String id;
+    private final String userId;        // [추가] 사용자 구분용
+    private volatile String name;
+    private volatile RecurrenceRule recurrence;  // 반복 규칙 (요일 비트마스크 + 시각)
+    private volatile AlarmStatus status;
+    private volatile int lastTakenDay = NO_DATE; // [추가] 자정 초기화 로직용 (epoch day)
+
+    // 스케줄러가 계산해 둔 다음 울림 시각 (epoch minute, 파일에 저장하지 않음)
+    private volatile long nextFireMinute = UNSCHEDULED;
+
+    public Nutrient(String id, String userId, String name, RecurrenceRule recurrence, AlarmStatus status) {
         this.id = id;
-        this.userId = userId;
-        this.name = name;
-        this.time = time;
-        this.days = days;
+        this.userId = userId == null ? null : userId.intern();
+        this.name = name.intern();
+        this.recurrence = RecurrenceRule.intern(recurrence);
         this.status = status;
-        this.lastTakenDate = "";
     }
 
     // Getter & Setter
     public String getId() { return id; }
-    public void setId(String id) { this.id = id; }
 
     public String getUserId() { return userId; }
-    public void setUserId(String userId) { this.userId = userId; }
 
     public String getName() { return name; }
-    public void setName(String name) { this.name = name; }
+    public void setName(String name) { this.name = name.intern(); }
+
+    // "오전 09 : 30" 형식 (첫 번째 시각 기준, 필요할 때만 생성)
+    public String getTime() { return RecurrenceRule.formatTime(recurrence.getFirstTime()); }
 
-    public String getTime() { return time; }
-    public void setTime(String time) { this.time = time; }
+    // 기존 UI 호환용 요일 목록 (매일이면 빈 목록)
+    public List<String> getDays() { return recurrence.toLegacyDays(); }
 
-    public List<String> getDays() { return days; }
-    public void setDays(List<String> days) { this.days = days; }
+    public AlarmStatus getStatus() { return status; }
+    public void setStatus(AlarmStatus status) { this.status = status; }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public int getLastTakenDay() { return lastTakenDay; }
+    public void setLastTakenDay(int lastTakenDay) { this.lastTakenDay = lastTakenDay; }
+
+    // 복용 완료: 날짜와 상태를 함께 바꿈 (자정 초기화가 그 사이에 끼어들어 방금 먹은 알람을 되돌리지 않도록)
+    public synchronized void markTaken(int day) {
+        this.lastTakenDay = day;
+        this.status = AlarmStatus.COMPLETED;
+    }
+
+    // 서버에서 받은 복용 기록 반영 (markTaken 과 같은 이유로 함께 바꿈)
+    public synchronized void setTaken(AlarmStatus status, int lastTakenDay) {
+        this.lastTakenDay = lastTakenDay;
+        this.status = status;
+    }
 
-    public String getLastTakenDate() { return lastTakenDate; }
-    public void setLastTakenDate(String lastTakenDate) { this.lastTakenDate = lastTakenDate; }
-}
\ No newline at end of file
+    // 자정 초기화: day 에 복용한 기록이 아닌 완료 상태면 다시 활성으로 (바꿨으면 true)
+    // 매 분 모든 알람에 호출되므로 완료 상태가 아니면 잠그지 않고 바로 돌아감
+    public boolean resetIfNotTakenOn(int day) {
+        if (status != AlarmStatus.COMPLETED) return false;
+        synchronized (this) {
+            if (status != AlarmStatus.COMPLETED || lastTakenDay == day) return false;
+            status = AlarmStatus.ACTIVE;
+            return true;
+        }
+    }
+
+    // 하루 여러 번 울리는 알람의 다음 발생: 완료 상태면 다시 활성으로 (바꿨으면 true)
+    public synchronized boolean reactivate() {
+        if (status != AlarmStatus.COMPLETED) return false;
+        status = AlarmStatus.ACTIVE;
+        return true;
+    }
+
+    // "YYYY-MM-DD" 형식 (기록이 없으면 빈 문자열)
+    public String getLastTakenDate() {
+        return lastTakenDay == NO_DATE ? "" : LocalDate.ofEpochDay(lastTakenDay).toString();
+    }
+
+    public RecurrenceRule getRecurrence() { return recurrence; }
+    public synchronized void setRecurrence(RecurrenceRule recurrence) {
+        this.recurrence = RecurrenceRule.intern(recurrence);
+        this.nextFireMinute = UNSCHEDULED;
+    }
+
+    public long getNextFireMinute() { return nextFireMinute; }
+
+    // computedFrom 규칙으로 계산한 다음 울림 시각 저장
+    // 계산하는 동안 다른 스레드가 규칙을 바꿨으면 버림 (다음 평가에서 새 규칙으로 다시 계산)
+    public synchronized void setNextFireMinute(RecurrenceRule computedFrom, long nextFireMinute) {
+        if (recurrence == computedFrom) this.nextFireMinute = nextFireMinute;
+    }
+}
@@ -0,0 +1,182 @@
+package com.nutrient_reminder.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+// 성분끼리의 상호작용과 성분별 복용 시간 권장을 미리 계산해 둔 표 (지식 베이스와 함께 컴파일되는 불변 객체)
+// - 상호작용 : 성분 쌍 (a, b) -> SEPARATE(같은 시간 피하기) / TOGETHER(함께 복용 권장), n x n 배열
+//   SEPARATE 는 지식 베이스 파일의 interactions 항목에서,
+//   TOGETHER 는 참고 사항의 "비타민 D와 함께 복용 권장" 같은 문구에서도 뽑아냄
+// - 복용 시간 : 참고 사항의 "아침", "저녁/취침", "공복", "식후/식사 중", "식사 전" 문구를 비트 플래그로
+// - 알람 이름 -> 성분 : 알람 이름에 성분명/제품명이 들어 있으면 그 성분 (가장 긴 것 우선)
+public final class NutrientInteractions {
+
+    public enum Kind { SEPARATE, TOGETHER }
+
+    // SEPARATE 쌍은 이 간격(분)보다 더 떨어져야 함 (InteractionChecker 경고와 ScheduleSolver 배치의 공통 기준)
+    public static final int SEPARATE_MINUTES = 120;
+
+    public static final int MORNING = 1;
+    public static final int EVENING = 1 << 1;
+    public static final int EMPTY_STOMACH = 1 << 2;
+    public static final int WITH_MEAL = 1 << 3;
+    public static final int BEFORE_MEAL = 1 << 4;
+
+    private final int count;
+    private final int[] timing;          // 성분 id -> 복용 시간 플래그
+    private final Kind[] kinds;          // a * count + b -> 상호작용 (없으면 null)
+    private final String[] messages;     // a * count + b -> 설명
+    private final int[][] partners;      // 성분 id -> 상호작용이 있는 성분 id 목록
+    private final List<String[]> declared;  // 파일에 적힌 상호작용 항목 (다시 저장할 때 사용)
+
+    // 알람 이름 매칭용 (공백 제거한 성분명/제품명, 긴 것부터)
+    private final String[] matchKeys;
+    private final int[] matchIds;
+
+    private NutrientInteractions(int count, int[] timing, Kind[] kinds, String[] messages,
+                                 String[] matchKeys, int[] matchIds, List<String[]> declared) {
+        this.count = count;
+        this.declared = declared;
+        this.timing = timing;
+        this.kinds = kinds;
+        this.messages = messages;
+        this.matchKeys = matchKeys;
+        this.matchIds = matchIds;
+
+        this.partners = new int[count][];
+        for (int a = 0; a < count; a++) {
+            int[] list = new int[count];
+            int n = 0;
+            for (int b = 0; b < count; b++) if (kinds[a * count + b] != null) list[n++] = b;
+            partners[a] = Arrays.copyOf(list, n);
+        }
+    }
+
+    // declared: {성분 a, 성분 b, "SEPARATE" | "TOGETHER", 설명}
+    static NutrientInteractions compile(String[] nutrients, String[] productExamples, String[] notes,
+                                        List<String[]> declared) {
+        int count = nutrients.length;
+        int[] timing = new int[count];
+        Kind[] kinds = new Kind[count * count];
+        String[] messages = new String[count * count];
+
+        for (int a = 0; a < count; a++) {
+            timing[a] = parseTiming(notes[a]);
+
+            // "칼슘 ... 비타민 D와 함께 복용 권장" -> (칼슘, 비타민 D) TOGETHER
+            for (int b = 0; b < count; b++) {
+                if (a == b) continue;
+                if (notes[a].contains(nutrients[b] + "와 함께") || notes[a].contains(nutrients[b] + "과 함께")) {
+                    put(kinds, messages, count, a, b, Kind.TOGETHER, notes[a]);
+                }
+            }
+        }
+
+        for (String[] entry : declared) {
+            int a = indexOf(nutrients, entry[0]);
+            int b = indexOf(nutrients, entry[1]);
+            if (a < 0 || b < 0 || a == b) {
+                throw new IllegalArgumentException("잘못된 상호작용 항목: " + entry[0] + " - " + entry[1]);
+            }
+            Kind kind;
+            try {
+                kind = Kind.valueOf(entry[2]);
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("알 수 없는 상호작용 종류: " + entry[2]);
+            }
+            put(kinds, messages, count, a, b, kind, entry[3] != null ? entry[3] : "");
+        }
+
+        // 알람 이름 매칭 키: 성분명, 제품명, "루테인/지아잔틴" 같은 이름은 각 부분도
+        List<String> keys = new ArrayList<>();
+        List<Integer> ids = new ArrayList<>();
+        for (int n = 0; n < count; n++) {
+            List<String> names = new ArrayList<>(List.of(nutrients[n], productExamples[n]));
+            if (nutrients[n].contains("/")) names.addAll(List.of(nutrients[n].split("/")));
+            for (String name : names) {
+                String key = normalize(name);
+                if (key.length() < 2) continue;
+                keys.add(key);
+                ids.add(n);
+            }
+        }
+        Integer[] order = new Integer[keys.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingInt((Integer i) -> keys.get(i).length()).reversed());
+        String[] matchKeys = new String[order.length];
+        int[] matchIds = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            matchKeys[i] = keys.get(order[i]);
+            matchIds[i] = ids.get(order[i]);
+        }
+
+        List<String[]> declaredCopy = new ArrayList<>();
+        for (String[] entry : declared) declaredCopy.add(entry.clone());
+        return new NutrientInteractions(count, timing, kinds, messages, matchKeys, matchIds,
+                Collections.unmodifiableList(declaredCopy));
+    }
+
+    private static void put(Kind[] kinds, String[] messages, int count, int a, int b, Kind kind, String message) {
+        kinds[a * count + b] = kind;
+        kinds[b * count + a] = kind;
+        messages[a * count + b] = message;
+        messages[b * count + a] = message;
+    }
+
+    private static int indexOf(String[] names, String name) {
+        for (int i = 0; i < names.length; i++) if (names[i].equals(name)) return i;
+        return -1;
+    }
+
+    private static int parseTiming(String note) {
+        int flags = 0;
+        if (note.contains("아침")) flags |= MORNING;
+        if (note.contains("저녁") || note.contains("취침")) flags |= EVENING;
+        if (note.contains("공복")) flags |= EMPTY_STOMACH;
+        if (note.contains("식후") || note.contains("식사 후") || note.contains("식사 중") || note.contains("식사 직후")) flags |= WITH_MEAL;
+        if (note.contains("식사 전")) flags |= BEFORE_MEAL;
+        return flags;
+    }
+
+    private static String normalize(String name) {
+        return name.replaceAll("\\s+", "").toLowerCase();
+    }
+
+    // --- 조회 ---
+
+    public int timing(int nutrientId) { return timing[nutrientId]; }
+
+    // 파일에 적힌 상호작용 항목 {성분 a, 성분 b, 종류, 설명}
+    public List<String[]> getDeclared() { return declared; }
+
+    // 상호작용 종류 (없으면 null)
+    public Kind kind(int a, int b) { return kinds[a * count + b]; }
+    public String message(int a, int b) { return messages[a * count + b]; }
+
+    // 상호작용이 있는 성분 id 목록 (내부 배열이므로 수정하지 말 것)
+    public int[] partners(int nutrientId) { return partners[nutrientId]; }
+
+    // 알람 이름에 들어 있는 성분 (예: "해조 칼슘 2알" -> 칼슘), 없으면 -1
+    public int matchNutrient(String alarmName) {
+        if (alarmName == null) return -1;
+        String name = normalize(alarmName);
+        for (int i = 0; i < matchKeys.length; i++) {
+            if (name.contains(matchKeys[i])) return matchIds[i];
+        }
+        return -1;
+    }
+
+    // 복용 시간 플래그 -> "아침, 식후"
+    public static String describeTiming(int flags) {
+        List<String> parts = new ArrayList<>();
+        if ((flags & MORNING) != 0) parts.add("아침");
+        if ((flags & EVENING) != 0) parts.add("저녁/취침 전");
+        if ((flags & EMPTY_STOMACH) != 0) parts.add("공복");
+        if ((flags & WITH_MEAL) != 0) parts.add("식후");
+        if ((flags & BEFORE_MEAL) != 0) parts.add("식사 전");
+        return String.join(", ", parts);
+    }
+}
@@ -0,0 +1,67 @@
+package com.nutrient_reminder.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// 추천 결과 (성분 id 목록만 들고 있고, 화면에 보여줄 문자열은 필요할 때 만듦)
+public final class Recommendation {
+
+    private final SymptomKnowledgeBase knowledgeBase;
+    private final int[] nutrientIds;
+    private final double[] scores;   // 순위 모드에서만 채워짐 (nutrientIds 와 같은 위치), 아니면 null
+
+    // toLines() 결과 (캐시된 추천을 다시 보여줄 때 문자열을 또 만들지 않도록 한 번만 생성)
+    private volatile List<String> lines;
+
+    public Recommendation(SymptomKnowledgeBase knowledgeBase, int[] nutrientIds) {
+        this(knowledgeBase, nutrientIds, null);
+    }
+
+    public Recommendation(SymptomKnowledgeBase knowledgeBase, int[] nutrientIds, double[] scores) {
+        this.knowledgeBase = knowledgeBase;
+        this.nutrientIds = nutrientIds;
+        this.scores = scores;
+    }
+
+    public int size() { return nutrientIds.length; }
+    public boolean isEmpty() { return nutrientIds.length == 0; }
+
+    public int nutrientIdAt(int index) { return nutrientIds[index]; }
+    public String nutrientAt(int index) { return knowledgeBase.nutrientName(nutrientIds[index]); }
+
+    public boolean hasScores() { return scores != null; }
+    public double scoreAt(int index) { return scores != null ? scores[index] : 0.0; }
+
+    public List<String> getNutrientNames() {
+        List<String> names = new ArrayList<>(nutrientIds.length);
+        for (int id : nutrientIds) names.add(knowledgeBase.nutrientName(id));
+        return names;
+    }
+
+    public String formatHeader() {
+        return "===== 종합 추천 영양 성분 (" + nutrientIds.length + "가지) =====";
+    }
+
+    // 성분명, 추천 제품 예시, 참고 사항
+    public String formatEntry(int index) {
+        int id = nutrientIds[index];
+        return String.format(
+                "%s%n   - 추천 제품 예시: %s%n   - 참고 사항: %s%n",
+                knowledgeBase.nutrientName(id), knowledgeBase.productExample(id), knowledgeBase.note(id)
+        );
+    }
+
+    // 기존 getRecommendations 와 같은 형식 (제목 + 성분별 설명), 수정 불가 목록
+    public List<String> toLines() {
+        List<String> result = lines;
+        if (result == null) {
+            List<String> built = new ArrayList<>(nutrientIds.length + 1);
+            built.add(formatHeader());
+            for (int i = 0; i < nutrientIds.length; i++) built.add(formatEntry(i));
+            result = Collections.unmodifiableList(built);
+            lines = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,115 @@
+package com.nutrient_reminder.model;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// 같은 증상 조합에 대한 추천 결과를 재사용하는 LRU 캐시
+// 키: (지식 베이스 인스턴스, 정규화된 증상 id 목록)
+//   - 정규화: 등록되지 않은 증상 제거, 중복 제거, 이름 -> id
+//   - 결과 순서가 선택 순서를 따르므로 순서가 다른 같은 조합은 별도 항목
+//     (체크박스 화면은 항상 화면 배치 순서로 넘기므로 조합 하나당 항목 하나)
+// 지식 베이스가 교체되면 clear() 로 비우고, 키에 인스턴스가 들어 있어 예전 결과가 섞일 일도 없음
+public final class RecommendationCache {
+
+    private final int maxEntries;
+    private final Map<Key, Recommendation> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public RecommendationCache(int maxEntries) {
+        if (maxEntries <= 0) throw new IllegalArgumentException("캐시 크기는 1 이상이어야 합니다.");
+        this.maxEntries = maxEntries;
+        // accessOrder = true: 조회할 때마다 뒤로 옮겨서 가장 오래 안 쓴 항목이 맨 앞에 오도록
+        this.entries = new LinkedHashMap<>(Math.min(maxEntries, 1024) * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Recommendation> eldest) {
+                if (size() <= RecommendationCache.this.maxEntries) return false;
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    // 캐시에 있으면 그대로, 없으면 계산해서 넣은 뒤 반환
+    public Recommendation get(SymptomKnowledgeBase kb, int[] symptomIds, int symptomCount) {
+        Key key = new Key(kb, symptomIds, symptomCount);
+        synchronized (entries) {
+            Recommendation cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+
+        // 계산은 락 밖에서 (같은 조합이 동시에 들어오면 둘 다 계산하지만 결과는 같음)
+        int[] out = new int[kb.nutrientCount()];
+        int count = kb.collectInto(key.symptomIds, key.symptomIds.length, out, kb.newNutrientMask());
+        Recommendation computed = new Recommendation(kb, Arrays.copyOf(out, count));
+        synchronized (entries) {
+            entries.put(key, computed);
+        }
+        return computed;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        long h = getHits(), m = getMisses();
+        return String.format("추천 캐시: 항목 %d/%d, 적중 %d, 실패 %d (적중률 %.1f%%), 제거 %d",
+                size(), maxEntries, h, m, h + m == 0 ? 0.0 : h * 100.0 / (h + m), getEvictions());
+    }
+
+    // 정규화된 증상 조합 키 (중복 제거된 id 목록 + 지식 베이스 인스턴스)
+    private static final class Key {
+        final SymptomKnowledgeBase kb;
+        final int[] symptomIds;
+        final int hash;
+
+        Key(SymptomKnowledgeBase kb, int[] ids, int count) {
+            int[] unique = new int[count];
+            boolean[] seen = new boolean[kb.symptomCount()];
+            int n = 0;
+            for (int i = 0; i < count; i++) {
+                if (seen[ids[i]]) continue;
+                seen[ids[i]] = true;
+                unique[n++] = ids[i];
+            }
+            this.kb = kb;
+            this.symptomIds = n == count ? unique : Arrays.copyOf(unique, n);
+            this.hash = 31 * System.identityHashCode(kb) + Arrays.hashCode(symptomIds);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return kb == other.kb && Arrays.equals(symptomIds, other.symptomIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.nutrient_reminder.model;
+
+import java.util.Arrays;
+
+// 추천 목록을 짧게 만드는 두 가지 모드
+// - rank  : 선택한 증상에 대한 매핑 가중치 합(같으면 커버하는 증상 수)으로 성분 순위를 매김
+// - cover : 선택한 증상을 모두 커버하는 가장 적은 성분 조합 (집합 덮개 문제)
+//           먼저 탐욕법으로 답을 구하고, 하한과 같지 않으면 분기 한정 탐색으로 최소 개수를 확인
+//           증상이 64개를 넘거나 탐색 노드가 예산을 넘으면 탐욕법 결과 + 하한을 그대로 반환
+// 체크박스를 누를 때마다 다시 계산해도 될 만큼 가볍게 (증상/성분 수가 수십 개 수준)
+public final class RecommendationOptimizer {
+
+    // 분기 한정 탐색은 증상 집합을 long 하나로 표현할 수 있을 때만
+    public static final int EXACT_SYMPTOM_LIMIT = 64;
+    public static final int EXACT_NODE_BUDGET = 100_000;
+
+    private RecommendationOptimizer() {
+    }
+
+    // 최소 조합 결과
+    public static final class CoverResult {
+        private final Recommendation recommendation;
+        private final boolean optimal;
+        private final int lowerBound;
+
+        CoverResult(Recommendation recommendation, boolean optimal, int lowerBound) {
+            this.recommendation = recommendation;
+            this.optimal = optimal;
+            this.lowerBound = lowerBound;
+        }
+
+        // 성분 목록 (점수 = 그 성분이 커버하는 선택 증상 수)
+        public Recommendation getRecommendation() { return recommendation; }
+
+        // 최소 개수임이 확인됐는지 (false 면 탐욕법 결과)
+        public boolean isOptimal() { return optimal; }
+
+        // 최소 조합 크기의 하한 (optimal 이면 결과 크기와 같음)
+        public int getLowerBound() { return lowerBound; }
+    }
+
+    // --- 순위 모드 ---
+
+    public static Recommendation rank(SymptomKnowledgeBase kb, int[] symptomIds, int symptomCount) {
+        int[] order = new int[kb.nutrientCount()];
+        int count = kb.collectInto(symptomIds, symptomCount, order, kb.newNutrientMask());
+
+        // 같은 증상이 두 번 들어와도 한 번만 점수에 반영
+        double[] score = new double[kb.nutrientCount()];
+        int[] covers = new int[kb.nutrientCount()];
+        boolean[] counted = new boolean[kb.symptomCount()];
+        for (int i = 0; i < symptomCount; i++) {
+            int s = symptomIds[i];
+            if (counted[s]) continue;
+            counted[s] = true;
+
+            int[] ids = kb.nutrientIdsRef(s);
+            double[] weights = kb.weightsRef(s);
+            for (int j = 0; j < ids.length; j++) {
+                score[ids[j]] += weights[j];
+                covers[ids[j]]++;
+            }
+        }
+
+        // 점수 내림차순, 같으면 커버 수 내림차순, 그것도 같으면 처음 등장한 순서 (안정 삽입 정렬)
+        for (int i = 1; i < count; i++) {
+            int id = order[i];
+            int j = i - 1;
+            while (j >= 0 && ranksBefore(id, order[j], score, covers)) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = id;
+        }
+
+        int[] ids = Arrays.copyOf(order, count);
+        double[] scores = new double[count];
+        for (int i = 0; i < count; i++) scores[i] = score[ids[i]];
+        return new Recommendation(kb, ids, scores);
+    }
+
+    private static boolean ranksBefore(int a, int b, double[] score, int[] covers) {
+        if (score[a] != score[b]) return score[a] > score[b];
+        return covers[a] > covers[b];
+    }
+
+    // --- 최소 조합 모드 ---
+
+    public static CoverResult cover(SymptomKnowledgeBase kb, int[] symptomIds, int symptomCount) {
+        // 1. 커버해야 할 증상 (중복 제거, 매핑된 성분이 없는 증상은 커버 불가이므로 제외) -> 0..k-1
+        int[] universe = new int[symptomCount];
+        boolean[] inUniverse = new boolean[kb.symptomCount()];
+        int k = 0;
+        for (int i = 0; i < symptomCount; i++) {
+            int s = symptomIds[i];
+            if (inUniverse[s] || kb.nutrientIdsRef(s).length == 0) continue;
+            inUniverse[s] = true;
+            universe[k++] = s;
+        }
+
+        // 2. 후보 성분과 각 후보가 커버하는 증상 비트셋 (후보 순서 = 처음 등장한 순서)
+        int[] candidates = new int[kb.nutrientCount()];
+        int c = kb.collectInto(universe, k, candidates, kb.newNutrientMask());
+        int[] candidateIndex = new int[kb.nutrientCount()];
+        for (int i = 0; i < c; i++) candidateIndex[candidates[i]] = i;
+
+        int words = Math.max(1, (k + 63) >>> 6);
+        long[][] masks = new long[c][words];
+        double[] weights = new double[c];
+        int[] coverCounts = new int[c];
+        for (int e = 0; e < k; e++) {
+            int[] ids = kb.nutrientIdsRef(universe[e]);
+            double[] w = kb.weightsRef(universe[e]);
+            for (int j = 0; j < ids.length; j++) {
+                int ci = candidateIndex[ids[j]];
+                masks[ci][e >>> 6] |= 1L << e;
+                weights[ci] += w[j];
+                coverCounts[ci]++;
+            }
+        }
+
+        int maxCover = 1;
+        for (int i = 0; i < c; i++) maxCover = Math.max(maxCover, coverCounts[i]);
+        int lowerBound = ceilDiv(k, maxCover);
+
+        // 3. 탐욕법: 아직 커버되지 않은 증상을 가장 많이 커버하는 성분부터 (같으면 가중치 큰 쪽)
+        boolean[] chosen = greedy(masks, weights, c, words, k);
+        int size = countChosen(chosen);
+        boolean optimal = size <= lowerBound;
+
+        // 4. 하한과 다르면 분기 한정으로 최소 개수 확인
+        if (!optimal && k <= EXACT_SYMPTOM_LIMIT) {
+            ExactSearch search = new ExactSearch(masks, weights, c, k, maxCover, chosen);
+            if (search.run()) {
+                chosen = search.best;
+                size = countChosen(chosen);
+                optimal = true;
+                lowerBound = size;
+            }
+        }
+
+        int[] ids = new int[size];
+        double[] scores = new double[size];
+        int n = 0;
+        for (int i = 0; i < c; i++) {
+            if (!chosen[i]) continue;
+            ids[n] = candidates[i];
+            scores[n] = coverCounts[i];
+            n++;
+        }
+        return new CoverResult(new Recommendation(kb, ids, scores), optimal, lowerBound);
+    }
+
+    private static boolean[] greedy(long[][] masks, double[] weights, int c, int words, int k) {
+        boolean[] chosen = new boolean[c];
+        long[] covered = new long[words];
+        int remaining = k;
+        while (remaining > 0) {
+            int best = -1;
+            int bestGain = 0;
+            for (int i = 0; i < c; i++) {
+                if (chosen[i]) continue;
+                int gain = 0;
+                for (int w = 0; w < words; w++) gain += Long.bitCount(masks[i][w] & ~covered[w]);
+                if (gain > bestGain || (gain == bestGain && gain > 0 && weights[i] > weights[best])) {
+                    best = i;
+                    bestGain = gain;
+                }
+            }
+            chosen[best] = true;
+            for (int w = 0; w < words; w++) covered[w] |= masks[best][w];
+            remaining -= bestGain;
+        }
+        return chosen;
+    }
+
+    private static int countChosen(boolean[] chosen) {
+        int n = 0;
+        for (boolean b : chosen) if (b) n++;
+        return n;
+    }
+
+    private static int ceilDiv(int a, int b) {
+        return (a + b - 1) / b;
+    }
+
+    // 증상 64개 이하 전용 분기 한정 탐색
+    // 아직 커버되지 않은 증상 중 후보가 가장 적은 것을 골라, 그 증상을 커버하는 성분마다 가지를 나눔
+    // 같은 개수면 가중치 합이 큰 조합을 선택
+    private static final class ExactSearch {
+        private final long[] masks;
+        private final double[] weights;
+        private final int[][] byElement;   // 증상 -> 커버하는 후보 목록
+        private final long full;
+        private final int maxCover;
+        private final boolean[] current;
+
+        private boolean[] best;
+        private int bestSize;
+        private double bestWeight;
+        private int nodes;
+
+        ExactSearch(long[][] masks, double[] weights, int c, int k, int maxCover, boolean[] initial) {
+            this.masks = new long[c];
+            for (int i = 0; i < c; i++) this.masks[i] = masks[i][0];
+            this.weights = weights;
+            this.full = k == 64 ? -1L : (1L << k) - 1;
+            this.maxCover = maxCover;
+            this.current = new boolean[c];
+
+            this.byElement = new int[k][];
+            for (int e = 0; e < k; e++) {
+                int[] list = new int[c];
+                int n = 0;
+                for (int i = 0; i < c; i++) if ((this.masks[i] & (1L << e)) != 0) list[n++] = i;
+                byElement[e] = Arrays.copyOf(list, n);
+            }
+
+            this.best = initial.clone();
+            this.bestSize = countChosen(initial);
+            for (int i = 0; i < c; i++) if (initial[i]) bestWeight += weights[i];
+        }
+
+        // 예산 안에 탐색을 끝냈으면 true
+        boolean run() {
+            search(0L, 0, 0.0);
+            return nodes <= EXACT_NODE_BUDGET;
+        }
+
+        private void search(long covered, int depth, double weight) {
+            if (++nodes > EXACT_NODE_BUDGET) return;
+
+            if (covered == full) {
+                if (depth < bestSize || (depth == bestSize && weight > bestWeight)) {
+                    best = current.clone();
+                    bestSize = depth;
+                    bestWeight = weight;
+                }
+                return;
+            }
+
+            long remaining = full & ~covered;
+            if (depth + ceilDiv(Long.bitCount(remaining), maxCover) > bestSize) return;
+
+            int element = -1;
+            int fewest = Integer.MAX_VALUE;
+            for (long bits = remaining; bits != 0; bits &= bits - 1) {
+                int e = Long.numberOfTrailingZeros(bits);
+                if (byElement[e].length < fewest) {
+                    fewest = byElement[e].length;
+                    element = e;
+                }
+            }
+
+            for (int i : byElement[element]) {
+                current[i] = true;
+                search(covered | masks[i], depth + 1, weight + weights[i]);
+                current[i] = false;
+                if (nodes > EXACT_NODE_BUDGET) return;
+            }
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.nutrient_reminder.model;
+
+import java.lang.ref.WeakReference;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+// 알람 반복 규칙 (불변 객체)
+// 모든 시각은 "epoch minute" (로컬 날짜/시간을 UTC 기준 분 단위로 센 값), 날짜는 epoch day 로 다룸
+// - WEEKLY       : 요일 비트마스크 + 하루 중 여러 시각 (매일 = 7개 요일 모두)
+// - DAY_INTERVAL : N일마다 (startDay 기준) + 하루 중 여러 시각
+// - MINUTE_INTERVAL : startDay 의 첫 시각부터 N분마다 (예: 8시간마다)
+// startDay ~ endDay (포함) 범위를 벗어난 발생은 없음
+public class RecurrenceRule {
+
+    public enum Type { WEEKLY, DAY_INTERVAL, MINUTE_INTERVAL }
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int ALL_DAYS = 0b1111111;
+    public static final int WEEKDAYS = 0b0011111;
+
+    // 다음 발생이 없을 때 반환하는 값
+    public static final long NONE = Long.MAX_VALUE;
+
+    // 요일 비트 순서: bit0 = 월 ... bit6 = 일 (DayOfWeek.getValue() - 1)
+    private static final String[] DAY_NAMES = {"월", "화", "수", "목", "금", "토", "일"};
+
+    private final Type type;
+    private final int dayMask;        // WEEKLY 전용
+    private final int interval;       // DAY_INTERVAL: 일 단위, MINUTE_INTERVAL: 분 단위
+    private final int[] times;        // 하루 중 울릴 시각(분), 오름차순
+    private final int startDay;       // 시작일 (epoch day, 포함)
+    private final int endDay;         // 종료일 (epoch day, 포함)
+
+    // 같은 규칙을 쓰는 알람끼리 인스턴스를 공유하기 위한 풀 (예: "매일 오전 9시")
+    // 키와 값 모두 약한 참조라서 어떤 알람도 쓰지 않게 된 규칙은 GC 때 풀에서도 빠짐
+    // (동기화/편집으로 새 규칙이 계속 만들어져도 살아 있는 알람 수 이상으로 커지지 않음)
+    private static final Map<RecurrenceRule, WeakReference<RecurrenceRule>> POOL = new WeakHashMap<>();
+
+    private RecurrenceRule(Type type, int dayMask, int interval, int[] times, int startDay, int endDay) {
+        if (times.length == 0) throw new IllegalArgumentException("울릴 시각이 하나 이상 필요합니다.");
+        if (type != Type.WEEKLY && interval <= 0) throw new IllegalArgumentException("반복 간격은 1 이상이어야 합니다.");
+        if (type == Type.WEEKLY && (dayMask & ALL_DAYS) == 0) throw new IllegalArgumentException("요일을 하나 이상 선택해야 합니다.");
+
+        int[] sorted = times.clone();
+        Arrays.sort(sorted);
+        for (int t : sorted) {
+            if (t < 0 || t >= MINUTES_PER_DAY) throw new IllegalArgumentException("잘못된 시각: " + t);
+        }
+        this.type = type;
+        this.dayMask = dayMask & ALL_DAYS;
+        this.interval = interval;
+        this.times = sorted;
+        this.startDay = startDay;
+        this.endDay = endDay;
+    }
+
+    // --- 생성 메서드 ---
+
+    // 저장된 필드 값으로 규칙 복원 (파일 역직렬화용)
+    public static RecurrenceRule of(Type type, int dayMask, int interval, int[] times, int startDay, int endDay) {
+        return new RecurrenceRule(type, dayMask, interval, times, startDay, endDay);
+    }
+
+    // 동일한 규칙이 이미 있으면 그 인스턴스를 반환 (불변 객체이므로 공유해도 안전)
+    public static RecurrenceRule intern(RecurrenceRule rule) {
+        synchronized (POOL) {
+            WeakReference<RecurrenceRule> ref = POOL.get(rule);
+            RecurrenceRule existing = ref != null ? ref.get() : null;
+            if (existing != null) return existing;
+            POOL.put(rule, new WeakReference<>(rule));
+            return rule;
+        }
+    }
+
+    // 풀에 남아 있는 규칙 수 (테스트용)
+    static int pooledCount() {
+        synchronized (POOL) {
+            return POOL.size();
+        }
+    }
+
+    public static RecurrenceRule daily(int... minutesOfDay) {
+        return weekly(ALL_DAYS, minutesOfDay);
+    }
+
+    public static RecurrenceRule weekly(int dayMask, int... minutesOfDay) {
+        return new RecurrenceRule(Type.WEEKLY, dayMask, 0, minutesOfDay, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    // startDay 부터 N일마다 (예: 격일 = everyNDays(2, ...))
+    public static RecurrenceRule everyNDays(int days, int startDay, int... minutesOfDay) {
+        return new RecurrenceRule(Type.DAY_INTERVAL, 0, days, minutesOfDay, startDay, Integer.MAX_VALUE);
+    }
+
+    // startDay 의 firstMinuteOfDay 부터 N분마다 (예: 8시간마다 = everyNMinutes(480, ...))
+    public static RecurrenceRule everyNMinutes(int minutes, int startDay, int firstMinuteOfDay) {
+        return new RecurrenceRule(Type.MINUTE_INTERVAL, 0, minutes, new int[]{firstMinuteOfDay}, startDay, Integer.MAX_VALUE);
+    }
+
+    // 시작일 지정 (DAY_INTERVAL / MINUTE_INTERVAL 에서는 기준일도 바뀜)
+    public RecurrenceRule startingOn(int epochDay) {
+        return new RecurrenceRule(type, dayMask, interval, times, epochDay, endDay);
+    }
+
+    // 종료일 지정 (해당 날짜 포함)
+    public RecurrenceRule until(int epochDay) {
+        return new RecurrenceRule(type, dayMask, interval, times, startDay, epochDay);
+    }
+
+    // 시작일부터 N일 동안 (예: 14일 동안 하루 두 번)
+    public RecurrenceRule forDays(int days) {
+        if (startDay == Integer.MIN_VALUE) throw new IllegalStateException("기간을 지정하려면 시작일이 필요합니다.");
+        return until(startDay + days - 1);
+    }
+
+    // 기존 데이터(요일 문자열 목록 + "오전 09 : 30" 형식 시각)를 규칙으로 변환
+    // 요일이 비어 있으면 기존 동작과 같이 매일 울림
+    public static RecurrenceRule fromLegacy(List<String> days, String time) {
+        int mask = 0;
+        if (days != null) {
+            for (String day : days) {
+                int index = Arrays.asList(DAY_NAMES).indexOf(day);
+                if (index >= 0) mask |= 1 << index;
+            }
+        }
+        return weekly(mask == 0 ? ALL_DAYS : mask, parseTime(time));
+    }
+
+    // --- 다음 발생 계산 ---
+
+    // from(epoch minute) 이후(같은 분 포함) 가장 가까운 발생 시각, 없으면 NONE
+    // WEEKLY/DAY_INTERVAL: O(log 시각 수), MINUTE_INTERVAL: O(1)
+    public long nextOccurrence(long fromMinute) {
+        long first = (long) startDay * MINUTES_PER_DAY;
+        if (fromMinute < first) fromMinute = first;
+
+        long result;
+        if (type == Type.MINUTE_INTERVAL) {
+            long anchor = (long) startDay * MINUTES_PER_DAY + times[0];
+            if (fromMinute <= anchor) {
+                result = anchor;
+            } else {
+                long steps = Math.floorDiv(fromMinute - anchor + interval - 1, interval);
+                result = anchor + steps * interval;
+            }
+        } else {
+            long day = Math.floorDiv(fromMinute, MINUTES_PER_DAY);
+            int minuteOfDay = (int) (fromMinute - day * MINUTES_PER_DAY);
+
+            int index = -1;
+            if (matchesDay(day)) index = ceilingIndex(minuteOfDay);
+            if (index >= 0) {
+                result = day * MINUTES_PER_DAY + times[index];
+            } else {
+                long nextDay = nextMatchingDayAfter(day);
+                result = nextDay * MINUTES_PER_DAY + times[0];
+            }
+        }
+
+        long lastMinute = (long) endDay * MINUTES_PER_DAY + (MINUTES_PER_DAY - 1);
+        return result > lastMinute ? NONE : result;
+    }
+
+    // 해당 날짜(epoch day)에 한 번이라도 발생하는지
+    public boolean occursOn(long epochDay) {
+        if (epochDay < startDay || epochDay > endDay) return false;
+        if (type == Type.MINUTE_INTERVAL) {
+            long dayStart = epochDay * MINUTES_PER_DAY;
+            return nextOccurrence(dayStart) < dayStart + MINUTES_PER_DAY;
+        }
+        return matchesDay(epochDay);
+    }
+
+    // 하루에 여러 번 울릴 수 있는 규칙인지 (복용 완료 상태를 발생 단위로 초기화해야 함)
+    public boolean isMultiplePerDay() {
+        return times.length > 1 || (type == Type.MINUTE_INTERVAL && interval < MINUTES_PER_DAY);
+    }
+
+    private boolean matchesDay(long day) {
+        if (day < startDay || day > endDay) return false;
+        if (type == Type.WEEKLY) return (dayMask & (1 << dayIndex(day))) != 0;
+        return Math.floorMod(day - startDay, interval) == 0;
+    }
+
+    // day 다음 날부터 조건에 맞는 첫 날짜 (O(1))
+    private long nextMatchingDayAfter(long day) {
+        long candidate = Math.max(day + 1, startDay);
+        if (type == Type.WEEKLY) {
+            int index = dayIndex(candidate);
+            // 요일 마스크를 candidate 요일 기준으로 회전해서 가장 낮은 비트를 찾음
+            int rotated = ((dayMask >>> index) | (dayMask << (7 - index))) & ALL_DAYS;
+            return candidate + Integer.numberOfTrailingZeros(rotated);
+        }
+        long offset = Math.floorMod(candidate - startDay, interval);
+        return offset == 0 ? candidate : candidate + (interval - offset);
+    }
+
+    // times 에서 minuteOfDay 이상인 첫 인덱스 (이진 탐색), 없으면 -1
+    private int ceilingIndex(int minuteOfDay) {
+        int found = Arrays.binarySearch(times, minuteOfDay);
+        if (found >= 0) return found;
+        int insertion = -found - 1;
+        return insertion < times.length ? insertion : -1;
+    }
+
+    // epoch day 0(1970-01-01)은 목요일 → 월요일 = 0
+    private static int dayIndex(long epochDay) {
+        return (int) Math.floorMod(epochDay + 3, 7L);
+    }
+
+    // --- UI 표시용 ---
+
+    public Type getType() { return type; }
+    public int getDayMask() { return dayMask; }
+    public int getInterval() { return interval; }
+    public int[] getTimes() { return times.clone(); }
+    public int getFirstTime() { return times[0]; }
+    public int getStartDay() { return startDay; }
+    public int getEndDay() { return endDay; }
+
+    // 기존 UI 호환용 요일 목록 (매일이면 빈 목록)
+    public List<String> toLegacyDays() {
+        List<String> days = new ArrayList<>();
+        if (type != Type.WEEKLY || dayMask == ALL_DAYS) return days;
+        for (int i = 0; i < 7; i++) {
+            if ((dayMask & (1 << i)) != 0) days.add(DAY_NAMES[i]);
+        }
+        return days;
+    }
+
+    // 예: "월, 수, 금요일 (매주 반복)", "2일마다", "8시간마다 · 2025-01-20까지"
+    public String describe() {
+        String text;
+        if (type == Type.MINUTE_INTERVAL) {
+            text = interval % 60 == 0 ? (interval / 60) + "시간마다" : interval + "분마다";
+        } else if (type == Type.DAY_INTERVAL) {
+            text = interval == 1 ? "매일" : interval + "일마다";
+        } else if (dayMask == ALL_DAYS) {
+            text = "매일";
+        } else {
+            text = String.join(", ", toLegacyDays()) + "요일 (매주 반복)";
+        }
+        if (times.length > 1) text += " · 하루 " + times.length + "번";
+        if (endDay != Integer.MAX_VALUE) text += " · " + LocalDate.ofEpochDay(endDay) + "까지";
+        return text;
+    }
+
+    // --- 시각 문자열 변환 ---
+
+    // "오전 09 : 30" / "오후 9 : 05" → 하루 중 분
+    public static int parseTime(String time) {
+        String[] parts = time.trim().split("\\s+", 2);
+        String[] hm = parts[1].split(":");
+        int hour = Integer.parseInt(hm[0].trim()) % 12;
+        int minute = Integer.parseInt(hm[1].trim());
+        if ("오후".equals(parts[0])) hour += 12;
+        return hour * 60 + minute;
+    }
+
+    // 하루 중 분 → "오전 09 : 30"
+    public static String formatTime(int minuteOfDay) {
+        int hour = minuteOfDay / 60;
+        int hour12 = hour % 12;
+        if (hour12 == 0) hour12 = 12;
+        return String.format("%s %02d : %02d", hour < 12 ? "오전" : "오후", hour12, minuteOfDay % 60);
+    }
+
+    public static int dayBit(DayOfWeek dayOfWeek) {
+        return 1 << (dayOfWeek.getValue() - 1);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RecurrenceRule)) return false;
+        RecurrenceRule other = (RecurrenceRule) o;
+        return type == other.type && dayMask == other.dayMask && interval == other.interval
+                && startDay == other.startDay && endDay == other.endDay && Arrays.equals(times, other.times);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, dayMask, interval, startDay, endDay) * 31 + Arrays.hashCode(times);
+    }
+}
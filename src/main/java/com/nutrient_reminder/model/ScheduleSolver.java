@@ -0,0 +1,331 @@
+package com.nutrient_reminder.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 추천된 성분들의 복용 시간을 자동으로 정하는 솔버
+// 1. 생활 시간(MealPlan)으로 후보 시각(슬롯)을 만듦: 기상 직후, 세 끼 식전/식후, 취침 전
+// 2. 성분마다 참고 사항의 복용 시간 권장(NutrientInteractions 플래그)으로 쓸 수 있는 슬롯을 정함
+//    (권장이 여러 개면 모두 만족하는 슬롯, 그런 슬롯이 없으면 하나라도 만족하는 슬롯, 권장이 없으면 식후)
+// 3. 슬롯 부분집합을 작은 것부터 훑어서, 모든 성분을 배치할 수 있는 가장 작은 부분집합을 찾음
+//    - SEPARATE 쌍은 NutrientInteractions.SEPARATE_MINUTES 보다 떨어진 슬롯에만 (하드 제약, 알람 등록 시 경고 기준과 같음)
+//    - TOGETHER 쌍은 같은 슬롯일수록 좋음 (같은 크기 중 가장 많이 맞추는 배치를 선택)
+// 슬롯이 8개뿐이라 부분집합은 256개, 각 부분집합 안에서는 선택지가 적은 성분부터 백트래킹
+// 권장 슬롯으로는 배치가 불가능하면 모든 슬롯을 허용해서 다시 풀고, 그래도 안 되면 SEPARATE 를 무시 (relaxed)
+public final class ScheduleSolver {
+
+    // 슬롯 종류 (시각 순)
+    private static final String[] SLOT_LABELS = {
+            "기상 직후", "아침 식사 전", "아침 식사 후", "점심 식사 전", "점심 식사 후", "저녁 식사 전", "저녁 식사 후", "취침 전"
+    };
+    private static final int WAKE = 1, BEFORE_BREAKFAST = 1 << 1, AFTER_BREAKFAST = 1 << 2, BEFORE_LUNCH = 1 << 3,
+            AFTER_LUNCH = 1 << 4, BEFORE_DINNER = 1 << 5, AFTER_DINNER = 1 << 6, BEDTIME = 1 << 7;
+    private static final int ALL_KINDS = (1 << SLOT_LABELS.length) - 1;
+
+    // 식전/식후, 취침 전 간격 (분)
+    private static final int MEAL_OFFSET = 30;
+
+    // 탐색 한 번(search)의 백트래킹 노드 상한 (부분집합 전체가 나눠 씀)
+    // 다 쓰면 그때까지 찾은 가장 작은 배치를 쓰고, 없으면 가능 여부 확인 때 찾은 배치를 씀
+    private static final int NODE_BUDGET = 20_000;
+
+    private ScheduleSolver() {
+    }
+
+    // 생성된 스케줄
+    public static final class Schedule {
+        private final List<Entry> entries;
+        private final int distinctTimes;
+        private final boolean relaxed;
+
+        Schedule(List<Entry> entries, boolean relaxed) {
+            this.entries = Collections.unmodifiableList(entries);
+            this.distinctTimes = (int) entries.stream().mapToInt(Entry::getMinuteOfDay).distinct().count();
+            this.relaxed = relaxed;
+        }
+
+        public List<Entry> getEntries() { return entries; }
+        public int getDistinctTimes() { return distinctTimes; }
+
+        // 복용 시간 권장이나 SEPARATE 제약을 일부 지키지 못했으면 true
+        public boolean isRelaxed() { return relaxed; }
+
+        // 성분 id -> 매일 반복 규칙 (이름이 같은 성분이 있어도 하나로 합쳐지지 않도록 id 로 구분)
+        public Map<Integer, RecurrenceRule> toRules() {
+            Map<Integer, RecurrenceRule> rules = new LinkedHashMap<>();
+            for (Entry entry : entries) rules.put(entry.getNutrientId(), entry.toRule());
+            return rules;
+        }
+    }
+
+    public static final class Entry {
+        private final int nutrientId;
+        private final String nutrient;
+        private final int minuteOfDay;
+        private final String slot;
+
+        Entry(int nutrientId, String nutrient, int minuteOfDay, String slot) {
+            this.nutrientId = nutrientId;
+            this.nutrient = nutrient;
+            this.minuteOfDay = minuteOfDay;
+            this.slot = slot;
+        }
+
+        public int getNutrientId() { return nutrientId; }
+        public String getNutrient() { return nutrient; }
+        public int getMinuteOfDay() { return minuteOfDay; }
+        public String getSlot() { return slot; }
+
+        // 이 시각에 매일 울리는 반복 규칙
+        public RecurrenceRule toRule() { return RecurrenceRule.daily(minuteOfDay); }
+
+        @Override
+        public String toString() {
+            return RecurrenceRule.formatTime(minuteOfDay) + " (" + slot + ") " + nutrient;
+        }
+    }
+
+    public static Schedule solve(SymptomKnowledgeBase kb, Recommendation recommendation, MealPlan plan) {
+        // 추천 이후 지식 베이스가 교체됐을 수 있으므로 이름으로 다시 찾고, 없어진 성분은 제외
+        int[] ids = new int[recommendation.size()];
+        int count = 0;
+        for (int i = 0; i < recommendation.size(); i++) {
+            int id = kb.nutrientId(recommendation.nutrientAt(i));
+            if (id >= 0) ids[count++] = id;
+        }
+        return solve(kb, Arrays.copyOf(ids, count), plan);
+    }
+
+    public static Schedule solve(SymptomKnowledgeBase kb, int[] nutrientIds, MealPlan plan) {
+        NutrientInteractions interactions = kb.getInteractions();
+
+        // 1. 슬롯 (같은 시각이 되는 종류는 하나로 합침, 예: 기상 직후 = 아침 식사 전)
+        // 저녁이 늦으면 식후/취침 전 슬롯이 자정을 넘으므로 하루 안의 분으로 되돌림 (23:40 저녁 -> 00:10 식후)
+        int[] kindMinutes = {
+                plan.getWake(),
+                Math.max(plan.getWake(), plan.getBreakfast() - MEAL_OFFSET),
+                plan.getBreakfast() + MEAL_OFFSET,
+                plan.getLunch() - MEAL_OFFSET,
+                plan.getLunch() + MEAL_OFFSET,
+                plan.getDinner() - MEAL_OFFSET,
+                plan.getDinner() + MEAL_OFFSET,
+                Math.max(plan.getDinner() + MEAL_OFFSET, plan.getBedtime() - MEAL_OFFSET),
+        };
+        List<Integer> slotMinutes = new ArrayList<>();
+        List<Integer> slotKinds = new ArrayList<>();
+        List<String> slotLabels = new ArrayList<>();
+        for (int k = 0; k < kindMinutes.length; k++) {
+            int minute = Math.floorMod(kindMinutes[k], RecurrenceRule.MINUTES_PER_DAY);
+            int existing = slotMinutes.indexOf(minute);
+            if (existing >= 0) {
+                slotKinds.set(existing, slotKinds.get(existing) | (1 << k));
+                slotLabels.set(existing, slotLabels.get(existing) + "/" + SLOT_LABELS[k]);
+            } else {
+                slotMinutes.add(minute);
+                slotKinds.add(1 << k);
+                slotLabels.add(SLOT_LABELS[k]);
+            }
+        }
+        int slotCount = slotMinutes.size();
+
+        // 2. 성분별 허용 슬롯 마스크, SEPARATE/TOGETHER 쌍
+        int n = nutrientIds.length;
+        int[] allowed = new int[n];
+        for (int i = 0; i < n; i++) {
+            int kinds = allowedKinds(interactions.timing(nutrientIds[i]));
+            for (int s = 0; s < slotCount; s++) if ((slotKinds.get(s) & kinds) != 0) allowed[i] |= 1 << s;
+        }
+        boolean[][] separate = new boolean[n][n];
+        boolean[][] together = new boolean[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i == j) continue;
+                NutrientInteractions.Kind kind = interactions.kind(nutrientIds[i], nutrientIds[j]);
+                separate[i][j] = kind == NutrientInteractions.Kind.SEPARATE;
+                together[i][j] = kind == NutrientInteractions.Kind.TOGETHER;
+            }
+        }
+        // 슬롯 s 와 SEPARATE_MINUTES 보다 떨어진 슬롯 마스크 (자정을 사이에 둔 간격도 같이 봄)
+        int[] far = new int[slotCount];
+        for (int s = 0; s < slotCount; s++) {
+            for (int t = 0; t < slotCount; t++) {
+                int gap = Math.abs(slotMinutes.get(s) - slotMinutes.get(t));
+                gap = Math.min(gap, RecurrenceRule.MINUTES_PER_DAY - gap);
+                if (gap > NutrientInteractions.SEPARATE_MINUTES) far[s] |= 1 << t;
+            }
+        }
+
+        // 3. 권장 슬롯 -> 모든 슬롯 -> SEPARATE 무시 순으로 시도
+        int allSlots = (1 << slotCount) - 1;
+        int[] assignment = search(allowed, separate, together, far, slotCount, true);
+        boolean relaxed = false;
+        if (assignment == null) {
+            int[] any = new int[n];
+            Arrays.fill(any, allSlots);
+            assignment = search(any, separate, together, far, slotCount, true);
+            if (assignment == null) assignment = search(allowed, separate, together, far, slotCount, false);
+            relaxed = true;
+        }
+
+        List<Entry> entries = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int slot = assignment[i];
+            entries.add(new Entry(nutrientIds[i], kb.nutrientName(nutrientIds[i]), slotMinutes.get(slot), slotLabels.get(slot)));
+        }
+        entries.sort((a, b) -> Integer.compare(a.getMinuteOfDay(), b.getMinuteOfDay()));
+        return new Schedule(entries, relaxed);
+    }
+
+    // 복용 시간 플래그 -> 허용 슬롯 종류
+    private static int allowedKinds(int timing) {
+        int[] groups = new int[5];
+        int count = 0;
+        if ((timing & NutrientInteractions.MORNING) != 0) groups[count++] = WAKE | BEFORE_BREAKFAST | AFTER_BREAKFAST;
+        if ((timing & NutrientInteractions.EVENING) != 0) groups[count++] = AFTER_DINNER | BEDTIME;
+        if ((timing & NutrientInteractions.EMPTY_STOMACH) != 0) groups[count++] = WAKE | BEFORE_BREAKFAST | BEDTIME;
+        if ((timing & NutrientInteractions.WITH_MEAL) != 0) groups[count++] = AFTER_BREAKFAST | AFTER_LUNCH | AFTER_DINNER;
+        if ((timing & NutrientInteractions.BEFORE_MEAL) != 0) groups[count++] = BEFORE_BREAKFAST | BEFORE_LUNCH | BEFORE_DINNER;
+        if (count == 0) return AFTER_BREAKFAST | AFTER_LUNCH | AFTER_DINNER;
+
+        int all = ALL_KINDS, any = 0;
+        for (int g = 0; g < count; g++) {
+            all &= groups[g];
+            any |= groups[g];
+        }
+        return all != 0 ? all : any;
+    }
+
+    // 슬롯 부분집합을 크기 순으로 훑어서 가장 작은 크기에서 TOGETHER 를 가장 많이 맞춘 배치를 반환 (없으면 null)
+    private static int[] search(int[] allowed, boolean[][] separate, boolean[][] together, int[] far,
+                                int slotCount, boolean enforceSeparate) {
+        int n = allowed.length;
+        if (n == 0) return new int[0];
+
+        int maxScore = 0;
+        for (int i = 0; i < n; i++) for (int j = i + 1; j < n; j++) if (together[i][j]) maxScore++;
+
+        // 모든 슬롯을 자유롭게 써도 배치가 안 되면 어떤 부분집합으로도 안 되므로 바로 포기
+        // (SEPARATE 쌍이 촘촘해서 불가능한 입력이 256개 부분집합을 모두 훑지 않도록, 노드 상한 안에 못 찾아도 포기)
+        Backtrack probe = new Backtrack(allowed, (1 << slotCount) - 1, separate, together, far,
+                enforceSeparate, maxScore, false, NODE_BUDGET);
+        if (!probe.run()) return null;
+
+        int remaining = NODE_BUDGET;
+        for (int size = 1; size <= slotCount && remaining > 0; size++) {
+            Backtrack best = null;
+            for (int subset = 1; subset < (1 << slotCount) && remaining > 0
+                    && (best == null || best.bestScore < maxScore); subset++) {
+                if (Integer.bitCount(subset) != size) continue;
+
+                // 모든 성분이 이 부분집합 안에 쓸 수 있는 슬롯을 하나 이상 가져야 함
+                boolean coverable = true;
+                for (int i = 0; i < n && coverable; i++) coverable = (allowed[i] & subset) != 0;
+                if (!coverable) continue;
+
+                Backtrack bt = new Backtrack(allowed, subset, separate, together, far,
+                        enforceSeparate, maxScore, true, remaining);
+                if (bt.run() && (best == null || bt.bestScore > best.bestScore)) best = bt;
+                remaining -= bt.nodes;
+            }
+            if (best != null) return best.best;
+        }
+        return probe.best;
+    }
+
+    // 부분집합 안에서 슬롯을 정하는 백트래킹 (전방 검사)
+    // - 성분마다 남은 선택지(슬롯 마스크)를 들고 다니며, 성분을 배치하면 SEPARATE 상대의 선택지에서 가까운 슬롯을 지움
+    //   선택지가 빈 성분이 생기면 바로 되돌아감
+    // - 다음 성분은 남은 선택지가 가장 적은 것
+    // - 부분집합의 슬롯은 모두 한 번 이상 써야 함 (그래야 "이 크기"의 해), 남은 성분으로 못 채우면 중단
+    // - 이미 어긋난 TOGETHER 쌍 수로 최선 점수를 넘을 수 없으면 중단
+    // coverAll 이 false 면 슬롯을 다 쓸 필요 없이 배치 하나만 찾음 (가능 여부 확인용)
+    private static final class Backtrack {
+        private final int subset;
+        private final boolean[][] separate;
+        private final boolean[][] together;
+        private final int[] far;
+        private final boolean enforceSeparate;
+        private final int maxScore;
+        private final boolean coverAll;
+        private final int[][] domains;   // 깊이 -> 성분별 남은 선택지
+        private final int[] current;     // 성분 -> 슬롯 (미배치 -1)
+
+        private final int budget;
+
+        int[] best;
+        int bestScore = -1;
+        int nodes;
+
+        Backtrack(int[] allowed, int subset, boolean[][] separate, boolean[][] together, int[] far,
+                  boolean enforceSeparate, int maxScore, boolean coverAll, int budget) {
+            int n = allowed.length;
+            this.subset = subset;
+            this.separate = separate;
+            this.together = together;
+            this.far = far;
+            this.enforceSeparate = enforceSeparate;
+            this.maxScore = maxScore;
+            this.coverAll = coverAll;
+            this.budget = budget;
+            this.domains = new int[n + 1][n];
+            for (int i = 0; i < n; i++) domains[0][i] = allowed[i] & subset;
+            this.current = new int[n];
+            Arrays.fill(current, -1);
+        }
+
+        boolean run() {
+            assign(0, 0, 0);
+            return best != null;
+        }
+
+        private void assign(int depth, int used, int lost) {
+            if (++nodes > budget || bestScore == maxScore || (!coverAll && best != null)) return;
+            int n = current.length;
+            if (depth == n) {
+                int score = maxScore - lost;
+                if ((!coverAll || used == subset) && (best == null || score > bestScore)) {
+                    best = current.clone();
+                    bestScore = score;
+                }
+                return;
+            }
+
+            int[] domain = domains[depth];
+            int next = -1;
+            int reachable = used;
+            for (int i = 0; i < n; i++) {
+                if (current[i] >= 0) continue;
+                reachable |= domain[i];
+                if (next < 0 || Integer.bitCount(domain[i]) < Integer.bitCount(domain[next])) next = i;
+            }
+            if (coverAll && reachable != subset) return;
+
+            int[] child = domains[depth + 1];
+            for (int bits = domain[next]; bits != 0; bits &= bits - 1) {
+                int slot = Integer.numberOfTrailingZeros(bits);
+
+                int newLost = lost;
+                boolean ok = true;
+                for (int j = 0; j < n && ok; j++) {
+                    if (j == next) continue;
+                    if (current[j] >= 0) {
+                        if (together[next][j] && current[j] != slot) newLost++;
+                        child[j] = domain[j];
+                    } else {
+                        child[j] = enforceSeparate && separate[next][j] ? domain[j] & far[slot] : domain[j];
+                        ok = child[j] != 0;
+                    }
+                }
+                if (!ok || (best != null && maxScore - newLost <= bestScore)) continue;
+
+                current[next] = slot;
+                assign(depth + 1, used | (1 << slot), newLost);
+                current[next] = -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.nutrient_reminder.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 증상 -> 영양 성분 매핑을 정수 id 와 비트셋으로 컴파일한 지식 베이스 (불변 객체)
+// - 증상 id    : 매핑에 등록된 순서 (0, 1, 2, ...)
+// - 성분 id    : 매핑을 순서대로 훑을 때 처음 등장한 순서
+// - 증상 마스크 : 해당 증상에 매핑된 성분 id 들을 켠 long[] 비트셋
+// - 가중치      : 증상-성분 매핑마다 하나 (지정하지 않으면 1.0), 순위 매길 때 사용
+// - 상호작용    : 성분 쌍의 상호작용과 복용 시간 권장 (NutrientInteractions)
+// 조회 시에는 문자열 비교/컬렉션 생성 없이 int 배열과 비트 연산만 사용
+// 지식 베이스 파일이 바뀌면 새 인스턴스를 통째로 만들어 교체하므로, 조회 중에 내용이 바뀌는 일은 없음
+public final class SymptomKnowledgeBase {
+
+    private final int version;                // 지식 베이스 파일의 version 값
+    private final String[] symptoms;
+    private final Map<String, Integer> symptomIds;
+    private final String[] nutrients;
+    private final Map<String, Integer> nutrientIds;
+    private final String[] productExamples;   // 성분 id -> 추천 제품 예시
+    private final String[] notes;             // 성분 id -> 참고 사항
+    private final int[][] symptomNutrients;   // 증상 id -> 성분 id (매핑 순서 그대로)
+    private final double[][] symptomWeights;  // 증상 id -> symptomNutrients 와 같은 위치의 매핑 가중치
+    private final long[][] symptomMasks;      // 증상 id -> 성분 비트셋
+    private final int words;                  // 성분 비트셋 하나의 long 개수
+    private final NutrientInteractions interactions;
+
+    private SymptomKnowledgeBase(int version, String[] symptoms, Map<String, Integer> symptomIds, String[] nutrients,
+                                 String[] productExamples, String[] notes, int[][] symptomNutrients,
+                                 double[][] symptomWeights, NutrientInteractions interactions) {
+        this.version = version;
+        this.interactions = interactions;
+        this.symptoms = symptoms;
+        this.symptomIds = symptomIds;
+        this.nutrients = nutrients;
+        Map<String, Integer> ids = new HashMap<>();
+        for (int n = 0; n < nutrients.length; n++) ids.put(nutrients[n], n);
+        this.nutrientIds = ids;
+        this.productExamples = productExamples;
+        this.notes = notes;
+        this.symptomNutrients = symptomNutrients;
+        this.symptomWeights = symptomWeights;
+        this.words = Math.max(1, (nutrients.length + 63) >>> 6);
+
+        this.symptomMasks = new long[symptoms.length][words];
+        for (int s = 0; s < symptoms.length; s++) {
+            for (int n : symptomNutrients[s]) {
+                symptomMasks[s][n >>> 6] |= 1L << n;
+            }
+        }
+    }
+
+    // 증상 -> 성분 목록 / 성분 -> {추천 제품 예시, 참고 사항} / 증상 -> (성분 -> 가중치) 맵을 컴파일
+    // 빠진 가중치는 1.0
+    // 잘못된 내용(빈 이름, 성분이 없는 증상, 설명이 없는 성분, 0 이하 가중치)은 추천 화면에서 터지기 전에
+    // 여기서 IllegalArgumentException 으로 실패시킴
+    public static SymptomKnowledgeBase compile(int version, Map<String, List<String>> mapping,
+                                               Map<String, String[]> explain,
+                                               Map<String, Map<String, Double>> weights) {
+        return compile(version, mapping, explain, weights, List.of());
+    }
+
+    // interactions: {성분 a, 성분 b, "SEPARATE" | "TOGETHER", 설명} 목록
+    public static SymptomKnowledgeBase compile(int version, Map<String, List<String>> mapping,
+                                               Map<String, String[]> explain,
+                                               Map<String, Map<String, Double>> weights,
+                                               List<String[]> interactions) {
+        String[] symptoms = mapping.keySet().toArray(new String[0]);
+        Map<String, Integer> symptomIds = new HashMap<>();
+        Map<String, Integer> nutrientIds = new LinkedHashMap<>();
+        int[][] symptomNutrients = new int[symptoms.length][];
+        double[][] symptomWeights = new double[symptoms.length][];
+
+        for (int s = 0; s < symptoms.length; s++) {
+            symptomIds.put(symptoms[s], s);
+            List<String> list = mapping.get(symptoms[s]);
+            if (symptoms[s] == null || symptoms[s].isBlank()) throw new IllegalArgumentException("증상 이름이 비어 있습니다.");
+            if (list == null || list.isEmpty()) throw new IllegalArgumentException("추천 성분이 없는 증상입니다: " + symptoms[s]);
+
+            // 한 증상 안에서 같은 성분이 두 번 적혀 있어도 한 번만 남김
+            Map<String, Double> symptomWeight = weights.getOrDefault(symptoms[s], Map.of());
+            List<Integer> ids = new ArrayList<>(list.size());
+            List<Double> idWeights = new ArrayList<>(list.size());
+            for (String nutrient : list) {
+                if (nutrient == null || nutrient.isBlank()) throw new IllegalArgumentException("성분 이름이 비어 있습니다: " + symptoms[s]);
+                Integer id = nutrientIds.computeIfAbsent(nutrient, k -> nutrientIds.size());
+                if (ids.contains(id)) continue;
+
+                double weight = symptomWeight.getOrDefault(nutrient, 1.0);
+                if (!(weight > 0)) throw new IllegalArgumentException("가중치는 0보다 커야 합니다: " + symptoms[s] + " -> " + nutrient);
+                ids.add(id);
+                idWeights.add(weight);
+            }
+            symptomNutrients[s] = ids.stream().mapToInt(Integer::intValue).toArray();
+            symptomWeights[s] = idWeights.stream().mapToDouble(Double::doubleValue).toArray();
+        }
+
+        String[] nutrients = nutrientIds.keySet().toArray(new String[0]);
+        String[] productExamples = new String[nutrients.length];
+        String[] notes = new String[nutrients.length];
+        for (int n = 0; n < nutrients.length; n++) {
+            String[] details = explain.get(nutrients[n]);
+            if (details == null || details.length < 2 || details[0] == null || details[1] == null) {
+                throw new IllegalArgumentException("성분 설명이 없습니다: " + nutrients[n]);
+            }
+            productExamples[n] = details[0];
+            notes[n] = details[1];
+        }
+
+        return new SymptomKnowledgeBase(version, symptoms, Collections.unmodifiableMap(symptomIds), nutrients,
+                productExamples, notes, symptomNutrients, symptomWeights,
+                NutrientInteractions.compile(nutrients, productExamples, notes, interactions));
+    }
+
+    // 매핑 가중치만 덮어쓴 복사본 (id, 비트셋, 설명은 그대로 공유)
+    // overrides: 증상 -> (성분 -> 가중치), 없는 매핑은 기존 가중치 유지
+    public SymptomKnowledgeBase withWeights(Map<String, Map<String, Double>> overrides) {
+        double[][] weights = new double[symptoms.length][];
+        for (int s = 0; s < symptoms.length; s++) {
+            weights[s] = symptomWeights[s].clone();
+            Map<String, Double> override = overrides.get(symptoms[s]);
+            if (override == null) continue;
+            for (int i = 0; i < weights[s].length; i++) {
+                Double weight = override.get(nutrients[symptomNutrients[s][i]]);
+                if (weight == null) continue;
+                if (!(weight > 0)) throw new IllegalArgumentException("가중치는 0보다 커야 합니다: " + symptoms[s]);
+                weights[s][i] = weight;
+            }
+        }
+        return new SymptomKnowledgeBase(version, symptoms, symptomIds, nutrients, productExamples, notes,
+                symptomNutrients, weights, interactions);
+    }
+
+    public int getVersion() { return version; }
+
+    public NutrientInteractions getInteractions() { return interactions; }
+
+    // --- id 조회 ---
+
+    public int symptomCount() { return symptoms.length; }
+    public int nutrientCount() { return nutrients.length; }
+
+    // 등록되지 않은 증상이면 -1
+    public int symptomId(String symptom) {
+        Integer id = symptomIds.get(symptom);
+        return id != null ? id : -1;
+    }
+
+    // 등록되지 않은 성분이면 -1
+    public int nutrientId(String nutrient) {
+        Integer id = nutrientIds.get(nutrient);
+        return id != null ? id : -1;
+    }
+
+    public String symptomName(int symptomId) { return symptoms[symptomId]; }
+    public String nutrientName(int nutrientId) { return nutrients[nutrientId]; }
+    public String productExample(int nutrientId) { return productExamples[nutrientId]; }
+    public String note(int nutrientId) { return notes[nutrientId]; }
+
+    public List<String> getSymptoms() {
+        return List.of(symptoms);
+    }
+
+    // 증상에 매핑된 성분 id (매핑 순서)
+    public int[] nutrientsOf(int symptomId) {
+        return symptomNutrients[symptomId].clone();
+    }
+
+    // 증상 -> 성분 매핑 가중치 (매핑되지 않았으면 0)
+    public double weight(int symptomId, int nutrientId) {
+        int[] ids = symptomNutrients[symptomId];
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == nutrientId) return symptomWeights[symptomId][i];
+        }
+        return 0.0;
+    }
+
+    // RecommendationOptimizer 에서 복사 없이 읽기 위한 내부 배열 접근
+    int[] nutrientIdsRef(int symptomId) { return symptomNutrients[symptomId]; }
+    double[] weightsRef(int symptomId) { return symptomWeights[symptomId]; }
+
+    // --- 비트셋 연산 ---
+
+    // 성분 비트셋 하나에 필요한 배열을 만들어 줌 (호출하는 쪽에서 재사용)
+    public long[] newNutrientMask() {
+        return new long[words];
+    }
+
+    // 선택한 증상들의 성분 마스크를 OR 해서 out 에 채움 (할당 없음)
+    public void unionInto(int[] symptomIds, int symptomCount, long[] out) {
+        for (int w = 0; w < words; w++) out[w] = 0L;
+        for (int i = 0; i < symptomCount; i++) {
+            long[] mask = symptomMasks[symptomIds[i]];
+            for (int w = 0; w < words; w++) out[w] |= mask[w];
+        }
+    }
+
+    // 선택한 증상 순서대로 성분 id 를 중복 없이 out 에 채우고 개수를 반환 (할당 없음)
+    // 결과 순서는 기존 LinkedHashSet 방식과 같음 (증상 순서 -> 증상 안의 매핑 순서, 처음 등장한 것만)
+    // out 길이는 nutrientCount() 이상, seen 은 newNutrientMask() 로 만든 작업용 배열
+    public int collectInto(int[] symptomIds, int symptomCount, int[] out, long[] seen) {
+        for (int w = 0; w < words; w++) seen[w] = 0L;
+        int count = 0;
+        for (int i = 0; i < symptomCount; i++) {
+            for (int n : symptomNutrients[symptomIds[i]]) {
+                long bit = 1L << n;
+                int w = n >>> 6;
+                if ((seen[w] & bit) == 0) {
+                    seen[w] |= bit;
+                    out[count++] = n;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,69 @@
+package com.nutrient_reminder.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// 자가 진단 화면에서 선택한 증상 (증상 id 비트셋)
+// 체크박스는 이 모델에 묶여 있고, 추천 버튼/실시간 추천은 화면을 훑지 않고 이 모델만 읽음
+// 선택 순서는 화면에 보이는 순서(order)를 따름 -> 추천 결과의 성분 순서가 예전과 같음
+public final class SymptomSelection {
+
+    public interface SelectionListener {
+        void onSelectionChanged(SymptomSelection selection);
+    }
+
+    private final SymptomKnowledgeBase knowledgeBase;
+    private final int[] order;          // 화면 순서대로의 증상 id
+    private final long[] selected;
+    private int count;
+    private final List<SelectionListener> listeners = new CopyOnWriteArrayList<>();
+
+    public SymptomSelection(SymptomKnowledgeBase knowledgeBase, int[] order) {
+        this.knowledgeBase = knowledgeBase;
+        this.order = order.clone();
+        this.selected = new long[Math.max(1, (knowledgeBase.symptomCount() + 63) >>> 6)];
+    }
+
+    public SymptomKnowledgeBase getKnowledgeBase() { return knowledgeBase; }
+
+    public void addListener(SelectionListener listener) { listeners.add(listener); }
+    public void removeListener(SelectionListener listener) { listeners.remove(listener); }
+
+    public boolean isSelected(int symptomId) {
+        return (selected[symptomId >>> 6] & (1L << symptomId)) != 0;
+    }
+
+    // 상태가 실제로 바뀔 때만 리스너 호출
+    public void setSelected(int symptomId, boolean value) {
+        if (isSelected(symptomId) == value) return;
+        selected[symptomId >>> 6] ^= 1L << symptomId;
+        count += value ? 1 : -1;
+        for (SelectionListener listener : listeners) listener.onSelectionChanged(this);
+    }
+
+    public void clear() {
+        if (count == 0) return;
+        for (int w = 0; w < selected.length; w++) selected[w] = 0L;
+        count = 0;
+        for (SelectionListener listener : listeners) listener.onSelectionChanged(this);
+    }
+
+    public int count() { return count; }
+    public boolean isEmpty() { return count == 0; }
+
+    // 선택한 증상 id (화면 순서)
+    public int[] selectedIds() {
+        int[] ids = new int[count];
+        int n = 0;
+        for (int id : order) if (isSelected(id)) ids[n++] = id;
+        return ids;
+    }
+
+    // 선택한 증상 이름 (화면 순서)
+    public List<String> selectedNames() {
+        List<String> names = new ArrayList<>(count);
+        for (int id : order) if (isSelected(id)) names.add(knowledgeBase.symptomName(id));
+        return names;
+    }
+}
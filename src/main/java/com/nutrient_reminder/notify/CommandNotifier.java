@@ -0,0 +1,43 @@
+package com.nutrient_reminder.notify;
+
+import com.nutrient_reminder.logging.Log;
+import com.nutrient_reminder.model.Nutrient;
+import com.nutrient_reminder.service.AlarmSchedulerService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// 알람마다 외부 명령을 실행 (OS 알림 도구와 연결할 때 사용)
+// 명령 인자 안의 {name} {time} {id} {user} 는 알람 값으로 바뀜
+// 예: notify-send 영양제 "{name} 복용 시간입니다"
+//     osascript -e 'display notification "{name}" with title "영양제 알리미"'
+// 명령이 끝나기를 기다리지 않음 (출력은 버림)
+public class CommandNotifier implements AlarmSchedulerService.AlarmNotifier {
+
+    private final List<String> command;
+
+    public CommandNotifier(List<String> command) {
+        if (command.isEmpty()) throw new IllegalArgumentException("실행할 명령이 비어 있습니다.");
+        this.command = List.copyOf(command);
+    }
+
+    @Override
+    public void onAlarmFired(Nutrient alarm) {
+        List<String> args = new ArrayList<>(command.size());
+        for (String arg : command) {
+            args.add(arg.replace("{name}", alarm.getName())
+                    .replace("{time}", alarm.getTime())
+                    .replace("{id}", alarm.getId())
+                    .replace("{user}", String.valueOf(alarm.getUserId())));
+        }
+        try {
+            new ProcessBuilder(args)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+        } catch (IOException e) {
+            Log.error("알림 명령 실행 실패", e, "command", command.get(0), "alarmId", alarm.getId());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.nutrient_reminder.notify;
+
+import com.nutrient_reminder.model.Nutrient;
+import com.nutrient_reminder.service.AlarmSchedulerService;
+import com.nutrient_reminder.service.UserSession;
+
+import java.io.PrintStream;
+
+// 알람을 콘솔(표준 출력)에 한 줄로 알림 (터미널/서비스 로그로 받아 보는 헤드리스 실행용)
+public class ConsoleNotifier implements AlarmSchedulerService.AlarmNotifier {
+
+    private final PrintStream out;
+
+    public ConsoleNotifier(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void onAlarmFired(Nutrient alarm) {
+        out.println("[" + alarm.getTime() + "] 영양제 복용 시간입니다: " + UserSession.labelOf(alarm));
+        out.flush();
+    }
+}
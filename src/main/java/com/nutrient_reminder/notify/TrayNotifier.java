@@ -0,0 +1,23 @@
+package com.nutrient_reminder.notify;
+
+import com.nutrient_reminder.model.Nutrient;
+import com.nutrient_reminder.service.AlarmSchedulerService;
+import com.nutrient_reminder.service.UserSession;
+
+import java.awt.TrayIcon;
+
+// 시스템 트레이 아이콘의 말풍선 알림 (AWT 만 사용, JavaFX 불필요)
+public class TrayNotifier implements AlarmSchedulerService.AlarmNotifier {
+
+    private final TrayIcon trayIcon;
+
+    public TrayNotifier(TrayIcon trayIcon) {
+        this.trayIcon = trayIcon;
+    }
+
+    @Override
+    public void onAlarmFired(Nutrient alarm) {
+        trayIcon.displayMessage("영양제 알리미", "[" + alarm.getTime() + "] " + UserSession.labelOf(alarm) + " 복용 시간입니다.",
+                TrayIcon.MessageType.INFO);
+    }
+}
@@ -0,0 +1,121 @@
+package com.nutrient_reminder.service;
+
+import com.nutrient_reminder.json.JsonCodecs;
+import com.nutrient_reminder.logging.Log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 사용자별 알람 이벤트 구독 (LoginServer 의 /api/alarms/events 스트림)
+// - 알람 변경(AlarmStore 에 반영된 것)은 버전을 이벤트 id 로 붙여서 보냄 → 다시 연결할 때 Last-Event-ID 로 이어 받음
+// - 미루기(snoozed)는 저장하지 않는 일회성 이벤트라 id 없이 보내고, 보낸 기기(같은 토큰)에는 다시 보내지 않음
+// 보내는 쪽(업로드 처리 스레드)은 구독자 큐에 넣기만 하고 기다리지 않음
+// 큐가 가득 찬 구독자는 끊어서 클라이언트가 다시 연결하며 빠진 변경을 받게 함
+class AlarmEventHub implements AlarmStore.ChangeListener {
+
+    // 구독자 하나가 쌓아 둘 수 있는 이벤트 수
+    private static final int QUEUE_CAPACITY = 256;
+
+    // 스트림에 쓸 이벤트 한 건 (frame 은 이미 SSE 형식으로 만든 바이트)
+    static final class Event {
+        final long version; // 알람 변경의 버전 (일회성 이벤트는 0)
+        final byte[] frame;
+
+        Event(long version, byte[] frame) {
+            this.version = version;
+            this.frame = frame;
+        }
+    }
+
+    // 연결 하나 (스트림을 보내는 스레드가 queue 에서 꺼내 씀)
+    static final class Subscriber {
+        final String userId;
+        final String token;
+        final BlockingQueue<Event> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        volatile boolean overflowed;
+
+        Subscriber(String userId, String token) {
+            this.userId = userId;
+            this.token = token;
+        }
+
+        // 다음 이벤트 (timeoutMillis 동안 없으면 null → 하트비트)
+        Event next(long timeoutMillis) throws InterruptedException {
+            return queue.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+
+        private void offer(Event event) {
+            if (!queue.offer(event) && !overflowed) {
+                overflowed = true;
+                Log.warn("알람 이벤트 큐가 가득 차서 스트림을 끊음", "userId", userId, "capacity", QUEUE_CAPACITY);
+            }
+        }
+    }
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connected = new AtomicInteger();
+
+    AlarmEventHub() {
+        MetricsRegistry.getInstance().gauge("alarm_event_streams", "Open alarm event streams", connected::get);
+    }
+
+    Subscriber subscribe(String userId, String token) {
+        Subscriber subscriber = new Subscriber(userId, token);
+        subscribers.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        connected.incrementAndGet();
+        return subscriber;
+    }
+
+    void unsubscribe(Subscriber subscriber) {
+        Set<Subscriber> set = subscribers.get(subscriber.userId);
+        if (set != null && set.remove(subscriber)) connected.decrementAndGet();
+    }
+
+    // AlarmStore.apply 에서 사용자 잠금을 잡은 채로 호출되므로 버전 순서대로 큐에 들어감
+    @Override
+    public void onChanges(String userId, List<AlarmStore.Change> changes) {
+        Set<Subscriber> set = subscribers.get(userId);
+        if (set == null || set.isEmpty()) return;
+        for (AlarmStore.Change change : changes) {
+            Event event;
+            try {
+                event = new Event(change.version, frame(change.version, "change",
+                        JsonCodecs.toBytes(AlarmStore.CHANGE_CODEC, change)));
+            } catch (IOException e) {
+                Log.error("알람 이벤트를 JSON 으로 만들지 못함", e, "alarmId", change.alarmId);
+                continue;
+            }
+            for (Subscriber subscriber : set) subscriber.offer(event);
+        }
+    }
+
+    // 다른 기기에서 알람을 미룸 (originToken 의 연결에는 보내지 않음)
+    void publishSnooze(String userId, String alarmId, String originToken) throws IOException {
+        Set<Subscriber> set = subscribers.get(userId);
+        if (set == null || set.isEmpty()) return;
+        Event event = new Event(0, frame(0, "snoozed", JsonCodecs.toBytes(JsonCodecs.STRING_MAP, Map.of("id", alarmId))));
+        for (Subscriber subscriber : set) {
+            if (!subscriber.token.equals(originToken)) subscriber.offer(event);
+        }
+    }
+
+    // SSE 이벤트 한 건: "id: 버전" (있을 때만), "event: 종류", "data: JSON" 뒤에 빈 줄
+    // data 에 줄바꿈이 있으면(-Dnutrient.json.pretty) 줄마다 data: 를 붙임 (받는 쪽에서 다시 합침)
+    static byte[] frame(long version, String type, byte[] json) {
+        StringBuilder frame = new StringBuilder(json.length + 48);
+        if (version > 0) frame.append("id: ").append(version).append('\n');
+        frame.append("event: ").append(type).append('\n');
+        for (String line : new String(json, StandardCharsets.UTF_8).split("\n")) {
+            frame.append("data: ").append(line).append('\n');
+        }
+        return frame.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
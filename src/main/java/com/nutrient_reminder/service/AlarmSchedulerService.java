@@ -1,114 +1,398 @@
 package com.nutrient_reminder.service;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
-import com.nutrient_reminder.controller.AlarmTriggerController;
+import com.nutrient_reminder.jfr.FlightEvents;
+import com.nutrient_reminder.json.JsonCodecs;
+import com.nutrient_reminder.logging.Log;
+import com.nutrient_reminder.model.AlarmStatus;
 import com.nutrient_reminder.model.Nutrient; // [중요] Nutrient 모델 사용
-import javafx.application.Platform;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
-import javafx.stage.Modality;
-import javafx.stage.Stage;
-import javafx.stage.StageStyle;
+import com.nutrient_reminder.model.RecurrenceRule;
+import com.nutrient_reminder.model.ScheduleSolver;
 
 import java.io.*;
-import java.lang.reflect.Type;
+import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.LocalTime;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+// 알람 스케줄링 핵심 (JavaFX 에 의존하지 않음)
+// 알람이 울렸을 때 무엇을 할지(AlarmNotifier)와 리스너를 어느 스레드에서 부를지(uiExecutor)는 실행 방식별로 주입
+// - JavaFX 앱: Main.start 에서 initialize(Platform::runLater, 팝업 알림)
+// - 헤드리스: DaemonLauncher 에서 initialize(알림 스레드, 트레이/콘솔/명령 알림)
 public class AlarmSchedulerService {
 
     private static final String ALARM_FILE = "alarms_data.json";
-    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    // 사용자 아이디가 없는 알람의 파일 이름 (URL 인코딩된 아이디에는 '@' 가 나오지 않으므로 겹치지 않음)
+    private static final String NO_USER_FILE = "@.json";
 
     // 인터페이스를 AlarmSchedulerService 클래스의 내부 (static public)로 정의
     public interface AlarmStatusListener {
-        void onAlarmStatusChanged(String alarmId, String newStatus);
+        void onAlarmStatusChanged(String alarmId, AlarmStatus newStatus);
         void onDateChanged(); // [추가] 자정 체크용
+
+        // 사용자 알람 파일을 백그라운드로 읽는 중 알람이 일정 개수씩 메모리에 올라올 때마다, 그리고 registerAlarms 로 일괄 등록했을 때 호출
+        default void onAlarmsLoaded(String userId, List<Nutrient> alarms) {}
+
+        // 새 알람이 기존 알람과 상호작용/복용 시간 권장에 걸릴 때 호출
+        default void onInteractionWarnings(String userId, List<InteractionChecker.Warning> warnings) {}
+
+        // 알람이 삭제됐거나(이 기기, 다른 기기) 다른 기기에서 내용(이름, 반복 규칙)이 바뀌어서 화면에서 빼야 할 때 호출
+        default void onAlarmsRemoved(String userId, List<String> alarmIds) {}
+    }
+
+    // 알람이 울릴 때 호출되는 통지 인터페이스 (uiExecutor 스레드에서 호출됨)
+    public interface AlarmNotifier {
+        void onAlarmFired(Nutrient alarm);
+    }
+
+    // 이 기기에서 알람이 추가·삭제되거나 복용 상태가 바뀌었을 때 호출 (서버 동기화용, 바꾼 스레드에서 바로 호출됨)
+    // 자정/하루 여러 번 울림에 따른 상태 초기화는 기기마다 스스로 하므로 호출하지 않음
+    public interface AlarmChangeListener {
+        void onAlarmChanged(Nutrient alarm);
+
+        // 이 기기에서 알람을 삭제함 (removeAlarm)
+        default void onAlarmRemoved(Nutrient alarm) {}
+
+        // 미루기는 알람에 저장되지 않으므로 따로 알림 (다른 기기에 전달만 함)
+        default void onAlarmSnoozed(Nutrient alarm) {}
     }
 
     private static AlarmSchedulerService instance;
-    private List<AlarmStatusListener> listeners = new ArrayList<>();
+    private final List<AlarmStatusListener> listeners = new CopyOnWriteArrayList<>();
 
-    // 알람 데이터 저장소 역할 (Nutrient 객체를 저장)
-    private final List<Nutrient> scheduledAlarms = new CopyOnWriteArrayList<>();
+    // 알람 데이터 저장소 역할 (사용자 아이디별로 나눠서 Nutrient 객체를 저장)
+    // 스케줄러는 활성 프로필(UserSession)의 파티션만 순회함
+    // 파티션은 처음 쓸 때(로그인, 화면 표시, 동기화) 그 사용자의 알람 파일만 읽어서 채움
+    private final Map<String, List<Nutrient>> alarmsByUser = new ConcurrentHashMap<>();
+
+    // 사용자별 알람 파일 읽기 (파티션 키 -> 다 읽으면 완료되는 Future)
+    private final Map<String, CompletableFuture<Void>> partitionLoads = new ConcurrentHashMap<>();
+
+    // 활성 프로필 색인 (스케줄러 스레드에서만 사용)
+    // UserSession 의 활성 프로필 Set 이 다른 객체로 바뀌었을 때만 파티션 목록을 다시 만듦
+    private Set<String> indexedProfiles = Collections.emptySet();
+    private List<List<Nutrient>> activePartitions = List.of();
+
+    // 시작할 때 이미 로그인해 있던 프로필의 알람을 다 읽으면 완료되는 Future
+    private final CompletableFuture<Void> loaded;
+
+    // 백그라운드 로딩 시 한 번에 파티션에 추가하고 UI에 넘기는 알람 개수
+    private static final int LOAD_BATCH_SIZE = 64;
+
+    // 현재 시각을 제공하는 시계 (시뮬레이션에서는 가상 시계 주입)
+    private final Clock clock;
 
     // 1초마다 시간을 체크할 스케줄러
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final AlarmTicker ticker;
+
+    // 리스너/알림 호출을 넘길 UI 스레드 Executor (JavaFX 앱: Platform::runLater)
+    private final Executor uiExecutor;
+
+    // 예전 형식의 알람 파일 경로 (null이면 파일에 저장하지 않음)
+    // 알람은 이 경로에서 .json 을 뺀 폴더에 사용자별 파일로 저장 (alarms_data.json -> alarms_data/아이디.json)
+    private final String alarmFile;
+    private final Path alarmDir;
+
+    // 예전 형식의 파일을 아직 사용자별 파일로 나누지 않았으면 true (나누기 전에는 사용자 파일이 없어도 읽기를 기다림)
+    private volatile boolean legacyPending;
+
+    // 사용자 알람 파일을 읽고 쓰는 스레드 하나 (읽을 파일이 없으면 스레드가 끝남)
+    private final ThreadPoolExecutor loader;
+
+    // 로그인하면 그 프로필의 알람 파일을 바로 읽기 시작
+    private final UserSession.SignInListener signInListener = userId -> loadPartition(partitionKey(userId));
+
+    // 서버 동기화를 쓰지 않으면 아무것도 하지 않음
+    private volatile AlarmChangeListener changeListener = alarm -> {};
+
+    // 알림 방식이 지정되지 않았으면 로그만 남김
+    private volatile AlarmNotifier notifier =
+            alarm -> Log.warn("알림 방식이 지정되지 않아 알람을 표시하지 못함", "alarmId", alarm.getId());
+
+    // 성분 상호작용/복용 시간 검사기 (알람이 추가될 때 그 알람과 관련된 부분만 검사)
+    private final InteractionChecker interactionChecker =
+            new InteractionChecker(() -> KnowledgeBaseService.getInstance().current());
 
     // 마지막으로 체크한 날짜 (자정 감지용)
-    private LocalDate lastCheckDate = LocalDate.now();
+    private LocalDate lastCheckDate;
+
+    // 마지막으로 알람을 평가한 분 (epoch minute)
+    // tick이 0초를 건너뛰더라도 분이 바뀐 첫 tick에서 한 번만 평가하기 위함
+    private long lastCheckedMinute;
+
+    // --- 지표 (MetricsRegistry 로 조회/저장) ---
+    // 인스턴스마다 따로 가짐. 공용 인스턴스(initialize/getInstance)만 전역 레지스트리에 올려 /metrics 로 보이고,
+    // 시뮬레이션/테스트/벤치마크에서 만든 인스턴스는 자기 레지스트리에만 쌓음 (getMetrics 로 조회)
+    private final MetricsRegistry metrics;
+    // 알람 지연: 설정한 분의 0초부터 알림(팝업)이 실제로 호출될 때까지 (tick 지연 + UI 큐 대기)
+    private final MetricsRegistry.Histogram fireDelayMillis;
+    // 분마다 한 번 도는 알람 평가(checkAlarmTime) 한 번의 소요 시간
+    private final MetricsRegistry.Histogram passMicros;
+    private final MetricsRegistry.Counter alarmsEvaluated;
+    private final MetricsRegistry.Counter alarmsFired;
+    // 마지막 평가에서 확인한 알람 수
+    private volatile int lastPassEvaluated;
+    // 스케줄러가 uiExecutor 에 넘겼지만 아직 실행되지 않은 작업 수 (FX 스레드가 밀리면 늘어남)
+    // FX 이벤트 큐 전체가 아니라 이 서비스가 넘긴 작업만 셈
+    private final AtomicInteger uiDispatchBacklog = new AtomicInteger();
+
+    // 시계, 스케줄러, UI Executor, 저장 파일을 주입받는 생성자 (시뮬레이션 하네스에서 사용)
+    // 지표는 이 인스턴스 전용 레지스트리에 쌓임 (전역 /metrics 에는 나오지 않음)
+    public AlarmSchedulerService(Clock clock, AlarmTicker ticker, Executor uiExecutor, String alarmFile) {
+        this(clock, ticker, uiExecutor, alarmFile, new MetricsRegistry());
+    }
+
+    private AlarmSchedulerService(Clock clock, AlarmTicker ticker, Executor uiExecutor, String alarmFile,
+                                  MetricsRegistry metrics) {
+        this.clock = clock;
+        this.ticker = ticker;
+        this.uiExecutor = countingExecutor(uiExecutor);
+        this.alarmFile = alarmFile;
+        this.alarmDir = alarmFile == null ? null : Path.of(alarmFile.endsWith(".json")
+                ? alarmFile.substring(0, alarmFile.length() - ".json".length())
+                : alarmFile + ".d");
+        this.loader = new ThreadPoolExecutor(1, 1, 5, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "alarm-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        loader.allowCoreThreadTimeOut(true);
+
+        this.metrics = metrics;
+        this.fireDelayMillis = metrics.histogram("alarm_fire_delay_millis",
+                "Delay from the scheduled minute to the alarm notification", MetricsRegistry.decadeBounds(10, 600_000));
+        this.passMicros = metrics.histogram("alarm_check_pass_micros",
+                "Duration of one per-minute alarm evaluation pass", MetricsRegistry.decadeBounds(1, 10_000_000));
+        this.alarmsEvaluated = metrics.counter("alarm_evaluated_total", "Alarms evaluated by per-minute passes");
+        this.alarmsFired = metrics.counter("alarm_fired_total", "Alarms that triggered a notification");
+        metrics.gauge("alarm_check_last_evaluated", "Alarms evaluated in the last pass", () -> lastPassEvaluated);
+        metrics.gauge("alarm_ui_dispatch_backlog", "Scheduler tasks handed to the UI executor and not yet run", uiDispatchBacklog::get);
+        metrics.gauge("alarm_scheduled_count", "Alarms held in memory for all users", this::alarmCount);
+
+        // 직전 분으로 시작해야 프로그램을 켠 그 분에 울릴 알람도 첫 평가에 포함됨
+        LocalDateTime now = LocalDateTime.now(clock);
+        this.lastCheckDate = now.toLocalDate();
+        this.lastCheckedMinute = toEpochMinute(now) - 1;
+
+        // 예전 형식의 파일은 다른 읽기보다 먼저 사용자별 파일로 나눔
+        if (alarmFile != null && Files.exists(Path.of(alarmFile))) {
+            legacyPending = true;
+            loader.execute(this::migrateLegacyFile);
+        }
 
-    private AlarmSchedulerService() {
-        // 파일에서 저장된 알람 불러오기
-        loadAlarmsFromFile();
+        // 이미 로그인해 있는 프로필(헤드리스 실행)의 알람을 현재 사용자부터 읽음 (백그라운드, FX 스레드를 막지 않음)
+        // FX 앱은 로그인 화면에서 시작하므로 여기서는 읽지 않고, 로그인할 때 그 프로필만 읽음
+        this.loaded = loadActivePartitions();
+        UserSession.addSignInListener(signInListener);
 
         // 스케줄러 시작 (1초마다 시간 체크)
         startScheduler();
     }
 
+    // 실행 방식에 맞는 Executor/알림으로 공용 인스턴스 생성 (프로그램 시작 시 한 번)
+    public static synchronized AlarmSchedulerService initialize(Executor uiExecutor, AlarmNotifier notifier) {
+        if (instance != null) throw new IllegalStateException("AlarmSchedulerService 는 이미 초기화되었습니다.");
+        instance = new AlarmSchedulerService(Clock.systemDefaultZone(), AlarmTicker.everySecond(), uiExecutor, ALARM_FILE,
+                MetricsRegistry.getInstance());
+        instance.setAlarmNotifier(notifier);
+        return instance;
+    }
+
     public static synchronized AlarmSchedulerService getInstance() {
         if (instance == null) {
-            instance = new AlarmSchedulerService();
+            // initialize 없이 호출된 경우: 호출한 스레드에서 바로 리스너를 부르고 알림은 로그로만 남김
+            Log.warn("AlarmSchedulerService 가 초기화되지 않아 기본 설정으로 시작");
+            instance = new AlarmSchedulerService(Clock.systemDefaultZone(), AlarmTicker.everySecond(), Runnable::run, ALARM_FILE,
+                    MetricsRegistry.getInstance());
         }
         return instance;
     }
 
     // --- 스케줄러 로직 ---
     private void startScheduler() {
-        scheduler.scheduleAtFixedRate(this::checkAlarmTime, 0, 1, TimeUnit.SECONDS);
+        ticker.start(this::checkAlarmTime);
+    }
+
+    // 스케줄러 중지 (시뮬레이션 종료 시 사용)
+    public void shutdown() {
+        ticker.stop();
+        UserSession.removeSignInListener(signInListener);
+    }
+
+    public void setAlarmNotifier(AlarmNotifier notifier) {
+        this.notifier = notifier;
+    }
+
+    public void setAlarmChangeListener(AlarmChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    // 이 인스턴스의 지표 (공용 인스턴스면 전역 레지스트리)
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    // 넘긴 작업 중 아직 실행되지 않은 수를 세는 Executor 래퍼
+    private Executor countingExecutor(Executor target) {
+        return task -> {
+            uiDispatchBacklog.incrementAndGet();
+            target.execute(() -> {
+                uiDispatchBacklog.decrementAndGet();
+                task.run();
+            });
+        };
+    }
+
+    private int alarmCount() {
+        int count = 0;
+        for (List<Nutrient> partition : alarmsByUser.values()) count += partition.size();
+        return count;
     }
 
     private void checkAlarmTime() {
-        LocalTime now = LocalTime.now();
-        LocalDate today = LocalDate.now();
+        LocalDateTime nowDateTime = LocalDateTime.now(clock);
+        LocalDate today = nowDateTime.toLocalDate();
 
         // 1. 자정(날짜 변경) 체크
         if (!today.equals(lastCheckDate)) {
             lastCheckDate = today;
-            Platform.runLater(() -> {
+            uiExecutor.execute(() -> {
                 for (AlarmStatusListener listener : listeners) listener.onDateChanged();
             });
         }
 
-        String ampm = now.getHour() < 12 ? "오전" : "오후";
-        int hour = now.getHour() % 12;
-        if (hour == 0) hour = 12;
-        String currentTimeStr = String.format("%s %02d : %02d", ampm, hour, now.getMinute());
+        // 시작할 때 로그인해 있던 프로필의 알람 파일을 다 읽기 전에는 평가를 미룸 (읽은 뒤 첫 tick 에서 지금 분을 평가하므로 시작한 분의 알람도 울림)
+        if (!loaded.isDone()) return;
+
+        // 2. 같은 분 안에서는 한 번만 평가 (기존 "0초에 한 번만" 조건 대체)
+        long currentMinute = toEpochMinute(nowDateTime);
+        if (currentMinute == lastCheckedMinute) return;
+        lastCheckedMinute = currentMinute;
+
+        List<List<Nutrient>> partitions = activePartitions();
+        if (partitions.isEmpty()) return;
+
+        long passStart = System.nanoTime();
+        // 이번 tick 이 분의 0초보다 늦은 정도 (지연 측정 기준)
+        long tickDelayMillis = nowDateTime.toEpochSecond(ZoneOffset.UTC) * 1000 + nowDateTime.getNano() / 1_000_000
+                - currentMinute * 60_000;
+        int evaluated = 0;
+
+        int todayEpochDay = (int) today.toEpochDay();
+        for (List<Nutrient> partition : partitions) {
+            for (Nutrient alarm : partition) {
+                evaluated++;
+                // 자정 초기화 로직
+                alarm.resetIfNotTakenOn(todayEpochDay);
+
+                // 반복 규칙으로 미리 계산해 둔 다음 울림 시각과 비교 (알람 하나당 O(1))
+                RecurrenceRule rule = alarm.getRecurrence();
+                long stored = alarm.getNextFireMinute();
+                long next = stored == Nutrient.UNSCHEDULED ? rule.nextOccurrence(currentMinute) : stored;
+                if (next > currentMinute) {
+                    if (next != stored) alarm.setNextFireMinute(rule, next);
+                    continue;
+                }
+
+                // 지나간 발생(절전 등으로 놓친 분)은 울리지 않고 다음 발생으로 넘어감
+                if (next == currentMinute) fireAlarm(alarm, rule, tickDelayMillis);
+                alarm.setNextFireMinute(rule, rule.nextOccurrence(currentMinute + 1));
+            }
+        }
+
+        lastPassEvaluated = evaluated;
+        alarmsEvaluated.add(evaluated);
+        passMicros.record((System.nanoTime() - passStart) / 1000);
+    }
 
-        String currentUserId = UserSession.getUserId();
-        if (currentUserId == null) return;
+    // 활성 프로필이 바뀌었으면 색인을 다시 만듦 (로그인/로그아웃 때만, 평소에는 참조 비교 한 번)
+    // 파티션 목록 객체는 한 번 만들어지면 바뀌지 않으므로 색인 후에 추가된 알람(백그라운드로 읽은 알람 포함)도 그대로 보임
+    private List<List<Nutrient>> activePartitions() {
+        Set<String> profiles = UserSession.getActiveProfiles();
+        if (profiles != indexedProfiles) {
+            List<List<Nutrient>> partitions = new ArrayList<>(profiles.size());
+            for (String profile : profiles) partitions.add(partitionOf(profile));
+            activePartitions = partitions;
+            indexedProfiles = profiles;
+            Log.debug("활성 프로필 색인 갱신", "profiles", profiles.size());
+        }
+        return activePartitions;
+    }
 
-        for (Nutrient alarm : scheduledAlarms) {
-            if (!currentUserId.equals(alarm.getUserId())) continue;
+    private void fireAlarm(Nutrient alarm, RecurrenceRule rule, long tickDelayMillis) {
+        // 하루에 여러 번 울리는 규칙은 발생마다 복용 상태를 초기화
+        if (rule.isMultiplePerDay() && alarm.reactivate()) {
+            uiExecutor.execute(() -> {
+                for (AlarmStatusListener listener : listeners) listener.onAlarmStatusChanged(alarm.getId(), AlarmStatus.ACTIVE);
+            });
+        }
 
-            // 자정 초기화 로직
-            if (!today.toString().equals(alarm.getLastTakenDate()) && "COMPLETED".equals(alarm.getStatus())) {
-                alarm.setStatus("ACTIVE");
+        if (alarm.getStatus() == AlarmStatus.ACTIVE) {
+            Log.info("알람 울림", "alarmId", alarm.getId(), "name", alarm.getName());
+            alarmsFired.increment();
+
+            FlightEvents.AlarmFired fired = new FlightEvents.AlarmFired();
+            if (fired.isEnabled()) {
+                fired.alarmId = alarm.getId();
+                fired.userId = alarm.getUserId();
+                fired.name = alarm.getName();
+                fired.tickDelay = tickDelayMillis;
+                fired.commit();
             }
 
-            if (alarm.getTime().equals(currentTimeStr) && "ACTIVE".equals(alarm.getStatus())) {
-                // 0초에 한 번만 실행
-                if (now.getSecond() == 0) {
-                    System.out.println("🔔 알람 울림! - " + alarm.getName());
-                    Platform.runLater(() -> showAlarmPopup(alarm));
+            long queuedAt = System.nanoTime();
+            uiExecutor.execute(() -> {
+                long delay = tickDelayMillis + (System.nanoTime() - queuedAt) / 1_000_000;
+                fireDelayMillis.record(delay);
+
+                FlightEvents.AlarmPopupShown shown = new FlightEvents.AlarmPopupShown();
+                shown.begin();
+                notifier.onAlarmFired(alarm);
+                shown.end();
+                if (shown.shouldCommit()) {
+                    shown.alarmId = alarm.getId();
+                    shown.fireDelay = delay;
+                    shown.commit();
                 }
-            }
+            });
         }
     }
 
+    public LocalDate getToday() {
+        return LocalDate.now(clock);
+    }
+
     public String getTodayKorean() {
-        DayOfWeek day = LocalDate.now().getDayOfWeek();
+        DayOfWeek day = LocalDate.now(clock).getDayOfWeek();
         switch (day) {
             case MONDAY: return "월";
             case TUESDAY: return "화";
@@ -121,83 +405,421 @@ public class AlarmSchedulerService {
         }
     }
 
-    private void showAlarmPopup(Nutrient alarm) {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/nutrient_reminder/view/alarmTriggerPopup.fxml"));
-            Parent root = loader.load();
-            AlarmTriggerController controller = loader.getController();
-            controller.setAlarmInfo(alarm.getTime(), alarm.getName(), alarm.getId());
-
-            Stage stage = new Stage();
-            stage.initStyle(StageStyle.UTILITY);
-            stage.initModality(Modality.APPLICATION_MODAL);
-            stage.setTitle("알람");
-            stage.setScene(new Scene(root));
-            stage.setAlwaysOnTop(true);
-            stage.show();
-        } catch (IOException e) { e.printStackTrace(); }
-    }
-
     // 리스너 등록 메서드 (MainController가 자신을 등록함)
+    // 같은 리스너를 여러 번 등록해도 한 번만 호출됨
     public void addListener(AlarmStatusListener listener) {
+        if (listeners.contains(listener)) return;
         listeners.add(listener);
-        System.out.println("MainController가 AlarmSchedulerService에 등록되었습니다.");
+        Log.debug("알람 리스너 등록", "listener", listener.getClass().getSimpleName());
     }
 
-    // 알람 목록을 MainController에게 제공하는 메서드
+    public void removeListener(AlarmStatusListener listener) {
+        if (listeners.remove(listener)) {
+            Log.debug("알람 리스너 해제", "listener", listener.getClass().getSimpleName());
+        }
+    }
+
+    // 전체 알람 목록 (알람 파일을 읽은 사용자만, 다른 사용자의 파일은 읽지 않음)
     public List<Nutrient> getScheduledAlarms() {
-        return scheduledAlarms;
+        List<Nutrient> all = new ArrayList<>();
+        for (List<Nutrient> partition : alarmsByUser.values()) all.addAll(partition);
+        return all;
+    }
+
+    // 알람 목록을 MainController에게 제공하는 메서드 (해당 사용자 파티션만)
+    // 아직 읽지 않은 사용자면 읽기를 시작하고, 읽은 알람은 onAlarmsLoaded 로 이어서 전달됨
+    public List<Nutrient> getAlarmsForUser(String userId) {
+        return partitionOf(userId);
+    }
+
+    // 시작할 때 이미 로그인해 있던 프로필의 알람 파일을 다 읽었을 때 완료됨
+    public CompletableFuture<Void> whenLoaded() {
+        return loaded;
+    }
+
+    // 해당 사용자의 알람 파일을 다 읽었을 때 완료됨 (아직 읽지 않았으면 읽기 시작)
+    public CompletableFuture<Void> whenLoaded(String userId) {
+        return loadPartition(partitionKey(userId));
+    }
+
+    private static String partitionKey(String userId) {
+        return userId == null ? "" : userId;
+    }
+
+    // 사용자 파티션 (처음 쓰는 사용자면 그 사용자의 알람 파일 읽기를 시작)
+    private List<Nutrient> partitionOf(String userId) {
+        String key = partitionKey(userId);
+        loadPartition(key);
+        return partition(key);
+    }
+
+    private List<Nutrient> partition(String key) {
+        return alarmsByUser.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>());
     }
 
     // MainController의 onAlarmSaved에서 호출될 알람 등록 메서드
     public Nutrient registerAlarm(String userId, String name, String time, List<String> days, String alarmId) {
         if (alarmId == null) alarmId = "alarm_" + System.currentTimeMillis();
 
-        Nutrient newAlarm = new Nutrient(alarmId, userId, name, time, days, "ACTIVE");
-        scheduledAlarms.add(newAlarm);
+        Nutrient newAlarm = new Nutrient(alarmId, userId, name, RecurrenceRule.fromLegacy(days, time), AlarmStatus.ACTIVE);
+        partitionOf(userId).add(newAlarm);
 
-        saveAlarmsToFile();
-        System.out.println("서비스: 알람 저장 완료 - " + name);
+        savePartition(userId);
+        changeListener.onAlarmChanged(newAlarm);
+        Log.info("알람 저장", "alarmId", alarmId, "name", name);
+        checkInteractions(newAlarm);
         return newAlarm;
     }
 
+    // 반복 규칙(N시간마다, 격일, 기간 한정 등)으로 알람 등록
+    public Nutrient registerAlarm(String userId, String name, RecurrenceRule recurrence, String alarmId) {
+        if (alarmId == null) alarmId = "alarm_" + System.currentTimeMillis();
+
+        Nutrient newAlarm = new Nutrient(alarmId, userId, name, recurrence, AlarmStatus.ACTIVE);
+        partitionOf(userId).add(newAlarm);
+
+        savePartition(userId);
+        changeListener.onAlarmChanged(newAlarm);
+        Log.info("알람 저장", "alarmId", alarmId, "name", name);
+        checkInteractions(newAlarm);
+        return newAlarm;
+    }
+
+    // 여러 알람을 한 번에 등록 (파일 저장은 마지막에 한 번만)
+    // alarms: 알람 이름 -> 반복 규칙 (순서대로 등록)
+    public List<Nutrient> registerAlarms(String userId, Map<String, RecurrenceRule> alarms) {
+        return registerAll(userId, new ArrayList<>(alarms.keySet()), new ArrayList<>(alarms.values()));
+    }
+
+    // 자동 생성 스케줄 등록 (스케줄 항목 하나가 알람 하나, 이름이 같은 성분도 따로 등록)
+    public List<Nutrient> registerSchedule(String userId, ScheduleSolver.Schedule schedule) {
+        List<String> names = new ArrayList<>();
+        List<RecurrenceRule> rules = new ArrayList<>();
+        for (ScheduleSolver.Entry entry : schedule.getEntries()) {
+            names.add(entry.getNutrient());
+            rules.add(entry.toRule());
+        }
+        return registerAll(userId, names, rules);
+    }
+
+    private List<Nutrient> registerAll(String userId, List<String> names, List<RecurrenceRule> rules) {
+        long base = System.currentTimeMillis();
+        List<Nutrient> created = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            String alarmId = "alarm_" + base + "_" + i;
+            created.add(new Nutrient(alarmId, userId, names.get(i), rules.get(i), AlarmStatus.ACTIVE));
+        }
+        partitionOf(userId).addAll(created);
+
+        savePartition(userId);
+        for (Nutrient alarm : created) changeListener.onAlarmChanged(alarm);
+        Log.info("알람 일괄 저장", "userId", userId, "count", created.size());
+
+        // 메인 화면은 시작 시 로딩 배치와 같은 경로로 새 알람을 추가
+        List<Nutrient> batch = List.copyOf(created);
+        uiExecutor.execute(() -> {
+            for (AlarmStatusListener listener : listeners) listener.onAlarmsLoaded(userId, batch);
+        });
+
+        // 새 알람끼리의 충돌도 잡히도록 하나씩 색인하고, 경고는 모아서 한 번에 전달
+        List<InteractionChecker.Warning> warnings = new ArrayList<>();
+        for (Nutrient alarm : created) warnings.addAll(interactionChecker.onAlarmAdded(alarm));
+        notifyInteractionWarnings(userId, warnings);
+        return created;
+    }
+
+    // 새 알람과 상호작용이 있는 성분의 알람만 검사해서 경고가 있으면 리스너에게 전달
+    private void checkInteractions(Nutrient newAlarm) {
+        notifyInteractionWarnings(newAlarm.getUserId(), interactionChecker.onAlarmAdded(newAlarm));
+    }
+
+    private void notifyInteractionWarnings(String userId, List<InteractionChecker.Warning> warnings) {
+        if (warnings.isEmpty()) return;
+
+        for (InteractionChecker.Warning warning : warnings) Log.warn("복용 주의", "userId", userId, "message", warning.getMessage());
+        uiExecutor.execute(() -> {
+            for (AlarmStatusListener listener : listeners) listener.onInteractionWarnings(userId, warnings);
+        });
+    }
+
+    public InteractionChecker getInteractionChecker() {
+        return interactionChecker;
+    }
+
     // 알람 상태 변경 요청 처리 (AlarmTriggerController에서 호출됨)
-    public void updateAlarmStatus(String alarmId, String status) {
-        for (Nutrient alarm : scheduledAlarms) {
-            if (alarm.getId().equals(alarmId)) {
-                if ("COMPLETED".equals(status)) {
-                    alarm.setStatus("COMPLETED");
-                    alarm.setLastTakenDate(LocalDate.now().toString());
-                }
+    // 바뀐 알람이 있는 사용자 파티션만 저장 (미루기는 저장할 내용이 없음)
+    public void updateAlarmStatus(String alarmId, AlarmStatus status) {
+        Nutrient alarm = findAlarm(alarmId);
+        if (alarm != null) {
+            if (status == AlarmStatus.COMPLETED) {
+                alarm.markTaken((int) LocalDate.now(clock).toEpochDay());
+                changeListener.onAlarmChanged(alarm);
+                savePartition(alarm.getUserId());
+            } else if (status == AlarmStatus.SNOOZED) {
+                changeListener.onAlarmSnoozed(alarm);
             }
         }
-        saveAlarmsToFile();
 
         // 모든 리스너(MainController)에게 변경 사실 통보
-        Platform.runLater(() -> {
+        uiExecutor.execute(() -> {
             for (AlarmStatusListener listener : listeners) {
                 listener.onAlarmStatusChanged(alarmId, status);
             }
         });
     }
 
-    private void saveAlarmsToFile() {
-        try (Writer writer = new FileWriter(ALARM_FILE, StandardCharsets.UTF_8)) {
-            gson.toJson(scheduledAlarms, writer);
-        } catch (IOException e) { e.printStackTrace(); }
+    // 이 기기에서 알람 삭제 (메인 화면의 알람 메뉴에서 호출, 삭제했으면 true)
+    // 그 사용자 파티션만 저장하고, 변경 리스너(AlarmSyncClient)가 서버로 삭제를 올려 다른 기기에도 전달됨
+    public boolean removeAlarm(String alarmId) {
+        Nutrient alarm = findAlarm(alarmId);
+        if (alarm == null) return false;
+        String userId = alarm.getUserId();
+        if (!partitionOf(userId).remove(alarm)) return false;
+
+        interactionChecker.onAlarmRemoved(alarm);
+        savePartition(userId);
+        changeListener.onAlarmRemoved(alarm);
+        Log.info("알람 삭제", "alarmId", alarmId, "name", alarm.getName());
+
+        List<String> removedIds = List.of(alarmId);
+        uiExecutor.execute(() -> {
+            for (AlarmStatusListener listener : listeners) listener.onAlarmsRemoved(userId, removedIds);
+        });
+        return true;
     }
 
-    private void loadAlarmsFromFile() {
-        File file = new File(ALARM_FILE);
-        if (!file.exists()) return;
-        try (Reader reader = new FileReader(file, StandardCharsets.UTF_8)) {
-            Type listType = new TypeToken<ArrayList<Nutrient>>(){}.getType();
-            List<Nutrient> loaded = gson.fromJson(reader, listType);
-            if (loaded != null) {
-                scheduledAlarms.clear();
-                scheduledAlarms.addAll(loaded);
+    // 서버에서 받은 변경 반영 (AlarmSyncClient 에서 호출, 다시 서버로 보내지 않도록 변경 리스너는 부르지 않음)
+    // 이미 있는 알람은 같은 객체의 값만 바꾸고, 이름/반복 규칙이 바뀐 알람은 화면에서 뺐다가 다시 추가
+    void applyRemoteChanges(String userId, List<Nutrient> upserts, List<String> deletedIds) {
+        if (upserts.isEmpty() && deletedIds.isEmpty()) return;
+
+        List<Nutrient> partition = partitionOf(userId);
+        Map<String, Nutrient> byId = new HashMap<>();
+        for (Nutrient alarm : partition) byId.put(alarm.getId(), alarm);
+
+        List<Nutrient> added = new ArrayList<>();
+        List<Nutrient> redrawn = new ArrayList<>();
+        List<Nutrient> statusChanged = new ArrayList<>();
+        for (Nutrient remote : upserts) {
+            Nutrient local = byId.get(remote.getId());
+            if (local == null) {
+                added.add(remote);
+                continue;
+            }
+            if (!local.getName().equals(remote.getName()) || !local.getRecurrence().equals(remote.getRecurrence())) {
+                local.setName(remote.getName());
+                local.setRecurrence(remote.getRecurrence());
+                redrawn.add(local);
+            }
+            boolean statusDiffers = local.getStatus() != remote.getStatus();
+            local.setTaken(remote.getStatus(), remote.getLastTakenDay());
+            if (statusDiffers) statusChanged.add(local);
+        }
+        partition.addAll(added);
+        for (Nutrient alarm : added) interactionChecker.index(alarm);
+
+        List<String> removedIds = new ArrayList<>();
+        for (String alarmId : deletedIds) {
+            Nutrient removed = byId.get(alarmId);
+            if (removed == null) continue;
+            partition.remove(removed);
+            interactionChecker.onAlarmRemoved(removed);
+            removedIds.add(alarmId);
+        }
+
+        savePartition(userId);
+        Log.info("서버 알람 변경 반영", "userId", userId, "added", added.size(), "updated", redrawn.size() + statusChanged.size(),
+                "removed", removedIds.size());
+
+        List<String> hidden = new ArrayList<>(removedIds);
+        for (Nutrient alarm : redrawn) hidden.add(alarm.getId());
+        List<Nutrient> shown = new ArrayList<>(added);
+        shown.addAll(redrawn);
+        uiExecutor.execute(() -> {
+            for (AlarmStatusListener listener : listeners) {
+                if (!hidden.isEmpty()) listener.onAlarmsRemoved(userId, hidden);
+                if (!shown.isEmpty()) listener.onAlarmsLoaded(userId, shown);
+                for (Nutrient alarm : statusChanged) listener.onAlarmStatusChanged(alarm.getId(), alarm.getStatus());
             }
-        } catch (IOException e) { e.printStackTrace(); }
+        });
+    }
+
+    // 다른 기기에서 알람을 미룸 (AlarmSyncClient 에서 호출, 이 기기에서 미룬 것과 같이 리스너에만 알림)
+    void applyRemoteSnooze(String userId, String alarmId) {
+        if (partitionOf(userId).stream().noneMatch(alarm -> alarm.getId().equals(alarmId))) return;
+        Log.info("다른 기기에서 알람 미룸", "userId", userId, "alarmId", alarmId);
+        uiExecutor.execute(() -> {
+            for (AlarmStatusListener listener : listeners) listener.onAlarmStatusChanged(alarmId, AlarmStatus.SNOOZED);
+        });
+    }
+
+    // 알람 id 로 찾기: 현재 사용자 파티션부터 보고 찾으면 바로 멈춤 (전체 목록을 복사하지 않음)
+    private Nutrient findAlarm(String alarmId) {
+        List<Nutrient> current = alarmsByUser.get(partitionKey(UserSession.getUserId()));
+        if (current != null) {
+            for (Nutrient alarm : current) if (alarm.getId().equals(alarmId)) return alarm;
+        }
+        for (List<Nutrient> partition : alarmsByUser.values()) {
+            if (partition == current) continue;
+            for (Nutrient alarm : partition) if (alarm.getId().equals(alarmId)) return alarm;
+        }
+        return null;
+    }
+
+    private Path userFile(String key) {
+        if (key.isEmpty()) return alarmDir.resolve(NO_USER_FILE);
+        return alarmDir.resolve(URLEncoder.encode(key, StandardCharsets.UTF_8) + ".json");
+    }
+
+    // 한 사용자의 알람 파일만 다시 씀
+    private void savePartition(String userId) {
+        if (alarmFile == null) return;
+
+        // 그 사용자의 파일을 다 읽기 전에 저장하면 아직 안 읽은 알람이 사라지므로 읽은 뒤 저장
+        String key = partitionKey(userId);
+        CompletableFuture<Void> load = loadPartition(key);
+        if (!load.isDone()) {
+            load.thenRun(() -> savePartition(userId));
+            return;
+        }
+
+        List<Nutrient> alarms = alarmsByUser.getOrDefault(key, List.of());
+        Path path = userFile(key);
+        synchronized (this) {
+            FlightEvents.AlarmFileSave event = new FlightEvents.AlarmFileSave();
+            event.begin();
+            try {
+                Files.createDirectories(alarmDir);
+                writeAlarms(path, alarms);
+            } catch (IOException e) {
+                Log.error("알람 파일을 저장하지 못함", e, "path", path);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.path = path.toString();
+                event.alarms = alarms.size();
+                event.bytes = path.toFile().length();
+                event.commit();
+            }
+        }
+    }
+
+    // 임시 파일에 쓴 뒤 바꿔 끼움 (쓰다가 멈춰도 원래 파일이 반쯤 덮이지 않도록)
+    private static void writeAlarms(Path path, List<Nutrient> alarms) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            JsonCodecs.writeList(JsonCodecs.NUTRIENT, alarms, writer);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // 다 읽지 못한 파일은 읽은 알람만으로 다시 저장되기 전에 복사해 둠 (건너뛴 알람을 손으로 되살릴 수 있도록)
+    private void backUpUnreadable(Path path) {
+        Path backup = path.resolveSibling(path.getFileName() + "." + clock.millis() + ".bak");
+        try {
+            Files.copy(path, backup, StandardCopyOption.REPLACE_EXISTING);
+            Log.warn("다 읽지 못한 알람 파일을 백업함", "path", path, "backup", backup);
+        } catch (IOException e) {
+            Log.error("알람 파일을 백업하지 못함", e, "path", path);
+        }
+    }
+
+    // 시작할 때 로그인해 있는 프로필을 현재 사용자부터 읽기 시작 (읽는 스레드가 하나라서 요청한 순서대로 읽힘)
+    private CompletableFuture<Void> loadActivePartitions() {
+        List<CompletableFuture<Void>> loads = new ArrayList<>();
+        String current = UserSession.getUserId();
+        if (current != null) loads.add(loadPartition(current));
+        for (String profile : UserSession.getActiveProfiles()) loads.add(loadPartition(profile));
+        return CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0]));
+    }
+
+    // 사용자 알람 파일 읽기를 한 번만 시작 (파일이 없으면 바로 완료)
+    private CompletableFuture<Void> loadPartition(String key) {
+        CompletableFuture<Void> load = partitionLoads.get(key);
+        if (load != null) return load;
+        return partitionLoads.computeIfAbsent(key, k -> alarmFile == null || (!legacyPending && !Files.exists(userFile(k)))
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.runAsync(() -> loadUserFile(k), loader));
+    }
+
+    // JsonReader 로 한 사용자의 알람을 하나씩 읽어서 LOAD_BATCH_SIZE 개씩 파티션에 추가하고 리스너(MainController)에게 넘김
+    private void loadUserFile(String key) {
+        Path path = userFile(key);
+        if (!Files.exists(path)) return;
+
+        List<Nutrient> pending = new ArrayList<>(LOAD_BATCH_SIZE);
+        int[] count = {0};
+        boolean complete = false;
+        long profileStart = StartupProfile.begin();
+        FlightEvents.AlarmFileLoad event = new FlightEvents.AlarmFileLoad();
+        event.begin();
+
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            // 예전 형식(days + time)은 NutrientCodec 에서 반복 규칙으로 변환됨
+            // 형식이 맞지 않는 알람은 건너뛰고 나머지를 계속 읽음
+            int skipped = JsonCodecs.readEach(JsonCodecs.NUTRIENT, reader, alarm -> {
+                pending.add(alarm);
+                count[0]++;
+                if (pending.size() == LOAD_BATCH_SIZE) flushLoaded(key, pending);
+            });
+            complete = skipped == 0;
+        } catch (IOException | RuntimeException e) {
+            Log.error("알람 파일을 읽지 못함", e, "path", path, "read", count[0]);
+        } finally {
+            flushLoaded(key, pending);
+            // 저장은 이 읽기가 끝난 뒤에만 하므로 여기서 백업하면 덮어쓰기 전에 남음
+            if (!complete) backUpUnreadable(path);
+            event.end();
+            if (event.shouldCommit()) {
+                event.path = path.toString();
+                event.alarms = count[0];
+                event.bytes = path.toFile().length();
+                event.commit();
+            }
+            StartupProfile.end("db-load:alarms", profileStart);
+        }
+    }
+
+    private void flushLoaded(String key, List<Nutrient> pending) {
+        if (pending.isEmpty()) return;
+        partition(key).addAll(pending);
+        for (Nutrient alarm : pending) interactionChecker.index(alarm);
+
+        String userId = key.isEmpty() ? null : key;
+        List<Nutrient> shown = List.copyOf(pending);
+        uiExecutor.execute(() -> {
+            for (AlarmStatusListener listener : listeners) listener.onAlarmsLoaded(userId, shown);
+        });
+        pending.clear();
+    }
+
+    // 예전 형식(모든 사용자의 알람이 파일 하나에)이면 한 번만 전부 읽어서 사용자별 파일로 나누고 원래 파일은 .migrated 로 바꿈
+    // 이미 사용자별 파일이 있는 사용자는 그 파일을 그대로 둠
+    // 다 읽지 못했으면 읽은 알람만 나누고 원래 파일은 .unreadable 로 남김 (시작할 때마다 다시 실패하지 않도록)
+    private void migrateLegacyFile() {
+        Path legacy = Path.of(alarmFile);
+        Map<String, List<Nutrient>> byUser = new LinkedHashMap<>();
+        try {
+            boolean complete = false;
+            try (Reader reader = Files.newBufferedReader(legacy, StandardCharsets.UTF_8)) {
+                complete = JsonCodecs.readEach(JsonCodecs.NUTRIENT, reader,
+                        alarm -> byUser.computeIfAbsent(partitionKey(alarm.getUserId()), k -> new ArrayList<>()).add(alarm)) == 0;
+            } catch (IOException | RuntimeException e) {
+                Log.error("예전 알람 파일을 끝까지 읽지 못함", e, "path", alarmFile, "users", byUser.size());
+            }
+            Files.createDirectories(alarmDir);
+            for (Map.Entry<String, List<Nutrient>> entry : byUser.entrySet()) {
+                Path path = userFile(entry.getKey());
+                if (Files.exists(path)) continue;
+                writeAlarms(path, entry.getValue());
+            }
+            Files.move(legacy, Path.of(alarmFile + (complete ? ".migrated" : ".unreadable")), StandardCopyOption.REPLACE_EXISTING);
+            Log.info("알람 파일을 사용자별 파일로 나눔", "path", alarmFile, "users", byUser.size(), "complete", complete);
+        } catch (IOException | RuntimeException e) {
+            Log.error("예전 알람 파일을 사용자별 파일로 나누지 못함", e, "path", alarmFile);
+        } finally {
+            legacyPending = false;
+        }
     }
 
 }
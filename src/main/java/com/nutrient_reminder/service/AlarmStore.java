@@ -0,0 +1,411 @@
+package com.nutrient_reminder.service;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.nutrient_reminder.json.JsonCodec;
+import com.nutrient_reminder.json.JsonCodecs;
+import com.nutrient_reminder.logging.Log;
+import com.nutrient_reminder.model.Nutrient;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 서버 쪽 알람 저장소 (LoginServer 의 /api/alarms)
+// - 사용자마다 버전 번호를 두고, 알람 하나가 추가/수정/삭제될 때마다 1씩 올림
+// - 최근 변경을 기억해서 "버전 N 이후 변경분"만 돌려줌 (같은 알람이 여러 번 바뀌었으면 마지막 것만)
+//   요청한 버전이 기억하는 범위보다 오래됐으면 살아 있는 알람 전체 (full)
+// - 파일은 변경 한 줄씩 덧붙이는 저널이라 저장 비용도 바뀐 알람 수에 비례
+//   시작할 때 저널을 다시 읽어서 복원하고, 저널이 살아 있는 알람보다 많이 커졌으면 현재 상태로 다시 씀
+//   다시 쓸 때 삭제 기록은 빠지므로 사용자마다 마지막 버전 줄을 남겨서 버전이 뒤로 가지 않게 함
+// - 반영된 변경은 ChangeListener(AlarmEventHub)로 넘겨서 연결된 기기에 바로 보냄
+class AlarmStore {
+
+    // 사용자별로 기억하는 최근 변경 수 (이보다 오래된 버전에서 요청하면 full)
+    private static final int MAX_LOG = 1024;
+
+    // 알람 하나의 변경 (alarm 이 null 이면 삭제)
+    static final class Change {
+        final long version; // 클라이언트가 올릴 때는 0
+        final String alarmId;
+        final Nutrient alarm;
+
+        Change(long version, String alarmId, Nutrient alarm) {
+            this.version = version;
+            this.alarmId = alarmId;
+            this.alarm = alarm;
+        }
+
+        static Change put(Nutrient alarm) {
+            return new Change(0, alarm.getId(), alarm);
+        }
+
+        boolean isDelete() {
+            return alarm == null;
+        }
+    }
+
+    // 버전 N 이후 변경분 (full 이면 changes 는 살아 있는 알람 전체)
+    static final class Delta {
+        final long version;
+        final boolean full;
+        final List<Change> changes;
+
+        Delta(long version, boolean full, List<Change> changes) {
+            this.version = version;
+            this.full = full;
+            this.changes = changes;
+        }
+    }
+
+    // 클라이언트가 한 번에 올리는 변경 묶음 (baseVersion: 클라이언트가 마지막으로 받은 버전)
+    static final class Upload {
+        final long baseVersion;
+        final List<Change> changes;
+
+        Upload(long baseVersion, List<Change> changes) {
+            this.baseVersion = baseVersion;
+            this.changes = changes;
+        }
+    }
+
+    // 변경이 반영될 때마다 호출 (사용자 잠금 안에서 부르므로 같은 사용자의 변경은 버전 순서대로 옴, 오래 걸리면 안 됨)
+    interface ChangeListener {
+        void onChanges(String userId, List<Change> changes);
+    }
+
+    // --- JSON 형식 ---
+
+    // {"id": "...", "version": 3, "alarm": {...}} 또는 {"id": "...", "version": 4, "deleted": true}
+    static final JsonCodec<Change> CHANGE_CODEC = new JsonCodec<>() {
+        @Override
+        public void write(JsonWriter out, Change change) throws IOException {
+            out.beginObject();
+            out.name("id").value(change.alarmId);
+            if (change.version > 0) out.name("version").value(change.version);
+            if (change.isDelete()) {
+                out.name("deleted").value(true);
+            } else {
+                out.name("alarm");
+                JsonCodecs.NUTRIENT.write(out, change.alarm);
+            }
+            out.endObject();
+        }
+
+        @Override
+        public Change read(JsonReader in) throws IOException {
+            String id = null;
+            long version = 0;
+            Nutrient alarm = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id": id = JsonCodecs.nextStringOrNull(in); break;
+                    case "version": version = in.nextLong(); break;
+                    case "alarm": alarm = JsonCodecs.NUTRIENT.read(in); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            if (id == null && alarm != null) id = alarm.getId();
+            if (id == null) throw new IOException("알람 변경에 id 가 없습니다.");
+            return new Change(version, id, alarm);
+        }
+    };
+
+    static final JsonCodec<Delta> DELTA_CODEC = new JsonCodec<>() {
+        @Override
+        public void write(JsonWriter out, Delta delta) throws IOException {
+            out.beginObject();
+            out.name("version").value(delta.version);
+            out.name("full").value(delta.full);
+            out.name("changes").beginArray();
+            for (Change change : delta.changes) CHANGE_CODEC.write(out, change);
+            out.endArray();
+            out.endObject();
+        }
+
+        @Override
+        public Delta read(JsonReader in) throws IOException {
+            long version = 0;
+            boolean full = false;
+            List<Change> changes = new ArrayList<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "version": version = in.nextLong(); break;
+                    case "full": full = in.nextBoolean(); break;
+                    case "changes": readChanges(in, changes); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Delta(version, full, changes);
+        }
+    };
+
+    static final JsonCodec<Upload> UPLOAD_CODEC = new JsonCodec<>() {
+        @Override
+        public void write(JsonWriter out, Upload upload) throws IOException {
+            out.beginObject();
+            out.name("baseVersion").value(upload.baseVersion);
+            out.name("changes").beginArray();
+            for (Change change : upload.changes) CHANGE_CODEC.write(out, change);
+            out.endArray();
+            out.endObject();
+        }
+
+        @Override
+        public Upload read(JsonReader in) throws IOException {
+            long baseVersion = 0;
+            List<Change> changes = new ArrayList<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "baseVersion": baseVersion = in.nextLong(); break;
+                    case "changes": readChanges(in, changes); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Upload(baseVersion, changes);
+        }
+    };
+
+    private static void readChanges(JsonReader in, List<Change> changes) throws IOException {
+        in.beginArray();
+        while (in.hasNext()) changes.add(CHANGE_CODEC.read(in));
+        in.endArray();
+    }
+
+    // --- 저장소 ---
+
+    private static final class UserAlarms {
+        long version;
+        final Map<String, Change> alive = new LinkedHashMap<>(); // 알람 ID → 마지막 변경 (삭제된 알람은 없음)
+        final List<Change> log = new ArrayList<>();              // 최근 변경 (버전 순, 빠짐없이 연속)
+    }
+
+    private final Map<String, UserAlarms> users = new ConcurrentHashMap<>();
+
+    private volatile ChangeListener changeListener = (userId, changes) -> {};
+
+    // 저널 파일 (null 이면 메모리에만 보관)
+    private final Path journal;
+    private Writer journalWriter;
+
+    AlarmStore(Path journal) {
+        this.journal = journal;
+        if (journal != null) openJournal();
+    }
+
+    void setChangeListener(ChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    long version(String userId) {
+        UserAlarms user = users.get(userId);
+        if (user == null) return 0;
+        synchronized (user) {
+            return user.version;
+        }
+    }
+
+    // since 이후 변경분 (since 가 0 이거나 기억하는 범위보다 오래됐으면 full)
+    Delta changesSince(String userId, long since) {
+        UserAlarms user = users.get(userId);
+        if (user == null) return new Delta(0, since != 0, List.of());
+        synchronized (user) {
+            return deltaSince(user, since);
+        }
+    }
+
+    // 변경 묶음을 한 번에 반영 (알람 하나당 버전 1 증가), 응답은 baseVersion 이후 다른 기기의 변경분
+    // (올린 기기는 자기 변경을 이미 갖고 있으므로 응답에서 뺌, full 이면 전체)
+    // 다른 사용자의 알람이 섞여 있으면 아무것도 반영하지 않고 IllegalArgumentException
+    Delta apply(String userId, Upload upload) throws IOException {
+        for (Change change : upload.changes) {
+            if (change.alarm != null && (!userId.equals(change.alarm.getUserId()) || !change.alarmId.equals(change.alarm.getId()))) {
+                throw new IllegalArgumentException("다른 사용자의 알람이거나 id 가 맞지 않습니다: " + change.alarmId);
+            }
+        }
+
+        UserAlarms user = users.computeIfAbsent(userId, k -> new UserAlarms());
+        synchronized (user) {
+            long before = user.version;
+            List<Change> applied = new ArrayList<>(upload.changes.size());
+            for (Change change : upload.changes) {
+                Change stored = new Change(++user.version, change.alarmId, change.alarm);
+                record(user, stored);
+                applied.add(stored);
+            }
+            appendJournal(userId, applied);
+            if (!applied.isEmpty()) changeListener.onChanges(userId, applied);
+            return deltaSince(user, upload.baseVersion, before);
+        }
+    }
+
+    private Delta deltaSince(UserAlarms user, long since) {
+        return deltaSince(user, since, user.version);
+    }
+
+    // upTo 보다 새 버전이 마지막 변경인 알람은 뺌 (방금 올린 기기 자신의 변경)
+    private Delta deltaSince(UserAlarms user, long since, long upTo) {
+        if (since == user.version) return new Delta(user.version, false, List.of());
+
+        long oldest = user.log.isEmpty() ? user.version + 1 : user.log.get(0).version;
+        if (since <= 0 || since > user.version || since + 1 < oldest) {
+            return new Delta(user.version, true, new ArrayList<>(user.alive.values()));
+        }
+
+        // 같은 알람의 변경은 마지막 것만 (순서는 마지막 변경 순)
+        Map<String, Change> latest = new LinkedHashMap<>();
+        for (int i = (int) (since + 1 - oldest); i < user.log.size(); i++) {
+            Change change = user.log.get(i);
+            latest.remove(change.alarmId);
+            latest.put(change.alarmId, change);
+        }
+        List<Change> changes = new ArrayList<>(latest.size());
+        for (Change change : latest.values()) {
+            if (change.version <= upTo) changes.add(change);
+        }
+        return new Delta(user.version, false, changes);
+    }
+
+    private static void record(UserAlarms user, Change change) {
+        if (change.isDelete()) user.alive.remove(change.alarmId);
+        else user.alive.put(change.alarmId, change);
+
+        user.log.add(change);
+        // 한 번에 하나씩 지우지 않고 두 배가 되면 절반을 잘라냄
+        if (user.log.size() > MAX_LOG * 2) user.log.subList(0, user.log.size() - MAX_LOG).clear();
+    }
+
+    // --- 저널 파일 ---
+    // 한 줄에 {"user": "...", "change": {...}} 하나
+    // 정리한 저널에는 사용자마다 {"user": "...", "version": N} 도 한 줄 (삭제로 끝난 사용자의 마지막 버전)
+
+    private void openJournal() {
+        long lines = 0;
+        if (Files.exists(journal)) {
+            try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) continue;
+                    lines++;
+                    replayLine(line);
+                }
+            } catch (IOException e) {
+                Log.error("알람 저널을 읽지 못함", e, "file", journal);
+            }
+        }
+
+        int alive = 0;
+        for (UserAlarms user : users.values()) alive += user.alive.size();
+        Log.info("서버 알람 저장소 로드", "file", journal, "users", users.size(), "alarms", alive, "journalLines", lines);
+
+        try {
+            if (lines > alive * 2L + MAX_LOG) compactJournal();
+            journalWriter = Files.newBufferedWriter(journal, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            Log.error("알람 저널을 열지 못함, 서버 알람은 메모리에만 보관", e, "file", journal);
+        }
+    }
+
+    // 마지막 줄이 쓰다 만 채로 끝났을 수 있으므로 잘못된 줄은 건너뜀
+    private void replayLine(String line) {
+        try {
+            JsonReader in = new JsonReader(new StringReader(line));
+            String userId = null;
+            Change change = null;
+            long highWater = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "user": userId = JsonCodecs.nextStringOrNull(in); break;
+                    case "change": change = CHANGE_CODEC.read(in); break;
+                    case "version": highWater = in.nextLong(); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            if (userId == null) return;
+
+            UserAlarms user = users.computeIfAbsent(userId, k -> new UserAlarms());
+            if (change == null) {
+                // 마지막 버전 줄: 그 사이 삭제 기록은 없으므로 이전 기록으로는 변경분을 만들 수 없음 (full)
+                if (highWater > user.version) {
+                    user.version = highWater;
+                    user.log.clear();
+                }
+                return;
+            }
+            // 정리된 저널처럼 중간 버전이 빠져 있으면 그 앞의 기록으로는 변경분을 만들 수 없음 (그 범위는 full)
+            if (change.version != user.version + 1) user.log.clear();
+            user.version = Math.max(user.version, change.version);
+            record(user, change);
+        } catch (IOException | RuntimeException e) {
+            Log.warn("알람 저널의 잘못된 줄을 건너뜀", "error", e.getMessage());
+        }
+    }
+
+    private synchronized void appendJournal(String userId, List<Change> changes) throws IOException {
+        if (journalWriter == null || changes.isEmpty()) return;
+        for (Change change : changes) journalWriter.write(journalLine(userId, change));
+        journalWriter.flush();
+    }
+
+    private static String journalLine(String userId, Change change) throws IOException {
+        StringWriter line = new StringWriter();
+        JsonWriter out = new JsonWriter(line);
+        out.beginObject();
+        out.name("user").value(userId);
+        out.name("change");
+        CHANGE_CODEC.write(out, change);
+        out.endObject();
+        out.flush();
+        return line.append('\n').toString();
+    }
+
+    private static String highWaterLine(String userId, long version) throws IOException {
+        StringWriter line = new StringWriter();
+        JsonWriter out = new JsonWriter(line);
+        out.beginObject();
+        out.name("user").value(userId);
+        out.name("version").value(version);
+        out.endObject();
+        out.flush();
+        return line.append('\n').toString();
+    }
+
+    // 살아 있는 알람만 (버전 순, 버전 유지) 새 파일에 쓰고 바꿔 끼움 (시작할 때만, 다른 스레드가 없을 때)
+    // 마지막 변경이 삭제였으면 그 버전이 빠지므로 사용자마다 마지막 버전을 따로 남김
+    private void compactJournal() throws IOException {
+        Path temp = journal.resolveSibling(journal.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, UserAlarms> entry : users.entrySet()) {
+                UserAlarms user = entry.getValue();
+                List<Change> alive = new ArrayList<>(user.alive.values());
+                alive.sort(Comparator.comparingLong(change -> change.version));
+                for (Change change : alive) writer.write(journalLine(entry.getKey(), change));
+                writer.write(highWaterLine(entry.getKey(), user.version));
+            }
+        }
+        Files.move(temp, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Log.info("알람 저널 정리", "file", journal);
+    }
+}
@@ -0,0 +1,515 @@
+package com.nutrient_reminder.service;
+
+import com.nutrient_reminder.json.JsonCodecs;
+import com.nutrient_reminder.logging.Log;
+import com.nutrient_reminder.model.Nutrient;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 로그인한 프로필의 알람을 서버(LoginServer 의 /api/alarms)와 맞추는 동기화 클라이언트
+// - 인증은 로그인 응답에 들어 있는 토큰 (onLogin)
+// - 받기: 프로필마다 이벤트 스트림(/api/alarms/events, Server-Sent Events)을 열어 두고 다른 기기의 변경을 오는 즉시 반영
+//   연결할 때마다 마지막으로 받은 버전을 Last-Event-ID 로 보내서 그 뒤 변경분(sync 이벤트)부터 이어 받음
+//   서버 하트비트까지 STALE_MILLIS 동안 아무것도 오지 않으면 끊긴 것으로 보고 다시 연결 (실패하면 간격을 늘려 가며)
+// - 보내기: 이 기기에서 바뀐(추가, 수정, 삭제) 알람을 UPLOAD_DELAY_MILLIS 동안 모았다가 POST 한 번으로 올림
+//   응답에 그사이 다른 기기의 변경분도 같이 오므로 스트림으로 같은 변경이 다시 오면 버전을 보고 건너뜀
+//   미루기는 알람에 저장되지 않으므로 이벤트로만 보냄
+// - 처음 동기화(버전 0)나 서버 기록보다 오래 떨어져 있던 경우에는 전체 목록을 받아서 합침
+//   처음 동기화면 서버에 없는 이 기기의 알람을 올리고, 그 뒤로는 전체 목록에 없는 알람을 다른 기기에서 지운 것으로 보고 지움
+// - 마지막으로 받은 버전은 alarm_sync.json 에 저장해서 다음 실행 때도 변경분만 받음
+// - 프로필 로그아웃(UserSession.signOut)하면 남은 변경을 올리고 서버 토큰을 폐기함 (/api/logout)
+// 상태는 모두 동기화 스레드(alarm-sync) 하나에서만 다룸 (스트림은 연결마다 가상 스레드가 읽어서 동기화 스레드로 넘김)
+public class AlarmSyncClient implements AlarmSchedulerService.AlarmChangeListener {
+
+    private static final String ALARMS_URL = "http://localhost:8080/api/alarms";
+    private static final String EVENTS_URL = "http://localhost:8080/api/alarms/events";
+    private static final String LOGOUT_URL = "http://localhost:8080/api/logout";
+    private static final String VERSION_FILE = "alarm_sync.json";
+    private static final long UPLOAD_DELAY_MILLIS = 500;
+    // 서버 하트비트(15초) 세 번을 놓치면 끊긴 연결
+    private static final long STALE_MILLIS = 45_000;
+    private static final long WATCHDOG_SECONDS = 15;
+    private static final long RECONNECT_MIN_MILLIS = 1_000;
+    private static final long RECONNECT_MAX_MILLIS = 60_000;
+
+    private static AlarmSyncClient instance;
+
+    private static final class Profile {
+        final String userId;
+        String token;  // null 이면 토큰이 만료돼서 다시 로그인할 때까지 쉼
+        long version;  // 서버에서 마지막으로 받은 버전
+        // 아직 올리지 않은 변경 (같은 알람은 마지막 것만, 삭제면 alarm 이 null)
+        final Map<String, AlarmStore.Change> pending = new LinkedHashMap<>();
+        boolean uploadScheduled;
+        EventStream stream;  // 열려 있는(또는 연결 중인) 이벤트 스트림
+        boolean reconnectScheduled;
+        long reconnectDelayMillis = RECONNECT_MIN_MILLIS;
+
+        Profile(String userId) {
+            this.userId = userId;
+        }
+    }
+
+    // 이벤트 스트림 연결 하나 (reader 가상 스레드가 읽고, 닫기는 어느 스레드에서나)
+    private static final class EventStream {
+        final Profile profile;
+        final String token;
+        volatile long lastReceived = System.currentTimeMillis();
+        volatile boolean closed;
+        volatile InputStream body;
+        Thread reader;
+
+        EventStream(Profile profile, String token) {
+            this.profile = profile;
+            this.token = token;
+        }
+
+        // 응답을 기다리는 중이면 인터럽트로, 읽는 중이면 본문을 닫아서 reader 를 깨움
+        void close() {
+            closed = true;
+            InputStream in = body;
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException ignored) {
+                }
+            }
+            if (reader != null) reader.interrupt();
+        }
+    }
+
+    private final AlarmSchedulerService service;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "alarm-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Profile> profiles = new HashMap<>();
+    private final Map<String, String> savedVersions;
+
+    private AlarmSyncClient(AlarmSchedulerService service) {
+        this.service = service;
+        this.savedVersions = loadVersions();
+        service.setAlarmChangeListener(this);
+        UserSession.addSignOutListener(userId -> worker.execute(() -> signOut(userId)));
+        worker.scheduleWithFixedDelay(this::checkStreams, WATCHDOG_SECONDS, WATCHDOG_SECONDS, TimeUnit.SECONDS);
+    }
+
+    // 프로그램 시작 시 한 번 (JavaFX 앱의 Main.start)
+    public static synchronized AlarmSyncClient start(AlarmSchedulerService service) {
+        if (instance == null) instance = new AlarmSyncClient(service);
+        return instance;
+    }
+
+    // 로그인 성공 시 LoginController 에서 호출 (응답 본문에서 토큰을 꺼내서 동기화 시작)
+    public static void onLogin(String userId, String loginResponseBody) {
+        AlarmSyncClient client;
+        synchronized (AlarmSyncClient.class) {
+            client = instance;
+        }
+        if (client == null) return;
+
+        String token = null;
+        try {
+            token = JsonCodecs.fromString(LoginServer.API_RESPONSE_CODEC, loginResponseBody).getToken();
+        } catch (IOException | RuntimeException e) {
+            Log.warn("로그인 응답을 읽지 못함", "error", e.getMessage());
+        }
+        if (token == null) {
+            Log.warn("로그인 응답에 동기화 토큰이 없어 알람을 동기화하지 않음", "userId", userId);
+            return;
+        }
+        String issued = token;
+        // 이 사용자의 로컬 알람 파일을 다 읽은 뒤에 합쳐야 하므로 읽기가 끝난 뒤 시작
+        client.service.whenLoaded(userId).thenRunAsync(() -> client.signIn(userId, issued), client.worker);
+    }
+
+    @Override
+    public void onAlarmChanged(Nutrient alarm) {
+        worker.execute(() -> {
+            Profile profile = profiles.get(alarm.getUserId());
+            if (profile != null) queueUpload(profile, AlarmStore.Change.put(alarm));
+        });
+    }
+
+    @Override
+    public void onAlarmRemoved(Nutrient alarm) {
+        worker.execute(() -> {
+            Profile profile = profiles.get(alarm.getUserId());
+            if (profile != null) queueUpload(profile, new AlarmStore.Change(0, alarm.getId(), null));
+        });
+    }
+
+    @Override
+    public void onAlarmSnoozed(Nutrient alarm) {
+        worker.execute(() -> {
+            Profile profile = profiles.get(alarm.getUserId());
+            if (profile != null && profile.token != null) sendSnooze(profile, alarm.getId());
+        });
+    }
+
+    // --- 동기화 스레드 ---
+
+    private void signIn(String userId, String token) {
+        Profile profile = profiles.computeIfAbsent(userId, Profile::new);
+        profile.token = token;
+        if (profile.version == 0) profile.version = Long.parseLong(savedVersions.getOrDefault(userId, "0"));
+        // 예전 토큰으로 열린 연결은 닫고 새 토큰으로 바로 다시 연결
+        if (profile.stream != null && !token.equals(profile.stream.token)) {
+            profile.stream.close();
+            profile.stream = null;
+        }
+        profile.reconnectDelayMillis = RECONNECT_MIN_MILLIS;
+        connect(profile);
+        if (!profile.pending.isEmpty()) upload(profile);
+    }
+
+    // 프로필 로그아웃: 남은 변경을 올린 뒤 스트림을 닫고 서버 토큰을 폐기 (다시 로그인하면 새 토큰으로 이어서 동기화)
+    private void signOut(String userId) {
+        Profile profile = profiles.get(userId);
+        if (profile == null || profile.token == null) return;
+        if (!profile.pending.isEmpty()) upload(profile);
+
+        String token = profile.token;
+        profile.token = null;
+        if (profile.stream != null) {
+            profile.stream.close();
+            profile.stream = null;
+        }
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(LOGOUT_URL))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(10))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 204) {
+                Log.warn("동기화 토큰 폐기 실패", "userId", userId, "status", response.statusCode());
+            }
+        } catch (IOException e) {
+            Log.warn("동기화 토큰을 폐기하지 못함", "userId", userId, "error", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // --- 이벤트 스트림 (받기) ---
+
+    private void connect(Profile profile) {
+        profile.reconnectScheduled = false;
+        if (profile.token == null || profile.stream != null || !UserSession.isActive(profile.userId)) return;
+        EventStream stream = new EventStream(profile, profile.token);
+        profile.stream = stream;
+        long since = profile.version;
+        stream.reader = Thread.ofVirtual().name("alarm-events-" + profile.userId).start(() -> listen(stream, since));
+    }
+
+    // reader 가상 스레드: 줄 단위로 읽어서 이벤트가 끝날 때(빈 줄)마다 동기화 스레드로 넘김
+    // id: 줄은 data 안의 버전과 같아서 따로 보지 않고, ':' 로 시작하는 하트비트는 lastReceived 만 갱신
+    private void listen(EventStream stream, long since) {
+        int status = 0;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(EVENTS_URL))
+                    .header("Authorization", "Bearer " + stream.token)
+                    .header("Accept", "text/event-stream")
+                    .header("Last-Event-ID", Long.toString(since))
+                    .GET()
+                    .build();
+            HttpResponse<InputStream> response = http.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            status = response.statusCode();
+            try (InputStream body = response.body()) {
+                stream.body = body;
+                if (status == 200 && !stream.closed) readEvents(stream, body);
+            }
+        } catch (IOException e) {
+            if (!stream.closed) {
+                Log.warn("알람 이벤트 스트림이 끊김", "userId", stream.profile.userId, "error", e.getMessage());
+            }
+        } catch (InterruptedException e) {
+            // close() 로 깨움
+        }
+        int endStatus = status;
+        worker.execute(() -> onStreamEnded(stream, endStatus));
+    }
+
+    private void readEvents(EventStream stream, InputStream body) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String type = "message";
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            stream.lastReceived = System.currentTimeMillis();
+            if (line.isEmpty()) {
+                if (data.length() > 0) {
+                    String eventType = type;
+                    String eventData = data.toString();
+                    worker.execute(() -> onEvent(stream, eventType, eventData));
+                }
+                type = "message";
+                data.setLength(0);
+            } else if (line.startsWith("event:")) {
+                type = fieldValue(line);
+            } else if (line.startsWith("data:")) {
+                if (data.length() > 0) data.append('\n');
+                data.append(fieldValue(line));
+            }
+        }
+    }
+
+    private static String fieldValue(String line) {
+        String value = line.substring(line.indexOf(':') + 1);
+        return value.startsWith(" ") ? value.substring(1) : value;
+    }
+
+    private void onEvent(EventStream stream, String type, String data) {
+        Profile profile = stream.profile;
+        if (profile.stream != stream) return; // 이미 닫은 연결에서 남은 이벤트
+        try {
+            switch (type) {
+                case "sync":
+                    applyDelta(profile, JsonCodecs.fromString(AlarmStore.DELTA_CODEC, data), Set.of());
+                    profile.reconnectDelayMillis = RECONNECT_MIN_MILLIS;
+                    break;
+                case "change":
+                    applyChange(profile, JsonCodecs.fromString(AlarmStore.CHANGE_CODEC, data));
+                    break;
+                case "snoozed":
+                    String alarmId = JsonCodecs.fromString(JsonCodecs.STRING_MAP, data).get("id");
+                    if (alarmId != null) service.applyRemoteSnooze(profile.userId, alarmId);
+                    break;
+                default:
+                    Log.debug("모르는 알람 이벤트를 건너뜀", "type", type);
+            }
+        } catch (IOException | RuntimeException e) {
+            Log.warn("알람 이벤트를 읽지 못함", "userId", profile.userId, "type", type, "error", e.getMessage());
+        }
+    }
+
+    private void applyChange(Profile profile, AlarmStore.Change change) {
+        // 업로드 응답으로 이미 받은 변경
+        if (change.version <= profile.version) return;
+        // 중간 변경이 빠졌으면 다시 연결해서 마지막 버전 이후 변경분부터 받음
+        if (change.version != profile.version + 1) {
+            Log.info("알람 이벤트 버전이 건너뛰어져 다시 연결", "userId", profile.userId,
+                    "version", profile.version, "received", change.version);
+            profile.stream.close();
+            return;
+        }
+        applyDelta(profile, new AlarmStore.Delta(change.version, false, List.of(change)), Set.of());
+    }
+
+    private void onStreamEnded(EventStream stream, int status) {
+        Profile profile = stream.profile;
+        if (profile.stream != stream) return;
+        profile.stream = null;
+        if (status == 401) {
+            Log.warn("동기화 토큰이 만료됨, 다시 로그인하면 이어서 동기화", "userId", profile.userId);
+            if (stream.token.equals(profile.token)) profile.token = null;
+            return;
+        }
+        if (status != 0 && status != 200) Log.warn("알람 이벤트 스트림 연결 실패", "userId", profile.userId, "status", status);
+        scheduleReconnect(profile);
+    }
+
+    private void scheduleReconnect(Profile profile) {
+        if (profile.reconnectScheduled) return;
+        profile.reconnectScheduled = true;
+        long delay = profile.reconnectDelayMillis;
+        profile.reconnectDelayMillis = Math.min(delay * 2, RECONNECT_MAX_MILLIS);
+        worker.schedule(() -> connect(profile), delay, TimeUnit.MILLISECONDS);
+    }
+
+    // 하트비트가 끊긴 연결과 활성 프로필에서 빠진(로그아웃한) 프로필의 연결을 닫음
+    // 닫힌 연결은 onStreamEnded 에서 다시 연결하고, 로그아웃한 프로필은 connect 에서 건너뜀
+    private void checkStreams() {
+        long now = System.currentTimeMillis();
+        for (Profile profile : profiles.values()) {
+            EventStream stream = profile.stream;
+            if (stream == null) {
+                if (profile.token != null && !profile.reconnectScheduled) connect(profile);
+            } else if (!UserSession.isActive(profile.userId)) {
+                stream.close();
+            } else if (now - stream.lastReceived > STALE_MILLIS) {
+                Log.warn("알람 이벤트 스트림 응답 없음, 다시 연결", "userId", profile.userId,
+                        "silentMs", now - stream.lastReceived);
+                stream.close();
+            }
+        }
+    }
+
+    // --- 보내기 ---
+
+    private void queueUpload(Profile profile, AlarmStore.Change change) {
+        profile.pending.put(change.alarmId, change);
+        if (profile.uploadScheduled) return;
+        profile.uploadScheduled = true;
+        worker.schedule(() -> upload(profile), UPLOAD_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void upload(Profile profile) {
+        profile.uploadScheduled = false;
+        if (profile.pending.isEmpty() || profile.token == null) return;
+
+        List<AlarmStore.Change> changes = new ArrayList<>(profile.pending.values());
+        profile.pending.clear();
+        Set<String> uploadedIds = new HashSet<>();
+        for (AlarmStore.Change change : changes) uploadedIds.add(change.alarmId);
+
+        boolean sent = false;
+        try {
+            byte[] body = JsonCodecs.toBytes(AlarmStore.UPLOAD_CODEC, new AlarmStore.Upload(profile.version, changes));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(ALARMS_URL))
+                    .header("Authorization", "Bearer " + profile.token)
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(10))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            sent = send(profile, request, uploadedIds);
+        } catch (IOException e) {
+            Log.error("알람 변경을 JSON 으로 만들지 못함", e, "userId", profile.userId);
+        }
+        // 실패하면 다음 변경이나 다시 로그인할 때 같이 올림 (그사이 더 바뀐 알람은 그대로 둠)
+        if (!sent) {
+            for (AlarmStore.Change change : changes) profile.pending.putIfAbsent(change.alarmId, change);
+        }
+    }
+
+    // 요청을 보내고 응답의 변경분을 반영 (성공하면 true)
+    private boolean send(Profile profile, HttpRequest request, Set<String> uploadedIds) {
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            switch (response.statusCode()) {
+                case 200:
+                    applyDelta(profile, JsonCodecs.fromString(AlarmStore.DELTA_CODEC, response.body()), uploadedIds);
+                    return true;
+                case 401:
+                    Log.warn("동기화 토큰이 만료됨, 다시 로그인하면 이어서 동기화", "userId", profile.userId);
+                    profile.token = null;
+                    return false;
+                default:
+                    Log.warn("알람 동기화 실패", "userId", profile.userId, "status", response.statusCode(), "body", response.body());
+                    return false;
+            }
+        } catch (IOException e) {
+            Log.warn("알람 동기화 서버에 연결하지 못함", "userId", profile.userId, "error", e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // 미루기 알림 (저장되지 않는 일회성이라 실패해도 다시 보내지 않음)
+    private void sendSnooze(Profile profile, String alarmId) {
+        try {
+            byte[] body = JsonCodecs.toBytes(JsonCodecs.STRING_MAP, Map.of("id", alarmId));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(EVENTS_URL))
+                    .header("Authorization", "Bearer " + profile.token)
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(10))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 204) {
+                Log.warn("미루기 알림 실패", "userId", profile.userId, "alarmId", alarmId, "status", response.statusCode());
+            }
+        } catch (IOException e) {
+            Log.warn("미루기 알림을 보내지 못함", "userId", profile.userId, "alarmId", alarmId, "error", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void applyDelta(Profile profile, AlarmStore.Delta delta, Set<String> uploadedIds) {
+        Set<String> localIds = new HashSet<>(uploadedIds);
+        localIds.addAll(profile.pending.keySet());
+        // 처음 동기화하거나 서버에 아직 아무것도 없을 때만 이 기기의 알람을 서버에 합침
+        boolean firstSync = profile.version == 0 || delta.version == 0;
+        List<Nutrient> unknown = merge(service, profile.userId, delta, localIds, firstSync);
+        if (delta.version != profile.version) {
+            profile.version = delta.version;
+            saveVersion(profile);
+        }
+
+        for (Nutrient alarm : unknown) queueUpload(profile, AlarmStore.Change.put(alarm));
+        if (!delta.changes.isEmpty()) {
+            Log.debug("알람 동기화", "userId", profile.userId, "version", delta.version, "full", delta.full,
+                    "changes", delta.changes.size());
+        }
+    }
+
+    // 받은 변경분을 이 기기의 알람에 반영하고, 서버에 올려야 할 이 기기의 알람을 돌려줌
+    // localIds(방금 올려서 되돌아온 알람, 아직 올리지 않은 알람)는 이 기기 쪽이 최신이라 건드리지 않음
+    // 전체 목록에 없는 이 기기의 알람은 처음 동기화면 서버에 없는 알람이라 올리고,
+    // 그 뒤로는 서버가 정리한 삭제 기록(다른 기기에서 지운 알람)이므로 이 기기에서도 지움
+    static List<Nutrient> merge(AlarmSchedulerService service, String userId, AlarmStore.Delta delta,
+                               Set<String> localIds, boolean firstSync) {
+        List<Nutrient> upserts = new ArrayList<>();
+        List<String> deletedIds = new ArrayList<>();
+        Set<String> remoteIds = new HashSet<>();
+        for (AlarmStore.Change change : delta.changes) {
+            remoteIds.add(change.alarmId);
+            if (localIds.contains(change.alarmId)) continue;
+            if (change.isDelete()) deletedIds.add(change.alarmId);
+            else upserts.add(change.alarm);
+        }
+
+        List<Nutrient> unknown = new ArrayList<>();
+        if (delta.full) {
+            for (Nutrient alarm : service.getAlarmsForUser(userId)) {
+                if (remoteIds.contains(alarm.getId()) || localIds.contains(alarm.getId())) continue;
+                if (firstSync) unknown.add(alarm);
+                else deletedIds.add(alarm.getId());
+            }
+        }
+        service.applyRemoteChanges(userId, upserts, deletedIds);
+        return unknown;
+    }
+
+    // --- 마지막으로 받은 버전 (아이디 → 버전) ---
+
+    private static Map<String, String> loadVersions() {
+        Path file = Path.of(VERSION_FILE);
+        if (!Files.exists(file)) return new HashMap<>();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Map<String, String> loaded = JsonCodecs.read(JsonCodecs.STRING_MAP, reader);
+            return loaded != null ? loaded : new HashMap<>();
+        } catch (IOException | RuntimeException e) {
+            Log.warn("동기화 버전 파일을 읽지 못해 처음부터 동기화", "file", VERSION_FILE, "error", e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    private void saveVersion(Profile profile) {
+        savedVersions.put(profile.userId, Long.toString(profile.version));
+        try (Writer writer = Files.newBufferedWriter(Path.of(VERSION_FILE), StandardCharsets.UTF_8)) {
+            JsonCodecs.write(JsonCodecs.STRING_MAP, savedVersions, writer);
+        } catch (IOException e) {
+            Log.error("동기화 버전 저장 실패", e, "file", VERSION_FILE);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.nutrient_reminder.service;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 스케줄러의 주기 실행을 추상화한 인터페이스
+// 실제 실행에서는 1초 주기의 Executor를, 시뮬레이션에서는 가상 시간으로 직접 tick을 구동함
+public interface AlarmTicker {
+
+    // tick 작업 등록 및 주기 실행 시작
+    void start(Runnable tick);
+
+    // 주기 실행 중지
+    void stop();
+
+    // 기본 구현: 단일 스레드 Executor로 1초마다 tick 실행
+    static AlarmTicker everySecond() {
+        return new AlarmTicker() {
+            private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+            @Override
+            public void start(Runnable tick) {
+                scheduler.scheduleAtFixedRate(tick, 0, 1, TimeUnit.SECONDS);
+            }
+
+            @Override
+            public void stop() {
+                scheduler.shutdownNow();
+            }
+        };
+    }
+}
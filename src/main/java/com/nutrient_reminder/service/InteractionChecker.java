@@ -0,0 +1,289 @@
+package com.nutrient_reminder.service;
+
+import com.nutrient_reminder.model.Nutrient;
+import com.nutrient_reminder.model.NutrientInteractions;
+import com.nutrient_reminder.model.Recommendation;
+import com.nutrient_reminder.model.RecurrenceRule;
+import com.nutrient_reminder.model.SymptomKnowledgeBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// 사용자의 알람들을 성분 상호작용/복용 시간 권장과 대조하는 검사기
+// 사용자별로 "성분 id -> 그 성분으로 인식된 알람 목록" 색인을 유지하고,
+// 알람이 추가되면 그 알람의 성분과 상호작용이 있는 성분의 알람만 확인함 (전체 스케줄을 다시 보지 않음)
+// - SEPARATE : 같은 요일에 SEPARATE_MINUTES 이내로 겹치면 경고 (예: 칼슘과 아연을 같은 시간에)
+// - TOGETHER : 함께 복용 권장인데 TOGETHER_MINUTES 이내로 겹치는 시각이 없으면 안내
+// - 복용 시간 : 저녁/취침 전 권장 성분을 오전에, 아침 권장 성분을 저녁에 맞춘 경우 안내
+public class InteractionChecker {
+
+    public static final int SEPARATE_MINUTES = NutrientInteractions.SEPARATE_MINUTES;
+    public static final int TOGETHER_MINUTES = 60;
+
+    // 아침 권장 성분은 이 시각 이후면, 저녁 권장 성분은 이 시각 이전이면 안내
+    private static final int MORNING_LATEST = 15 * 60;
+    private static final int EVENING_EARLIEST = 17 * 60;
+
+    public enum Kind { SEPARATE, TOGETHER, TIMING }
+
+    // 검사 결과 한 건
+    public static final class Warning {
+        private final Kind kind;
+        private final String alarmId;
+        private final String otherAlarmId;   // 성분 쌍 검사가 아니면 null
+        private final String message;
+
+        Warning(Kind kind, String alarmId, String otherAlarmId, String message) {
+            this.kind = kind;
+            this.alarmId = alarmId;
+            this.otherAlarmId = otherAlarmId;
+            this.message = message;
+        }
+
+        public Kind getKind() { return kind; }
+        public String getAlarmId() { return alarmId; }
+        public String getOtherAlarmId() { return otherAlarmId; }
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() { return message; }
+    }
+
+    // 사용자 한 명의 색인
+    private static final class UserIndex {
+        SymptomKnowledgeBase kb;
+        final Map<String, Entry> byAlarm = new HashMap<>();
+        List<Entry>[] byNutrient;
+
+        @SuppressWarnings("unchecked")
+        UserIndex(SymptomKnowledgeBase kb) {
+            this.kb = kb;
+            this.byNutrient = new List[kb.nutrientCount()];
+        }
+
+        List<Entry> alarmsOf(int nutrientId) {
+            List<Entry> list = byNutrient[nutrientId];
+            return list != null ? list : List.of();
+        }
+    }
+
+    private static final class Entry {
+        final Nutrient alarm;
+        int nutrientId;
+
+        Entry(Nutrient alarm, int nutrientId) {
+            this.alarm = alarm;
+            this.nutrientId = nutrientId;
+        }
+    }
+
+    private final Supplier<SymptomKnowledgeBase> knowledgeBase;
+    private final Map<String, UserIndex> indexes = new HashMap<>();
+
+    public InteractionChecker(Supplier<SymptomKnowledgeBase> knowledgeBase) {
+        this.knowledgeBase = knowledgeBase;
+    }
+
+    // 알람을 색인에만 추가 (시작 시 파일에서 읽은 알람용, 검사하지 않음)
+    public synchronized void index(Nutrient alarm) {
+        add(indexFor(alarm.getUserId()), alarm);
+    }
+
+    // 새 알람을 색인에 추가하고 그 알람과 관련된 경고만 반환
+    public synchronized List<Warning> onAlarmAdded(Nutrient alarm) {
+        UserIndex index = indexFor(alarm.getUserId());
+        Entry entry = add(index, alarm);
+        List<Warning> warnings = new ArrayList<>();
+        if (entry.nutrientId >= 0) check(index, entry, warnings);
+        return warnings;
+    }
+
+    public synchronized void onAlarmRemoved(Nutrient alarm) {
+        UserIndex index = indexes.get(alarm.getUserId());
+        if (index == null) return;
+        Entry entry = index.byAlarm.remove(alarm.getId());
+        if (entry != null && entry.nutrientId >= 0) index.byNutrient[entry.nutrientId].remove(entry);
+    }
+
+    // 사용자의 전체 알람 검사 (쌍마다 한 번씩만 보고)
+    public synchronized List<Warning> checkAll(String userId) {
+        UserIndex index = indexFor(userId);
+        List<Warning> warnings = new ArrayList<>();
+        for (Entry entry : index.byAlarm.values()) {
+            if (entry.nutrientId < 0) continue;
+            checkTiming(index, entry, warnings);
+            for (int partner : index.kb.getInteractions().partners(entry.nutrientId)) {
+                for (Entry other : index.alarmsOf(partner)) {
+                    if (entry.alarm.getId().compareTo(other.alarm.getId()) < 0) checkPair(index, entry, other, warnings);
+                }
+            }
+        }
+        return warnings;
+    }
+
+    // 추천 화면용: 추천된 성분과 이미 등록된 알람 사이의 주의 사항
+    public synchronized List<Warning> checkCandidates(String userId, Recommendation recommendation) {
+        UserIndex index = indexFor(userId);
+        NutrientInteractions interactions = index.kb.getInteractions();
+        List<Warning> warnings = new ArrayList<>();
+
+        for (int i = 0; i < recommendation.size(); i++) {
+            int candidate = index.kb.nutrientId(recommendation.nutrientAt(i));
+            if (candidate < 0) continue;
+            for (int partner : interactions.partners(candidate)) {
+                for (Entry other : index.alarmsOf(partner)) {
+                    String message = interactions.kind(candidate, partner) == NutrientInteractions.Kind.SEPARATE
+                            ? String.format("%s: 복용 중인 '%s'(%s)와 시간 간격을 두세요. %s",
+                                    index.kb.nutrientName(candidate), other.alarm.getName(), other.alarm.getTime(),
+                                    interactions.message(candidate, partner))
+                            : String.format("%s: 복용 중인 '%s'(%s)와 함께 복용하면 좋습니다.",
+                                    index.kb.nutrientName(candidate), other.alarm.getName(), other.alarm.getTime());
+                    Kind kind = interactions.kind(candidate, partner) == NutrientInteractions.Kind.SEPARATE ? Kind.SEPARATE : Kind.TOGETHER;
+                    warnings.add(new Warning(kind, null, other.alarm.getId(), message));
+                }
+            }
+        }
+        return warnings;
+    }
+
+    // --- 색인 ---
+
+    private UserIndex indexFor(String userId) {
+        SymptomKnowledgeBase kb = knowledgeBase.get();
+        UserIndex index = indexes.computeIfAbsent(userId == null ? "" : userId, k -> new UserIndex(kb));
+        if (index.kb != kb) rebuild(index, kb);
+        return index;
+    }
+
+    // 지식 베이스가 교체되면 성분 id 가 달라질 수 있으므로 알람 이름을 다시 매칭
+    @SuppressWarnings("unchecked")
+    private void rebuild(UserIndex index, SymptomKnowledgeBase kb) {
+        index.kb = kb;
+        index.byNutrient = new List[kb.nutrientCount()];
+        for (Entry entry : index.byAlarm.values()) {
+            entry.nutrientId = kb.getInteractions().matchNutrient(entry.alarm.getName());
+            if (entry.nutrientId >= 0) addToNutrient(index, entry);
+        }
+    }
+
+    private Entry add(UserIndex index, Nutrient alarm) {
+        Entry previous = index.byAlarm.get(alarm.getId());
+        if (previous != null && previous.nutrientId >= 0) index.byNutrient[previous.nutrientId].remove(previous);
+
+        Entry entry = new Entry(alarm, index.kb.getInteractions().matchNutrient(alarm.getName()));
+        index.byAlarm.put(alarm.getId(), entry);
+        if (entry.nutrientId >= 0) addToNutrient(index, entry);
+        return entry;
+    }
+
+    private void addToNutrient(UserIndex index, Entry entry) {
+        if (index.byNutrient[entry.nutrientId] == null) index.byNutrient[entry.nutrientId] = new ArrayList<>();
+        index.byNutrient[entry.nutrientId].add(entry);
+    }
+
+    // --- 검사 ---
+
+    private void check(UserIndex index, Entry entry, List<Warning> warnings) {
+        checkTiming(index, entry, warnings);
+        for (int partner : index.kb.getInteractions().partners(entry.nutrientId)) {
+            for (Entry other : index.alarmsOf(partner)) {
+                if (other != entry) checkPair(index, entry, other, warnings);
+            }
+        }
+    }
+
+    private void checkTiming(UserIndex index, Entry entry, List<Warning> warnings) {
+        int timing = index.kb.getInteractions().timing(entry.nutrientId);
+        boolean morning = (timing & NutrientInteractions.MORNING) != 0;
+        boolean evening = (timing & NutrientInteractions.EVENING) != 0;
+        if (morning == evening) return; // 권장 없음, 또는 아침/저녁 둘 다 괜찮음
+
+        for (int minute : minutesOfDay(entry.alarm.getRecurrence())) {
+            if ((morning && minute >= MORNING_LATEST) || (evening && minute < EVENING_EARLIEST)) {
+                warnings.add(new Warning(Kind.TIMING, entry.alarm.getId(), null,
+                        String.format("'%s'(%s)는 %s 복용을 권장합니다. %s", entry.alarm.getName(),
+                                RecurrenceRule.formatTime(minute), morning ? "아침" : "저녁/취침 전",
+                                index.kb.note(entry.nutrientId))));
+                return;
+            }
+        }
+    }
+
+    private void checkPair(UserIndex index, Entry a, Entry b, List<Warning> warnings) {
+        NutrientInteractions interactions = index.kb.getInteractions();
+        NutrientInteractions.Kind kind = interactions.kind(a.nutrientId, b.nutrientId);
+        RecurrenceRule ruleA = a.alarm.getRecurrence();
+        RecurrenceRule ruleB = b.alarm.getRecurrence();
+
+        if (kind == NutrientInteractions.Kind.SEPARATE) {
+            if (!shareDays(ruleA, ruleB) || !within(ruleA, ruleB, SEPARATE_MINUTES)) return;
+            warnings.add(new Warning(Kind.SEPARATE, a.alarm.getId(), b.alarm.getId(),
+                    String.format("'%s'(%s)와 '%s'(%s)는 %d분 이상 간격을 두는 것이 좋습니다. %s",
+                            a.alarm.getName(), a.alarm.getTime(), b.alarm.getName(), b.alarm.getTime(),
+                            SEPARATE_MINUTES, interactions.message(a.nutrientId, b.nutrientId))));
+        } else if (kind == NutrientInteractions.Kind.TOGETHER) {
+            if (shareDays(ruleA, ruleB) && within(ruleA, ruleB, TOGETHER_MINUTES)) return;
+            warnings.add(new Warning(Kind.TOGETHER, a.alarm.getId(), b.alarm.getId(),
+                    String.format("'%s'와 '%s'는 함께 복용하면 좋습니다. %s",
+                            a.alarm.getName(), b.alarm.getName(), interactions.message(a.nutrientId, b.nutrientId))));
+        }
+    }
+
+    // 요일 규칙끼리는 요일 비트가 겹치는지, 그 밖의 규칙은 겹칠 수 있다고 봄
+    private static boolean shareDays(RecurrenceRule a, RecurrenceRule b) {
+        if (a.getType() == RecurrenceRule.Type.WEEKLY && b.getType() == RecurrenceRule.Type.WEEKLY) {
+            return (a.getDayMask() & b.getDayMask()) != 0;
+        }
+        return true;
+    }
+
+    // 두 규칙의 하루 중 시각 가운데 window 분 이내로 가까운 쌍이 있는지 (둘 다 오름차순이므로 병합하듯 비교)
+    // 자정을 사이에 둔 시각(23:30 과 00:30)도 가까운 것으로 보도록 양 끝은 하루를 더해서 한 번 더 비교
+    static boolean within(RecurrenceRule a, RecurrenceRule b, int window) {
+        int[] x = minutesOfDay(a);
+        int[] y = minutesOfDay(b);
+        int i = 0, j = 0;
+        while (i < x.length && j < y.length) {
+            if (Math.abs(x[i] - y[j]) <= window) return true;
+            if (x[i] < y[j]) i++; else j++;
+        }
+        int day = RecurrenceRule.MINUTES_PER_DAY;
+        return x[0] + day - y[y.length - 1] <= window || y[0] + day - x[x.length - 1] <= window;
+    }
+
+    // 하루 중 울리는 시각 (오름차순, 중복 없음)
+    // N분마다 규칙은 간격이 하루를 나누어떨어지지 않으면 날마다 시각이 밀리므로 (예: 7시간마다 → 첫날 8/15/22시, 다음 날 5/12/19시)
+    // 시각이 처음으로 돌아올 때까지(종료일이 있으면 거기까지)의 실제 발생을 모두 모음
+    static int[] minutesOfDay(RecurrenceRule rule) {
+        if (rule.getType() != RecurrenceRule.Type.MINUTE_INTERVAL) return rule.getTimes();
+        int first = rule.getFirstTime();
+        int interval = rule.getInterval();
+        int day = RecurrenceRule.MINUTES_PER_DAY;
+
+        // 같은 시각으로 돌아올 때까지의 발생 수 = 하루 / gcd(간격, 하루) (최대 1440)
+        long count = day / gcd(interval, day);
+        if (rule.getEndDay() != Integer.MAX_VALUE) {
+            long anchor = (long) rule.getStartDay() * day + first;
+            long end = ((long) rule.getEndDay() + 1) * day;
+            count = Math.min(count, Math.max(1, (end - 1 - anchor) / interval + 1));
+        }
+
+        int[] times = new int[(int) count];
+        for (int k = 0; k < times.length; k++) times[k] = (int) ((first + (long) k * interval) % day);
+        Arrays.sort(times);
+        return times;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
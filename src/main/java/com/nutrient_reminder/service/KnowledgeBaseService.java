@@ -0,0 +1,179 @@
+package com.nutrient_reminder.service;
+
+import com.nutrient_reminder.json.JsonCodecs;
+import com.nutrient_reminder.logging.Log;
+import com.nutrient_reminder.model.SymptomKnowledgeBase;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+// 증상/영양 성분 지식 베이스를 읽어서 컴파일하고, 파일이 바뀌면 다시 컴파일해서 교체하는 서비스
+// - 기본값: 배포에 포함된 리소스 /com/nutrient_reminder/data/knowledge-base.json
+// - 실행 폴더에 같은 이름(knowledge-base.json)의 파일이 있으면 그 파일이 우선 (재배포 없이 내용 수정 가능)
+// - 감시 스레드가 파일 변경을 감지하면 백그라운드에서 새 인스턴스를 만든 뒤 참조만 바꿔 끼움
+//   조회하는 쪽은 current() 로 받은 인스턴스를 끝까지 쓰므로 반쯤 바뀐 상태를 볼 일이 없음
+// - 새 파일이 잘못됐으면(형식 오류, 설명 없는 성분 등) 기존 지식 베이스를 계속 사용
+public class KnowledgeBaseService {
+
+    // 리소스와 실행 폴더의 파일이 같은 이름을 씀 (리소스를 복사해서 고치면 바로 적용됨)
+    public static final String FILE_NAME = "knowledge-base.json";
+    private static final String RESOURCE = "/com/nutrient_reminder/data/" + FILE_NAME;
+
+    // 편집기가 파일을 여러 번 나눠 쓰는 경우를 위해 마지막 변경 후 잠시 기다렸다가 한 번만 다시 읽음
+    private static final long DEBOUNCE_MILLIS = 200;
+
+    // 지식 베이스가 교체됐을 때 호출 (감시 스레드에서 호출되므로 UI 갱신은 Platform.runLater 로)
+    public interface KnowledgeBaseListener {
+        void onKnowledgeBaseChanged(SymptomKnowledgeBase knowledgeBase);
+    }
+
+    private static KnowledgeBaseService instance;
+
+    private final AtomicReference<SymptomKnowledgeBase> current = new AtomicReference<>();
+    private final List<KnowledgeBaseListener> listeners = new CopyOnWriteArrayList<>();
+
+    // 우선 적용할 지식 베이스 파일 (null 이면 리소스만 사용)
+    private final Path overrideFile;
+    private Thread watcher;
+
+    private KnowledgeBaseService() {
+        this(Path.of(FILE_NAME), true);
+    }
+
+    // 지식 베이스 파일 경로와 감시 여부를 주입받는 생성자 (배치 실행/시뮬레이션에서 사용)
+    public KnowledgeBaseService(Path overrideFile, boolean watch) {
+        this.overrideFile = overrideFile;
+        current.set(loadInitial());
+        if (watch && overrideFile != null) startWatcher();
+    }
+
+    public static synchronized KnowledgeBaseService getInstance() {
+        if (instance == null) {
+            instance = new KnowledgeBaseService();
+        }
+        return instance;
+    }
+
+    // 현재 지식 베이스 (한 번의 추천 계산 동안에는 같은 인스턴스를 계속 쓸 것)
+    public SymptomKnowledgeBase current() {
+        return current.get();
+    }
+
+    public void addListener(KnowledgeBaseListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(KnowledgeBaseListener listener) {
+        listeners.remove(listener);
+    }
+
+    // 지식 베이스 파일을 다시 읽어서 교체 (실패하면 기존 것 유지하고 false)
+    public synchronized boolean reload() {
+        SymptomKnowledgeBase next;
+        try {
+            next = overrideFile != null && Files.exists(overrideFile) ? loadFile(overrideFile) : loadResource();
+        } catch (IOException | RuntimeException e) {
+            Log.warn("지식 베이스 다시 읽기 실패, 기존 버전 유지", "version", current().getVersion(), "error", e.getMessage());
+            return false;
+        }
+
+        SymptomKnowledgeBase previous = current.getAndSet(next);
+        Log.info("지식 베이스 교체", "from", previous.getVersion(), "to", next.getVersion(),
+                "symptoms", next.symptomCount(), "nutrients", next.nutrientCount());
+        for (KnowledgeBaseListener listener : listeners) {
+            listener.onKnowledgeBaseChanged(next);
+        }
+        return true;
+    }
+
+    // 파일 감시 중지
+    public void shutdown() {
+        if (watcher != null) watcher.interrupt();
+    }
+
+    // --- 읽기 ---
+
+    private SymptomKnowledgeBase loadInitial() {
+        if (overrideFile != null && Files.exists(overrideFile)) {
+            try {
+                SymptomKnowledgeBase kb = loadFile(overrideFile);
+                Log.info("지식 베이스 로드", "file", overrideFile, "version", kb.getVersion());
+                return kb;
+            } catch (IOException | RuntimeException e) {
+                Log.warn("지식 베이스 파일이 잘못되어 기본 지식 베이스 사용", "file", overrideFile, "error", e.getMessage());
+            }
+        }
+        try {
+            return loadResource();
+        } catch (IOException e) {
+            throw new IllegalStateException("기본 지식 베이스를 읽을 수 없습니다: " + RESOURCE, e);
+        }
+    }
+
+    private SymptomKnowledgeBase loadFile(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return JsonCodecs.read(JsonCodecs.KNOWLEDGE_BASE, reader);
+        }
+    }
+
+    private SymptomKnowledgeBase loadResource() throws IOException {
+        InputStream in = KnowledgeBaseService.class.getResourceAsStream(RESOURCE);
+        if (in == null) throw new IOException("리소스 없음: " + RESOURCE);
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return JsonCodecs.read(JsonCodecs.KNOWLEDGE_BASE, reader);
+        }
+    }
+
+    // --- 파일 감시 ---
+
+    private void startWatcher() {
+        Path dir = overrideFile.toAbsolutePath().getParent();
+        Path fileName = overrideFile.getFileName();
+
+        watcher = new Thread(() -> {
+            try (WatchService watchService = dir.getFileSystem().newWatchService()) {
+                dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+
+                while (!Thread.currentThread().isInterrupted()) {
+                    WatchKey key = watchService.take();
+                    boolean changed = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (fileName.equals(event.context())) changed = true;
+                    }
+                    if (!key.reset()) break; // 폴더가 사라짐
+
+                    if (changed) {
+                        Thread.sleep(DEBOUNCE_MILLIS);
+                        WatchKey pending;
+                        while ((pending = watchService.poll()) != null) {
+                            pending.pollEvents();
+                            pending.reset();
+                        }
+                        // 파일이 지워졌으면 기본 리소스로 돌아감
+                        reload();
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                // 종료
+            } catch (IOException e) {
+                Log.error("지식 베이스 파일 감시 중단", e, "file", overrideFile);
+            }
+        }, "knowledge-base-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+}
@@ -1,7 +1,12 @@
 package com.nutrient_reminder.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.nutrient_reminder.jfr.FlightEvents;
+import com.nutrient_reminder.jfr.FlightRecording;
+import com.nutrient_reminder.json.JsonCodec;
+import com.nutrient_reminder.json.JsonCodecs;
+import com.nutrient_reminder.logging.Log;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
@@ -11,38 +16,231 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 
 public class LoginServer {
     // 1. 사용자 정보를 저장할 파일 이름 정의
     private static final String DB_FILE = "users.json";
 
+    // 서버 쪽 알람 저장소 저널 (/api/alarms)
+    private static final String ALARM_JOURNAL = "server_alarms.journal";
+
     // 데이터베이스 역할을 할 Map (메모리 상의 캐시 역할)
     private static Map<String, String> userDatabase = new HashMap<>();
 
-    // JSON 변환기 (전역으로 사용)
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    // 비밀번호 해시/검증 (기본은 BCrypt, 벤치마크에서 해시 비용을 빼고 핸들러만 잴 때 교체)
+    interface PasswordHasher {
+        String hash(String password);
+        boolean check(String password, String hashed);
+    }
+
+    static final PasswordHasher BCRYPT = new PasswordHasher() {
+        @Override
+        public String hash(String password) {
+            return BCrypt.hashpw(password, BCrypt.gensalt());
+        }
+
+        @Override
+        public boolean check(String password, String hashed) {
+            return BCrypt.checkpw(password, hashed);
+        }
+    };
+
+    static volatile PasswordHasher passwordHasher = BCRYPT;
+
+    // 로그인 때 발급한 토큰 → 세션 (/api/alarms 인증용, 서버를 다시 켜면 다시 로그인)
+    // 마지막으로 쓴 뒤 SESSION_TTL_MILLIS 가 지나면 만료 (쓸 때마다 연장, 이벤트 스트림은 하트비트마다 연장)
+    // 프로필 로그아웃(/api/logout)하면 바로 폐기
+    static final long SESSION_TTL_MILLIS = Long.getLong("nutrient.session.ttlMillis", 24L * 60 * 60 * 1000);
+    private static final Map<String, Session> sessionTokens = new ConcurrentHashMap<>();
+    private static final SecureRandom TOKEN_RANDOM = new SecureRandom();
+
+    private static final class Session {
+        final String userId;
+        volatile long expiresAt;
+
+        Session(String userId, long expiresAt) {
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // 사용자별 알람 (main 에서 저널 파일로 다시 만듦, 벤치마크/테스트용 기본값은 메모리에만)
+    private static AlarmStore alarmStore = new AlarmStore(null);
+
+    // 알람 이벤트 스트림 구독자 (/api/alarms/events)
+    private static final AlarmEventHub alarmEvents = new AlarmEventHub();
+
+    // JSON 코덱 (리플렉션 없이 스트리밍으로 읽고 씀)
+    static final JsonCodec<LoginRequest> LOGIN_REQUEST_CODEC = new JsonCodec<>() {
+        @Override
+        public void write(JsonWriter out, LoginRequest value) throws IOException {
+            writeCredentials(out, value.getUsername(), value.getPassword());
+        }
+
+        @Override
+        public LoginRequest read(JsonReader in) throws IOException {
+            LoginRequest request = new LoginRequest();
+            String[] credentials = readCredentials(in);
+            request.setUsername(credentials[0]);
+            request.setPassword(credentials[1]);
+            return request;
+        }
+    };
+
+    static final JsonCodec<RegisterRequest> REGISTER_REQUEST_CODEC = new JsonCodec<>() {
+        @Override
+        public void write(JsonWriter out, RegisterRequest value) throws IOException {
+            writeCredentials(out, value.getUsername(), value.getPassword());
+        }
+
+        @Override
+        public RegisterRequest read(JsonReader in) throws IOException {
+            RegisterRequest request = new RegisterRequest();
+            String[] credentials = readCredentials(in);
+            request.setUsername(credentials[0]);
+            request.setPassword(credentials[1]);
+            return request;
+        }
+    };
+
+    static final JsonCodec<ApiResponse> API_RESPONSE_CODEC = new JsonCodec<>() {
+        @Override
+        public void write(JsonWriter out, ApiResponse value) throws IOException {
+            out.beginObject();
+            out.name("message").value(value.getMessage());
+            if (value.getToken() != null) out.name("token").value(value.getToken());
+            out.endObject();
+        }
+
+        @Override
+        public ApiResponse read(JsonReader in) throws IOException {
+            String message = null;
+            String token = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "message": message = JsonCodecs.nextStringOrNull(in); break;
+                    case "token": token = JsonCodecs.nextStringOrNull(in); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return new ApiResponse(message, token);
+        }
+    };
 
     public static void main(String[] args) throws IOException {
+        StartupProfile.enableIfRequested(args);
+        // -Dnutrient.jfr 가 있으면 JFR 기록 시작 (Launcher 에서 이미 시작했으면 무시)
+        FlightRecording.startIfRequested();
+
         // 2. 서버 시작 전에 파일에서 사용자 정보 불러오기 (데이터 로딩)
+        long loadStart = StartupProfile.begin();
         loadUserDatabase();
+        StartupProfile.end("db-load:users", loadStart);
+        long alarmLoadStart = StartupProfile.begin();
+        alarmStore = new AlarmStore(Path.of(ALARM_JOURNAL));
+        alarmStore.setChangeListener(alarmEvents);
+        StartupProfile.end("db-load:server-alarms", alarmLoadStart);
 
         // 8080 포트로 들어오는 요청을 받을 서버 생성
+        long bindStart = StartupProfile.begin();
         HttpServer server = HttpServer.create(new InetSocketAddress(8080), 0);
 
+        // 요청마다 가상 스레드 하나 (이벤트 스트림은 연결 내내 스레드를 붙잡고 있으므로 고정 크기 풀이면 연결 수만큼 막힘)
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+
         // 각 경로에 맞는 핸들러(요청 처리 담당)를 설정
-        server.setExecutor(Executors.newFixedThreadPool(5));
-        server.createContext("/api/login", new LoginHandler());
-        server.createContext("/api/register", new RegisterHandler());
+        server.createContext("/api/login", traced(new LoginHandler()));
+        server.createContext("/api/register", traced(new RegisterHandler()));
+        server.createContext("/api/logout", traced(new LogoutHandler()));
+        server.createContext("/api/alarms", traced(new AlarmsHandler()));
+        // 스트림은 연결된 동안 계속 열려 있어서 요청 시간 기록(traced)에서 뺌
+        server.createContext("/api/alarms/events", new AlarmEventsHandler());
 
         // 서버 시작
         server.start();
-        System.out.println("서버가 8080 포트에서 시작되었습니다.");
-        System.out.println("현재 등록된 사용자 수: " + userDatabase.size() + "명");
+        StartupProfile.end("server-bind", bindStart);
+        Log.info("로그인 서버 시작", "port", 8080, "users", userDatabase.size());
+    }
+
+    // 요청 하나를 JFR HttpRequest 이벤트로 기록 (메서드, 경로, 응답 코드, 처리 시간)
+    static HttpHandler traced(HttpHandler handler) {
+        return exchange -> {
+            FlightEvents.HttpRequest event = new FlightEvents.HttpRequest();
+            event.begin();
+            try {
+                handler.handle(exchange);
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.method = exchange.getRequestMethod();
+                    event.path = exchange.getRequestURI().getPath();
+                    event.status = exchange.getResponseCode();
+                    event.commit();
+                }
+            }
+        };
+    }
+
+    // 로그인 성공 시 토큰 발급 (추측할 수 없는 임의 값)
+    // 발급할 때 만료된 세션을 함께 정리 (한 번도 다시 쓰지 않은 토큰이 쌓이지 않도록)
+    static String issueToken(String username) {
+        long now = System.currentTimeMillis();
+        sessionTokens.values().removeIf(session -> session.expiresAt < now);
+
+        byte[] bytes = new byte[24];
+        TOKEN_RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        sessionTokens.put(token, new Session(username, now + SESSION_TTL_MILLIS));
+        return token;
+    }
+
+    // 토큰의 사용자 (없거나, 모르거나, 만료·폐기된 토큰이면 null), 유효하면 만료 시각을 연장
+    static String sessionUser(String token) {
+        if (token == null) return null;
+        Session session = sessionTokens.get(token);
+        if (session == null) return null;
+        long now = System.currentTimeMillis();
+        if (session.expiresAt < now) {
+            sessionTokens.remove(token, session);
+            return null;
+        }
+        session.expiresAt = now + SESSION_TTL_MILLIS;
+        return session.userId;
+    }
+
+    // 토큰 폐기 (폐기했으면 true)
+    static boolean revokeToken(String token) {
+        return token != null && sessionTokens.remove(token) != null;
+    }
+
+    // Authorization: Bearer <토큰> 의 사용자 (없거나 모르는 토큰이면 null)
+    static String authenticate(HttpExchange exchange) {
+        return sessionUser(bearerToken(exchange));
+    }
+
+    static String bearerToken(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) return null;
+        return header.substring("Bearer ".length()).trim();
+    }
+
+    // 파일을 거치지 않고 메모리 DB에 사용자 추가 (벤치마크 준비용)
+    static void putUser(String username, String hashedPassword) {
+        userDatabase.put(username, hashedPassword);
     }
 
     // --- [핵심 기능] 파일 저장 및 불러오기 메소드 ---
@@ -51,17 +249,18 @@ public class LoginServer {
     private static void loadUserDatabase() {
         File file = new File(DB_FILE);
         if (file.exists()) {
-            try {
-                // JSON 파일을 읽어서 Map<String, String> 형태로 변환
-                userDatabase = objectMapper.readValue(file, new TypeReference<Map<String, String>>() {});
-                System.out.println("기존 사용자 데이터를 불러왔습니다.");
+            // JSON 파일을 읽어서 Map<String, String> 형태로 변환
+            try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                Map<String, String> loaded = JsonCodecs.read(JsonCodecs.STRING_MAP, reader);
+                if (loaded != null) userDatabase = loaded;
+                Log.info("사용자 데이터 로드", "file", DB_FILE, "users", userDatabase.size());
             } catch (IOException e) {
-                System.out.println("데이터 로딩 중 오류 발생: " + e.getMessage());
+                Log.error("사용자 데이터 로딩 중 오류", e, "file", DB_FILE);
             }
         } else {
-            System.out.println("기존 데이터 파일이 없습니다. 새로 시작합니다.");
+            Log.info("사용자 데이터 파일 없음, 새로 시작", "file", DB_FILE);
             // 테스트 계정 하나 추가 (파일이 없을 때만)
-            String hashedPassword = BCrypt.hashpw("password123", BCrypt.gensalt());
+            String hashedPassword = passwordHasher.hash("password123");
             userDatabase.put("testuser", hashedPassword);
             saveUserDatabase(); // 초기 데이터 저장
         }
@@ -69,15 +268,37 @@ public class LoginServer {
 
     // 현재 userDatabase 맵의 내용을 파일에 저장하는 메소드
     private static synchronized void saveUserDatabase() {
-        try {
-            // Map 내용을 users.json 파일로 씀 (보기 좋게 들여쓰기 포함)
-            objectMapper.writerWithDefaultPrettyPrinter().writeValue(new File(DB_FILE), userDatabase);
-            System.out.println("데이터베이스 저장 완료.");
+        // Map 내용을 users.json 파일로 씀 (기본은 압축 출력, 디버깅 시 -Dnutrient.json.pretty=true)
+        try (Writer writer = Files.newBufferedWriter(new File(DB_FILE).toPath(), StandardCharsets.UTF_8)) {
+            JsonCodecs.write(JsonCodecs.STRING_MAP, userDatabase, writer);
+            Log.debug("사용자 데이터 저장", "users", userDatabase.size());
         } catch (IOException e) {
-            System.out.println("데이터 저장 중 오류 발생: " + e.getMessage());
+            Log.error("사용자 데이터 저장 중 오류", e, "file", DB_FILE);
         }
     }
 
+    // username/password 두 필드를 가진 요청 공통 처리
+    private static void writeCredentials(JsonWriter out, String username, String password) throws IOException {
+        out.beginObject();
+        out.name("username").value(username);
+        out.name("password").value(password);
+        out.endObject();
+    }
+
+    private static String[] readCredentials(JsonReader in) throws IOException {
+        String[] credentials = new String[2];
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "username": credentials[0] = JsonCodecs.nextStringOrNull(in); break;
+                case "password": credentials[1] = JsonCodecs.nextStringOrNull(in); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+        return credentials;
+    }
+
     // --- DTO 클래스 ---
     static class LoginRequest {
         private String username;
@@ -99,8 +320,11 @@ public class LoginServer {
 
     static class ApiResponse {
         private String message;
+        private String token; // 로그인 성공 시에만
         public ApiResponse(String message) { this.message = message; }
+        public ApiResponse(String message, String token) { this.message = message; this.token = token; }
         public String getMessage() { return message; }
+        public String getToken() { return token; }
     }
 
     // --- 핸들러 클래스들 ---
@@ -114,22 +338,38 @@ public class LoginServer {
             }
             InputStream is = exchange.getRequestBody();
             String requestBody = new String(is.readAllBytes(), StandardCharsets.UTF_8);
-            LoginRequest loginData = objectMapper.readValue(requestBody, LoginRequest.class);
+            LoginRequest loginData = JsonCodecs.fromString(LOGIN_REQUEST_CODEC, requestBody);
 
             // 메모리에 로드된 Map에서 확인
             String storedHashedPassword = userDatabase.get(loginData.getUsername());
 
-            if (storedHashedPassword != null && BCrypt.checkpw(loginData.getPassword(), storedHashedPassword)) {
-                System.out.println(loginData.getUsername() + " 님 로그인 성공");
-                sendJsonResponse(exchange, 200, new ApiResponse("로그인 성공!"));
+            boolean matched = storedHashedPassword != null
+                    && checkPassword(loginData.getUsername(), loginData.getPassword(), storedHashedPassword);
+            if (matched) {
+                Log.info("로그인 성공", "username", loginData.getUsername());
+                sendJsonResponse(exchange, 200, new ApiResponse("로그인 성공!", issueToken(loginData.getUsername())));
             } else {
-                System.out.println(loginData.getUsername() + " 님 로그인 실패");
+                Log.info("로그인 실패", "username", loginData.getUsername());
                 sendJsonResponse(exchange, 401, new ApiResponse("아이디 또는 비밀번호가 잘못되었습니다."));
             }
         }
 
-        private void sendJsonResponse(HttpExchange exchange, int statusCode, Object data) throws IOException {
-            byte[] jsonBytes = objectMapper.writeValueAsBytes(data);
+        // 비밀번호 검증 시간을 JFR PasswordCheck 이벤트로 기록 (비밀번호는 남기지 않음)
+        private boolean checkPassword(String username, String password, String hashed) {
+            FlightEvents.PasswordCheck event = new FlightEvents.PasswordCheck();
+            event.begin();
+            boolean matched = passwordHasher.check(password, hashed);
+            event.end();
+            if (event.shouldCommit()) {
+                event.username = username;
+                event.matched = matched;
+                event.commit();
+            }
+            return matched;
+        }
+
+        private void sendJsonResponse(HttpExchange exchange, int statusCode, ApiResponse data) throws IOException {
+            byte[] jsonBytes = JsonCodecs.toBytes(API_RESPONSE_CODEC, data);
             exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
             exchange.sendResponseHeaders(statusCode, jsonBytes.length);
             OutputStream os = exchange.getResponseBody();
@@ -156,21 +396,21 @@ public class LoginServer {
 
             InputStream is = exchange.getRequestBody();
             String requestBody = new String(is.readAllBytes(), StandardCharsets.UTF_8);
-            RegisterRequest registerData = objectMapper.readValue(requestBody, RegisterRequest.class);
+            RegisterRequest registerData = JsonCodecs.fromString(REGISTER_REQUEST_CODEC, requestBody);
             String username = registerData.getUsername();
             String password = registerData.getPassword();
 
             if (userDatabase.containsKey(username)) {
-                System.out.println("회원가입 실패: 아이디 중복 (" + username + ")");
+                Log.info("회원가입 실패: 아이디 중복", "username", username);
                 sendJsonResponse(exchange, 409, new ApiResponse("이미 사용 중인 아이디입니다."));
                 return;
             }
 
-            String hashedPassword = BCrypt.hashpw(password, BCrypt.gensalt());
+            String hashedPassword = passwordHasher.hash(password);
 
             // 3. 메모리에 저장
             userDatabase.put(username, hashedPassword);
-            System.out.println("새 사용자 등록: " + username);
+            Log.info("새 사용자 등록", "username", username);
 
             // 4. [중요] 변경된 내용을 파일에도 즉시 저장!
             saveUserDatabase();
@@ -178,8 +418,8 @@ public class LoginServer {
             sendJsonResponse(exchange, 201, new ApiResponse("회원가입이 완료되었습니다."));
         }
 
-        private void sendJsonResponse(HttpExchange exchange, int statusCode, Object data) throws IOException {
-            byte[] jsonBytes = objectMapper.writeValueAsBytes(data);
+        private void sendJsonResponse(HttpExchange exchange, int statusCode, ApiResponse data) throws IOException {
+            byte[] jsonBytes = JsonCodecs.toBytes(API_RESPONSE_CODEC, data);
             exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
             exchange.sendResponseHeaders(statusCode, jsonBytes.length);
             OutputStream os = exchange.getResponseBody();
@@ -194,4 +434,227 @@ public class LoginServer {
             os.close();
         }
     }
+
+    // 프로필 로그아웃 (Authorization: Bearer <로그인 토큰>): 토큰을 폐기해서 동기화와 이벤트 스트림을 끊음
+    // 이미 없는 토큰이어도 204 (같은 요청을 다시 보내도 결과가 같음)
+    static class LogoutHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                exchange.close();
+                return;
+            }
+            String token = bearerToken(exchange);
+            String userId = sessionUser(token);
+            if (revokeToken(token)) Log.info("로그아웃, 토큰 폐기", "username", userId);
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        }
+    }
+
+    // 알람 동기화 (Authorization: Bearer <로그인 토큰>)
+    // - GET  /api/alarms?since=N : 버전 N 이후 변경분. If-None-Match 가 현재 버전의 ETag 와 같으면 본문 없이 304
+    // - POST /api/alarms         : 변경 묶음 {"baseVersion": N, "changes": [...]} 를 한 번에 반영하고 N 이후 변경분으로 응답
+    //                              (그사이 다른 기기에서 바뀐 것도 같이 받음, 같은 알람은 나중에 올린 쪽이 이김)
+    static class AlarmsHandler implements HttpHandler {
+        private final MetricsRegistry.Counter notModified = MetricsRegistry.getInstance()
+                .counter("alarm_sync_not_modified_total", "Alarm sync requests answered with 304");
+        private final MetricsRegistry.Counter changesSent = MetricsRegistry.getInstance()
+                .counter("alarm_sync_changes_sent_total", "Alarm changes sent to clients");
+        private final MetricsRegistry.Counter changesReceived = MetricsRegistry.getInstance()
+                .counter("alarm_sync_changes_received_total", "Alarm changes uploaded by clients");
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            String userId = authenticate(exchange);
+            if (userId == null) {
+                sendResponse(exchange, 401, "Unauthorized");
+                return;
+            }
+            switch (exchange.getRequestMethod()) {
+                case "GET": handleGet(exchange, userId); break;
+                case "POST": handlePost(exchange, userId); break;
+                default: sendResponse(exchange, 405, "Method Not Allowed");
+            }
+        }
+
+        private void handleGet(HttpExchange exchange, String userId) throws IOException {
+            String etag = etag(alarmStore.version(userId));
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.increment();
+                exchange.getResponseHeaders().set("ETag", etag);
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            sendDelta(exchange, alarmStore.changesSince(userId, parseSince(exchange.getRequestURI().getRawQuery())));
+        }
+
+        private void handlePost(HttpExchange exchange, String userId) throws IOException {
+            String requestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            AlarmStore.Upload upload;
+            try {
+                upload = JsonCodecs.fromString(AlarmStore.UPLOAD_CODEC, requestBody);
+            } catch (IOException | RuntimeException e) {
+                sendResponse(exchange, 400, "Bad Request");
+                return;
+            }
+
+            try {
+                AlarmStore.Delta delta = alarmStore.apply(userId, upload);
+                changesReceived.add(upload.changes.size());
+                Log.debug("알람 변경 업로드", "username", userId, "changes", upload.changes.size(), "version", delta.version);
+                sendDelta(exchange, delta);
+            } catch (IllegalArgumentException e) {
+                Log.warn("알람 변경 업로드 거부", "username", userId, "error", e.getMessage());
+                sendResponse(exchange, 400, e.getMessage());
+            }
+        }
+
+        // 클라이언트가 받은 마지막 버전 (없거나 잘못됐으면 0 → 전체)
+        private static long parseSince(String query) {
+            if (query == null) return 0;
+            for (String param : query.split("&")) {
+                if (!param.startsWith("since=")) continue;
+                try {
+                    return Long.parseLong(param.substring("since=".length()));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+            return 0;
+        }
+
+        private static String etag(long version) {
+            return "\"" + version + "\"";
+        }
+
+        private void sendDelta(HttpExchange exchange, AlarmStore.Delta delta) throws IOException {
+            changesSent.add(delta.changes.size());
+            byte[] jsonBytes = JsonCodecs.toBytes(AlarmStore.DELTA_CODEC, delta);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+            exchange.getResponseHeaders().set("ETag", etag(delta.version));
+            exchange.sendResponseHeaders(200, jsonBytes.length);
+            OutputStream os = exchange.getResponseBody();
+            os.write(jsonBytes);
+            os.close();
+        }
+
+        private void sendResponse(HttpExchange exchange, int statusCode, String message) throws IOException {
+            byte[] responseBytes = message.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(statusCode, responseBytes.length);
+            OutputStream os = exchange.getResponseBody();
+            os.write(responseBytes);
+            os.close();
+        }
+    }
+
+    // 알람 이벤트 스트림 (Server-Sent Events, Authorization: Bearer <로그인 토큰>)
+    // - GET  /api/alarms/events : 먼저 Last-Event-ID(없으면 ?since=) 이후 변경분을 sync 이벤트 하나로 보내고,
+    //                             그 뒤로는 이 사용자의 알람 변경(change)과 미루기(snoozed)를 생기는 즉시 보냄
+    //                             HEARTBEAT_MILLIS 동안 보낼 게 없으면 주석 줄을 보내서 끊긴 연결을 양쪽에서 알아챔
+    // - POST /api/alarms/events : {"id": 알람 ID} 미루기 알림 (같은 사용자의 다른 기기로만 전달)
+    static class AlarmEventsHandler implements HttpHandler {
+        static final long HEARTBEAT_MILLIS = 15_000;
+        private static final byte[] HEARTBEAT = ": heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+
+        private final MetricsRegistry.Counter eventsSent = MetricsRegistry.getInstance()
+                .counter("alarm_events_sent_total", "Alarm events written to event streams");
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            String token = bearerToken(exchange);
+            String userId = sessionUser(token);
+            if (userId == null) {
+                sendResponse(exchange, 401, "Unauthorized");
+                return;
+            }
+            switch (exchange.getRequestMethod()) {
+                case "GET": stream(exchange, userId, token); break;
+                case "POST": handleSnooze(exchange, userId, token); break;
+                default: sendResponse(exchange, 405, "Method Not Allowed");
+            }
+        }
+
+        private void stream(HttpExchange exchange, String userId, String token) throws IOException {
+            long since = lastEventId(exchange);
+            AlarmEventHub.Subscriber subscriber = alarmEvents.subscribe(userId, token);
+            try {
+                exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=UTF-8");
+                exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+                exchange.sendResponseHeaders(200, 0);
+                OutputStream os = exchange.getResponseBody();
+
+                // 구독한 뒤에 변경분을 만들어야 그 사이 변경이 빠지지 않음 (겹치는 변경은 아래에서 버전으로 거름)
+                AlarmStore.Delta delta = alarmStore.changesSince(userId, since);
+                os.write(AlarmEventHub.frame(delta.version, "sync", JsonCodecs.toBytes(AlarmStore.DELTA_CODEC, delta)));
+                os.flush();
+                long sent = delta.version;
+                Log.debug("알람 이벤트 스트림 연결", "username", userId, "since", since, "version", delta.version, "full", delta.full);
+
+                while (!subscriber.overflowed) {
+                    AlarmEventHub.Event event = subscriber.next(HEARTBEAT_MILLIS);
+                    // 보낼 때마다 세션을 연장하고, 그사이 로그아웃·만료된 토큰이면 스트림을 닫음
+                    if (sessionUser(token) == null) {
+                        Log.debug("토큰이 폐기되어 알람 이벤트 스트림 종료", "username", userId);
+                        break;
+                    }
+                    if (event == null) {
+                        os.write(HEARTBEAT);
+                    } else {
+                        if (event.version != 0 && event.version <= sent) continue;
+                        os.write(event.frame);
+                        if (event.version != 0) sent = event.version;
+                        eventsSent.increment();
+                    }
+                    os.flush();
+                }
+            } catch (IOException e) {
+                // 클라이언트가 연결을 끊음
+                Log.debug("알람 이벤트 스트림 종료", "username", userId, "error", e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                alarmEvents.unsubscribe(subscriber);
+                exchange.close();
+            }
+        }
+
+        private void handleSnooze(HttpExchange exchange, String userId, String token) throws IOException {
+            String requestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String alarmId;
+            try {
+                alarmId = JsonCodecs.fromString(JsonCodecs.STRING_MAP, requestBody).get("id");
+            } catch (IOException | RuntimeException e) {
+                alarmId = null;
+            }
+            if (alarmId == null) {
+                sendResponse(exchange, 400, "Bad Request");
+                return;
+            }
+            alarmEvents.publishSnooze(userId, alarmId, token);
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        }
+
+        // 클라이언트가 마지막으로 받은 이벤트 id (= 알람 버전, 없으면 ?since=, 그것도 없으면 0 → 전체)
+        private static long lastEventId(HttpExchange exchange) {
+            String header = exchange.getRequestHeaders().getFirst("Last-Event-ID");
+            if (header == null) return AlarmsHandler.parseSince(exchange.getRequestURI().getRawQuery());
+            try {
+                return Long.parseLong(header.trim());
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+
+        private void sendResponse(HttpExchange exchange, int statusCode, String message) throws IOException {
+            byte[] responseBytes = message.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(statusCode, responseBytes.length);
+            OutputStream os = exchange.getResponseBody();
+            os.write(responseBytes);
+            os.close();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.nutrient_reminder.service;
+
+import com.nutrient_reminder.json.JsonCodecs;
+import com.nutrient_reminder.logging.Log;
+import com.nutrient_reminder.model.MealPlan;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+// 사용자별 생활 시간 (알람 자동 생성 때 식사/취침 시각으로 사용)
+// meal_plans.json: 아이디 -> "기상,아침,점심,저녁,취침" (각 HH:mm)
+// 저장한 적이 없거나 내용이 잘못됐으면 MealPlan.defaults()
+public class MealPlanStore {
+
+    private static final String FILE = "meal_plans.json";
+
+    private static MealPlanStore instance;
+
+    private final Path file;
+
+    // 처음 조회할 때 파일에서 읽음
+    private Map<String, String> plans;
+
+    // 저장 파일 경로를 주입받는 생성자 (테스트에서 사용)
+    public MealPlanStore(Path file) {
+        this.file = file;
+    }
+
+    public static synchronized MealPlanStore getInstance() {
+        if (instance == null) {
+            instance = new MealPlanStore(Path.of(FILE));
+        }
+        return instance;
+    }
+
+    public synchronized MealPlan get(String userId) {
+        String text = plans().get(userId == null ? "" : userId);
+        if (text == null) return MealPlan.defaults();
+        try {
+            return MealPlan.parse(text);
+        } catch (IllegalArgumentException e) {
+            Log.warn("저장된 생활 시간이 잘못되어 기본값 사용", "userId", userId, "error", e.getMessage());
+            return MealPlan.defaults();
+        }
+    }
+
+    public synchronized void save(String userId, MealPlan plan) {
+        plans().put(userId == null ? "" : userId, plan.toText());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            JsonCodecs.write(JsonCodecs.STRING_MAP, plans, writer);
+        } catch (IOException e) {
+            Log.error("생활 시간을 저장하지 못함", e, "file", file);
+        }
+    }
+
+    private Map<String, String> plans() {
+        if (plans != null) return plans;
+        plans = new HashMap<>();
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                plans.putAll(JsonCodecs.read(JsonCodecs.STRING_MAP, reader));
+            } catch (IOException | RuntimeException e) {
+                Log.warn("생활 시간 파일을 읽지 못해 기본값 사용", "file", file, "error", e.getMessage());
+            }
+        }
+        return plans;
+    }
+}
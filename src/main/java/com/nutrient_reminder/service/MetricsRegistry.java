@@ -0,0 +1,252 @@
+package com.nutrient_reminder.service;
+
+import com.nutrient_reminder.logging.Log;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// 프로그램 내부 지표(카운터, 게이지, 히스토그램) 저장소
+// 출력은 Prometheus 텍스트 형식 (이름 순)
+// - -Dnutrient.metrics.port=9400 : 127.0.0.1:9400/metrics 로 조회 가능 (로컬에서만)
+// - -Dnutrient.metrics.file=metrics.prom : 종료 시 파일로 저장 (dump(Path) 로 언제든 직접 저장 가능)
+// 같은 이름으로 다시 등록하면 기존 카운터/히스토그램을 돌려줌 (게이지는 새 값 공급자로 교체)
+// getInstance 가 내보내는 전역 레지스트리 외에, 같은 패키지에서 내보내지 않는 전용 레지스트리를 만들 수 있음
+public class MetricsRegistry {
+
+    private static MetricsRegistry instance;
+
+    private final Map<String, Metric> metrics = new ConcurrentSkipListMap<>();
+    private HttpServer server;
+
+    MetricsRegistry() {
+    }
+
+    public static synchronized MetricsRegistry getInstance() {
+        if (instance == null) {
+            instance = new MetricsRegistry();
+            instance.configureFromSystemProperties();
+        }
+        return instance;
+    }
+
+    private interface Metric {
+        void write(String name, Writer out) throws IOException;
+    }
+
+    // --- 지표 종류 ---
+
+    public static final class Counter implements Metric {
+        private final String help;
+        private final LongAdder value = new LongAdder();
+
+        private Counter(String help) { this.help = help; }
+
+        public void increment() { value.increment(); }
+        public void add(long amount) { value.add(amount); }
+        public long get() { return value.sum(); }
+
+        @Override
+        public void write(String name, Writer out) throws IOException {
+            header(out, name, help, "counter");
+            out.write(name + " " + value.sum() + "\n");
+        }
+    }
+
+    private static final class Gauge implements Metric {
+        private final String help;
+        private final LongSupplier supplier;
+
+        private Gauge(String help, LongSupplier supplier) {
+            this.help = help;
+            this.supplier = supplier;
+        }
+
+        @Override
+        public void write(String name, Writer out) throws IOException {
+            header(out, name, help, "gauge");
+            out.write(name + " " + supplier.getAsLong() + "\n");
+        }
+    }
+
+    // 고정 구간 히스토그램 (record 는 잠금 없이 구간 하나 증가)
+    // bounds: 구간 상한 (오름차순), 마지막 구간은 +Inf
+    public static final class Histogram implements Metric {
+        private final String help;
+        private final long[] bounds;
+        private final AtomicLongArray buckets;
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+        private Histogram(String help, long[] bounds) {
+            this.help = help;
+            this.bounds = bounds.clone();
+            this.buckets = new AtomicLongArray(bounds.length + 1);
+        }
+
+        public void record(long value) {
+            int lo = 0;
+            int hi = bounds.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (value <= bounds[mid]) hi = mid;
+                else lo = mid + 1;
+            }
+            buckets.incrementAndGet(lo);
+            sum.add(value);
+            max.accumulateAndGet(value, Math::max);
+        }
+
+        public long count() {
+            long count = 0;
+            for (int i = 0; i < buckets.length(); i++) count += buckets.get(i);
+            return count;
+        }
+
+        public long max() {
+            long value = max.get();
+            return value == Long.MIN_VALUE ? 0 : value;
+        }
+
+        // q (0~1) 분위가 들어 있는 구간의 상한 (마지막 구간이면 최댓값)
+        public long quantile(double q) {
+            long total = count();
+            if (total == 0) return 0;
+            long rank = (long) Math.ceil(q * total);
+            long seen = 0;
+            for (int i = 0; i < bounds.length; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) return bounds[i];
+            }
+            return max();
+        }
+
+        @Override
+        public void write(String name, Writer out) throws IOException {
+            header(out, name, help, "histogram");
+            long cumulative = 0;
+            for (int i = 0; i < bounds.length; i++) {
+                cumulative += buckets.get(i);
+                out.write(name + "_bucket{le=\"" + bounds[i] + "\"} " + cumulative + "\n");
+            }
+            cumulative += buckets.get(bounds.length);
+            out.write(name + "_bucket{le=\"+Inf\"} " + cumulative + "\n");
+            out.write(name + "_sum " + sum.sum() + "\n");
+            out.write(name + "_count " + cumulative + "\n");
+        }
+    }
+
+    // 1, 2, 5, 10, 20, 50 ... 처럼 자릿수마다 세 구간 (from 부터 to 이하까지)
+    public static long[] decadeBounds(long from, long to) {
+        long[] steps = { 1, 2, 5 };
+        long[] result = new long[64];
+        int n = 0;
+        for (long scale = 1; scale <= to; scale *= 10) {
+            for (long step : steps) {
+                long bound = step * scale;
+                if (bound >= from && bound <= to) result[n++] = bound;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    // --- 등록 ---
+
+    public Counter counter(String name, String help) {
+        return (Counter) metrics.computeIfAbsent(name, k -> new Counter(help));
+    }
+
+    public Histogram histogram(String name, String help, long[] bounds) {
+        return (Histogram) metrics.computeIfAbsent(name, k -> new Histogram(help, bounds));
+    }
+
+    public void gauge(String name, String help, LongSupplier supplier) {
+        metrics.put(name, new Gauge(help, supplier));
+    }
+
+    // --- 출력 ---
+
+    public void writeText(Writer out) throws IOException {
+        for (Map.Entry<String, Metric> entry : metrics.entrySet()) {
+            entry.getValue().write(entry.getKey(), out);
+        }
+        out.flush();
+    }
+
+    public String toText() {
+        StringWriter out = new StringWriter();
+        try {
+            writeText(out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // StringWriter 는 IOException 을 던지지 않음
+        }
+        return out.toString();
+    }
+
+    // 임시 파일에 쓴 뒤 바꿔 끼움 (읽는 쪽이 쓰다 만 파일을 보지 않도록)
+    public void dump(Path file) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        Files.writeString(temp, toText(), StandardCharsets.UTF_8);
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // 127.0.0.1 에서만 받는 /metrics 조회 서버
+    public synchronized void startHttpEndpoint(int port) throws IOException {
+        if (server != null) return;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> {
+            byte[] body = toText().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+        Log.info("지표 조회 서버 시작", "url", "http://127.0.0.1:" + port + "/metrics");
+    }
+
+    private void configureFromSystemProperties() {
+        Integer port = Integer.getInteger("nutrient.metrics.port");
+        if (port != null) {
+            try {
+                startHttpEndpoint(port);
+            } catch (IOException e) {
+                Log.error("지표 조회 서버 시작 실패", e, "port", port);
+            }
+        }
+
+        String file = System.getProperty("nutrient.metrics.file");
+        if (file != null) {
+            Thread hook = new Thread(() -> {
+                try {
+                    dump(Path.of(file));
+                } catch (IOException e) {
+                    Log.error("지표 파일 저장 실패", e, "file", file);
+                }
+            }, "metrics-dump");
+            Runtime.getRuntime().addShutdownHook(hook);
+        }
+    }
+
+    private static void header(Writer out, String name, String help, String type) throws IOException {
+        out.write("# HELP " + name + " " + help + "\n");
+        out.write("# TYPE " + name + " " + type + "\n");
+    }
+}
@@ -0,0 +1,87 @@
+package com.nutrient_reminder.service;
+
+import com.nutrient_reminder.logging.Log;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 시작 단계별 시간 측정 (--startup-profile 인자 또는 -Dnutrient.startup.profile=true 로 켬)
+// 단계: jvm-boot(JVM 시작 ~ main 진입), server-bind, db-load:users, db-load:alarms, tray, fxml-load, first-frame
+// 첫 화면이 그려지면 그때까지의 단계를 표로 표준 에러에 출력하고, 그 뒤에 끝난 단계는 한 줄씩 출력
+// 꺼져 있으면 begin()/end() 는 아무 일도 하지 않음
+public final class StartupProfile {
+
+    public static final String FLAG = "--startup-profile";
+    private static final String PROPERTY = "nutrient.startup.profile";
+
+    private static volatile boolean enabled;
+    private static boolean reported;
+    private static long jvmStartMillis;
+    private static final List<Phase> phases = new ArrayList<>();
+
+    private static final class Phase {
+        final String name;
+        final long startMillis; // JVM 시작 기준
+        final long tookMillis;
+
+        Phase(String name, long startMillis, long tookMillis) {
+            this.name = name;
+            this.startMillis = startMillis;
+            this.tookMillis = tookMillis;
+        }
+    }
+
+    private StartupProfile() {}
+
+    // 인자에 플래그가 있으면 측정을 켜고, 플래그를 뺀 나머지 인자를 돌려줌 (여러 진입점에서 불러도 한 번만 켜짐)
+    public static synchronized String[] enableIfRequested(String[] args) {
+        boolean requested = Boolean.getBoolean(PROPERTY) || Arrays.asList(args).contains(FLAG);
+        if (requested && !enabled) {
+            jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+            enabled = true;
+            add("jvm-boot", jvmStartMillis, System.currentTimeMillis() - jvmStartMillis);
+        }
+        return Arrays.stream(args).filter(arg -> !FLAG.equals(arg)).toArray(String[]::new);
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    // 단계 시작 시각 (꺼져 있으면 0)
+    public static long begin() {
+        return enabled ? System.currentTimeMillis() : 0;
+    }
+
+    public static void end(String phase, long beginMillis) {
+        if (!enabled || beginMillis == 0) return;
+        add(phase, beginMillis, System.currentTimeMillis() - beginMillis);
+    }
+
+    // 첫 프레임이 그려진 시점 (FX 스레드에서 한 번) → 지금까지의 단계 표 출력
+    public static void firstFrame(long shownMillis) {
+        if (!enabled) return;
+        end("first-frame", shownMillis);
+        synchronized (StartupProfile.class) {
+            if (reported) return;
+            reported = true;
+            System.err.println("[startup-profile] 단계                시작(ms)  소요(ms)");
+            for (Phase phase : phases) System.err.println(format(phase));
+            System.err.println("[startup-profile] 첫 화면까지 " + (System.currentTimeMillis() - jvmStartMillis) + " ms");
+        }
+    }
+
+    private static synchronized void add(String name, long startMillis, long tookMillis) {
+        Phase phase = new Phase(name, startMillis - jvmStartMillis, tookMillis);
+        phases.add(phase);
+        Log.info("시작 단계", "phase", name, "startMs", phase.startMillis, "tookMs", tookMillis);
+        // 첫 화면 이후에 끝난 단계 (예: 큰 알람 파일 로딩)
+        if (reported) System.err.println(format(phase) + "  (첫 화면 이후)");
+    }
+
+    private static String format(Phase phase) {
+        return String.format("[startup-profile]   %-18s %8d  %8d", phase.name, phase.startMillis, phase.tookMillis);
+    }
+}
@@ -1,21 +1,110 @@
 package com.nutrient_reminder.service;
 
+import com.nutrient_reminder.logging.Log;
+import com.nutrient_reminder.model.Nutrient;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// 이 기기에 로그인한 프로필 목록 (가족이 한 기기를 같이 쓰는 경우 여러 명이 동시에 로그인)
+// - 활성 프로필: 로그인한 모든 프로필. 알람 스케줄러는 활성 프로필의 알람을 모두 울림
+// - 현재 사용자: 지금 화면에 보이는 프로필 하나 (없으면 null, 로그인 화면)
+// - 로그아웃(clear)은 화면에서만 나가고 프로필은 활성으로 남김 → 다른 가족이 로그인해도 알람이 계속 울림
+//   알람까지 끄려면 signOut (로그아웃 확인 창의 "로그아웃하고 알람 끄기")
+// 변경은 synchronized 로 한 번에 하나씩, 읽기는 volatile 필드로 잠금 없이 (스케줄러 스레드에서 매 분 읽음)
+// 활성 프로필 목록은 바뀔 때마다 새 불변 Set 으로 교체하므로, 같은 Set 객체면 내용도 같음
 public class UserSession {
-    // 프로그램이 켜져 있는 동안 로그인 정보를 저장할 공간 (전광판)
-    private static String userId;
 
-    // 아이디 저장하기
-    public static void setUserId(String id) {
+    // 로그인할 때 호출 (알람 스케줄러가 그 프로필의 알람 파일을 바로 읽기 시작함, 로그인한 스레드에서 호출되므로 오래 걸리는 일은 넘길 것)
+    public interface SignInListener {
+        void onSignedIn(String userId);
+    }
+
+    // 프로필 로그아웃(signOut)할 때 호출 (동기화 클라이언트가 서버 토큰을 폐기함, 오래 걸리는 일은 넘길 것)
+    public interface SignOutListener {
+        void onSignedOut(String userId);
+    }
+
+    private static final List<SignInListener> signInListeners = new CopyOnWriteArrayList<>();
+    private static final List<SignOutListener> signOutListeners = new CopyOnWriteArrayList<>();
+
+    // 지금 화면에 보이는 프로필
+    private static volatile String userId;
+
+    // 활성 프로필 (로그인 순서, 불변)
+    private static volatile Set<String> activeProfiles = Collections.emptySet();
+
+    // 로그인: 활성 프로필에 추가하고 현재 사용자로 전환
+    public static synchronized void signIn(String id) {
+        if (id == null || id.isBlank()) throw new IllegalArgumentException("로그인할 아이디가 비어 있습니다.");
+        if (!activeProfiles.contains(id)) {
+            Set<String> next = new LinkedHashSet<>(activeProfiles);
+            next.add(id);
+            activeProfiles = Collections.unmodifiableSet(next);
+            Log.info("프로필 로그인", "userId", id, "activeProfiles", next.size());
+        }
         userId = id;
+        for (SignInListener listener : signInListeners) listener.onSignedIn(id);
+    }
+
+    public static void addSignInListener(SignInListener listener) {
+        signInListeners.add(listener);
     }
 
-    // 아이디 꺼내오기
+    public static void removeSignInListener(SignInListener listener) {
+        signInListeners.remove(listener);
+    }
+
+    public static void addSignOutListener(SignOutListener listener) {
+        signOutListeners.add(listener);
+    }
+
+    public static void removeSignOutListener(SignOutListener listener) {
+        signOutListeners.remove(listener);
+    }
+
+    // 프로필 로그아웃: 활성 프로필에서 빼서 이 프로필의 알람도 더 이상 울리지 않음
+    public static synchronized void signOut(String id) {
+        if (!activeProfiles.contains(id)) return;
+        Set<String> next = new LinkedHashSet<>(activeProfiles);
+        next.remove(id);
+        activeProfiles = Collections.unmodifiableSet(next);
+        if (id.equals(userId)) userId = null;
+        Log.info("프로필 로그아웃", "userId", id, "activeProfiles", next.size());
+        for (SignOutListener listener : signOutListeners) listener.onSignedOut(id);
+    }
+
+    // 아이디 저장하기 (기존 호출 호환: signIn 과 같음, null 이면 clear)
+    public static void setUserId(String id) {
+        if (id == null) clear();
+        else signIn(id);
+    }
+
+    // 아이디 꺼내오기 (현재 화면의 사용자)
     public static String getUserId() {
         return userId;
     }
 
-    // 로그아웃 (초기화)
-    public static void clear() {
+    // 활성 프로필 스냅샷 (읽기 전용, 내용이 바뀌면 다른 객체가 됨)
+    public static Set<String> getActiveProfiles() {
+        return activeProfiles;
+    }
+
+    public static boolean isActive(String id) {
+        return activeProfiles.contains(id);
+    }
+
+    // 알림에 표시할 알람 이름: 여러 프로필이 로그인해 있으면 누구의 알람인지 붙임
+    public static String labelOf(Nutrient alarm) {
+        if (activeProfiles.size() < 2 || alarm.getUserId() == null) return alarm.getName();
+        return alarm.getName() + " (" + alarm.getUserId() + ")";
+    }
+
+    // 로그아웃 (화면에서 나가기): 현재 사용자만 비우고 프로필은 활성으로 남김
+    public static synchronized void clear() {
         userId = null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package com.nutrient_reminder.json;
+
+import com.nutrient_reminder.model.AlarmStatus;
+import com.nutrient_reminder.model.Nutrient;
+import com.nutrient_reminder.model.RecurrenceRule;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NutrientCodecTest {
+
+    private static final String USER = "codec_test_user";
+
+    // 2025-01-06 (월요일)
+    private static final int MONDAY = (int) LocalDate.of(2025, 1, 6).toEpochDay();
+
+    private static Nutrient roundTrip(Nutrient alarm) throws IOException {
+        String json = new String(JsonCodecs.toBytes(JsonCodecs.NUTRIENT, alarm), StandardCharsets.UTF_8);
+        return JsonCodecs.fromString(JsonCodecs.NUTRIENT, json);
+    }
+
+    @Test
+    void roundTripKeepsRuleStatusAndTakenDay() throws IOException {
+        // 월, 수, 금 08:00 과 20:30
+        Nutrient alarm = new Nutrient("a1", USER, "비타민 D", RecurrenceRule.weekly(0b0010101, 8 * 60, 20 * 60 + 30),
+                AlarmStatus.COMPLETED);
+        alarm.setLastTakenDay(MONDAY);
+
+        Nutrient read = roundTrip(alarm);
+
+        assertEquals("a1", read.getId());
+        assertEquals(USER, read.getUserId());
+        assertEquals("비타민 D", read.getName());
+        assertEquals(alarm.getRecurrence(), read.getRecurrence());
+        assertEquals(AlarmStatus.COMPLETED, read.getStatus());
+        assertEquals(MONDAY, read.getLastTakenDay());
+    }
+
+    // 구간이 있는 N분 간격 규칙도 그대로
+    @Test
+    void roundTripKeepsIntervalRuleWithEndDay() throws IOException {
+        RecurrenceRule rule = RecurrenceRule.everyNMinutes(7 * 60, MONDAY, 8 * 60).until(MONDAY + 10);
+        Nutrient read = roundTrip(new Nutrient("a2", USER, "아연", rule, AlarmStatus.ACTIVE));
+
+        assertEquals(rule, read.getRecurrence());
+        assertEquals(Nutrient.NO_DATE, read.getLastTakenDay());
+    }
+
+    // recurrence 가 없는 예전 파일은 days/time 으로 규칙을 만들고 문자열 상태/날짜를 읽음
+    @Test
+    void readsLegacyRecordWithoutRecurrence() throws IOException {
+        String json = "{\"id\":\"a3\",\"userId\":\"" + USER + "\",\"name\":\"오메가3\",\"time\":\"오후 09 : 30\","
+                + "\"days\":[\"월\",\"수\"],\"status\":\"ACTIVE\",\"lastTakenDate\":\"2025-01-06\"}";
+
+        Nutrient read = JsonCodecs.fromString(JsonCodecs.NUTRIENT, json);
+
+        assertEquals(RecurrenceRule.weekly(0b0000101, 21 * 60 + 30), read.getRecurrence());
+        assertEquals(AlarmStatus.ACTIVE, read.getStatus());
+        assertEquals(MONDAY, read.getLastTakenDay());
+        assertEquals("오후 09 : 30", read.getTime());
+        assertEquals(List.of("월", "수"), read.getDays());
+    }
+
+    // 요일이 비어 있는 예전 알람은 매일
+    @Test
+    void legacyRecordWithoutDaysRepeatsDaily() throws IOException {
+        String json = "{\"id\":\"a4\",\"userId\":\"" + USER + "\",\"name\":\"마그네슘\",\"time\":\"오전 07 : 05\","
+                + "\"days\":[],\"status\":\"ACTIVE\",\"lastTakenDate\":null}";
+
+        Nutrient read = JsonCodecs.fromString(JsonCodecs.NUTRIENT, json);
+
+        assertEquals(RecurrenceRule.daily(7 * 60 + 5), read.getRecurrence());
+        assertEquals(Nutrient.NO_DATE, read.getLastTakenDay());
+    }
+}
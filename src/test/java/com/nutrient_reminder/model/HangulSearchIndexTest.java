@@ -0,0 +1,149 @@
+package com.nutrient_reminder.model;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HangulSearchIndexTest {
+
+    private static SymptomKnowledgeBase kb;
+    private static HangulSearchIndex index;
+
+    @BeforeAll
+    static void setUp() {
+        Map<String, List<String>> mapping = new LinkedHashMap<>();
+        mapping.put("수면 장애", List.of("마그네슘"));
+        mapping.put("만성 피로", List.of("비타민 B군", "코엔자임 Q10"));
+        mapping.put("눈 피로", List.of("루테인"));
+        mapping.put("근육 경련", List.of("마그네슘"));
+        kb = SymptomKnowledgeBase.compile(1, mapping, explain(mapping), Map.of());
+        index = HangulSearchIndex.build(kb);
+    }
+
+    private static Map<String, String[]> explain(Map<String, List<String>> mapping) {
+        Map<String, String[]> explain = new LinkedHashMap<>();
+        for (List<String> nutrients : mapping.values()) {
+            for (String nutrient : nutrients) explain.put(nutrient, new String[]{nutrient + " 제품", "식후 복용"});
+        }
+        return explain;
+    }
+
+    private static List<String> names(SymptomKnowledgeBase kb, long[] bits) {
+        List<String> names = new ArrayList<>();
+        for (int s = 0; s < kb.symptomCount(); s++) {
+            if ((bits[s >>> 6] & (1L << s)) != 0) names.add(kb.symptomName(s));
+        }
+        return names;
+    }
+
+    private static List<String> search(String query) {
+        return names(kb, index.search(query));
+    }
+
+    @Test
+    void emptyQueryReturnsAllSymptoms() {
+        assertEquals(kb.getSymptoms(), search(""));
+        assertEquals(kb.getSymptoms(), search("  "));
+    }
+
+    @Test
+    void initialsMatchSyllables() {
+        assertEquals(List.of("수면 장애"), search("ㅅㅁ"));
+        assertEquals(List.of("수면 장애"), search("수ㅁ"));
+    }
+
+    @Test
+    void completeWordsAndSpacesIgnored() {
+        assertEquals(List.of("수면 장애"), search("수면"));
+        assertEquals(List.of("수면 장애"), search("면장"));
+        assertEquals(List.of("만성 피로", "눈 피로"), search("피로"));
+    }
+
+    // 입력 중인 마지막 글자: "수" 는 받침이 붙을 수 있고, "숨" 은 "수" + 다음 글자 초성 ㅁ 일 수 있음
+    @Test
+    void lastSyllableMayStillBeTyped() {
+        assertEquals(List.of("수면 장애"), search("수"));
+        assertEquals(List.of("수면 장애"), search("숨"));
+        assertEquals(List.of("수면 장애"), search("수면자"));
+        assertEquals(List.of("근육 경련"), search("근유"));
+    }
+
+    // 성분 이름이 맞으면 그 성분을 추천하는 증상이 모두 나옴, 영문은 대소문자 구분 없음
+    @Test
+    void nutrientNameReturnsItsSymptoms() {
+        assertEquals(List.of("수면 장애", "근육 경련"), search("마그네슘"));
+        assertEquals(List.of("만성 피로"), search("ㅂㅌㅁ"));
+        assertEquals(List.of("만성 피로"), search("비타민b"));
+        assertEquals(List.of("만성 피로"), search("q10"));
+    }
+
+    @Test
+    void unmatchedQueryReturnsNothing() {
+        assertEquals(List.of(), search("ㅋㅋ"));
+        assertEquals(List.of(), search("수면 피로"));
+    }
+
+    @Test
+    void initialOfSyllable() {
+        assertEquals('ㅅ', HangulSearchIndex.initialOf('수'));
+        assertEquals('ㄲ', HangulSearchIndex.initialOf('꿈'));
+        assertEquals('b', HangulSearchIndex.initialOf('B'));
+    }
+
+    // 증분 검색(Session)은 이어 치기/지우기 어느 순서로 입력해도 매번 새로 검색한 것과 같아야 함
+    // 항목이 64개를 넘어 비트셋이 여러 long 에 걸치는 색인으로 확인
+    @Test
+    void sessionMatchesFreshSearch() {
+        Random random = new Random(7);
+        Map<String, List<String>> mapping = new LinkedHashMap<>();
+        String syllables = "가나다라마바사아자차카타파하수면장애피로눈근육";
+        for (int s = 0; s < 150; s++) {
+            StringBuilder name = new StringBuilder();
+            int length = 2 + random.nextInt(4);
+            for (int i = 0; i < length; i++) name.append(syllables.charAt(random.nextInt(syllables.length())));
+            mapping.putIfAbsent(name + " " + s, List.of("성분" + random.nextInt(40)));
+        }
+        SymptomKnowledgeBase big = SymptomKnowledgeBase.compile(1, mapping, explain(mapping), Map.of());
+        HangulSearchIndex bigIndex = HangulSearchIndex.build(big);
+
+        for (int round = 0; round < 200; round++) {
+            String target = big.symptomName(random.nextInt(big.symptomCount())).replace(" ", "");
+            HangulSearchIndex.Session session = bigIndex.newSession();
+            for (String query : typing(target, random)) {
+                assertArrayEquals(bigIndex.search(query), session.update(query), "query=" + query);
+            }
+        }
+
+        // 64번째 이후 증상도 찾음
+        String last = big.symptomName(big.symptomCount() - 1);
+        assertTrue(names(big, bigIndex.search(last)).contains(last));
+    }
+
+    // target 을 치는 동안의 입력창 내용: 글자마다 초성 -> 받침 없는 글자 -> 완성 글자, 가끔 한 글자 지움
+    private static List<String> typing(String target, Random random) {
+        List<String> queries = new ArrayList<>();
+        StringBuilder typed = new StringBuilder();
+        for (int i = 0; i < target.length(); i++) {
+            char ch = target.charAt(i);
+            if (ch >= '가' && ch <= '힣') {
+                queries.add(typed.toString() + HangulSearchIndex.initialOf(ch));
+                queries.add(typed.toString() + (char) (ch - (ch - '가') % 28));
+            }
+            typed.append(ch);
+            queries.add(typed.toString());
+            if (random.nextInt(5) == 0 && typed.length() > 1) {
+                queries.add(typed.substring(0, typed.length() - 1));
+            }
+        }
+        return queries;
+    }
+}
@@ -0,0 +1,175 @@
+package com.nutrient_reminder.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecurrenceRuleTest {
+
+    // 2025-01-06 (월요일)
+    private static final int MONDAY = (int) LocalDate.of(2025, 1, 6).toEpochDay();
+
+    private static long minute(int epochDay, int hour, int minute) {
+        return (long) epochDay * RecurrenceRule.MINUTES_PER_DAY + hour * 60 + minute;
+    }
+
+    @Test
+    void dailyReturnsSameMinuteThenNextTime() {
+        RecurrenceRule rule = RecurrenceRule.daily(9 * 60, 21 * 60);
+
+        assertEquals(minute(MONDAY, 9, 0), rule.nextOccurrence(minute(MONDAY, 9, 0)));
+        assertEquals(minute(MONDAY, 21, 0), rule.nextOccurrence(minute(MONDAY, 9, 1)));
+        assertEquals(minute(MONDAY + 1, 9, 0), rule.nextOccurrence(minute(MONDAY, 21, 1)));
+    }
+
+    @Test
+    void weeklySkipsToNextSelectedDay() {
+        // 월, 수, 금
+        RecurrenceRule rule = RecurrenceRule.weekly(0b0010101, 8 * 60);
+
+        assertEquals(minute(MONDAY + 2, 8, 0), rule.nextOccurrence(minute(MONDAY, 8, 1)));
+        assertEquals(minute(MONDAY + 4, 8, 0), rule.nextOccurrence(minute(MONDAY + 2, 9, 0)));
+        // 금요일 이후 → 다음 주 월요일
+        assertEquals(minute(MONDAY + 7, 8, 0), rule.nextOccurrence(minute(MONDAY + 4, 8, 1)));
+    }
+
+    @Test
+    void everyNDaysCountsFromStartDay() {
+        RecurrenceRule rule = RecurrenceRule.everyNDays(2, MONDAY, 7 * 60);
+
+        assertEquals(minute(MONDAY, 7, 0), rule.nextOccurrence(minute(MONDAY - 10, 0, 0)));
+        assertEquals(minute(MONDAY + 2, 7, 0), rule.nextOccurrence(minute(MONDAY, 7, 1)));
+        assertFalse(rule.occursOn(MONDAY + 1));
+        assertTrue(rule.occursOn(MONDAY + 4));
+    }
+
+    @Test
+    void everyNMinutesCrossesMidnight() {
+        RecurrenceRule rule = RecurrenceRule.everyNMinutes(8 * 60, MONDAY, 6 * 60);
+
+        assertEquals(minute(MONDAY, 22, 0), rule.nextOccurrence(minute(MONDAY, 14, 1)));
+        assertEquals(minute(MONDAY + 1, 6, 0), rule.nextOccurrence(minute(MONDAY, 22, 1)));
+        assertTrue(rule.isMultiplePerDay());
+    }
+
+    @Test
+    void noOccurrenceAfterEndDay() {
+        RecurrenceRule rule = RecurrenceRule.daily(9 * 60).startingOn(MONDAY).forDays(3);
+
+        assertEquals(minute(MONDAY + 2, 9, 0), rule.nextOccurrence(minute(MONDAY + 1, 9, 1)));
+        assertEquals(RecurrenceRule.NONE, rule.nextOccurrence(minute(MONDAY + 2, 9, 1)));
+        assertFalse(rule.occursOn(MONDAY + 3));
+    }
+
+    @Test
+    void legacyDaysAndTimeConvert() {
+        RecurrenceRule rule = RecurrenceRule.fromLegacy(List.of("화", "토"), "오후 09 : 05");
+
+        assertEquals(RecurrenceRule.Type.WEEKLY, rule.getType());
+        assertEquals(21 * 60 + 5, rule.getFirstTime());
+        assertEquals(List.of("화", "토"), rule.toLegacyDays());
+        // 요일이 없으면 매일
+        assertEquals(RecurrenceRule.ALL_DAYS, RecurrenceRule.fromLegacy(List.of(), "오전 09 : 00").getDayMask());
+    }
+
+    @Test
+    void internSharesEqualRules() {
+        RecurrenceRule a = RecurrenceRule.intern(RecurrenceRule.daily(9 * 60 + 17));
+        RecurrenceRule b = RecurrenceRule.intern(RecurrenceRule.daily(9 * 60 + 17));
+
+        assertSame(a, b);
+    }
+
+    // 더 이상 쓰지 않는 규칙은 풀에서 빠짐 (편집/동기화로 규칙이 계속 생겨도 풀이 커지지 않음)
+    @Test
+    void internPoolReleasesUnusedRules() throws InterruptedException {
+        int before = RecurrenceRule.pooledCount();
+        for (int i = 0; i < 10_000; i++) {
+            RecurrenceRule.intern(RecurrenceRule.everyNDays(1 + i, MONDAY, 8 * 60));
+        }
+        for (int attempt = 0; attempt < 50 && RecurrenceRule.pooledCount() > before + 1000; attempt++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertTrue(RecurrenceRule.pooledCount() <= before + 1000, "pool size " + RecurrenceRule.pooledCount());
+    }
+
+    @Test
+    void timeStringRoundTrips() {
+        for (int m = 0; m < RecurrenceRule.MINUTES_PER_DAY; m += 7) {
+            assertEquals(m, RecurrenceRule.parseTime(RecurrenceRule.formatTime(m)));
+        }
+    }
+
+    @Test
+    void rejectsInvalidRules() {
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.weekly(0, 60));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.everyNDays(0, MONDAY, 60));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.daily(RecurrenceRule.MINUTES_PER_DAY));
+    }
+
+    // 무작위 규칙에 대해 분 단위로 하나씩 찾는 단순 구현과 결과가 같은지
+    @Test
+    void matchesBruteForceScan() {
+        Random random = new Random(42);
+        for (int i = 0; i < 300; i++) {
+            RecurrenceRule rule = randomRule(random);
+            long from = minute(MONDAY, 0, 0) + random.nextInt(14 * RecurrenceRule.MINUTES_PER_DAY);
+            assertEquals(bruteForceNext(rule, from), rule.nextOccurrence(from), rule.describe() + " from " + from);
+        }
+    }
+
+    private static RecurrenceRule randomRule(Random random) {
+        int[] times = new int[1 + random.nextInt(3)];
+        for (int i = 0; i < times.length; i++) times[i] = random.nextInt(RecurrenceRule.MINUTES_PER_DAY);
+        RecurrenceRule rule;
+        switch (random.nextInt(3)) {
+            case 0: rule = RecurrenceRule.weekly(1 + random.nextInt(RecurrenceRule.ALL_DAYS), times); break;
+            case 1: rule = RecurrenceRule.everyNDays(1 + random.nextInt(5), MONDAY + random.nextInt(7), times); break;
+            default: rule = RecurrenceRule.everyNMinutes(30 + random.nextInt(24 * 60), MONDAY + random.nextInt(7), times[0]);
+        }
+        return random.nextBoolean() ? rule : rule.startingOn(MONDAY + random.nextInt(7)).forDays(1 + random.nextInt(14));
+    }
+
+    // 분마다 발생 여부를 직접 판정 (30일 안에 없으면 NONE)
+    private static long bruteForceNext(RecurrenceRule rule, long from) {
+        for (long m = from; m < from + 30L * RecurrenceRule.MINUTES_PER_DAY; m++) {
+            if (occursAt(rule, m)) return m;
+        }
+        return RecurrenceRule.NONE;
+    }
+
+    private static boolean occursAt(RecurrenceRule rule, long minute) {
+        long day = Math.floorDiv(minute, RecurrenceRule.MINUTES_PER_DAY);
+        if (day < rule.getStartDay() || day > rule.getEndDay()) return false;
+        int minuteOfDay = (int) (minute - day * RecurrenceRule.MINUTES_PER_DAY);
+        switch (rule.getType()) {
+            case WEEKLY: {
+                LocalDateTime dateTime = LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+                int bit = RecurrenceRule.dayBit(dateTime.getDayOfWeek());
+                return (rule.getDayMask() & bit) != 0 && contains(rule.getTimes(), minuteOfDay);
+            }
+            case DAY_INTERVAL:
+                return Math.floorMod(day - rule.getStartDay(), rule.getInterval()) == 0 && contains(rule.getTimes(), minuteOfDay);
+            default: {
+                long anchor = (long) rule.getStartDay() * RecurrenceRule.MINUTES_PER_DAY + rule.getFirstTime();
+                return minute >= anchor && (minute - anchor) % rule.getInterval() == 0;
+            }
+        }
+    }
+
+    private static boolean contains(int[] times, int minuteOfDay) {
+        for (int t : times) if (t == minuteOfDay) return true;
+        return false;
+    }
+}
@@ -0,0 +1,105 @@
+package com.nutrient_reminder.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScheduleSolverTest {
+
+    // 성분 이름 -> 참고 사항 (복용 시간 권장은 참고 사항 문구에서 뽑힘)
+    private static SymptomKnowledgeBase kb(Map<String, String> notes, List<String[]> interactions) {
+        Map<String, String[]> explain = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : notes.entrySet()) {
+            explain.put(entry.getKey(), new String[]{entry.getKey() + " 제품", entry.getValue()});
+        }
+        return SymptomKnowledgeBase.compile(1, Map.of("피로", List.copyOf(notes.keySet())), explain, Map.of(), interactions);
+    }
+
+    private static int[] allNutrients(SymptomKnowledgeBase kb) {
+        int[] ids = new int[kb.nutrientCount()];
+        for (int i = 0; i < ids.length; i++) ids[i] = i;
+        return ids;
+    }
+
+    private static int minuteOf(ScheduleSolver.Schedule schedule, String nutrient) {
+        for (ScheduleSolver.Entry entry : schedule.getEntries()) {
+            if (entry.getNutrient().equals(nutrient)) return entry.getMinuteOfDay();
+        }
+        throw new AssertionError(nutrient + " 이 스케줄에 없음");
+    }
+
+    // 자정을 사이에 둔 간격도 짧은 쪽으로 계산
+    private static int gap(int a, int b) {
+        int gap = Math.abs(a - b);
+        return Math.min(gap, RecurrenceRule.MINUTES_PER_DAY - gap);
+    }
+
+    private static Map<String, String> notes(String... nameAndNote) {
+        Map<String, String> notes = new LinkedHashMap<>();
+        for (int i = 0; i < nameAndNote.length; i += 2) notes.put(nameAndNote[i], nameAndNote[i + 1]);
+        return notes;
+    }
+
+    @Test
+    void separatePairIsPlacedFartherThanSeparateMinutes() {
+        SymptomKnowledgeBase kb = kb(notes("칼슘", "식후 복용", "아연", "식후 복용", "마그네슘", "식후 복용"),
+                List.<String[]>of(new String[]{"칼슘", "아연", "SEPARATE", "흡수 경쟁"}));
+
+        ScheduleSolver.Schedule schedule = ScheduleSolver.solve(kb, allNutrients(kb), MealPlan.defaults());
+
+        assertFalse(schedule.isRelaxed());
+        assertTrue(gap(minuteOf(schedule, "칼슘"), minuteOf(schedule, "아연")) > NutrientInteractions.SEPARATE_MINUTES);
+    }
+
+    // 권장 시간이 겹치는 성분은 한 시각으로 모으고, SEPARATE 쌍이 있을 때만 두 시각
+    @Test
+    void usesFewestDistinctTimes() {
+        SymptomKnowledgeBase together = kb(notes("비타민 C", "식후 복용", "비타민 B", "식사 직후 복용", "오메가3", "식사 중 복용"),
+                List.of());
+        SymptomKnowledgeBase separated = kb(notes("칼슘", "식후 복용", "아연", "식후 복용", "마그네슘", "식후 복용"),
+                List.<String[]>of(new String[]{"칼슘", "아연", "SEPARATE", "흡수 경쟁"}));
+
+        ScheduleSolver.Schedule one = ScheduleSolver.solve(together, allNutrients(together), MealPlan.defaults());
+        ScheduleSolver.Schedule two = ScheduleSolver.solve(separated, allNutrients(separated), MealPlan.defaults());
+
+        assertEquals(1, one.getDistinctTimes());
+        assertEquals(2, two.getDistinctTimes());
+    }
+
+    // 아침 슬롯(07:00, 08:00)만으로는 세 성분을 서로 떼어 놓을 수 없어서 권장을 넘어선 슬롯을 쓰고 relaxed 로 표시
+    @Test
+    void fallsBackToAnySlotWhenRecommendedSlotsCannotSeparate() {
+        SymptomKnowledgeBase kb = kb(notes("철분", "아침 복용", "칼슘", "아침 복용", "아연", "아침 복용"),
+                List.of(new String[]{"철분", "칼슘", "SEPARATE", ""}, new String[]{"칼슘", "아연", "SEPARATE", ""},
+                        new String[]{"철분", "아연", "SEPARATE", ""}));
+
+        ScheduleSolver.Schedule schedule = ScheduleSolver.solve(kb, allNutrients(kb), MealPlan.defaults());
+
+        assertTrue(schedule.isRelaxed());
+        assertEquals(3, schedule.getDistinctTimes());
+        assertTrue(gap(minuteOf(schedule, "철분"), minuteOf(schedule, "칼슘")) > NutrientInteractions.SEPARATE_MINUTES);
+        assertTrue(gap(minuteOf(schedule, "칼슘"), minuteOf(schedule, "아연")) > NutrientInteractions.SEPARATE_MINUTES);
+        assertTrue(gap(minuteOf(schedule, "철분"), minuteOf(schedule, "아연")) > NutrientInteractions.SEPARATE_MINUTES);
+    }
+
+    // 저녁 23:40, 취침 23:50 이면 저녁 식사 후/취침 전 슬롯은 다음 날 00:10 (하루 안의 분으로 되돌려서 규칙을 만들 수 있음)
+    @Test
+    void lateEveningSlotsWrapPastMidnight() {
+        SymptomKnowledgeBase kb = kb(notes("마그네슘", "저녁 복용", "비타민 C", "식후 복용"), List.of());
+        MealPlan plan = new MealPlan(10 * 60, 10 * 60 + 30, 16 * 60, 23 * 60 + 40, 23 * 60 + 50);
+
+        ScheduleSolver.Schedule schedule = ScheduleSolver.solve(kb, allNutrients(kb), plan);
+
+        assertEquals(10, minuteOf(schedule, "마그네슘"));
+        for (ScheduleSolver.Entry entry : schedule.getEntries()) {
+            assertTrue(entry.getMinuteOfDay() >= 0 && entry.getMinuteOfDay() < RecurrenceRule.MINUTES_PER_DAY);
+            assertEquals(entry.getMinuteOfDay(), entry.toRule().getTimes()[0]);
+        }
+    }
+}
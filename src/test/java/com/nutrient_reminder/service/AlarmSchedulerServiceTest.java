@@ -0,0 +1,269 @@
+package com.nutrient_reminder.service;
+
+import com.nutrient_reminder.json.JsonCodecs;
+import com.nutrient_reminder.model.AlarmStatus;
+import com.nutrient_reminder.model.Nutrient;
+import com.nutrient_reminder.model.RecurrenceRule;
+import com.nutrient_reminder.simulation.ManualTicker;
+import com.nutrient_reminder.simulation.VirtualClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlarmSchedulerServiceTest {
+
+    private static final String USER = "scheduler_test_user";
+    private static final String OTHER = "scheduler_test_other";
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private VirtualClock clock;
+    private ManualTicker ticker;
+    private final List<String> fired = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // 월요일 09:00:30 (프로그램을 켠 분 = 09:00)
+        clock = new VirtualClock(LocalDateTime.of(2025, 1, 6, 9, 0, 30).atZone(ZONE).toInstant(), ZONE);
+        ticker = new ManualTicker();
+        UserSession.signIn(USER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        UserSession.signOut(USER);
+        UserSession.signOut(OTHER);
+    }
+
+    private AlarmSchedulerService newService(String alarmFile) {
+        AlarmSchedulerService service = new AlarmSchedulerService(clock, ticker, Runnable::run, alarmFile);
+        service.setAlarmNotifier(alarm -> fired.add(alarm.getId()));
+        return service;
+    }
+
+    @Test
+    void alarmDueInStartupMinuteFiresOnFirstTick() {
+        AlarmSchedulerService service = newService(null);
+        service.registerAlarm(USER, "비타민", "오전 09 : 00", List.of(), "a1");
+
+        ticker.tick();
+
+        assertEquals(List.of("a1"), fired);
+        service.shutdown();
+    }
+
+    // 이 기기에서 삭제한 알람은 변경 리스너(동기화)에 삭제로 전달되고 사용자 파일에서도 빠짐
+    @Test
+    void removedAlarmIsReportedAndSaved(@TempDir Path dir) {
+        String file = dir.resolve("alarms.json").toString();
+        AlarmSchedulerService service = newService(file);
+        List<String> removed = new ArrayList<>();
+        service.setAlarmChangeListener(new AlarmSchedulerService.AlarmChangeListener() {
+            @Override public void onAlarmChanged(Nutrient alarm) {}
+            @Override public void onAlarmRemoved(Nutrient alarm) { removed.add(alarm.getId()); }
+        });
+        service.registerAlarm(USER, "비타민", "오전 09 : 00", List.of(), "a1");
+        service.registerAlarm(USER, "오메가3", "오전 10 : 00", List.of(), "a2");
+
+        assertTrue(service.removeAlarm("a1"));
+        assertFalse(service.removeAlarm("a1"));
+        service.shutdown();
+
+        assertEquals(List.of("a1"), removed);
+        AlarmSchedulerService reopened = newService(file);
+        reopened.whenLoaded().join();
+        assertEquals(List.of("a2"), ids(reopened.getAlarmsForUser(USER)));
+        reopened.shutdown();
+    }
+
+    // 지표는 인스턴스마다 따로 쌓이고, 직접 만든 인스턴스는 전역 레지스트리에 올리지 않음
+    @Test
+    void metricsAreKeptPerInstance() {
+        ManualTicker otherTicker = new ManualTicker();
+        AlarmSchedulerService first = newService(null);
+        AlarmSchedulerService second = new AlarmSchedulerService(clock, otherTicker, Runnable::run, null);
+        first.registerAlarm(USER, "비타민", "오전 09 : 00", List.of(), "a1");
+        second.registerAlarm(USER, "비타민", "오전 09 : 00", List.of(), "a2");
+
+        ticker.tick();
+
+        assertTrue(first.getMetrics().toText().contains("alarm_fired_total 1\n"));
+        assertTrue(second.getMetrics().toText().contains("alarm_fired_total 0\n"));
+        assertFalse(MetricsRegistry.getInstance().toText().contains("alarm_fired_total"));
+        first.shutdown();
+        second.shutdown();
+    }
+
+    // 시작 시 파일에서 읽는 알람도 로딩이 끝난 뒤 첫 tick 에서 지금 분을 평가함
+    @Test
+    void alarmLoadedFromFileFiresInStartupMinute(@TempDir Path dir) {
+        String file = dir.resolve("alarms.json").toString();
+        AlarmSchedulerService writer = newService(file);
+        writer.registerAlarm(USER, "비타민", "오전 09 : 00", List.of(), "a1");
+        writer.shutdown();
+
+        AlarmSchedulerService service = newService(file);
+        service.whenLoaded().join();
+        ticker.tick();
+
+        assertEquals(List.of("a1"), fired);
+        service.shutdown();
+    }
+
+    // 시작할 때는 로그인해 있는 프로필의 파일만 읽고, 다른 프로필은 로그인할 때 읽어서 리스너에 넘김
+    @Test
+    void otherProfilesAreLoadedOnSignIn(@TempDir Path dir) {
+        String file = dir.resolve("alarms.json").toString();
+        AlarmSchedulerService writer = newService(file);
+        writer.registerAlarm(USER, "비타민", "오전 09 : 00", List.of(), "a1");
+        writer.registerAlarm(OTHER, "오메가3", "오전 10 : 00", List.of(), "b1");
+        writer.shutdown();
+
+        AlarmSchedulerService service = newService(file);
+        List<String> loaded = new ArrayList<>();
+        service.addListener(new AlarmSchedulerService.AlarmStatusListener() {
+            @Override public void onAlarmStatusChanged(String alarmId, AlarmStatus newStatus) {}
+            @Override public void onDateChanged() {}
+            @Override public void onAlarmsLoaded(String userId, List<Nutrient> alarms) {
+                for (Nutrient alarm : alarms) loaded.add(userId + ":" + alarm.getId());
+            }
+        });
+        service.whenLoaded().join();
+        assertEquals(List.of("a1"), ids(service.getScheduledAlarms()));
+
+        UserSession.signIn(OTHER);
+        service.whenLoaded(OTHER).join();
+
+        assertEquals(List.of("b1"), ids(service.getAlarmsForUser(OTHER)));
+        assertTrue(loaded.contains(OTHER + ":b1"));
+        service.shutdown();
+    }
+
+    // 예전 형식(모든 사용자의 알람이 파일 하나에)은 처음 시작할 때 사용자별 파일로 나눔
+    @Test
+    void legacyFileIsSplitPerUser(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("alarms.json");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            JsonCodecs.writeList(JsonCodecs.NUTRIENT, List.of(
+                    new Nutrient("b1", OTHER, "오메가3", RecurrenceRule.daily(600), AlarmStatus.ACTIVE),
+                    new Nutrient("a1", USER, "비타민", RecurrenceRule.daily(540), AlarmStatus.ACTIVE)), writer);
+        }
+
+        AlarmSchedulerService service = newService(file.toString());
+        service.whenLoaded().join();
+
+        assertEquals(List.of("a1"), ids(service.getAlarmsForUser(USER)));
+        assertFalse(Files.exists(file));
+        assertTrue(Files.exists(dir.resolve("alarms").resolve(OTHER + ".json")));
+        assertEquals(List.of("b1"), ids(service.whenLoaded(OTHER).thenApply(v -> service.getAlarmsForUser(OTHER)).join()));
+        service.shutdown();
+    }
+
+    // 복용 완료는 그 사용자의 파일에만 저장되고 다시 시작해도 남아 있음
+    @Test
+    void completedStatusIsSavedToUserFile(@TempDir Path dir) {
+        String file = dir.resolve("alarms.json").toString();
+        AlarmSchedulerService writer = newService(file);
+        writer.registerAlarm(USER, "비타민", "오전 09 : 00", List.of(), "a1");
+        writer.updateAlarmStatus("a1", AlarmStatus.COMPLETED);
+        writer.shutdown();
+
+        AlarmSchedulerService service = newService(file);
+        service.whenLoaded().join();
+
+        assertEquals(AlarmStatus.COMPLETED, service.getAlarmsForUser(USER).get(0).getStatus());
+        assertTrue(Files.exists(dir.resolve("alarms").resolve(USER + ".json")));
+        assertFalse(Files.exists(Path.of(file)));
+        service.shutdown();
+    }
+
+    // 형식이 맞지 않는 알람 하나 때문에 뒤의 알람을 잃지 않고, 다시 저장하기 전에 원래 파일을 백업함
+    @Test
+    void malformedRecordIsSkippedAndFileBackedUp(@TempDir Path dir) throws IOException {
+        Path userDir = Files.createDirectories(dir.resolve("alarms"));
+        Files.writeString(userDir.resolve(USER + ".json"), "["
+                + json(new Nutrient("a1", USER, "비타민", RecurrenceRule.daily(540), AlarmStatus.ACTIVE)) + ","
+                + "{\"id\":\"a2\",\"userId\":\"" + USER + "\",\"name\":\"오메가3\","
+                + "\"recurrence\":{\"type\":\"SOMETIMES\",\"times\":[600]},\"status\":\"ACTIVE\"},"
+                + json(new Nutrient("a3", USER, "아연", RecurrenceRule.daily(660), AlarmStatus.ACTIVE)) + "]",
+                StandardCharsets.UTF_8);
+
+        AlarmSchedulerService service = newService(dir.resolve("alarms.json").toString());
+        service.whenLoaded().join();
+        service.registerAlarm(USER, "마그네슘", "오후 09 : 00", List.of(), "a4");
+        service.shutdown();
+
+        assertEquals(List.of("a1", "a3", "a4"), ids(service.getAlarmsForUser(USER)));
+        List<Path> backups = new ArrayList<>();
+        try (Stream<Path> files = Files.list(userDir)) {
+            files.filter(file -> file.getFileName().toString().endsWith(".bak")).forEach(backups::add);
+        }
+        assertEquals(1, backups.size());
+        assertTrue(Files.readString(backups.get(0), StandardCharsets.UTF_8).contains("SOMETIMES"));
+
+        AlarmSchedulerService reopened = newService(dir.resolve("alarms.json").toString());
+        reopened.whenLoaded().join();
+        assertEquals(List.of("a1", "a3", "a4"), ids(reopened.getAlarmsForUser(USER)));
+        reopened.shutdown();
+    }
+
+    // 예전 형식 파일의 중간 알람이 깨져 있어도 나머지는 나누고, 원래 파일은 .unreadable 로 남김
+    @Test
+    void legacyFileWithMalformedRecordIsStillSplit(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("alarms.json");
+        Files.writeString(file, "["
+                + json(new Nutrient("b1", OTHER, "오메가3", RecurrenceRule.daily(600), AlarmStatus.ACTIVE)) + ","
+                + "{\"id\":\"x1\",\"userId\":\"" + USER + "\",\"days\":\"월\"},"
+                + json(new Nutrient("a1", USER, "비타민", RecurrenceRule.daily(540), AlarmStatus.ACTIVE)) + "]",
+                StandardCharsets.UTF_8);
+
+        AlarmSchedulerService service = newService(file.toString());
+        service.whenLoaded().join();
+
+        assertEquals(List.of("a1"), ids(service.getAlarmsForUser(USER)));
+        assertFalse(Files.exists(file));
+        assertTrue(Files.exists(dir.resolve("alarms.json.unreadable")));
+        assertEquals(List.of("b1"), ids(service.whenLoaded(OTHER).thenApply(v -> service.getAlarmsForUser(OTHER)).join()));
+        service.shutdown();
+    }
+
+    private static String json(Nutrient alarm) throws IOException {
+        return new String(JsonCodecs.toBytes(JsonCodecs.NUTRIENT, alarm), StandardCharsets.UTF_8);
+    }
+
+    private static List<String> ids(List<Nutrient> alarms) {
+        List<String> ids = new ArrayList<>();
+        for (Nutrient alarm : alarms) ids.add(alarm.getId());
+        return ids;
+    }
+
+    @Test
+    void alarmFiresOnlyOncePerMinute() {
+        AlarmSchedulerService service = newService(null);
+        Nutrient alarm = service.registerAlarm(USER, "비타민", "오전 09 : 01", List.of(), "a1");
+
+        for (int i = 0; i < 120; i++) {
+            clock.advance(Duration.ofSeconds(1));
+            ticker.tick();
+        }
+
+        assertEquals(List.of(alarm.getId()), fired);
+        service.shutdown();
+    }
+}
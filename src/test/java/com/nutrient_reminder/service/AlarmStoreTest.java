@@ -0,0 +1,153 @@
+package com.nutrient_reminder.service;
+
+import com.nutrient_reminder.model.AlarmStatus;
+import com.nutrient_reminder.model.Nutrient;
+import com.nutrient_reminder.model.RecurrenceRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlarmStoreTest {
+
+    private static final String USER = "store_test_user";
+    private static final String OTHER = "store_test_other";
+
+    private static Nutrient alarm(String id, String userId, String name) {
+        return new Nutrient(id, userId, name, RecurrenceRule.daily(540), AlarmStatus.ACTIVE);
+    }
+
+    private static AlarmStore.Upload upload(long baseVersion, AlarmStore.Change... changes) {
+        return new AlarmStore.Upload(baseVersion, List.of(changes));
+    }
+
+    private static AlarmStore.Change delete(String alarmId) {
+        return new AlarmStore.Change(0, alarmId, null);
+    }
+
+    private static List<String> ids(AlarmStore.Delta delta) {
+        List<String> ids = new ArrayList<>();
+        for (AlarmStore.Change change : delta.changes) ids.add(change.alarmId + (change.isDelete() ? "-" : ""));
+        return ids;
+    }
+
+    // 같은 알람이 여러 번 바뀌었으면 마지막 변경만, 마지막 변경 순서로
+    @Test
+    void changesSinceKeepsLatestChangePerAlarm() throws IOException {
+        AlarmStore store = new AlarmStore(null);
+        store.apply(USER, upload(0, AlarmStore.Change.put(alarm("a1", USER, "비타민"))));
+        store.apply(USER, upload(1, AlarmStore.Change.put(alarm("a2", USER, "오메가3"))));
+        store.apply(USER, upload(2, AlarmStore.Change.put(alarm("a1", USER, "비타민 C"))));
+        store.apply(USER, upload(3, delete("a2")));
+
+        AlarmStore.Delta delta = store.changesSince(USER, 1);
+
+        assertEquals(4, delta.version);
+        assertFalse(delta.full);
+        assertEquals(List.of("a1", "a2-"), ids(delta));
+        assertEquals("비타민 C", delta.changes.get(0).alarm.getName());
+        assertEquals(List.of(), store.changesSince(USER, 4).changes);
+    }
+
+    // 처음(0)이나 기억하는 범위보다 앞선 버전이면 살아 있는 알람 전체
+    @Test
+    void unknownBaseVersionGetsFullList() throws IOException {
+        AlarmStore store = new AlarmStore(null);
+        store.apply(USER, upload(0, AlarmStore.Change.put(alarm("a1", USER, "비타민")),
+                AlarmStore.Change.put(alarm("a2", USER, "오메가3"))));
+        store.apply(USER, upload(2, delete("a1")));
+
+        AlarmStore.Delta fromStart = store.changesSince(USER, 0);
+        AlarmStore.Delta fromFuture = store.changesSince(USER, 99);
+
+        assertTrue(fromStart.full);
+        assertEquals(List.of("a2"), ids(fromStart));
+        assertTrue(fromFuture.full);
+        assertEquals(3, fromFuture.version);
+    }
+
+    // 업로드 응답에는 그사이 다른 기기의 변경만 오고, 올린 기기 자신의 변경은 빠짐
+    @Test
+    void uploadResponseOmitsUploadersOwnChanges() throws IOException {
+        AlarmStore store = new AlarmStore(null);
+        store.apply(USER, upload(0, AlarmStore.Change.put(alarm("a1", USER, "비타민"))));
+        // 다른 기기가 버전 1 에서 b1 을 올림
+        store.apply(USER, upload(1, AlarmStore.Change.put(alarm("b1", USER, "마그네슘"))));
+
+        // 이 기기는 아직 버전 1 이라 b1 을 모르는 채로 a2 를 올림
+        AlarmStore.Delta response = store.apply(USER, upload(1, AlarmStore.Change.put(alarm("a2", USER, "오메가3"))));
+
+        assertEquals(3, response.version);
+        assertEquals(List.of("b1"), ids(response));
+
+        // 다른 기기가 바꾼 알람을 이 기기가 다시 바꿨으면 이 기기 쪽이 최신이라 보내지 않음
+        AlarmStore.Delta overwrite = store.apply(USER, upload(1, AlarmStore.Change.put(alarm("b1", USER, "마그네슘 B"))));
+        assertEquals(List.of("a2"), ids(overwrite));
+    }
+
+    @Test
+    void rejectsOtherUsersAlarm() throws IOException {
+        AlarmStore store = new AlarmStore(null);
+        store.apply(USER, upload(0, AlarmStore.Change.put(alarm("a1", USER, "비타민"))));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> store.apply(USER, upload(1, AlarmStore.Change.put(alarm("b1", OTHER, "오메가3")))));
+        assertEquals(1, store.version(USER));
+    }
+
+    // 저널에서 다시 읽어도 알람과 버전이 그대로이고, 이어서 올린 변경은 변경분으로 받을 수 있음
+    @Test
+    void journalIsReplayedOnRestart(@TempDir Path dir) throws IOException {
+        Path journal = dir.resolve("alarms-journal.jsonl");
+        AlarmStore writer = new AlarmStore(journal);
+        writer.apply(USER, upload(0, AlarmStore.Change.put(alarm("a1", USER, "비타민")),
+                AlarmStore.Change.put(alarm("a2", USER, "오메가3"))));
+        writer.apply(USER, upload(2, delete("a1")));
+        writer.apply(OTHER, upload(0, AlarmStore.Change.put(alarm("b1", OTHER, "마그네슘"))));
+
+        AlarmStore store = new AlarmStore(journal);
+
+        assertEquals(3, store.version(USER));
+        assertEquals(1, store.version(OTHER));
+        assertEquals(List.of("a2"), ids(store.changesSince(USER, 0)));
+        assertEquals(List.of("a1-"), ids(store.changesSince(USER, 2)));
+    }
+
+    // 저널을 정리하면 삭제 기록은 빠지지만 버전은 뒤로 가지 않음 (삭제로 끝난 사용자도)
+    @Test
+    void compactionKeepsVersionAfterDeletes(@TempDir Path dir) throws IOException {
+        Path journal = dir.resolve("alarms-journal.jsonl");
+        AlarmStore writer = new AlarmStore(journal);
+        List<AlarmStore.Change> changes = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) changes.add(AlarmStore.Change.put(alarm("a1", USER, "비타민 " + i)));
+        writer.apply(USER, new AlarmStore.Upload(0, changes));
+        writer.apply(USER, upload(1500, delete("a1")));
+        writer.apply(OTHER, upload(0, AlarmStore.Change.put(alarm("b1", OTHER, "마그네슘")), delete("b1")));
+
+        // 저널이 살아 있는 알람보다 훨씬 커서 시작할 때 정리함 (메모리에는 읽은 기록이 그대로 있음)
+        AlarmStore compacted = new AlarmStore(journal);
+        assertEquals(1501, compacted.version(USER));
+        assertEquals(2, compacted.version(OTHER));
+        assertEquals(List.of("a1-"), ids(compacted.changesSince(USER, 1400)));
+        compacted.apply(USER, upload(1501, AlarmStore.Change.put(alarm("a3", USER, "아연"))));
+
+        // 정리한 저널을 다시 읽어도 버전이 이어짐
+        AlarmStore reopened = new AlarmStore(journal);
+        assertEquals(1502, reopened.version(USER));
+        assertEquals(2, reopened.version(OTHER));
+        assertEquals(List.of("a3"), ids(reopened.changesSince(USER, 1501)));
+        // 정리 전 버전에서 이어 받으려 하면 삭제 기록이 없으므로 full (클라이언트가 지운 알람을 정리함)
+        AlarmStore.Delta delta = reopened.changesSince(USER, 1400);
+        assertTrue(delta.full);
+        assertEquals(List.of("a3"), ids(delta));
+        assertTrue(reopened.changesSince(OTHER, 1).full);
+    }
+}
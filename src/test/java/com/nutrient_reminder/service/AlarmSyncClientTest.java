@@ -0,0 +1,96 @@
+package com.nutrient_reminder.service;
+
+import com.nutrient_reminder.model.AlarmStatus;
+import com.nutrient_reminder.model.Nutrient;
+import com.nutrient_reminder.model.RecurrenceRule;
+import com.nutrient_reminder.simulation.ManualTicker;
+import com.nutrient_reminder.simulation.VirtualClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlarmSyncClientTest {
+
+    private static final String USER = "sync_test_user";
+
+    private AlarmSchedulerService device;
+
+    @BeforeEach
+    void setUp() {
+        device = new AlarmSchedulerService(new VirtualClock(Instant.parse("2025-01-06T00:00:00Z"), ZoneId.of("Asia/Seoul")),
+                new ManualTicker(), Runnable::run, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        device.shutdown();
+    }
+
+    private static Nutrient alarm(String id, String name) {
+        return new Nutrient(id, USER, name, RecurrenceRule.daily(540), AlarmStatus.ACTIVE);
+    }
+
+    private static List<String> ids(List<Nutrient> alarms) {
+        List<String> ids = new ArrayList<>();
+        for (Nutrient alarm : alarms) ids.add(alarm.getId());
+        return ids;
+    }
+
+    // 다른 기기에서 지운 알람의 삭제 기록이 저널 정리로 사라진 뒤 오래 떨어져 있던 기기가 전체 목록을 받으면
+    // 그 알람을 다시 올리지 않고 이 기기에서도 지움
+    @Test
+    void staleClientDropsAlarmDeletedBeforeCompaction(@TempDir Path dir) throws IOException {
+        Path journal = dir.resolve("alarms-journal.jsonl");
+        AlarmStore writer = new AlarmStore(journal);
+        writer.apply(USER, new AlarmStore.Upload(0, List.of(AlarmStore.Change.put(alarm("a1", "비타민")),
+                AlarmStore.Change.put(alarm("a2", "오메가3")))));
+        // 이 기기는 버전 2 까지 받은 뒤 떨어져 있음
+        AlarmSyncClient.merge(device, USER, writer.changesSince(USER, 0), Set.of(), true);
+
+        // 다른 기기가 a1 을 지우고 a2 를 여러 번 고쳐서 저널이 정리될 만큼 커짐
+        writer.apply(USER, new AlarmStore.Upload(2, List.of(new AlarmStore.Change(0, "a1", null))));
+        List<AlarmStore.Change> edits = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) edits.add(AlarmStore.Change.put(alarm("a2", "오메가3 " + i)));
+        writer.apply(USER, new AlarmStore.Upload(3, edits));
+        // 시작할 때 저널을 정리하고, 정리한 저널로 다시 시작한 서버에는 a1 의 삭제 기록이 없음
+        assertEquals(1503, new AlarmStore(journal).version(USER));
+        AlarmStore.Delta delta = new AlarmStore(journal).changesSince(USER, 2);
+        assertTrue(delta.full);
+
+        List<Nutrient> unknown = AlarmSyncClient.merge(device, USER, delta, Set.of(), false);
+
+        assertEquals(List.of(), unknown);
+        assertEquals(List.of("a2"), ids(device.getAlarmsForUser(USER)));
+        assertEquals("오메가3 1499", device.getAlarmsForUser(USER).get(0).getName());
+    }
+
+    // 처음 동기화하면 서버에 없는 이 기기의 알람을 올리고, 아직 올리지 않은 알람은 전체 목록에 없어도 남김
+    @Test
+    void firstSyncUploadsLocalAlarmsAndKeepsPendingOnes() throws IOException {
+        AlarmStore store = new AlarmStore(null);
+        store.apply(USER, new AlarmStore.Upload(0, List.of(AlarmStore.Change.put(alarm("a1", "비타민")))));
+        device.registerAlarm(USER, "아연", RecurrenceRule.daily(600), "c1");
+        device.registerAlarm(USER, "마그네슘", RecurrenceRule.daily(660), "c2");
+
+        List<Nutrient> unknown = AlarmSyncClient.merge(device, USER, store.changesSince(USER, 0), Set.of(), true);
+        assertEquals(List.of("c1", "c2"), ids(unknown));
+        assertEquals(List.of("c1", "c2", "a1"), ids(device.getAlarmsForUser(USER)));
+
+        // 다음 전체 목록에서는 아직 올리지 않은 c2 만 남고 서버에 없는 c1 은 지움
+        unknown = AlarmSyncClient.merge(device, USER, store.changesSince(USER, 0), Set.of("c2"), false);
+        assertEquals(List.of(), unknown);
+        assertEquals(List.of("c2", "a1"), ids(device.getAlarmsForUser(USER)));
+    }
+}
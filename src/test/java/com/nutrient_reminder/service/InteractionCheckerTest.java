@@ -0,0 +1,74 @@
+package com.nutrient_reminder.service;
+
+import com.nutrient_reminder.model.AlarmStatus;
+import com.nutrient_reminder.model.Nutrient;
+import com.nutrient_reminder.model.RecurrenceRule;
+import com.nutrient_reminder.model.SymptomKnowledgeBase;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InteractionCheckerTest {
+
+    private static final String USER = "interaction_test_user";
+
+    // 배포에 포함된 지식 베이스 (칼슘-아연 SEPARATE)
+    private final SymptomKnowledgeBase kb = new KnowledgeBaseService(null, false).current();
+
+    @Test
+    void windowWrapsAroundMidnight() {
+        assertTrue(InteractionChecker.within(RecurrenceRule.daily(23 * 60 + 30), RecurrenceRule.daily(30), 120));
+        assertTrue(InteractionChecker.within(RecurrenceRule.daily(10), RecurrenceRule.daily(23 * 60 + 50), 60));
+        assertFalse(InteractionChecker.within(RecurrenceRule.daily(12 * 60), RecurrenceRule.daily(30), 120));
+    }
+
+    // 7시간마다: 날마다 시각이 밀려서 결국 매시 정각에 한 번씩 울림
+    @Test
+    void minuteIntervalExpandsAcrossDays() {
+        int[] times = InteractionChecker.minutesOfDay(RecurrenceRule.everyNMinutes(7 * 60, 0, 8 * 60));
+
+        assertEquals(24, times.length);
+        for (int hour = 0; hour < 24; hour++) assertEquals(hour * 60, times[hour]);
+    }
+
+    @Test
+    void minuteIntervalDividingDayKeepsSameTimes() {
+        assertArrayEquals(new int[]{2 * 60, 10 * 60, 18 * 60},
+                InteractionChecker.minutesOfDay(RecurrenceRule.everyNMinutes(8 * 60, 0, 10 * 60)));
+    }
+
+    // 종료일이 있으면 그날까지 실제로 울리는 시각만
+    @Test
+    void minuteIntervalStopsAtEndDay() {
+        assertArrayEquals(new int[]{8 * 60, 15 * 60, 22 * 60},
+                InteractionChecker.minutesOfDay(RecurrenceRule.everyNMinutes(7 * 60, 0, 8 * 60).until(0)));
+    }
+
+    @Test
+    void separateWarningAcrossMidnight() {
+        InteractionChecker checker = new InteractionChecker(() -> kb);
+        checker.onAlarmAdded(new Nutrient("a1", USER, "칼슘", RecurrenceRule.daily(23 * 60 + 30), AlarmStatus.ACTIVE));
+
+        List<InteractionChecker.Warning> warnings =
+                checker.onAlarmAdded(new Nutrient("a2", USER, "아연", RecurrenceRule.daily(30), AlarmStatus.ACTIVE));
+
+        assertTrue(warnings.stream().anyMatch(w -> w.getKind() == InteractionChecker.Kind.SEPARATE));
+    }
+
+    // 7시간마다 먹는 아연은 둘째 날 12시에 울리므로 12시 칼슘과 겹침 (첫날 시각만 보면 놓침)
+    @Test
+    void separateWarningForDriftingInterval() {
+        InteractionChecker checker = new InteractionChecker(() -> kb);
+        checker.onAlarmAdded(new Nutrient("a1", USER, "칼슘", RecurrenceRule.daily(12 * 60), AlarmStatus.ACTIVE));
+
+        List<InteractionChecker.Warning> warnings = checker.onAlarmAdded(
+                new Nutrient("a2", USER, "아연", RecurrenceRule.everyNMinutes(7 * 60, 0, 8 * 60), AlarmStatus.ACTIVE));
+
+        assertTrue(warnings.stream().anyMatch(w -> w.getKind() == InteractionChecker.Kind.SEPARATE));
+    }
+}
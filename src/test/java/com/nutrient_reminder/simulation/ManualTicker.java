@@ -0,0 +1,23 @@
+package com.nutrient_reminder.simulation;
+
+import com.nutrient_reminder.service.AlarmTicker;
+
+// 하네스가 직접 tick()을 호출해서 구동하는 스케줄러 (별도 스레드 없음)
+public class ManualTicker implements AlarmTicker {
+
+    private Runnable tick;
+
+    @Override
+    public void start(Runnable tick) {
+        this.tick = tick;
+    }
+
+    @Override
+    public void stop() {
+        this.tick = null;
+    }
+
+    public void tick() {
+        if (tick != null) tick.run();
+    }
+}
@@ -0,0 +1,219 @@
+package com.nutrient_reminder.simulation;
+
+import com.nutrient_reminder.model.AlarmStatus;
+import com.nutrient_reminder.service.AlarmSchedulerService;
+import com.nutrient_reminder.service.UserSession;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// 가상 시계로 AlarmSchedulerService를 구동해서 수 주 분량의 알람 스케줄을 몇 초 만에 재생하는 하네스
+// SchedulerSimulationTest 에서 실행 (규모를 바꿔 직접 돌릴 때는 테스트 클래스패스로 main 실행)
+// 사용법: SchedulerSimulation [알람 수=5000] [일 수=14] [tick 지연 최대(ms)=0] [seed=42]
+public class SchedulerSimulation {
+
+    private static final String SIM_USER = "sim_user";
+    private static final long DAY_MILLIS = Duration.ofDays(1).toMillis();
+
+    // 시뮬레이션 시작일 (월요일 00:00)
+    private static final LocalDate START_DATE = LocalDate.of(2025, 1, 6);
+
+    public static void main(String[] args) {
+        int alarmCount = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int days = args.length > 1 ? Integer.parseInt(args[1]) : 14;
+        int jitterMillis = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+
+        Report report = run(alarmCount, days, jitterMillis, seed);
+        report.print(System.out);
+    }
+
+    public static Report run(int alarmCount, int days, int jitterMillis, long seed) {
+        ZoneId zone = ZoneId.systemDefault();
+        VirtualClock clock = new VirtualClock(START_DATE.atStartOfDay(zone).toInstant(), zone);
+        ManualTicker ticker = new ManualTicker();
+        AlarmSchedulerService service = new AlarmSchedulerService(clock, ticker, Runnable::run, null);
+
+        Random random = new Random(seed);
+        List<AlarmSpec> specs = generateAlarms(alarmCount, random);
+
+        // 알람이 울리면 울린 시각을 기록하고, 사용자가 바로 끈 것처럼 COMPLETED 처리
+        Map<String, List<Long>> fires = new HashMap<>();
+        service.setAlarmNotifier(alarm -> {
+            fires.computeIfAbsent(alarm.getId(), k -> new ArrayList<>()).add(clock.millis());
+            service.updateAlarmStatus(alarm.getId(), AlarmStatus.COMPLETED);
+        });
+
+        String previousUser = UserSession.getUserId();
+        UserSession.setUserId(SIM_USER);
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long[] cpuNanosPerDay = new long[days];
+        long ticks = 0;
+        long wallStart = System.nanoTime();
+        try {
+            for (AlarmSpec spec : specs) {
+                service.registerAlarm(SIM_USER, spec.name, spec.time, spec.days, spec.id);
+            }
+
+            long startMillis = clock.millis();
+            while (true) {
+                long step = 1000 + (jitterMillis > 0 ? random.nextInt(jitterMillis + 1) : 0);
+                clock.advance(Duration.ofMillis(step));
+                int dayIndex = (int) ((clock.millis() - startMillis) / DAY_MILLIS);
+                if (dayIndex >= days) break;
+
+                long cpuBefore = threads.getCurrentThreadCpuTime();
+                ticker.tick();
+                cpuNanosPerDay[dayIndex] += threads.getCurrentThreadCpuTime() - cpuBefore;
+                ticks++;
+            }
+        } finally {
+            // 시뮬레이션 프로필은 활성 프로필에서 빼고 원래 화면 사용자로 되돌림
+            UserSession.signOut(SIM_USER);
+            if (previousUser == null) UserSession.clear(); else UserSession.setUserId(previousUser);
+            service.shutdown();
+        }
+        long wallNanos = System.nanoTime() - wallStart;
+
+        return evaluate(specs, fires, days, zone, ticks, wallNanos, cpuNanosPerDay);
+    }
+
+    // 알람 정의로부터 기대 울림 시각을 계산하고 실제 울림 기록과 대조
+    private static Report evaluate(List<AlarmSpec> specs, Map<String, List<Long>> fires, int days, ZoneId zone,
+                                   long ticks, long wallNanos, long[] cpuNanosPerDay) {
+        Report report = new Report();
+        report.alarms = specs.size();
+        report.days = days;
+        report.ticks = ticks;
+        report.wallMillis = wallNanos / 1_000_000;
+        report.cpuNanosPerDay = cpuNanosPerDay;
+
+        List<Long> lateness = new ArrayList<>();
+        for (AlarmSpec spec : specs) {
+            List<Long> fired = fires.getOrDefault(spec.id, List.of());
+            boolean[] matched = new boolean[fired.size()];
+
+            for (int d = 0; d < days; d++) {
+                LocalDate date = START_DATE.plusDays(d);
+                if (!spec.isScheduledOn(date.getDayOfWeek())) continue;
+                report.expected++;
+
+                long scheduled = date.atTime(spec.hour, spec.minute).atZone(zone).toInstant().toEpochMilli();
+                int hit = -1;
+                for (int i = 0; i < fired.size(); i++) {
+                    long diff = fired.get(i) - scheduled;
+                    if (!matched[i] && diff >= 0 && diff < 60_000) { hit = i; break; }
+                }
+                if (hit < 0) {
+                    report.missed++;
+                } else {
+                    matched[hit] = true;
+                    lateness.add(fired.get(hit) - scheduled);
+                }
+            }
+            for (boolean m : matched) if (!m) report.spurious++;
+        }
+
+        long[] sorted = lateness.stream().mapToLong(Long::longValue).sorted().toArray();
+        report.fired = sorted.length;
+        if (sorted.length > 0) {
+            report.latenessMeanMillis = Arrays.stream(sorted).average().orElse(0);
+            report.latenessP50Millis = sorted[sorted.length / 2];
+            report.latenessP99Millis = sorted[Math.min(sorted.length - 1, (int) (sorted.length * 0.99))];
+            report.latenessMaxMillis = sorted[sorted.length - 1];
+        }
+        return report;
+    }
+
+    private static List<AlarmSpec> generateAlarms(int count, Random random) {
+        String[] dayNames = {"일", "월", "화", "수", "목", "금", "토"};
+        List<AlarmSpec> specs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int hour = random.nextInt(24);
+            int minute = random.nextInt(60);
+
+            // 30%는 요일 지정 없음(매일), 나머지는 임의의 요일 조합
+            List<String> days = new ArrayList<>();
+            if (random.nextInt(10) >= 3) {
+                for (String day : dayNames) if (random.nextBoolean()) days.add(day);
+                if (days.isEmpty()) days.add(dayNames[random.nextInt(7)]);
+            }
+            specs.add(new AlarmSpec("sim_" + i, "영양제 " + i, hour, minute, days));
+        }
+        return specs;
+    }
+
+    // 시뮬레이션 대상 알람 정의
+    private static class AlarmSpec {
+        final String id;
+        final String name;
+        final int hour;
+        final int minute;
+        final String time;
+        final List<String> days;
+
+        AlarmSpec(String id, String name, int hour, int minute, List<String> days) {
+            this.id = id;
+            this.name = name;
+            this.hour = hour;
+            this.minute = minute;
+            this.days = days;
+
+            // 팝업에서 만드는 것과 같은 "오전 09 : 30" 형식
+            int hour12 = hour % 12;
+            if (hour12 == 0) hour12 = 12;
+            this.time = String.format("%s %02d : %02d", hour < 12 ? "오전" : "오후", hour12, minute);
+        }
+
+        boolean isScheduledOn(DayOfWeek dayOfWeek) {
+            if (days.isEmpty()) return true;
+            String[] names = {"월", "화", "수", "목", "금", "토", "일"};
+            return days.contains(names[dayOfWeek.getValue() - 1]);
+        }
+    }
+
+    // 시뮬레이션 결과 (울림 정확도, 누락/오발, 하루당 CPU 시간)
+    public static class Report {
+        int alarms;
+        int days;
+        long ticks;
+        long wallMillis;
+        long expected;
+        long fired;
+        long missed;
+        long spurious;
+        double latenessMeanMillis;
+        long latenessP50Millis;
+        long latenessP99Millis;
+        long latenessMaxMillis;
+        long[] cpuNanosPerDay;
+
+        public long getMissed() { return missed; }
+        public long getSpurious() { return spurious; }
+
+        public void print(PrintStream out) {
+            long cpuTotal = Arrays.stream(cpuNanosPerDay).sum();
+            long cpuMax = Arrays.stream(cpuNanosPerDay).max().orElse(0);
+
+            out.println("===== 스케줄러 시뮬레이션 결과 =====");
+            out.printf("알람 수: %d, 시뮬레이션 기간: %d일, tick 수: %d, 실제 소요: %d ms%n", alarms, days, ticks, wallMillis);
+            out.printf("기대 울림: %d, 정상 울림: %d, 누락: %d, 잘못된 울림: %d%n", expected, fired, missed, spurious);
+            out.printf("울림 지연(ms): 평균 %.1f, p50 %d, p99 %d, 최대 %d%n",
+                    latenessMeanMillis, latenessP50Millis, latenessP99Millis, latenessMaxMillis);
+            out.printf("하루당 CPU 시간(ms): 평균 %.2f, 최대 %.2f%n",
+                    cpuTotal / 1e6 / Math.max(1, days), cpuMax / 1e6);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.nutrient_reminder.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 가상 시계로 몇 주 분량의 스케줄을 재생해서 모든 알람이 정해진 분에 한 번씩만 울리는지 확인
+class SchedulerSimulationTest {
+
+    @Test
+    void everyScheduledOccurrenceFiresExactlyOnce() {
+        SchedulerSimulation.Report report = SchedulerSimulation.run(2000, 14, 0, 42L);
+
+        assertEquals(0, report.getMissed(), "누락된 울림");
+        assertEquals(0, report.getSpurious(), "잘못된 울림");
+    }
+
+    // tick 간격이 1초보다 길어져도(절전, 부하) 분을 건너뛰지 않음
+    @Test
+    void tickJitterDoesNotSkipMinutes() {
+        SchedulerSimulation.Report report = SchedulerSimulation.run(500, 7, 1500, 7L);
+
+        assertEquals(0, report.getMissed(), "누락된 울림");
+        assertEquals(0, report.getSpurious(), "잘못된 울림");
+    }
+}
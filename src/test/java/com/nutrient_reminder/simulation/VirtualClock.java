@@ -0,0 +1,43 @@
+package com.nutrient_reminder.simulation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+// 시뮬레이션용 가상 시계 (advance 호출로만 시간이 흐름)
+public class VirtualClock extends Clock {
+
+    private final ZoneId zone;
+    private volatile long epochMillis;
+
+    public VirtualClock(Instant start, ZoneId zone) {
+        this.epochMillis = start.toEpochMilli();
+        this.zone = zone;
+    }
+
+    // 가상 시간을 주어진 만큼 앞으로 이동
+    public void advance(Duration duration) {
+        epochMillis += duration.toMillis();
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return new VirtualClock(instant(), zone);
+    }
+
+    @Override
+    public long millis() {
+        return epochMillis;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(epochMillis);
+    }
+}